@@ -0,0 +1,47 @@
+package com.footballstore.apigateway.businesslayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a downstream call for a key is in flight,
+ * further requests for that key subscribe to the same call instead of issuing their own.
+ * The entry is dropped as soon as the call finishes, so nothing is cached beyond it.
+ * <p>
+ * Every subscriber receives the same result instance; callers that mutate it (e.g. to
+ * add links) must copy it first.
+ */
+public class SingleFlight<K, T> {
+
+    private final Map<K, Mono<T>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("gateway.singleflight.coalesced")
+                .description("Reads that joined an in-flight downstream call instead of making their own")
+                .tag("service", name)
+                .register(meterRegistry);
+    }
+
+    public Mono<T> execute(K key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<T> flight = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                // share() keeps the call running for the other waiters if one subscriber cancels
+                return call.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .share();
+            });
+            if (!leader[0]) {
+                coalesced.increment();
+            }
+            return flight;
+        });
+    }
+}
@@ -1,13 +1,19 @@
 package com.footballstore.apigateway.businesslayer.apparels;
 
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelPageResponseModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelRequestModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
-import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface ApparelsService {
-    List<ApparelResponseModel> getAllApparels();
-    ApparelResponseModel getApparelById(String apparelId);
-    ApparelResponseModel createApparel(ApparelRequestModel requestModel);
-    ApparelResponseModel updateApparel(String apparelId, ApparelRequestModel requestModel);
-    ApparelResponseModel deleteApparel(String apparelId);
+    Flux<ApparelResponseModel> getAllApparels();
+    Mono<ApparelPageResponseModel> getApparelsPage(int limit, String cursor);
+    Flux<ApparelResponseModel> streamAllApparels();
+    Mono<ApparelResponseModel> getApparelById(String apparelId);
+    // completes empty when the apparels service answers the If-None-Match with a 304
+    Mono<ApparelResponseModel> getApparelById(String apparelId, String ifNoneMatch);
+    Mono<ApparelResponseModel> createApparel(ApparelRequestModel requestModel);
+    Mono<ApparelResponseModel> updateApparel(String apparelId, ApparelRequestModel requestModel);
+    Mono<Void> deleteApparel(String apparelId);
 }
@@ -1,76 +1,141 @@
 package com.footballstore.apigateway.businesslayer.apparels;
 
+import com.footballstore.apigateway.businesslayer.SingleFlight;
+import com.footballstore.apigateway.domainclientlayer.ClientMode;
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamCaches;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
 import com.footballstore.apigateway.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.apigateway.domainclientlayer.apparels.ApparelsServiceReactiveClient;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelPageResponseModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelRequestModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelsController;
+import com.footballstore.apigateway.utils.LinkTemplate;
+import com.footballstore.apigateway.utils.RequestContexts;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Slf4j
 @Service
 public class ApparelsServiceImpl implements ApparelsService {
 
+    private static final LinkTemplate APPAREL = LinkTemplate.of(ApparelsController.class, "getApparelById");
+    private static final LinkTemplate ALL_APPARELS = LinkTemplate.of(ApparelsController.class, "getAllApparels");
+    private static final LinkTemplate APPARELS_PAGE = LinkTemplate.of(ApparelsController.class, "getApparelsPage");
+
     private final ApparelsServiceClient apparelsServiceClient;
+    private final ApparelsServiceReactiveClient apparelsReactiveClient;
+    private final boolean reactive;
+    private final DownstreamCaches caches;
+    private final SingleFlight<String, ApparelResponseModel> byIdReads;
 
-    public ApparelsServiceImpl(ApparelsServiceClient apparelsServiceClient) {
+    public ApparelsServiceImpl(ApparelsServiceClient apparelsServiceClient,
+                               ApparelsServiceReactiveClient apparelsReactiveClient,
+                               DownstreamCaches caches,
+                               DownstreamClientProperties properties,
+                               MeterRegistry meterRegistry) {
         this.apparelsServiceClient = apparelsServiceClient;
+        this.apparelsReactiveClient = apparelsReactiveClient;
+        this.caches = caches;
+        this.reactive = properties.getApparelsService().getClient() == ClientMode.REACTIVE;
+        this.byIdReads = new SingleFlight<>("apparels", meterRegistry);
     }
 
     @Override
-    public List<ApparelResponseModel> getAllApparels() {
-        List<ApparelResponseModel> apparels = apparelsServiceClient.getAllApparels();
-        for (ApparelResponseModel a : apparels) {
-            enrichWithLinks(a);
-        }
-        return apparels;
+    public Flux<ApparelResponseModel> getAllApparels() {
+        Flux<ApparelResponseModel> apparels = reactive
+                ? apparelsReactiveClient.getAllApparels()
+                : Mono.fromCallable(apparelsServiceClient::getAllApparels).flatMapIterable(list -> list);
+        return apparels.doOnNext(RequestContexts.bound(this::enrichWithLinks));
+    }
+
+    @Override
+    public Mono<ApparelPageResponseModel> getApparelsPage(int limit, String cursor) {
+        Mono<ApparelPageResponseModel> page = reactive
+                ? apparelsReactiveClient.getApparelsPage(limit, cursor)
+                : Mono.fromCallable(() -> apparelsServiceClient.getApparelsPage(limit, cursor));
+        return page.doOnNext(RequestContexts.bound(p -> enrichPageWithLinks(p, limit, cursor)));
+    }
+
+    @Override
+    public Flux<ApparelResponseModel> streamAllApparels() {
+        // always over WebClient: the RestTemplate client would buffer the whole export first.
+        // rows go out without links to keep the per-row cost flat
+        return apparelsReactiveClient.streamAllApparels();
     }
 
     @Override
-    public ApparelResponseModel getApparelById(String apparelId) {
+    public Mono<ApparelResponseModel> getApparelById(String apparelId) {
         validateUuid(apparelId);
-        ApparelResponseModel apparel = apparelsServiceClient.getApparelById(apparelId);
-        enrichWithLinks(apparel);
-        return apparel;
+        Mono<ApparelResponseModel> apparel = byIdReads.execute(apparelId, () -> reactive
+                ? apparelsReactiveClient.getApparelById(apparelId)
+                : Mono.fromCallable(() -> apparelsServiceClient.getApparelById(apparelId)));
+        return apparel.map(shared -> shared.toBuilder().build())
+                .doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public ApparelResponseModel createApparel(ApparelRequestModel requestModel) {
-        ApparelResponseModel created = apparelsServiceClient.createApparel(requestModel);
-        enrichWithLinks(created);
-        return created;
+    public Mono<ApparelResponseModel> getApparelById(String apparelId, String ifNoneMatch) {
+        // a cached entry carries its validator, so only a miss is worth asking the apparels service about
+        if (ifNoneMatch == null || caches.contains(DownstreamCacheProperties.APPARELS, apparelId)) {
+            return getApparelById(apparelId);
+        }
+        validateUuid(apparelId);
+        Mono<ApparelResponseModel> apparel = reactive
+                ? apparelsReactiveClient.getApparelByIdIfNoneMatch(apparelId, ifNoneMatch)
+                : Mono.fromCallable(() -> apparelsServiceClient.getApparelByIdIfNoneMatch(apparelId, ifNoneMatch));
+        return apparel.doOnNext(RequestContexts.bound(this::enrichWithLinks));
+    }
+
+    @Override
+    public Mono<ApparelResponseModel> createApparel(ApparelRequestModel requestModel) {
+        Mono<ApparelResponseModel> created = reactive
+                ? apparelsReactiveClient.createApparel(requestModel)
+                : Mono.fromCallable(() -> apparelsServiceClient.createApparel(requestModel));
+        return created.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public ApparelResponseModel updateApparel(String apparelId, ApparelRequestModel requestModel) {
+    public Mono<ApparelResponseModel> updateApparel(String apparelId, ApparelRequestModel requestModel) {
         validateUuid(apparelId);
-        ApparelResponseModel updated = apparelsServiceClient.updateApparel(apparelId, requestModel);
-        enrichWithLinks(updated);
-        return updated;
+        Mono<ApparelResponseModel> updated = reactive
+                ? apparelsReactiveClient.updateApparel(apparelId, requestModel)
+                : Mono.fromCallable(() -> apparelsServiceClient.updateApparel(apparelId, requestModel));
+        // the client put this instance in the cache, so the links go on a copy
+        return updated.map(cached -> cached.toBuilder().build())
+                .doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public ApparelResponseModel deleteApparel(String apparelId) {
+    public Mono<Void> deleteApparel(String apparelId) {
         validateUuid(apparelId);
-        apparelsServiceClient.deleteApparel(apparelId);
-        return null;
+        return reactive
+                ? apparelsReactiveClient.deleteApparel(apparelId)
+                : Mono.fromRunnable(() -> apparelsServiceClient.deleteApparel(apparelId));
     }
 
     private void enrichWithLinks(ApparelResponseModel apparel) {
         if (apparel != null && apparel.getApparelId() != null) {
-            apparel.add(linkTo(
-                    methodOn(com.footballstore.apigateway.presentationlayer.apparels.ApparelsController.class)
-                            .getApparelById(apparel.getApparelId()))
-                    .withSelfRel());
-            apparel.add(linkTo(
-                    methodOn(com.footballstore.apigateway.presentationlayer.apparels.ApparelsController.class)
-                            .getAllApparels())
-                    .withRel("allApparels"));
+            apparel.add(APPAREL.withSelfRel(apparel.getApparelId()));
+            apparel.add(ALL_APPARELS.withRel("allApparels"));
+        }
+    }
+
+    private void enrichPageWithLinks(ApparelPageResponseModel page, int limit, String cursor) {
+        if (page.getItems() != null) {
+            page.getItems().forEach(this::enrichWithLinks);
+        }
+        page.add(APPARELS_PAGE.withSelfRel(limit, cursor));
+        if (page.getNextCursor() != null) {
+            page.add(APPARELS_PAGE.withRel(IanaLinkRelations.NEXT, limit, page.getNextCursor()));
         }
     }
 
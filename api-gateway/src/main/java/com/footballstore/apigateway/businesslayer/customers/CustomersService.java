@@ -2,12 +2,13 @@ package com.footballstore.apigateway.businesslayer.customers;
 
 import com.footballstore.apigateway.presentationlayer.customers.CustomerRequestModel;
 import com.footballstore.apigateway.presentationlayer.customers.CustomerResponseModel;
-import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface CustomersService {
-    List<CustomerResponseModel> getAllCustomers();
-    CustomerResponseModel getCustomerById(String customerId);
-    CustomerResponseModel createCustomer(CustomerRequestModel customerRequestModel);
-    CustomerResponseModel updateCustomer(String customerId, CustomerRequestModel customerRequestModel);
-    CustomerResponseModel deleteCustomer(String customerId);
+    Flux<CustomerResponseModel> getAllCustomers();
+    Mono<CustomerResponseModel> getCustomerById(String customerId);
+    Mono<CustomerResponseModel> createCustomer(CustomerRequestModel customerRequestModel);
+    Mono<CustomerResponseModel> updateCustomer(String customerId, CustomerRequestModel customerRequestModel);
+    Mono<Void> deleteCustomer(String customerId);
 }
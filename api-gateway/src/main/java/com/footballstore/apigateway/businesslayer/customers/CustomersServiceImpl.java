@@ -1,67 +1,92 @@
 package com.footballstore.apigateway.businesslayer.customers;
 
+import com.footballstore.apigateway.businesslayer.SingleFlight;
+import com.footballstore.apigateway.domainclientlayer.ClientMode;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
 import com.footballstore.apigateway.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.apigateway.domainclientlayer.customers.CustomersServiceReactiveClient;
 import com.footballstore.apigateway.presentationlayer.customers.CustomerRequestModel;
 import com.footballstore.apigateway.presentationlayer.customers.CustomerResponseModel;
+import com.footballstore.apigateway.presentationlayer.customers.CustomersController;
+import com.footballstore.apigateway.utils.LinkTemplate;
+import com.footballstore.apigateway.utils.RequestContexts;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Slf4j
 @Service
 public class CustomersServiceImpl implements CustomersService {
 
+    private static final LinkTemplate CUSTOMER = LinkTemplate.of(CustomersController.class, "getCustomerById");
+    private static final LinkTemplate ALL_CUSTOMERS = LinkTemplate.of(CustomersController.class, "getAllCustomers");
+
     private final CustomersServiceClient customersServiceClient;
+    private final CustomersServiceReactiveClient customersReactiveClient;
+    private final boolean reactive;
+    private final SingleFlight<String, CustomerResponseModel> byIdReads;
 
-    public CustomersServiceImpl(CustomersServiceClient customersServiceClient) {
+    public CustomersServiceImpl(CustomersServiceClient customersServiceClient,
+                                CustomersServiceReactiveClient customersReactiveClient,
+                                DownstreamClientProperties properties,
+                                MeterRegistry meterRegistry) {
         this.customersServiceClient = customersServiceClient;
+        this.customersReactiveClient = customersReactiveClient;
+        this.reactive = properties.getCustomersService().getClient() == ClientMode.REACTIVE;
+        this.byIdReads = new SingleFlight<>("customers", meterRegistry);
     }
 
     @Override
-    public List<CustomerResponseModel> getAllCustomers() {
+    public Flux<CustomerResponseModel> getAllCustomers() {
         log.debug("API‑Gateway Customers Service: fetching all");
-        List<CustomerResponseModel> customers = customersServiceClient.getAllCustomers();
-        customers.forEach(this::enrichWithLinks);
-        return customers;
+        Flux<CustomerResponseModel> customers = reactive
+                ? customersReactiveClient.getAllCustomers()
+                : Mono.fromCallable(customersServiceClient::getAllCustomers).flatMapIterable(list -> list);
+        return customers.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public CustomerResponseModel getCustomerById(String customerId) {
+    public Mono<CustomerResponseModel> getCustomerById(String customerId) {
         validateUuid(customerId);
         log.debug("API‑Gateway Customers Service: fetching id={}", customerId);
-        CustomerResponseModel customer = customersServiceClient.getCustomerById(customerId);
-        enrichWithLinks(customer);
-        return customer;
+        Mono<CustomerResponseModel> customer = byIdReads.execute(customerId, () -> reactive
+                ? customersReactiveClient.getCustomerById(customerId)
+                : Mono.fromCallable(() -> customersServiceClient.getCustomerById(customerId)));
+        return customer.map(shared -> shared.toBuilder().build())
+                .doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public CustomerResponseModel createCustomer(CustomerRequestModel requestModel) {
+    public Mono<CustomerResponseModel> createCustomer(CustomerRequestModel requestModel) {
         log.debug("API‑Gateway Customers Service: creating");
-        CustomerResponseModel created = customersServiceClient.createCustomer(requestModel);
-        enrichWithLinks(created);
-        return created;
+        Mono<CustomerResponseModel> created = reactive
+                ? customersReactiveClient.createCustomer(requestModel)
+                : Mono.fromCallable(() -> customersServiceClient.createCustomer(requestModel));
+        return created.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public CustomerResponseModel updateCustomer(String customerId, CustomerRequestModel requestModel) {
+    public Mono<CustomerResponseModel> updateCustomer(String customerId, CustomerRequestModel requestModel) {
         validateUuid(customerId);
         log.debug("API‑Gateway Customers Service: updating id={}", customerId);
-        CustomerResponseModel updated = customersServiceClient.updateCustomer(customerId, requestModel);
-        enrichWithLinks(updated);
-        return updated;
+        Mono<CustomerResponseModel> updated = reactive
+                ? customersReactiveClient.updateCustomer(customerId, requestModel)
+                : Mono.fromCallable(() -> customersServiceClient.updateCustomer(customerId, requestModel));
+        return updated.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public CustomerResponseModel deleteCustomer(String customerId) {
+    public Mono<Void> deleteCustomer(String customerId) {
         validateUuid(customerId);
         log.debug("API‑Gateway Customers Service: deleting id={}", customerId);
-        customersServiceClient.deleteCustomer(customerId);
-        return null;
+        return reactive
+                ? customersReactiveClient.deleteCustomer(customerId)
+                : Mono.fromRunnable(() -> customersServiceClient.deleteCustomer(customerId));
     }
 
     private void validateUuid(String id) {
@@ -74,14 +99,8 @@ public class CustomersServiceImpl implements CustomersService {
 
     private void enrichWithLinks(CustomerResponseModel customer) {
         if (customer != null && customer.getCustomerId() != null) {
-            customer.add(linkTo(
-                    methodOn(com.footballstore.apigateway.presentationlayer.customers.CustomersController.class)
-                            .getCustomerById(customer.getCustomerId()))
-                    .withSelfRel());
-            customer.add(linkTo(
-                    methodOn(com.footballstore.apigateway.presentationlayer.customers.CustomersController.class)
-                            .getAllCustomers())
-                    .withRel("allCustomers"));
+            customer.add(CUSTOMER.withSelfRel(customer.getCustomerId()));
+            customer.add(ALL_CUSTOMERS.withRel("allCustomers"));
         }
     }
 }
@@ -0,0 +1,145 @@
+package com.footballstore.apigateway.businesslayer.orders;
+
+import com.footballstore.apigateway.domainclientlayer.ClientMode;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
+import com.footballstore.apigateway.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.apigateway.domainclientlayer.customers.CustomersServiceReactiveClient;
+import com.footballstore.apigateway.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.apigateway.domainclientlayer.warehouses.WarehousesServiceReactiveClient;
+import com.footballstore.apigateway.presentationlayer.customers.CustomerResponseModel;
+import com.footballstore.apigateway.presentationlayer.orders.OrderResponseModel;
+import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseResponseModel;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adds customer and warehouse details to orders. The customer and warehouse ids across
+ * a whole response are de-duplicated first. Each distinct one is then fetched once,
+ * concurrently, and the result is applied to every order that references it.
+ */
+@Slf4j
+@Component
+public class OrderEnricher {
+
+    private final CustomersServiceClient customersClient;
+    private final WarehousesServiceClient warehousesClient;
+    private final CustomersServiceReactiveClient customersReactiveClient;
+    private final WarehousesServiceReactiveClient warehousesReactiveClient;
+    private final DownstreamClientProperties properties;
+    private final DistributionSummary callsSaved;
+
+    public OrderEnricher(CustomersServiceClient customersClient,
+                         WarehousesServiceClient warehousesClient,
+                         CustomersServiceReactiveClient customersReactiveClient,
+                         WarehousesServiceReactiveClient warehousesReactiveClient,
+                         DownstreamClientProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.customersClient = customersClient;
+        this.warehousesClient = warehousesClient;
+        this.customersReactiveClient = customersReactiveClient;
+        this.warehousesReactiveClient = warehousesReactiveClient;
+        this.properties = properties;
+        this.callsSaved = DistributionSummary.builder("gateway.orders.enrichment.calls.saved")
+                .description("Customer and warehouse lookups avoided per request by de-duplication")
+                .register(meterRegistry);
+    }
+
+    public Mono<OrderResponseModel> enrich(OrderResponseModel order, Consumer<OrderResponseModel> addLinks) {
+        return enrich(List.of(order), addLinks).map(orders -> orders.get(0));
+    }
+
+    public Mono<List<OrderResponseModel>> enrich(List<OrderResponseModel> orders, Consumer<OrderResponseModel> addLinks) {
+        List<OrderResponseModel> enrichable = orders.stream()
+                .filter(order -> order != null && order.getOrderId() != null)
+                .toList();
+        if (enrichable.isEmpty()) {
+            return Mono.just(orders);
+        }
+
+        Set<String> customerIds = distinct(enrichable, OrderResponseModel::getCustomerId);
+        Set<String> warehouseIds = distinct(enrichable, OrderResponseModel::getWarehouseId);
+        int saved = 2 * enrichable.size() - customerIds.size() - warehouseIds.size();
+
+        return Mono.zip(fetchAll(customerIds, this::customer), fetchAll(warehouseIds, this::warehouse))
+                .map(lookups -> {
+                    enrichable.forEach(order -> {
+                        CustomerResponseModel customer = lookups.getT1().get(order.getCustomerId());
+                        WarehouseResponseModel warehouse = lookups.getT2().get(order.getWarehouseId());
+                        apply(order, customer);
+                        apply(order, warehouse);
+                        order.setEtag(combinedETag(order, customer, warehouse));
+                        addLinks.accept(order);
+                    });
+                    callsSaved.record(saved);
+                    log.debug("Enriched {} orders with {} customer and {} warehouse lookups ({} calls saved)",
+                            enrichable.size(), customerIds.size(), warehouseIds.size(), saved);
+                    return orders;
+                });
+    }
+
+    private static Set<String> distinct(List<OrderResponseModel> orders, Function<OrderResponseModel, String> key) {
+        return orders.stream().map(key).filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static <T> Mono<Map<String, T>> fetchAll(Set<String> ids, Function<String, Mono<T>> lookup) {
+        return Flux.fromIterable(ids)
+                .flatMap(id -> lookup.apply(id).map(value -> Map.entry(id, value)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<CustomerResponseModel> customer(String customerId) {
+        return properties.getCustomersService().getClient() == ClientMode.REACTIVE
+                ? customersReactiveClient.getCustomerById(customerId)
+                : Mono.fromCallable(() -> customersClient.getCustomerById(customerId))
+                        .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<WarehouseResponseModel> warehouse(String warehouseId) {
+        return properties.getWarehousesService().getClient() == ClientMode.REACTIVE
+                ? warehousesReactiveClient.getWarehouseById(warehouseId)
+                : Mono.fromCallable(() -> warehousesClient.getWarehouseById(warehouseId))
+                        .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // the enriched order changes whenever any of its three sources does, so its validator hashes all three
+    private static String combinedETag(OrderResponseModel order, CustomerResponseModel c, WarehouseResponseModel w) {
+        if (order.getEtag() == null || c == null || c.getEtag() == null || w == null || w.getEtag() == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    (order.getEtag() + "|" + c.getEtag() + "|" + w.getEtag()).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void apply(OrderResponseModel order, CustomerResponseModel c) {
+        if (c == null) return;
+        order.setFirstName(c.getFirstName());
+        order.setLastName(c.getLastName());
+        order.setEmail(c.getEmail());
+        order.setPhone(c.getPhone());
+    }
+
+    private static void apply(OrderResponseModel order, WarehouseResponseModel w) {
+        if (w == null) return;
+        order.setLocationName(w.getLocationName());
+        order.setWarehouseAddress(w.getAddress());
+        order.setCapacity(w.getCapacity());
+    }
+}
@@ -1,17 +1,20 @@
 package com.footballstore.apigateway.businesslayer.orders;
 
 import com.footballstore.apigateway.presentationlayer.orders.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface OrdersService {
-    List<OrderResponseModel> getAllCustomerOrders(String customerId);
+    Flux<OrderResponseModel> getAllCustomerOrders(String customerId);
 
-    OrderResponseModel getCustomerOrderById(String customerId, String orderId);
+    Mono<OrderResponseModel> getCustomerOrderById(String customerId, String orderId);
 
-    OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request);
+    Mono<OrderResponseModel> processCustomerOrder(String customerId, OrderRequestModel request,
+                                                  String idempotencyKey, List<String> preferences);
 
-    OrderResponseModel updateCustomerOrder(String customerId, String orderId, OrderRequestModel request);
+    Mono<OrderResponseModel> updateCustomerOrder(String customerId, String orderId, OrderRequestModel request);
 
-    void deleteCustomerOrder(String customerId, String orderId);
+    Mono<Void> deleteCustomerOrder(String customerId, String orderId);
 }
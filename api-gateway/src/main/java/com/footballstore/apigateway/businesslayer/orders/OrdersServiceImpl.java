@@ -1,98 +1,109 @@
 package com.footballstore.apigateway.businesslayer.orders;
 
-import com.footballstore.apigateway.domainclientlayer.customers.CustomersServiceClient;
-import com.footballstore.apigateway.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.apigateway.domainclientlayer.ClientMode;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
 import com.footballstore.apigateway.domainclientlayer.orders.OrdersServiceClient;
+import com.footballstore.apigateway.domainclientlayer.orders.OrdersServiceReactiveClient;
 import com.footballstore.apigateway.presentationlayer.orders.OrderResponseModel;
 import com.footballstore.apigateway.presentationlayer.orders.OrderRequestModel;
+import com.footballstore.apigateway.presentationlayer.orders.OrdersController;
+import com.footballstore.apigateway.utils.LinkTemplate;
+import com.footballstore.apigateway.utils.RequestContexts;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.UUID;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class OrdersServiceImpl implements OrdersService {
 
     private static final int UUID_LEN = 36;
+    private static final LinkTemplate ORDER = LinkTemplate.of(OrdersController.class, "getCustomerOrderById");
+    private static final LinkTemplate ALL_ORDERS = LinkTemplate.of(OrdersController.class, "getAllCustomerOrders");
 
     private final OrdersServiceClient ordersClient;
-    private final CustomersServiceClient customersClient;
-    private final WarehousesServiceClient warehousesClient;
+    private final OrdersServiceReactiveClient ordersReactiveClient;
+    private final OrderEnricher orderEnricher;
+    private final DownstreamClientProperties properties;
 
     public OrdersServiceImpl(OrdersServiceClient ordersClient,
-                             CustomersServiceClient customersClient,
-                             WarehousesServiceClient warehousesClient) {
+                             OrdersServiceReactiveClient ordersReactiveClient,
+                             OrderEnricher orderEnricher,
+                             DownstreamClientProperties properties) {
         this.ordersClient = ordersClient;
-        this.customersClient = customersClient;
-        this.warehousesClient = warehousesClient;
+        this.ordersReactiveClient = ordersReactiveClient;
+        this.orderEnricher = orderEnricher;
+        this.properties = properties;
     }
 
     @Override
-    public List<OrderResponseModel> getAllCustomerOrders(String customerId) {
+    public Flux<OrderResponseModel> getAllCustomerOrders(String customerId) {
         validateUuid(customerId, "customerId");
-        List<OrderResponseModel> orders = ordersClient.getAllCustomerOrders(customerId);
-        orders.forEach(this::enrichOrder);
-        return orders;
+        Flux<OrderResponseModel> orders = reactive(properties.getOrdersService())
+                ? ordersReactiveClient.getAllCustomerOrders(customerId)
+                : Mono.fromCallable(() -> ordersClient.getAllCustomerOrders(customerId)).flatMapIterable(list -> list);
+        Consumer<OrderResponseModel> addLinks = RequestContexts.bound(this::addLinks);
+        return orders.collectList()
+                .flatMap(list -> orderEnricher.enrich(list, addLinks))
+                .flatMapIterable(list -> list);
     }
 
     @Override
-    public OrderResponseModel getCustomerOrderById(String customerId, String orderId) {
+    public Mono<OrderResponseModel> getCustomerOrderById(String customerId, String orderId) {
         validateUuid(customerId, "customerId");
         validateUuid(orderId, "orderId");
-        OrderResponseModel order = ordersClient.getCustomerOrderById(customerId, orderId);
-        enrichOrder(order);
-        return order;
+        Mono<OrderResponseModel> order = reactive(properties.getOrdersService())
+                ? ordersReactiveClient.getCustomerOrderById(customerId, orderId)
+                : Mono.fromCallable(() -> ordersClient.getCustomerOrderById(customerId, orderId));
+        Consumer<OrderResponseModel> addLinks = RequestContexts.bound(this::addLinks);
+        return order.flatMap(o -> orderEnricher.enrich(o, addLinks));
     }
 
     @Override
-    public OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request) {
+    public Mono<OrderResponseModel> processCustomerOrder(String customerId, OrderRequestModel request,
+                                                         String idempotencyKey, List<String> preferences) {
         validateUuid(customerId, "customerId");
-        OrderResponseModel created = ordersClient.processCustomerOrder(customerId, request);
-        enrichOrder(created);
-        return created;
+        Mono<OrderResponseModel> created = reactive(properties.getOrdersService())
+                ? ordersReactiveClient.processCustomerOrder(customerId, request, idempotencyKey, preferences)
+                : Mono.fromCallable(() -> ordersClient.processCustomerOrder(customerId, request, idempotencyKey,
+                        preferences));
+        Consumer<OrderResponseModel> addLinks = RequestContexts.bound(this::addLinks);
+        return created.flatMap(o -> orderEnricher.enrich(o, addLinks));
     }
 
     @Override
-    public OrderResponseModel updateCustomerOrder(String customerId, String orderId, OrderRequestModel request) {
+    public Mono<OrderResponseModel> updateCustomerOrder(String customerId, String orderId, OrderRequestModel request) {
         validateUuid(customerId, "customerId");
         validateUuid(orderId, "orderId");
-        OrderResponseModel updated = ordersClient.updateCustomerOrder(customerId, orderId, request);
-        enrichOrder(updated);
-        return updated;
+        Mono<OrderResponseModel> updated = reactive(properties.getOrdersService())
+                ? ordersReactiveClient.updateCustomerOrder(customerId, orderId, request)
+                : Mono.fromCallable(() -> ordersClient.updateCustomerOrder(customerId, orderId, request));
+        Consumer<OrderResponseModel> addLinks = RequestContexts.bound(this::addLinks);
+        return updated.flatMap(o -> orderEnricher.enrich(o, addLinks));
     }
 
     @Override
-    public void deleteCustomerOrder(String customerId, String orderId) {
+    public Mono<Void> deleteCustomerOrder(String customerId, String orderId) {
         validateUuid(customerId, "customerId");
         validateUuid(orderId, "orderId");
-        ordersClient.deleteCustomerOrder(customerId, orderId);
+        return reactive(properties.getOrdersService())
+                ? ordersReactiveClient.deleteCustomerOrder(customerId, orderId)
+                : Mono.fromRunnable(() -> ordersClient.deleteCustomerOrder(customerId, orderId));
     }
 
-    private void enrichOrder(OrderResponseModel order) {
-        if (order == null || order.getOrderId() == null) return;
-
-        var c = customersClient.getCustomerById(order.getCustomerId());
-        order.setFirstName(c.getFirstName());
-        order.setLastName(c.getLastName());
-        order.setEmail(c.getEmail());
-        order.setPhone(c.getPhone());
-
-        var w = warehousesClient.getWarehouseById(order.getWarehouseId());
-        order.setLocationName(w.getLocationName());
-        order.setWarehouseAddress(w.getAddress());
-        order.setCapacity(w.getCapacity());
+    private void addLinks(OrderResponseModel order) {
+        order.add(ORDER.withSelfRel(order.getCustomerId(), order.getOrderId()));
+        order.add(ALL_ORDERS.withRel("all-orders", order.getCustomerId()));
+    }
 
-        order.add(linkTo(methodOn(com.footballstore.apigateway.presentationlayer.orders.OrdersController.class)
-                .getCustomerOrderById(order.getCustomerId(), order.getOrderId()))
-                .withSelfRel());
-        order.add(linkTo(methodOn(com.footballstore.apigateway.presentationlayer.orders.OrdersController.class)
-                .getAllCustomerOrders(order.getCustomerId()))
-                .withRel("all-orders"));
+    private static boolean reactive(DownstreamClientProperties.Service service) {
+        return service.getClient() == ClientMode.REACTIVE;
     }
 
     private void validateUuid(String id, String name) {
@@ -2,17 +2,17 @@ package com.footballstore.apigateway.businesslayer.warehouses;
 
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseRequestModel;
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseResponseModel;
-
-import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface WarehousesService {
-    List<WarehouseResponseModel> getAllWarehouses();
+    Flux<WarehouseResponseModel> getAllWarehouses();
 
-    WarehouseResponseModel getWarehouseById(String warehouseId);
+    Mono<WarehouseResponseModel> getWarehouseById(String warehouseId);
 
-    WarehouseResponseModel createWarehouse(WarehouseRequestModel requestModel);
+    Mono<WarehouseResponseModel> createWarehouse(WarehouseRequestModel requestModel);
 
-    WarehouseResponseModel updateWarehouse(String warehouseId, WarehouseRequestModel requestModel);
+    Mono<WarehouseResponseModel> updateWarehouse(String warehouseId, WarehouseRequestModel requestModel);
 
-    void deleteWarehouse(String warehouseId);
+    Mono<Void> deleteWarehouse(String warehouseId);
 }
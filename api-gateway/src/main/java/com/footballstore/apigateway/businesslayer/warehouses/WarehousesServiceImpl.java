@@ -1,82 +1,102 @@
 package com.footballstore.apigateway.businesslayer.warehouses;
 
+import com.footballstore.apigateway.businesslayer.SingleFlight;
+import com.footballstore.apigateway.domainclientlayer.ClientMode;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
 import com.footballstore.apigateway.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.apigateway.domainclientlayer.warehouses.WarehousesServiceReactiveClient;
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseRequestModel;
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseResponseModel;
+import com.footballstore.apigateway.presentationlayer.warehouses.WarehousesController;
+import com.footballstore.apigateway.utils.LinkTemplate;
+import com.footballstore.apigateway.utils.RequestContexts;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
 import com.footballstore.apigateway.utils.exceptions.InvalidWarehouseCapacityException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Slf4j
 @Service
 public class WarehousesServiceImpl implements WarehousesService {
 
+    private static final LinkTemplate WAREHOUSE = LinkTemplate.of(WarehousesController.class, "getWarehouseById");
+    private static final LinkTemplate ALL_WAREHOUSES = LinkTemplate.of(WarehousesController.class, "getAllWarehouses");
+
     private final WarehousesServiceClient warehousesServiceClient;
+    private final WarehousesServiceReactiveClient warehousesReactiveClient;
+    private final boolean reactive;
+    private final SingleFlight<String, WarehouseResponseModel> byIdReads;
 
-    public WarehousesServiceImpl(WarehousesServiceClient warehousesServiceClient) {
+    public WarehousesServiceImpl(WarehousesServiceClient warehousesServiceClient,
+                                 WarehousesServiceReactiveClient warehousesReactiveClient,
+                                 DownstreamClientProperties properties,
+                                 MeterRegistry meterRegistry) {
         this.warehousesServiceClient = warehousesServiceClient;
+        this.warehousesReactiveClient = warehousesReactiveClient;
+        this.reactive = properties.getWarehousesService().getClient() == ClientMode.REACTIVE;
+        this.byIdReads = new SingleFlight<>("warehouses", meterRegistry);
     }
 
     @Override
-    public List<WarehouseResponseModel> getAllWarehouses() {
+    public Flux<WarehouseResponseModel> getAllWarehouses() {
         log.debug("API-Gateway: Fetching all warehouses");
-        List<WarehouseResponseModel> warehouses = warehousesServiceClient.getAllWarehouses();
-        warehouses.forEach(this::enrichWithLinks);
-        return warehouses;
+        Flux<WarehouseResponseModel> warehouses = reactive
+                ? warehousesReactiveClient.getAllWarehouses()
+                : Mono.fromCallable(warehousesServiceClient::getAllWarehouses).flatMapIterable(list -> list);
+        return warehouses.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public WarehouseResponseModel getWarehouseById(String warehouseId) {
+    public Mono<WarehouseResponseModel> getWarehouseById(String warehouseId) {
         log.debug("API-Gateway: Fetching warehouse {}", warehouseId);
         validateUuid(warehouseId);
-        WarehouseResponseModel warehouse = warehousesServiceClient.getWarehouseById(warehouseId);
-        enrichWithLinks(warehouse);
-        return warehouse;
+        Mono<WarehouseResponseModel> warehouse = byIdReads.execute(warehouseId, () -> reactive
+                ? warehousesReactiveClient.getWarehouseById(warehouseId)
+                : Mono.fromCallable(() -> warehousesServiceClient.getWarehouseById(warehouseId)));
+        return warehouse.map(shared -> shared.toBuilder().build())
+                .doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public WarehouseResponseModel createWarehouse(WarehouseRequestModel requestModel) {
+    public Mono<WarehouseResponseModel> createWarehouse(WarehouseRequestModel requestModel) {
         log.debug("API-Gateway: Creating warehouse");
         if (requestModel.getCapacity() == null || requestModel.getCapacity() <= 0) {
             throw new InvalidWarehouseCapacityException("Warehouse capacity must be greater than zero");
         }
-        WarehouseResponseModel created = warehousesServiceClient.createWarehouse(requestModel);
-        enrichWithLinks(created);
-        return created;
+        Mono<WarehouseResponseModel> created = reactive
+                ? warehousesReactiveClient.createWarehouse(requestModel)
+                : Mono.fromCallable(() -> warehousesServiceClient.createWarehouse(requestModel));
+        return created.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public WarehouseResponseModel updateWarehouse(String warehouseId, WarehouseRequestModel requestModel) {
+    public Mono<WarehouseResponseModel> updateWarehouse(String warehouseId, WarehouseRequestModel requestModel) {
         log.debug("API-Gateway: Updating warehouse {}", warehouseId);
         validateUuid(warehouseId);
-        WarehouseResponseModel updated = warehousesServiceClient.updateWarehouse(warehouseId, requestModel);
-        enrichWithLinks(updated);
-        return updated;
+        Mono<WarehouseResponseModel> updated = reactive
+                ? warehousesReactiveClient.updateWarehouse(warehouseId, requestModel)
+                : Mono.fromCallable(() -> warehousesServiceClient.updateWarehouse(warehouseId, requestModel));
+        return updated.doOnNext(RequestContexts.bound(this::enrichWithLinks));
     }
 
     @Override
-    public void deleteWarehouse(String warehouseId) {
+    public Mono<Void> deleteWarehouse(String warehouseId) {
         log.debug("API-Gateway: Deleting warehouse {}", warehouseId);
         validateUuid(warehouseId);
-        warehousesServiceClient.deleteWarehouse(warehouseId);
+        return reactive
+                ? warehousesReactiveClient.deleteWarehouse(warehouseId)
+                : Mono.fromRunnable(() -> warehousesServiceClient.deleteWarehouse(warehouseId));
     }
 
     private void enrichWithLinks(WarehouseResponseModel w) {
         if (w != null && w.getWarehouseId() != null) {
-            w.add(
-                    linkTo(methodOn(com.footballstore.apigateway.presentationlayer.warehouses.WarehousesController.class)
-                            .getWarehouseById(w.getWarehouseId()))
-                            .withSelfRel());
-            w.add(
-                    linkTo(methodOn(com.footballstore.apigateway.presentationlayer.warehouses.WarehousesController.class)
-                            .getAllWarehouses())
-                            .withRel("allWarehouses"));
+            w.add(WAREHOUSE.withSelfRel(w.getWarehouseId()));
+            w.add(ALL_WAREHOUSES.withRel("allWarehouses"));
         }
     }
 
@@ -0,0 +1,6 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+public enum ClientMode {
+    BLOCKING,
+    REACTIVE
+}
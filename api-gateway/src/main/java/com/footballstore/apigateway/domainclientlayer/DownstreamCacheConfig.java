@@ -0,0 +1,46 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Turns on the {@code @Cacheable}/{@code @CachePut}/{@code @CacheEvict} annotations on the
+ * domain clients. Without {@code app.cache.enabled=true} they are inert and every read goes
+ * downstream. The Caffeine manager can be swapped for another {@link CacheManager} bean.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(DownstreamCacheProperties.class)
+@ConditionalOnProperty(prefix = "app.cache", name = "enabled", havingValue = "true")
+public class DownstreamCacheConfig {
+
+    private static final List<String> CACHE_NAMES = List.of(
+            DownstreamCacheProperties.APPARELS,
+            DownstreamCacheProperties.CUSTOMERS,
+            DownstreamCacheProperties.WAREHOUSES);
+
+    @Bean
+    CacheManager cacheManager(DownstreamCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // async mode lets the same caches back both the blocking and the Mono-returning clients
+        cacheManager.setAsyncCacheMode(true);
+        CACHE_NAMES.forEach(name -> {
+            DownstreamCacheProperties.Entity entity =
+                    properties.getEntities().getOrDefault(name, new DownstreamCacheProperties.Entity());
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .expireAfterWrite(entity.getTtl())
+                    .maximumSize(entity.getMaximumSize())
+                    .recordStats()
+                    .buildAsync());
+        });
+        return cacheManager;
+    }
+}
@@ -0,0 +1,30 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-through cache settings for the catalog reads, bound from {@code app.cache}.
+ * Each entry of {@link #entities} becomes one cache with its own TTL and size bound.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class DownstreamCacheProperties {
+
+    public static final String APPARELS = "apparels";
+    public static final String CUSTOMERS = "customers";
+    public static final String WAREHOUSES = "warehouses";
+
+    private boolean enabled = false;
+    private Map<String, Entity> entities = new LinkedHashMap<>();
+
+    @Data
+    public static class Entity {
+        private Duration ttl = Duration.ofMinutes(1);
+        private long maximumSize = 1_000;
+    }
+}
@@ -0,0 +1,27 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks into the downstream caches without loading anything. A conditional read whose entry is
+ * cached is answered from the cached validator; one that is not is sent downstream with its
+ * {@code If-None-Match}. Without {@code app.cache.enabled=true} nothing is ever cached.
+ */
+@Component
+public class DownstreamCaches {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public DownstreamCaches(ObjectProvider<CacheManager> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public boolean contains(String cacheName, Object key) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(cacheName);
+        return cache != null && cache.get(key) != null;
+    }
+}
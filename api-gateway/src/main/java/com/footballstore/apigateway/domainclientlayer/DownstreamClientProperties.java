@@ -0,0 +1,78 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection settings for the downstream services, bound from the {@code app.*-service}
+ * blocks. Each service gets its own pool limit and timeouts; {@link HttpClient} holds
+ * the settings shared by the whole pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "app")
+public class DownstreamClientProperties {
+
+    private Service customersService = new Service();
+    private Service ordersService = new Service();
+    private Service apparelsService = new Service();
+    private Service warehousesService = new Service();
+    private HttpClient httpClient = new HttpClient();
+
+    public Map<String, Service> services() {
+        Map<String, Service> services = new LinkedHashMap<>();
+        services.put("customers-service", customersService);
+        services.put("orders-service", ordersService);
+        services.put("apparels-service", apparelsService);
+        services.put("warehouses-service", warehousesService);
+        return services;
+    }
+
+    @Data
+    public static class Service {
+        private String host = "localhost";
+        private int port = 80;
+        // REACTIVE routes calls through the WebClient counterpart so no servlet thread waits on them
+        private ClientMode client = ClientMode.BLOCKING;
+        // SMILE asks the service for Smile instead of JSON; what the gateway itself returns stays JSON
+        private WireFormat wireFormat = WireFormat.JSON;
+        private Pool pool = new Pool();
+        private Hedging hedging = new Hedging();
+    }
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Opt-in hedging and retrying of the idempotent by-id reads, see {@link HedgedReads}.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        // a hedge fires once the first attempt has been outstanding longer than this share of recent reads
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        // hedges and retries together may add at most this share of extra requests
+        private double budget = 0.1;
+        private int maxRetries = 1;
+        private Duration retryBackoff = Duration.ofMillis(50);
+    }
+
+    @Data
+    public static class HttpClient {
+        private int maxTotalConnections = 200;
+        // how long a request waits for a free pooled connection before failing
+        private Duration leaseTimeout = Duration.ofSeconds(2);
+        // used when the downstream response carries no Keep-Alive header
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration idleEviction = Duration.ofSeconds(30);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
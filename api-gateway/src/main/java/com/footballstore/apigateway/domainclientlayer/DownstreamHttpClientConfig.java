@@ -0,0 +1,154 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * One pooled HTTP client shared by every blocking domain client. Each downstream service is a
+ * separate route in the pool, so it gets its own connection limit and timeouts without
+ * the clients needing their own {@link RestTemplate}.
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamClientProperties.class)
+public class DownstreamHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    PoolingHttpClientConnectionManager downstreamConnectionManager(DownstreamClientProperties properties) {
+        DownstreamClientProperties.HttpClient shared = properties.getHttpClient();
+        Map<HttpRoute, ConnectionConfig> connectionConfigs = new HashMap<>();
+        properties.services().values().forEach(service ->
+                connectionConfigs.put(route(service), ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(service.getPool().getConnectTimeout()))
+                        .setSocketTimeout(timeout(service.getPool().getReadTimeout()))
+                        .setValidateAfterInactivity(timeValue(shared.getValidateAfterInactivity()))
+                        .build()));
+        ConnectionConfig defaultConfig = ConnectionConfig.custom()
+                .setValidateAfterInactivity(timeValue(shared.getValidateAfterInactivity()))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(shared.getMaxTotalConnections())
+                .setConnectionConfigResolver(route -> connectionConfigs.getOrDefault(route, defaultConfig))
+                .build();
+        properties.services().values().forEach(service ->
+                connectionManager.setMaxPerRoute(route(service), service.getPool().getMaxConnections()));
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    CloseableHttpClient downstreamHttpClient(PoolingHttpClientConnectionManager downstreamConnectionManager,
+                                             DownstreamClientProperties properties) {
+        DownstreamClientProperties.HttpClient shared = properties.getHttpClient();
+        return HttpClients.custom()
+                .setConnectionManager(downstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(shared.getLeaseTimeout()))
+                        .setConnectionKeepAlive(timeValue(shared.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(shared.getIdleEviction()))
+                .build();
+    }
+
+    /**
+     * The Apache client negotiates gzip/deflate on its own. Services set to {@link WireFormat#SMILE} are
+     * additionally asked for Smile wherever the response would otherwise be read as JSON.
+     */
+    @Bean
+    RestTemplate restTemplate(CloseableHttpClient downstreamHttpClient, DownstreamClientProperties properties) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(downstreamHttpClient));
+        Set<String> smileServices = properties.services().values().stream()
+                .filter(service -> service.getWireFormat() == WireFormat.SMILE)
+                .map(service -> service.getHost() + ":" + service.getPort())
+                .collect(Collectors.toSet());
+        if (!smileServices.isEmpty()) {
+            // the RestTemplate already reads Smile but lists it after JSON; request bodies stay JSON
+            restTemplate.getInterceptors().add((request, body, execution) -> {
+                HttpHeaders headers = request.getHeaders();
+                if (smileServices.contains(request.getURI().getAuthority())
+                        && headers.getAccept().contains(WireFormat.SMILE_MEDIA_TYPE)) {
+                    headers.set(HttpHeaders.ACCEPT, WireFormat.SMILE_FIRST);
+                }
+                return execution.execute(request, body);
+            });
+        }
+        return restTemplate;
+    }
+
+    /**
+     * Pool behind the reactive clients, sized per downstream the same way as the blocking pool.
+     * Reactor Netty publishes its own {@code reactor.netty.connection.provider.*} gauges for it.
+     */
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider downstreamConnectionProvider(DownstreamClientProperties properties) {
+        DownstreamClientProperties.HttpClient shared = properties.getHttpClient();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("downstream")
+                .maxConnections(shared.getMaxTotalConnections())
+                .pendingAcquireTimeout(shared.getLeaseTimeout())
+                .maxIdleTime(shared.getIdleEviction())
+                .evictInBackground(shared.getIdleEviction())
+                .metrics(true);
+        properties.services().values().forEach(service -> builder.forRemoteHost(
+                InetSocketAddress.createUnresolved(service.getHost(), service.getPort()),
+                spec -> spec.maxConnections(service.getPool().getMaxConnections())));
+        return builder.build();
+    }
+
+    @Bean
+    MeterBinder downstreamPoolMetrics(PoolingHttpClientConnectionManager downstreamConnectionManager,
+                                      DownstreamClientProperties properties) {
+        return registry -> properties.services().forEach((name, service) -> {
+            HttpRoute route = route(service);
+            Map<String, ToIntFunction<PoolStats>> states = Map.of(
+                    "leased", PoolStats::getLeased,
+                    "pending", PoolStats::getPending,
+                    "available", PoolStats::getAvailable,
+                    "max", PoolStats::getMax);
+            states.forEach((state, value) -> Gauge
+                    .builder("gateway.downstream.pool.connections",
+                            downstreamConnectionManager, cm -> value.applyAsInt(cm.getStats(route)))
+                    .description("Pooled connections to a downstream service")
+                    .tag("service", name)
+                    .tag("state", state)
+                    .register(registry));
+        });
+    }
+
+    static HttpRoute route(DownstreamClientProperties.Service service) {
+        return new HttpRoute(new HttpHost("http", service.getHost(), service.getPort()));
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,41 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the {@link WebClient}s used by the reactive domain clients. They all share one
+ * connection provider; each client derives its own connect and read timeouts from its
+ * {@code app.*-service.pool} block. Responses are requested gzip-compressed, and as Smile
+ * from services whose {@code wire-format} is {@link WireFormat#SMILE}.
+ */
+@Component
+public class DownstreamWebClientFactory {
+
+    private final WebClient.Builder webClientBuilder;
+    private final HttpClient httpClient;
+
+    public DownstreamWebClientFactory(WebClient.Builder webClientBuilder, ConnectionProvider downstreamConnectionProvider) {
+        this.webClientBuilder = webClientBuilder;
+        this.httpClient = HttpClient.create(downstreamConnectionProvider).compress(true);
+    }
+
+    public WebClient create(DownstreamClientProperties.Service service, String basePath) {
+        HttpClient serviceClient = httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) service.getPool().getConnectTimeout().toMillis())
+                .responseTimeout(service.getPool().getReadTimeout());
+        WebClient.Builder builder = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(serviceClient))
+                .baseUrl("http://" + service.getHost() + ":" + service.getPort() + basePath);
+        if (service.getWireFormat() == WireFormat.SMILE) {
+            // the default codecs already decode Smile; an explicit accept(), such as the NDJSON export, still wins
+            builder.defaultHeader(HttpHeaders.ACCEPT, WireFormat.SMILE_FIRST);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedges and retries idempotent reads for the services that enable {@code app.*-service.hedging}.
+ * <p>
+ * The first attempt runs off the caller's thread; if it has not answered within the configured
+ * percentile of that service's recent read latency, an identical second attempt is sent and the
+ * first successful response wins. Attempts that fail with a 5xx or an I/O error are retried
+ * with jittered exponential backoff. Hedges and retries draw on one token budget that each
+ * read tops up by {@code budget}, so together they never add more than that share of load.
+ * A 4xx is an answer and is returned as is.
+ */
+@Slf4j
+@Component
+public class HedgedReads {
+
+    private static final int MAX_BUDGET_TOKENS = 10;
+    private static final int LATENCY_WINDOW = 256;
+    // below this many samples the percentile says too little to hedge on
+    private static final int MIN_SAMPLES = 20;
+    // the window is re-sorted after this many new samples rather than on every read
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final Map<String, Policy> policies = new HashMap<>();
+    private final ExecutorService executor;
+
+    public HedgedReads(DownstreamClientProperties properties, MeterRegistry meterRegistry,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedged-read-", 1).factory())
+                : Executors.newCachedThreadPool(new CustomizableThreadFactory("hedged-read-"));
+        properties.services().forEach((name, service) -> {
+            if (service.getHedging().isEnabled()) {
+                policies.put(name, new Policy(name, service.getHedging(), meterRegistry));
+            }
+        });
+    }
+
+    public <T> T read(String service, Supplier<T> call) {
+        Policy policy = policies.get(service);
+        if (policy == null) {
+            return call.get();
+        }
+        policy.earnBudget();
+        for (int retry = 1; ; retry++) {
+            try {
+                return hedged(policy, call);
+            } catch (RuntimeException ex) {
+                if (!isRetryable(ex) || retry > policy.settings.getMaxRetries() || !policy.spendBudget()) {
+                    throw ex;
+                }
+                policy.retries.increment();
+                log.debug("Retrying read from {} after {}", service, ex.toString());
+                backoff(policy, retry);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hedged(Policy policy, Supplier<T> call) {
+        CompletableFuture<T> primary = attempt(policy, call);
+        try {
+            return primary.get(policy.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException slow) {
+            if (!policy.spendBudget()) {
+                policy.throttled.increment();
+                return join(primary);
+            }
+        } catch (ExecutionException failed) {
+            return join(primary);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a downstream read", ex);
+        }
+
+        CompletableFuture<T> hedge = attempt(policy, call);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : Arrays.asList(primary, hedge)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (first.complete(value)) {
+                        (attempt == hedge ? policy.hedgesWon : policy.hedgesLost).increment();
+                    }
+                } else if (!isRetryable(unwrap(error)) || failures.incrementAndGet() == 2) {
+                    // a 4xx settles the read; a 5xx only does once the other attempt failed too
+                    first.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        try {
+            return join(first);
+        } finally {
+            primary.cancel(false);
+            hedge.cancel(false);
+        }
+    }
+
+    private <T> CompletableFuture<T> attempt(Policy policy, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T value = call.get();
+            policy.record(System.nanoTime() - start);
+            return value;
+        }, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a downstream read", ex);
+        }
+    }
+
+    private static void backoff(Policy policy, int retry) {
+        // full jitter: anywhere between zero and the exponential step, so retries do not line up
+        long ceiling = policy.settings.getRetryBackoff().toMillis() << (retry - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a downstream read", ex);
+        }
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        return error instanceof HttpServerErrorException || error instanceof ResourceAccessException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof ExecutionException || error instanceof CompletionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private static final class Policy {
+
+        private final DownstreamClientProperties.Hedging settings;
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int next;
+        private int filled;
+        private int sinceRecompute;
+        private volatile long hedgeDelayNanos = Long.MAX_VALUE;
+        private double budgetTokens;
+
+        private final Counter hedgesWon;
+        private final Counter hedgesLost;
+        private final Counter throttled;
+        private final Counter retries;
+
+        Policy(String service, DownstreamClientProperties.Hedging settings, MeterRegistry meterRegistry) {
+            this.settings = settings;
+            this.hedgesWon = hedgeCounter(service, "won", meterRegistry);
+            this.hedgesLost = hedgeCounter(service, "lost", meterRegistry);
+            this.throttled = hedgeCounter(service, "throttled", meterRegistry);
+            this.retries = Counter.builder("gateway.downstream.retries")
+                    .description("Reads retried after a 5xx or I/O error")
+                    .tag("service", service)
+                    .register(meterRegistry);
+        }
+
+        synchronized void record(long nanos) {
+            latencies[next] = nanos;
+            next = (next + 1) % LATENCY_WINDOW;
+            filled = Math.min(filled + 1, LATENCY_WINDOW);
+            if (filled == MIN_SAMPLES || (filled > MIN_SAMPLES && ++sinceRecompute >= RECOMPUTE_EVERY)) {
+                sinceRecompute = 0;
+                hedgeDelayNanos = percentile();
+            }
+        }
+
+        long hedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+
+        private long percentile() {
+            long[] sorted = Arrays.copyOf(latencies, filled);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(settings.getPercentile() * filled) - 1;
+            return Math.max(settings.getMinDelay().toNanos(), sorted[Math.max(0, Math.min(rank, filled - 1))]);
+        }
+
+        synchronized void earnBudget() {
+            budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + settings.getBudget());
+        }
+
+        synchronized boolean spendBudget() {
+            if (budgetTokens < 1) {
+                return false;
+            }
+            budgetTokens -= 1;
+            return true;
+        }
+
+        private static Counter hedgeCounter(String service, String outcome, MeterRegistry meterRegistry) {
+            return Counter.builder("gateway.downstream.hedges")
+                    .description("Hedged reads by outcome; throttled ones were over budget and not sent")
+                    .tag("service", service)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import org.springframework.http.MediaType;
+
+public enum WireFormat {
+    JSON,
+    // Jackson's binary JSON: the same documents, smaller and cheaper to parse; only for the hops between services
+    SMILE;
+
+    static final MediaType SMILE_MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+    // JSON stays acceptable, so a service without the Smile converter still answers
+    static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
+}
@@ -1,6 +1,9 @@
 package com.footballstore.apigateway.domainclientlayer.apparels;
 
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.HedgedReads;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelPageResponseModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelRequestModel;
 import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
 import com.footballstore.apigateway.utils.HttpErrorInfo;
@@ -9,14 +12,20 @@ import com.footballstore.apigateway.utils.exceptions.NotFoundException;
 import com.footballstore.apigateway.utils.exceptions.InvalidApparelPricingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import static org.springframework.http.HttpStatus.*;
 
 @Slf4j
@@ -25,13 +34,16 @@ public class ApparelsServiceClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final HedgedReads hedgedReads;
     private final String APPARELS_SERVICE_BASE_URL;
 
     public ApparelsServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                                 HedgedReads hedgedReads,
                                  @Value("${app.apparels-service.host}") String apparelsServiceHost,
                                  @Value("${app.apparels-service.port}") String apparelsServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.hedgedReads = hedgedReads;
         this.APPARELS_SERVICE_BASE_URL = "http://" + apparelsServiceHost + ":" + apparelsServicePort + "/api/v1/apparels";
     }
 
@@ -47,11 +59,38 @@ public class ApparelsServiceClient {
         }
     }
 
+    public ApparelPageResponseModel getApparelsPage(int limit, String cursor) {
+        log.debug("API-Gateway: Fetching apparels page of {} after cursor {}", limit, cursor);
+        try {
+            String url = UriComponentsBuilder.fromUriString(APPARELS_SERVICE_BASE_URL)
+                    .queryParam("limit", limit)
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .toUriString();
+            return restTemplate.getForObject(url, ApparelPageResponseModel.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    @Cacheable(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
     public ApparelResponseModel getApparelById(String apparelId) {
         log.debug("API-Gateway: Fetching apparel with id: {}", apparelId);
         try {
             String url = APPARELS_SERVICE_BASE_URL + "/" + apparelId;
-            return restTemplate.getForObject(url, ApparelResponseModel.class);
+            return hedgedReads.read("apparels-service", () -> withETag(restTemplate.getForEntity(url, ApparelResponseModel.class)));
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
+    // not cached: a 304 has no body to cache, and comes back as null
+    public ApparelResponseModel getApparelByIdIfNoneMatch(String apparelId, String ifNoneMatch) {
+        log.debug("API-Gateway: Revalidating apparel with id: {}", apparelId);
+        try {
+            RequestEntity<Void> request = RequestEntity.get(APPARELS_SERVICE_BASE_URL + "/{apparelId}", apparelId)
+                    .ifNoneMatch(ifNoneMatch)
+                    .build();
+            return hedgedReads.read("apparels-service", () -> withETag(restTemplate.exchange(request, ApparelResponseModel.class)));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
@@ -66,6 +105,7 @@ public class ApparelsServiceClient {
         }
     }
 
+    @CachePut(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
     public ApparelResponseModel updateApparel(String apparelId, ApparelRequestModel request) {
         log.debug("API-Gateway: Updating apparel with id: {}", apparelId);
         try {
@@ -77,6 +117,7 @@ public class ApparelsServiceClient {
         }
     }
 
+    @CacheEvict(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
     public void deleteApparel(String apparelId) {
         log.debug("API-Gateway: Deleting apparel with id: {}", apparelId);
         try {
@@ -87,6 +128,14 @@ public class ApparelsServiceClient {
         }
     }
 
+    private static ApparelResponseModel withETag(ResponseEntity<ApparelResponseModel> response) {
+        ApparelResponseModel apparel = response.getBody();
+        if (apparel != null) {
+            apparel.setEtag(response.getHeaders().getETag());
+        }
+        return apparel;
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
@@ -0,0 +1,166 @@
+package com.footballstore.apigateway.domainclientlayer.apparels;
+
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamWebClientFactory;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelPageResponseModel;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelRequestModel;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
+import com.footballstore.apigateway.utils.HttpErrorInfo;
+import com.footballstore.apigateway.utils.exceptions.InvalidApparelPricingException;
+import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Non-blocking counterpart of {@link ApparelsServiceClient}, used when
+ * {@code app.apparels-service.client} is {@code reactive}.
+ */
+@Slf4j
+@Component
+public class ApparelsServiceReactiveClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+
+    public ApparelsServiceReactiveClient(DownstreamWebClientFactory webClients, ObjectMapper mapper,
+                                         DownstreamClientProperties properties) {
+        this.webClient = webClients.create(properties.getApparelsService(), "/api/v1/apparels");
+        this.mapper = mapper;
+    }
+
+    public Flux<ApparelResponseModel> getAllApparels() {
+        log.debug("API-Gateway: Fetching all apparels (reactive)");
+        return webClient.get()
+                .retrieve()
+                .bodyToFlux(ApparelResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<ApparelPageResponseModel> getApparelsPage(int limit, String cursor) {
+        log.debug("API-Gateway: Fetching apparels page of {} after cursor {} (reactive)", limit, cursor);
+        return webClient.get()
+                .uri(uri -> uri.queryParam("limit", limit)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .build())
+                .retrieve()
+                .bodyToMono(ApparelPageResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    /**
+     * Full catalog as NDJSON, decoded row by row as it arrives rather than buffered.
+     */
+    public Flux<ApparelResponseModel> streamAllApparels() {
+        log.debug("API-Gateway: Streaming all apparels (reactive)");
+        return webClient.get()
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(ApparelResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @Cacheable(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
+    public Mono<ApparelResponseModel> getApparelById(String apparelId) {
+        log.debug("API-Gateway: Fetching apparel with id: {} (reactive)", apparelId);
+        return webClient.get()
+                .uri("/{apparelId}", apparelId)
+                .retrieve()
+                .toEntity(ApparelResponseModel.class)
+                .mapNotNull(ApparelsServiceReactiveClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    // not cached: a 304 has no body to cache, and completes the Mono empty
+    public Mono<ApparelResponseModel> getApparelByIdIfNoneMatch(String apparelId, String ifNoneMatch) {
+        log.debug("API-Gateway: Revalidating apparel with id: {} (reactive)", apparelId);
+        return webClient.get()
+                .uri("/{apparelId}", apparelId)
+                .ifNoneMatch(ifNoneMatch)
+                .retrieve()
+                .toEntity(ApparelResponseModel.class)
+                .mapNotNull(ApparelsServiceReactiveClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<ApparelResponseModel> createApparel(ApparelRequestModel request) {
+        log.debug("API-Gateway: Creating apparel (reactive)");
+        return webClient.post()
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ApparelResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @CachePut(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
+    public Mono<ApparelResponseModel> updateApparel(String apparelId, ApparelRequestModel request) {
+        log.debug("API-Gateway: Updating apparel with id: {} (reactive)", apparelId);
+        return webClient.put()
+                .uri("/{apparelId}", apparelId)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then(getApparelById(apparelId));
+    }
+
+    @CacheEvict(cacheNames = DownstreamCacheProperties.APPARELS, key = "#apparelId")
+    public Mono<Void> deleteApparel(String apparelId) {
+        log.debug("API-Gateway: Deleting apparel with id: {} (reactive)", apparelId);
+        return webClient.delete()
+                .uri("/{apparelId}", apparelId)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then();
+    }
+
+    private static ApparelResponseModel withETag(ResponseEntity<ApparelResponseModel> response) {
+        ApparelResponseModel apparel = response.getBody();
+        if (apparel != null) {
+            apparel.setEtag(response.getHeaders().getETag());
+        }
+        return apparel;
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
+            return errorInfo.getMessage();
+        } catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            String message = getErrorMessage(ex);
+            if (message != null && message.toLowerCase().contains("pricing")) {
+                return new InvalidApparelPricingException(message);
+            }
+            return new InvalidInputException(message);
+        }
+        log.warn("Unexpected HTTP error: {}", ex.getStatusCode());
+        return ex;
+    }
+}
@@ -1,14 +1,19 @@
 package com.footballstore.apigateway.domainclientlayer.customers;
 
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
 import com.footballstore.apigateway.presentationlayer.customers.CustomerRequestModel;
 import com.footballstore.apigateway.presentationlayer.customers.CustomerResponseModel;
 import com.footballstore.apigateway.utils.HttpErrorInfo;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
 import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.footballstore.apigateway.domainclientlayer.HedgedReads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -25,13 +30,16 @@ public class CustomersServiceClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final HedgedReads hedgedReads;
     private final String CUSTOMERS_SERVICE_BASE_URL;
 
     public CustomersServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                                  HedgedReads hedgedReads,
                                   @Value("${app.customers-service.host}") String customersServiceHost,
                                   @Value("${app.customers-service.port}") String customersServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.hedgedReads = hedgedReads;
         CUSTOMERS_SERVICE_BASE_URL = "http://" + customersServiceHost + ":" + customersServicePort + "/api/v1/customers";
     }
 
@@ -47,11 +55,12 @@ public class CustomersServiceClient {
         }
     }
 
+    @Cacheable(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
     public CustomerResponseModel getCustomerById(String customerId) {
         log.debug("API-Gateway: Fetching customer with id: " + customerId);
         try {
             String url = CUSTOMERS_SERVICE_BASE_URL + "/" + customerId;
-            return restTemplate.getForObject(url, CustomerResponseModel.class);
+            return hedgedReads.read("customers-service", () -> withETag(restTemplate.getForEntity(url, CustomerResponseModel.class)));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
@@ -66,6 +75,7 @@ public class CustomersServiceClient {
         }
     }
 
+    @CachePut(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
     public CustomerResponseModel updateCustomer(String customerId, CustomerRequestModel customerRequest) {
         log.debug("API-Gateway: Updating customer with id: " + customerId);
         try {
@@ -77,6 +87,7 @@ public class CustomersServiceClient {
         }
     }
 
+    @CacheEvict(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
     public CustomerResponseModel deleteCustomer(String customerId) {
         log.debug("API-Gateway: Deleting customer with id: " + customerId);
         try {
@@ -88,6 +99,14 @@ public class CustomersServiceClient {
         return null;
     }
 
+    private static CustomerResponseModel withETag(ResponseEntity<CustomerResponseModel> response) {
+        CustomerResponseModel customer = response.getBody();
+        if (customer != null) {
+            customer.setEtag(response.getHeaders().getETag());
+        }
+        return customer;
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
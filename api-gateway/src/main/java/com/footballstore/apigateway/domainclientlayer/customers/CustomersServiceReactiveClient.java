@@ -0,0 +1,123 @@
+package com.footballstore.apigateway.domainclientlayer.customers;
+
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamWebClientFactory;
+import com.footballstore.apigateway.presentationlayer.customers.CustomerRequestModel;
+import com.footballstore.apigateway.presentationlayer.customers.CustomerResponseModel;
+import com.footballstore.apigateway.utils.HttpErrorInfo;
+import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Non-blocking counterpart of {@link CustomersServiceClient}, used when
+ * {@code app.customers-service.client} is {@code reactive}.
+ */
+@Slf4j
+@Component
+public class CustomersServiceReactiveClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+
+    public CustomersServiceReactiveClient(DownstreamWebClientFactory webClients, ObjectMapper mapper,
+                                          DownstreamClientProperties properties) {
+        this.webClient = webClients.create(properties.getCustomersService(), "/api/v1/customers");
+        this.mapper = mapper;
+    }
+
+    public Flux<CustomerResponseModel> getAllCustomers() {
+        log.debug("API-Gateway: Fetching all customers (reactive)");
+        return webClient.get()
+                .retrieve()
+                .bodyToFlux(CustomerResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @Cacheable(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
+    public Mono<CustomerResponseModel> getCustomerById(String customerId) {
+        log.debug("API-Gateway: Fetching customer with id: {} (reactive)", customerId);
+        return webClient.get()
+                .uri("/{customerId}", customerId)
+                .retrieve()
+                .toEntity(CustomerResponseModel.class)
+                .mapNotNull(CustomersServiceReactiveClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<CustomerResponseModel> createCustomer(CustomerRequestModel customerRequest) {
+        log.debug("API-Gateway: Creating customer (reactive)");
+        return webClient.post()
+                .bodyValue(customerRequest)
+                .retrieve()
+                .bodyToMono(CustomerResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @CachePut(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
+    public Mono<CustomerResponseModel> updateCustomer(String customerId, CustomerRequestModel customerRequest) {
+        log.debug("API-Gateway: Updating customer with id: {} (reactive)", customerId);
+        return webClient.put()
+                .uri("/{customerId}", customerId)
+                .bodyValue(customerRequest)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then(getCustomerById(customerId));
+    }
+
+    @CacheEvict(cacheNames = DownstreamCacheProperties.CUSTOMERS, key = "#customerId")
+    public Mono<Void> deleteCustomer(String customerId) {
+        log.debug("API-Gateway: Deleting customer with id: {} (reactive)", customerId);
+        return webClient.delete()
+                .uri("/{customerId}", customerId)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then();
+    }
+
+    private static CustomerResponseModel withETag(ResponseEntity<CustomerResponseModel> response) {
+        CustomerResponseModel customer = response.getBody();
+        if (customer != null) {
+            customer.setEtag(response.getHeaders().getETag());
+        }
+        return customer;
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
+            return errorInfo.getMessage();
+        } catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(getErrorMessage(ex));
+        }
+        log.warn("Unexpected HTTP error: " + ex.getStatusCode());
+        return ex;
+    }
+}
@@ -1,6 +1,7 @@
 package com.footballstore.apigateway.domainclientlayer.orders;
 
 public enum OrderStatus {
+    ACCEPTED,
     CREATED,
     PROCESSING,
     COMPLETED,
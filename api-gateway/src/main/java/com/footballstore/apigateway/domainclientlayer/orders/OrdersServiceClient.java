@@ -5,9 +5,13 @@ import com.footballstore.apigateway.presentationlayer.orders.OrderResponseModel;
 import com.footballstore.apigateway.utils.HttpErrorInfo;
 import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
 import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.footballstore.apigateway.domainclientlayer.HedgedReads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
@@ -25,17 +29,25 @@ import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 @Component
 public class OrdersServiceClient {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String PREFER = "Prefer";
+    static final String PREFERENCE_APPLIED = "Preference-Applied";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final HedgedReads hedgedReads;
     private final String ORDERS_SERVICE_BASE_URL;
 
     public OrdersServiceClient(RestTemplate restTemplate,
                                ObjectMapper mapper,
+                               HedgedReads hedgedReads,
                                @Value("${app.orders-service.host}") String host,
                                @Value("${app.orders-service.port}") String port) {
 
         this.restTemplate = restTemplate;
         this.mapper       = mapper;
+        this.hedgedReads = hedgedReads;
         this.ORDERS_SERVICE_BASE_URL =
                 "http://" + host + ":" + port + "/api/v1/customers";
     }
@@ -57,17 +69,21 @@ public class OrdersServiceClient {
         log.debug("API-Gateway: Fetching order {} for customer {}", orderId, customerId);
         try {
             String url = ORDERS_SERVICE_BASE_URL + "/" + customerId + "/orders/" + orderId;
-            return restTemplate.getForObject(url, OrderResponseModel.class);
+            return hedgedReads.read("orders-service", () -> withETag(restTemplate.getForEntity(url, OrderResponseModel.class)));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
     }
 
-    public OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request) {
+    public OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request,
+                                                   String idempotencyKey, List<String> preferences) {
         log.debug("API-Gateway: Creating order for customer {}", customerId);
         try {
             String url = ORDERS_SERVICE_BASE_URL + "/" + customerId + "/orders";
-            return restTemplate.postForObject(url, request, OrderResponseModel.class);
+            HttpHeaders headers = new HttpHeaders();
+            forwardCreateHeaders(headers, idempotencyKey, preferences);
+            return withCreateOutcome(restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(request, headers),
+                    OrderResponseModel.class));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
@@ -96,6 +112,33 @@ public class OrdersServiceClient {
         }
     }
 
+    static void forwardCreateHeaders(HttpHeaders headers, String idempotencyKey, List<String> preferences) {
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        }
+        if (preferences != null && !preferences.isEmpty()) {
+            headers.put(PREFER, preferences);
+        }
+    }
+
+    static OrderResponseModel withCreateOutcome(ResponseEntity<OrderResponseModel> response) {
+        OrderResponseModel order = response.getBody();
+        if (order != null) {
+            order.setResponseStatus(response.getStatusCode().value());
+            order.setPreferenceApplied(response.getHeaders().getFirst(PREFERENCE_APPLIED));
+            order.setReplayed(response.getHeaders().containsKey(IDEMPOTENT_REPLAYED));
+        }
+        return order;
+    }
+
+    private static OrderResponseModel withETag(ResponseEntity<OrderResponseModel> response) {
+        OrderResponseModel order = response.getBody();
+        if (order != null) {
+            order.setEtag(response.getHeaders().getETag());
+        }
+        return order;
+    }
+
     private String extractErrorMessage(HttpClientErrorException ex) {
         try {
             HttpErrorInfo info = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
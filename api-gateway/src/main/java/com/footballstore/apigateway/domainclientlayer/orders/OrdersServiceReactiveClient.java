@@ -0,0 +1,126 @@
+package com.footballstore.apigateway.domainclientlayer.orders;
+
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamWebClientFactory;
+import com.footballstore.apigateway.presentationlayer.orders.OrderRequestModel;
+import com.footballstore.apigateway.presentationlayer.orders.OrderResponseModel;
+import com.footballstore.apigateway.utils.HttpErrorInfo;
+import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Non-blocking counterpart of {@link OrdersServiceClient}, used when
+ * {@code app.orders-service.client} is {@code reactive}.
+ */
+@Slf4j
+@Component
+public class OrdersServiceReactiveClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+
+    public OrdersServiceReactiveClient(DownstreamWebClientFactory webClients,
+                                       ObjectMapper mapper,
+                                       DownstreamClientProperties properties) {
+        this.webClient = webClients.create(properties.getOrdersService(), "/api/v1/customers");
+        this.mapper = mapper;
+    }
+
+    public Flux<OrderResponseModel> getAllCustomerOrders(String customerId) {
+        log.debug("API-Gateway: Fetching all orders for customerId={} (reactive)", customerId);
+        return webClient.get()
+                .uri("/{customerId}/orders", customerId)
+                .retrieve()
+                .bodyToFlux(OrderResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<OrderResponseModel> getCustomerOrderById(String customerId, String orderId) {
+        log.debug("API-Gateway: Fetching order {} for customer {} (reactive)", orderId, customerId);
+        return webClient.get()
+                .uri("/{customerId}/orders/{orderId}", customerId, orderId)
+                .retrieve()
+                .toEntity(OrderResponseModel.class)
+                .mapNotNull(OrdersServiceReactiveClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<OrderResponseModel> processCustomerOrder(String customerId, OrderRequestModel request,
+                                                         String idempotencyKey, List<String> preferences) {
+        log.debug("API-Gateway: Creating order for customer {} (reactive)", customerId);
+        return webClient.post()
+                .uri("/{customerId}/orders", customerId)
+                .headers(headers -> OrdersServiceClient.forwardCreateHeaders(headers, idempotencyKey, preferences))
+                .bodyValue(request)
+                .retrieve()
+                .toEntity(OrderResponseModel.class)
+                .mapNotNull(OrdersServiceClient::withCreateOutcome)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<OrderResponseModel> updateCustomerOrder(String customerId,
+                                                        String orderId,
+                                                        OrderRequestModel request) {
+        log.debug("API-Gateway: Updating order {} for customer {} (reactive)", orderId, customerId);
+        return webClient.put()
+                .uri("/{customerId}/orders/{orderId}", customerId, orderId)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then(getCustomerOrderById(customerId, orderId));
+    }
+
+    public Mono<Void> deleteCustomerOrder(String customerId, String orderId) {
+        log.debug("API-Gateway: Deleting order {} for customer {} (reactive)", orderId, customerId);
+        return webClient.delete()
+                .uri("/{customerId}/orders/{orderId}", customerId, orderId)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then();
+    }
+
+    private static OrderResponseModel withETag(ResponseEntity<OrderResponseModel> response) {
+        OrderResponseModel order = response.getBody();
+        if (order != null) {
+            order.setEtag(response.getHeaders().getETag());
+        }
+        return order;
+    }
+
+    private String extractErrorMessage(WebClientResponseException ex) {
+        try {
+            HttpErrorInfo info = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
+            return info.getMessage();
+        } catch (IOException ioe) {
+            return ex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+        String msg = extractErrorMessage(ex);
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(msg);
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            return new InvalidInputException(msg);
+        }
+        log.warn("Unexpected HTTP error from Orders Service: {} – rethrowing", ex.getStatusCode());
+        return ex;
+    }
+}
@@ -1,5 +1,7 @@
 package com.footballstore.apigateway.domainclientlayer.warehouses;
 
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.HedgedReads;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseRequestModel;
 import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseResponseModel;
@@ -10,6 +12,9 @@ import com.footballstore.apigateway.utils.exceptions.InvalidWarehouseCapacityExc
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -25,13 +30,16 @@ public class WarehousesServiceClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper mapper;
+    private final HedgedReads hedgedReads;
     private final String WAREHOUSES_SERVICE_BASE_URL;
 
     public WarehousesServiceClient(RestTemplate restTemplate, ObjectMapper mapper,
+                                   HedgedReads hedgedReads,
                                    @Value("${app.warehouses-service.host}") String warehousesServiceHost,
                                    @Value("${app.warehouses-service.port}") String warehousesServicePort) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
+        this.hedgedReads = hedgedReads;
         this.WAREHOUSES_SERVICE_BASE_URL = "http://" + warehousesServiceHost + ":" + warehousesServicePort + "/api/v1/warehouses";
     }
 
@@ -47,11 +55,12 @@ public class WarehousesServiceClient {
         }
     }
 
+    @Cacheable(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
     public WarehouseResponseModel getWarehouseById(String warehouseId) {
         log.debug("API-Gateway: Fetching warehouse with id: {}", warehouseId);
         try {
             String url = WAREHOUSES_SERVICE_BASE_URL + "/" + warehouseId;
-            return restTemplate.getForObject(url, WarehouseResponseModel.class);
+            return hedgedReads.read("warehouses-service", () -> withETag(restTemplate.getForEntity(url, WarehouseResponseModel.class)));
         } catch (HttpClientErrorException ex) {
             throw handleHttpClientException(ex);
         }
@@ -66,6 +75,7 @@ public class WarehousesServiceClient {
         }
     }
 
+    @CachePut(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
     public WarehouseResponseModel updateWarehouse(String warehouseId, WarehouseRequestModel request) {
         log.debug("API-Gateway: Updating warehouse with id: {}", warehouseId);
         try {
@@ -77,6 +87,7 @@ public class WarehousesServiceClient {
         }
     }
 
+    @CacheEvict(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
     public void deleteWarehouse(String warehouseId) {
         log.debug("API-Gateway: Deleting warehouse with id: {}", warehouseId);
         try {
@@ -87,6 +98,14 @@ public class WarehousesServiceClient {
         }
     }
 
+    private static WarehouseResponseModel withETag(ResponseEntity<WarehouseResponseModel> response) {
+        WarehouseResponseModel warehouse = response.getBody();
+        if (warehouse != null) {
+            warehouse.setEtag(response.getHeaders().getETag());
+        }
+        return warehouse;
+    }
+
     private String getErrorMessage(HttpClientErrorException ex) {
         try {
             HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
@@ -0,0 +1,128 @@
+package com.footballstore.apigateway.domainclientlayer.warehouses;
+
+import com.footballstore.apigateway.domainclientlayer.DownstreamCacheProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamClientProperties;
+import com.footballstore.apigateway.domainclientlayer.DownstreamWebClientFactory;
+import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseRequestModel;
+import com.footballstore.apigateway.presentationlayer.warehouses.WarehouseResponseModel;
+import com.footballstore.apigateway.utils.HttpErrorInfo;
+import com.footballstore.apigateway.utils.exceptions.InvalidWarehouseCapacityException;
+import com.footballstore.apigateway.utils.exceptions.InvalidInputException;
+import com.footballstore.apigateway.utils.exceptions.NotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Non-blocking counterpart of {@link WarehousesServiceClient}, used when
+ * {@code app.warehouses-service.client} is {@code reactive}.
+ */
+@Slf4j
+@Component
+public class WarehousesServiceReactiveClient {
+
+    private final WebClient webClient;
+    private final ObjectMapper mapper;
+
+    public WarehousesServiceReactiveClient(DownstreamWebClientFactory webClients, ObjectMapper mapper,
+                                           DownstreamClientProperties properties) {
+        this.webClient = webClients.create(properties.getWarehousesService(), "/api/v1/warehouses");
+        this.mapper = mapper;
+    }
+
+    public Flux<WarehouseResponseModel> getAllWarehouses() {
+        log.debug("API-Gateway: Fetching all warehouses (reactive)");
+        return webClient.get()
+                .retrieve()
+                .bodyToFlux(WarehouseResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @Cacheable(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
+    public Mono<WarehouseResponseModel> getWarehouseById(String warehouseId) {
+        log.debug("API-Gateway: Fetching warehouse with id: {} (reactive)", warehouseId);
+        return webClient.get()
+                .uri("/{warehouseId}", warehouseId)
+                .retrieve()
+                .toEntity(WarehouseResponseModel.class)
+                .mapNotNull(WarehousesServiceReactiveClient::withETag)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    public Mono<WarehouseResponseModel> createWarehouse(WarehouseRequestModel request) {
+        log.debug("API-Gateway: Creating warehouse (reactive)");
+        return webClient.post()
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(WarehouseResponseModel.class)
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException);
+    }
+
+    @CachePut(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
+    public Mono<WarehouseResponseModel> updateWarehouse(String warehouseId, WarehouseRequestModel request) {
+        log.debug("API-Gateway: Updating warehouse with id: {} (reactive)", warehouseId);
+        return webClient.put()
+                .uri("/{warehouseId}", warehouseId)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then(getWarehouseById(warehouseId));
+    }
+
+    @CacheEvict(cacheNames = DownstreamCacheProperties.WAREHOUSES, key = "#warehouseId")
+    public Mono<Void> deleteWarehouse(String warehouseId) {
+        log.debug("API-Gateway: Deleting warehouse with id: {} (reactive)", warehouseId);
+        return webClient.delete()
+                .uri("/{warehouseId}", warehouseId)
+                .retrieve()
+                .toBodilessEntity()
+                .onErrorMap(WebClientResponseException.class, this::handleWebClientException)
+                .then();
+    }
+
+    private static WarehouseResponseModel withETag(ResponseEntity<WarehouseResponseModel> response) {
+        WarehouseResponseModel warehouse = response.getBody();
+        if (warehouse != null) {
+            warehouse.setEtag(response.getHeaders().getETag());
+        }
+        return warehouse;
+    }
+
+    private String getErrorMessage(WebClientResponseException ex) {
+        try {
+            HttpErrorInfo errorInfo = mapper.readValue(ex.getResponseBodyAsString(), HttpErrorInfo.class);
+            return errorInfo.getMessage();
+        } catch (IOException ioex) {
+            return ioex.getMessage();
+        }
+    }
+
+    private Throwable handleWebClientException(WebClientResponseException ex) {
+        if (ex.getStatusCode() == NOT_FOUND) {
+            return new NotFoundException(getErrorMessage(ex));
+        }
+        if (ex.getStatusCode() == UNPROCESSABLE_ENTITY) {
+            String message = getErrorMessage(ex);
+            if (message != null && message.toLowerCase().contains("capacity")) {
+                return new InvalidWarehouseCapacityException(message);
+            }
+            return new InvalidInputException(message);
+        }
+        log.warn("Unexpected HTTP error: {}", ex.getStatusCode());
+        return ex;
+    }
+}
@@ -0,0 +1,18 @@
+package com.footballstore.apigateway.presentationlayer.apparels;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApparelPageResponseModel extends RepresentationModel<ApparelPageResponseModel> {
+    private List<ApparelResponseModel> items;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.footballstore.apigateway.presentationlayer.apparels;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,7 +9,7 @@ import org.springframework.hateoas.RepresentationModel;
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class ApparelResponseModel extends RepresentationModel<ApparelResponseModel> {
@@ -21,4 +22,8 @@ public class ApparelResponseModel extends RepresentationModel<ApparelResponseMod
     private Integer stock;
     private String apparelType;
     private String sizeOption;
+
+    // the downstream validator; it stays with cached entries so If-None-Match is answered here
+    @JsonIgnore
+    private String etag;
 }
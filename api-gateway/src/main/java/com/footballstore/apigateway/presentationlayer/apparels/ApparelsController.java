@@ -1,11 +1,16 @@
 package com.footballstore.apigateway.presentationlayer.apparels;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.footballstore.apigateway.businesslayer.apparels.ApparelsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -14,30 +19,52 @@ import java.util.List;
 public class ApparelsController {
 
     private final ApparelsService service;
+    private final ObjectMapper objectMapper;
 
-    public ApparelsController(ApparelsService service) {
+    public ApparelsController(ApparelsService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ApparelResponseModel>> getAllApparels() {
-        return ResponseEntity.ok(service.getAllApparels());
+    public Mono<ResponseEntity<List<ApparelResponseModel>>> getAllApparels() {
+        return service.getAllApparels().collectList().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApparelPageResponseModel>> getApparelsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return service.getApparelsPage(limit, cursor).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamAllApparels() {
+        // rendered here: the HAL-aware JSON converter has no mapper registered for NDJSON
+        return service.streamAllApparels().map(this::toJson);
     }
 
     @GetMapping(value = "/{apparelId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApparelResponseModel> getApparelById(@PathVariable String apparelId) {
-        return ResponseEntity.ok(service.getApparelById(apparelId));
+    public Mono<ResponseEntity<ApparelResponseModel>> getApparelById(
+            @PathVariable String apparelId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // a cached validator that matches becomes a 304 here; on a miss the 304 comes from the apparels service
+        return service.getApparelById(apparelId, ifNoneMatch)
+                .map(apparel -> ResponseEntity.ok().eTag(apparel.getEtag()).body(apparel))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ifNoneMatch).build());
     }
 
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<ApparelResponseModel> createApparel(
+    public Mono<ResponseEntity<ApparelResponseModel>> createApparel(
             @RequestBody ApparelRequestModel requestModel
     ) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(service.createApparel(requestModel));
+        return service.createApparel(requestModel)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
     }
 
     @PutMapping(
@@ -45,16 +72,24 @@ public class ApparelsController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaTypes.HAL_JSON_VALUE
     )
-    public ResponseEntity<ApparelResponseModel> updateApparel(
+    public Mono<ResponseEntity<ApparelResponseModel>> updateApparel(
             @PathVariable String apparelId,
             @RequestBody  ApparelRequestModel requestModel
     ) {
-        return ResponseEntity.ok(service.updateApparel(apparelId, requestModel));
+        return service.updateApparel(apparelId, requestModel).map(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{apparelId}")
-    public ResponseEntity<Void> deleteApparel(@PathVariable String apparelId) {
-        service.deleteApparel(apparelId);
-        return ResponseEntity.noContent().build();
+    public Mono<ResponseEntity<Void>> deleteApparel(@PathVariable String apparelId) {
+        return service.deleteApparel(apparelId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    private String toJson(ApparelResponseModel apparel) {
+        try {
+            return objectMapper.writeValueAsString(apparel);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.footballstore.apigateway.presentationlayer.customers;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,7 +8,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.hateoas.RepresentationModel;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class CustomerResponseModel extends RepresentationModel<CustomerResponseModel> {
@@ -23,4 +24,8 @@ public class CustomerResponseModel extends RepresentationModel<CustomerResponseM
     private String state;
     private String postalCode;
     private String country;
+
+    // the downstream validator; it stays with cached entries so If-None-Match is answered here
+    @JsonIgnore
+    private String etag;
 }
@@ -7,6 +7,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 import java.util.List;
@@ -23,28 +24,27 @@ public class CustomersController {
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CustomerResponseModel>> getAllCustomers() {
+    public Mono<ResponseEntity<List<CustomerResponseModel>>> getAllCustomers() {
         log.debug("Gateway Controller: GET all customers");
-        return ResponseEntity.ok(customersService.getAllCustomers());
+        return customersService.getAllCustomers().collectList().map(ResponseEntity::ok);
     }
 
     @GetMapping(value = "/{customerId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<CustomerResponseModel> getCustomerById(@PathVariable String customerId) {
+    public Mono<ResponseEntity<CustomerResponseModel>> getCustomerById(@PathVariable String customerId) {
         log.debug("Gateway Controller: GET customer {}", customerId);
-        return ResponseEntity.ok(customersService.getCustomerById(customerId));
+        return customersService.getCustomerById(customerId).map(customer -> ResponseEntity.ok().eTag(customer.getEtag()).body(customer));
     }
 
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<CustomerResponseModel> createCustomer(
+    public Mono<ResponseEntity<CustomerResponseModel>> createCustomer(
             @RequestBody CustomerRequestModel requestModel
     ) {
         log.debug("Gateway Controller: POST create customer");
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(customersService.createCustomer(requestModel));
+        return customersService.createCustomer(requestModel)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
     }
 
     @PutMapping(
@@ -52,18 +52,18 @@ public class CustomersController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<CustomerResponseModel> updateCustomer(
+    public Mono<ResponseEntity<CustomerResponseModel>> updateCustomer(
             @PathVariable String customerId,
             @RequestBody CustomerRequestModel requestModel
     ) {
         log.debug("Gateway Controller: PUT update {}", customerId);
-        return ResponseEntity.ok(customersService.updateCustomer(customerId, requestModel));
+        return customersService.updateCustomer(customerId, requestModel).map(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{customerId}")
-    public ResponseEntity<Void> deleteCustomer(@PathVariable String customerId) {
+    public Mono<ResponseEntity<Void>> deleteCustomer(@PathVariable String customerId) {
         log.debug("Gateway Controller: DELETE {}", customerId);
-        customersService.deleteCustomer(customerId);
-        return ResponseEntity.noContent().build();
+        return customersService.deleteCustomer(customerId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
     }
 }
@@ -1,5 +1,6 @@
 package com.footballstore.apigateway.presentationlayer.orders;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.footballstore.apigateway.domainclientlayer.orders.OrderStatus;
 import com.footballstore.apigateway.domainclientlayer.orders.PaymentStatus;
 import lombok.Builder;
@@ -35,4 +36,19 @@ public class OrderResponseModel extends RepresentationModel<OrderResponseModel>
     private PaymentStatus paymentStatus;
 
     private List<OrderItemResponseModel> items;
+
+    // covers the order and the customer and warehouse details merged into it
+    @JsonIgnore
+    private String etag;
+
+    // how orders-service answered a create: 201, or 202 for an order accepted with Prefer: respond-async
+    @JsonIgnore
+    private Integer responseStatus;
+
+    @JsonIgnore
+    private String preferenceApplied;
+
+    // set when orders-service answered from an earlier request with the same Idempotency-Key
+    @JsonIgnore
+    private boolean replayed;
 }
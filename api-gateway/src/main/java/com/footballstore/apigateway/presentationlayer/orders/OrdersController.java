@@ -1,9 +1,13 @@
 package com.footballstore.apigateway.presentationlayer.orders;
 
 import com.footballstore.apigateway.businesslayer.orders.OrdersService;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,28 +21,30 @@ public class OrdersController {
     }
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<List<OrderResponseModel>> getAllCustomerOrders(
+    public Mono<ResponseEntity<List<OrderResponseModel>>> getAllCustomerOrders(
             @PathVariable String customerId) {
-        return ResponseEntity.ok(service.getAllCustomerOrders(customerId));
+        return service.getAllCustomerOrders(customerId).collectList().map(ResponseEntity::ok);
     }
 
     @GetMapping(value = "/{orderId}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<OrderResponseModel> getCustomerOrderById(
+    public Mono<ResponseEntity<OrderResponseModel>> getCustomerOrderById(
             @PathVariable String customerId,
             @PathVariable String orderId) {
-        return ResponseEntity.ok(service.getCustomerOrderById(customerId, orderId));
+        return service.getCustomerOrderById(customerId, orderId).map(order -> ResponseEntity.ok().eTag(order.getEtag()).body(order));
     }
 
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaTypes.HAL_JSON_VALUE
     )
-    public ResponseEntity<OrderResponseModel> processCustomerOrder(
+    public Mono<ResponseEntity<OrderResponseModel>> processCustomerOrder(
             @PathVariable String customerId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) List<String> preferences,
             @RequestBody OrderRequestModel request) {
 
-        OrderResponseModel created = service.processCustomerOrder(customerId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return service.processCustomerOrder(customerId, request, idempotencyKey, preferences)
+                .map(OrdersController::created);
     }
 
     @PutMapping(
@@ -46,21 +52,36 @@ public class OrdersController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaTypes.HAL_JSON_VALUE
     )
-    public ResponseEntity<OrderResponseModel> updateCustomerOrder(
+    public Mono<ResponseEntity<OrderResponseModel>> updateCustomerOrder(
             @PathVariable String customerId,
             @PathVariable String orderId,
             @RequestBody OrderRequestModel request) {
 
-        return ResponseEntity.ok(
-                service.updateCustomerOrder(customerId, orderId, request));
+        return service.updateCustomerOrder(customerId, orderId, request).map(ResponseEntity::ok);
+    }
+
+    // passes on how orders-service answered; an accepted order is polled through the gateway
+    private static ResponseEntity<OrderResponseModel> created(OrderResponseModel order) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(
+                order.getResponseStatus() != null ? order.getResponseStatus() : HttpStatus.CREATED.value());
+        if (order.getResponseStatus() != null && order.getResponseStatus() == HttpStatus.ACCEPTED.value()) {
+            response.location(URI.create(order.getRequiredLink(IanaLinkRelations.SELF).getHref()));
+        }
+        if (order.getPreferenceApplied() != null) {
+            response.header("Preference-Applied", order.getPreferenceApplied());
+        }
+        if (order.isReplayed()) {
+            response.header("Idempotent-Replayed", "true");
+        }
+        return response.body(order);
     }
 
     @DeleteMapping("/{orderId}")
-    public ResponseEntity<Void> deleteCustomerOrder(
+    public Mono<ResponseEntity<Void>> deleteCustomerOrder(
             @PathVariable String customerId,
             @PathVariable String orderId) {
 
-        service.deleteCustomerOrder(customerId, orderId);
-        return ResponseEntity.noContent().build();
+        return service.deleteCustomerOrder(customerId, orderId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
     }
 }
@@ -1,5 +1,6 @@
 package com.footballstore.apigateway.presentationlayer.warehouses;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,7 +8,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.hateoas.RepresentationModel;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class WarehouseResponseModel extends RepresentationModel<WarehouseResponseModel> {
@@ -15,4 +16,8 @@ public class WarehouseResponseModel extends RepresentationModel<WarehouseRespons
     private String locationName;
     private String address;
     private Integer capacity;
+
+    // the downstream validator; it stays with cached entries so If-None-Match is answered here
+    @JsonIgnore
+    private String etag;
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -20,47 +21,46 @@ public class WarehousesController {
     }
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<List<WarehouseResponseModel>> getAllWarehouses() {
+    public Mono<ResponseEntity<List<WarehouseResponseModel>>> getAllWarehouses() {
         log.debug("GET all warehouses");
-        return ResponseEntity.ok(service.getAllWarehouses());
+        return service.getAllWarehouses().collectList().map(ResponseEntity::ok);
     }
 
     @GetMapping(value = "/{warehouseId}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<WarehouseResponseModel> getWarehouseById(
+    public Mono<ResponseEntity<WarehouseResponseModel>> getWarehouseById(
             @PathVariable String warehouseId) {
 
         log.debug("GET warehouse {}", warehouseId);
-        return ResponseEntity.ok(service.getWarehouseById(warehouseId));
+        return service.getWarehouseById(warehouseId).map(warehouse -> ResponseEntity.ok().eTag(warehouse.getEtag()).body(warehouse));
     }
 
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<WarehouseResponseModel> createWarehouse(
+    public Mono<ResponseEntity<WarehouseResponseModel>> createWarehouse(
             @RequestBody WarehouseRequestModel requestModel) {
 
         log.debug("POST new warehouse");
-        var created = service.createWarehouse(requestModel);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return service.createWarehouse(requestModel)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
     }
 
     @PutMapping(
             value = "/{warehouseId}",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<WarehouseResponseModel> updateWarehouse(
+    public Mono<ResponseEntity<WarehouseResponseModel>> updateWarehouse(
             @PathVariable String warehouseId,
             @RequestBody WarehouseRequestModel requestModel) {
 
         log.debug("PUT warehouse {}", warehouseId);
-        var updated = service.updateWarehouse(warehouseId, requestModel);
-        return ResponseEntity.ok(updated);
+        return service.updateWarehouse(warehouseId, requestModel).map(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{warehouseId}")
-    public ResponseEntity<Void> deleteWarehouse(@PathVariable String warehouseId) {
+    public Mono<ResponseEntity<Void>> deleteWarehouse(@PathVariable String warehouseId) {
         log.debug("DELETE warehouse {}", warehouseId);
-        service.deleteWarehouse(warehouseId);
-        return ResponseEntity.noContent().build();
+        return service.deleteWarehouse(warehouseId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
     }
 }
@@ -0,0 +1,165 @@
+package com.footballstore.apigateway.utils;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.server.core.MappingDiscoverer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One controller method's link, worked out once. The path comes from the method's request mapping
+ * and is split around its path variables, so a link is the current request's base URI plus plain
+ * string concatenation. {@code linkTo(methodOn(...))} proxies the controller and parses and expands
+ * the URI template on every call instead, which dominates when a list of thousands is linked.
+ * <p>
+ * Arguments are given as they would be to the controller method, in its parameter order. Links come
+ * out as {@code linkTo} renders them, an unset optional request parameter included.
+ */
+public final class LinkTemplate {
+
+    private static final MappingDiscoverer MAPPINGS = new AnnotationMappingDiscoverer(RequestMapping.class);
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    private static final Pattern VARIABLE = Pattern.compile("\\{([^}:]+)(:[^}]*)?}");
+    private static final String BASE_ATTRIBUTE = LinkTemplate.class.getName() + ".base";
+
+    // path pieces, with pathArguments[i] expanded between pieces i and i + 1
+    private final String[] pieces;
+    private final int[] pathArguments;
+    private final int[] queryArguments;
+    private final String[] queryNames;
+
+    private LinkTemplate(String[] pieces, int[] pathArguments, int[] queryArguments, String[] queryNames) {
+        this.pieces = pieces;
+        this.pathArguments = pathArguments;
+        this.queryArguments = queryArguments;
+        this.queryNames = queryNames;
+    }
+
+    public static LinkTemplate of(Class<?> controller, String methodName) {
+        Method[] candidates = Arrays.stream(controller.getMethods())
+                .filter(method -> method.getName().equals(methodName))
+                .toArray(Method[]::new);
+        if (candidates.length != 1) {
+            throw new IllegalArgumentException("Expected one " + controller.getSimpleName() + "." + methodName
+                    + ", found " + candidates.length);
+        }
+        Method method = candidates[0];
+
+        String[] pathVariables = new String[method.getParameterCount()];
+        List<Integer> queryArguments = new ArrayList<>();
+        List<String> queryNames = new ArrayList<>();
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            MethodParameter parameter = new MethodParameter(method, i);
+            parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+            PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (pathVariable != null) {
+                pathVariables[i] = nameOf(pathVariable.name(), parameter);
+            } else if (requestParam != null) {
+                queryArguments.add(i);
+                queryNames.add(nameOf(requestParam.name(), parameter));
+            }
+        }
+
+        String mapping = MAPPINGS.getMapping(controller, method);
+        List<String> pieces = new ArrayList<>();
+        List<Integer> pathArguments = new ArrayList<>();
+        Matcher variable = VARIABLE.matcher(mapping);
+        int end = 0;
+        while (variable.find()) {
+            pieces.add(mapping.substring(end, variable.start()));
+            pathArguments.add(indexOf(pathVariables, variable.group(1), method));
+            end = variable.end();
+        }
+        pieces.add(mapping.substring(end));
+        return new LinkTemplate(pieces.toArray(String[]::new),
+                pathArguments.stream().mapToInt(Integer::intValue).toArray(),
+                queryArguments.stream().mapToInt(Integer::intValue).toArray(),
+                queryNames.toArray(String[]::new));
+    }
+
+    public Link withSelfRel(Object... arguments) {
+        return withRel(IanaLinkRelations.SELF, arguments);
+    }
+
+    public Link withRel(String relation, Object... arguments) {
+        return withRel(LinkRelation.of(relation), arguments);
+    }
+
+    public Link withRel(LinkRelation relation, Object... arguments) {
+        return Link.of(expand(arguments), relation);
+    }
+
+    String expand(Object... arguments) {
+        StringBuilder href = new StringBuilder(128).append(base()).append(pieces[0]);
+        for (int i = 0; i < pathArguments.length; i++) {
+            href.append(UriUtils.encodePathSegment(String.valueOf(arguments[pathArguments[i]]), StandardCharsets.UTF_8))
+                    .append(pieces[i + 1]);
+        }
+        boolean first = true;
+        List<String> unset = null;
+        for (int i = 0; i < queryArguments.length; i++) {
+            Object value = arguments[queryArguments[i]];
+            if (value == null) {
+                unset = unset == null ? new ArrayList<>() : unset;
+                unset.add(queryNames[i]);
+                continue;
+            }
+            // linkTo escapes everything outside the unreserved set in a value, + / and = included
+            href.append(first ? '?' : '&').append(queryNames[i]).append('=')
+                    .append(UriUtils.encode(String.valueOf(value), StandardCharsets.UTF_8));
+            first = false;
+        }
+        // linkTo leaves an optional parameter that was passed null as a template variable
+        if (unset != null) {
+            href.append(first ? "{?" : "{&").append(String.join(",", unset)).append('}');
+        }
+        return href.toString();
+    }
+
+    // the scheme, host, port and context path linkTo would use, worked out once per request
+    private static String base() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+        Object base = attributes.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            attributes.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (String) base;
+    }
+
+    private static String nameOf(String declared, MethodParameter parameter) {
+        return StringUtils.hasText(declared) ? declared : parameter.getParameterName();
+    }
+
+    private static int indexOf(String[] pathVariables, String name, Method method) {
+        for (int i = 0; i < pathVariables.length; i++) {
+            if (name.equals(pathVariables[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No @PathVariable " + name + " on " + method);
+    }
+}
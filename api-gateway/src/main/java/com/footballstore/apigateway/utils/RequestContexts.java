@@ -0,0 +1,38 @@
+package com.footballstore.apigateway.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Consumer;
+
+/**
+ * Reactive downstream responses arrive on Netty threads, where the servlet request is not
+ * bound. HATEOAS link building reads the current request for scheme, host and port, so
+ * callbacks that add links are bound to the request of the thread that assembled them.
+ */
+public final class RequestContexts {
+
+    private RequestContexts() {
+    }
+
+    public static <T> Consumer<T> bound(Consumer<T> action) {
+        HttpServletRequest request = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+        return value -> {
+            if (request == null || RequestContextHolder.getRequestAttributes() != null) {
+                action.accept(value);
+                return;
+            }
+            // the original attributes are marked inactive once the servlet thread hands off,
+            // but the request itself stays usable until the async response completes
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                action.accept(value);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+}
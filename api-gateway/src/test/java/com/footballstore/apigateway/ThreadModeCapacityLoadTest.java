@@ -0,0 +1,165 @@
+package com.footballstore.apigateway;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How many concurrent requests the gateway carries on platform threads and on virtual threads,
+ * when every request waits {@link #DOWNSTREAM_LATENCY_MS} ms on customers-service. Both modes run
+ * with the same Tomcat, connection pool and heap settings; only {@code spring.threads.virtual.enabled}
+ * changes. The heap is fixed by the {@code benchmark} task. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class ThreadModeCapacityLoadTest {
+
+    private static final int[] CALLERS = {100, 400, 1000};
+    private static final int CALLS_PER_CALLER = 3;
+    private static final int DOWNSTREAM_LATENCY_MS = 100;
+    private static final String CUSTOMER_ID = "c1111111-1111-1111-1111-111111111111";
+
+    @Test
+    void concurrentCapacityByThreadMode() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        byte[] body = ("{\"customerId\":\"" + CUSTOMER_ID + "\",\"firstName\":\"John\"}").getBytes(StandardCharsets.UTF_8);
+        stub.createContext("/api/v1/customers", exchange -> {
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.start();
+
+        System.out.printf("max heap %d MB, downstream latency %d ms%n",
+                Runtime.getRuntime().maxMemory() >> 20, DOWNSTREAM_LATENCY_MS);
+        System.out.printf("%-9s %8s %10s %9s %9s %7s %14s %15s%n", "threads", "callers", "req/s",
+                "p50(ms)", "p99(ms)", "errors", "peak platform", "peak heap(MB)");
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext gateway = startGateway(stub.getAddress().getPort(), virtual)) {
+                    int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+                    URI uri = URI.create("http://localhost:" + port + "/api/v1/customers/" + CUSTOMER_ID);
+                    // warm-up round so class loading, JIT and connection setup do not count
+                    load(client, uri, 50, 2);
+                    for (int callers : CALLERS) {
+                        report(virtual, gateway, client, uri, callers);
+                    }
+                }
+            }
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static void report(boolean virtual, ConfigurableApplicationContext gateway, HttpClient client,
+                               URI uri, int callers) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        threads.resetPeakThreadCount();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        Result result = load(client, uri, callers, CALLS_PER_CALLER);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = heap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long[] latencies = result.latencies;
+        System.out.printf("%-9s %8d %10.0f %9.1f %9.1f %7d %14d %15d%n", virtual ? "virtual" : "platform",
+                callers, latencies.length / elapsedSeconds, percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6, result.errors, threads.getPeakThreadCount(), peakHeap >> 20);
+    }
+
+    private static Result load(HttpClient client, URI uri, int callers, int callsPerCaller) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        try (ExecutorService callerThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(callers);
+            for (int i = 0; i < callers; i++) {
+                futures.add(callerThreads.submit(() -> {
+                    for (int call = 0; call < callsPerCaller; call++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Result(latencies.stream().mapToLong(Long::longValue).toArray(), errors.get());
+    }
+
+    // the same limits in both modes, so only the threading differs; the pool is sized above any caller count
+    private static ConfigurableApplicationContext startGateway(int downstreamPort, boolean virtual) {
+        return new SpringApplicationBuilder(ApiGatewayApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.footballstore.apigateway=WARN",
+                "--app.cache.enabled=false",
+                "--app.http-client.max-total-connections=2000",
+                "--app.customers-service.port=" + downstreamPort,
+                "--app.customers-service.pool.max-connections=2000",
+                "--spring.threads.virtual.enabled=" + virtual);
+    }
+
+    private static long percentile(long[] samples, double percentile) {
+        Arrays.sort(samples);
+        return samples[(int) Math.min(samples.length - 1, samples.length * percentile)];
+    }
+
+    private static final class Result {
+
+        private final long[] latencies;
+        private final int errors;
+
+        Result(long[] latencies, int errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.cache.enabled=true")
+@ActiveProfiles("test")
+class DownstreamCacheIntegrationTest {
+
+    private static final String APPAREL_ID = "a2222222-2222-2222-2222-222222222222";
+    private static final String CUSTOMER_ID = "c2222222-2222-2222-2222-222222222222";
+
+    private static HttpServer stub;
+    private static final Map<String, AtomicInteger> downstreamGets = new ConcurrentHashMap<>();
+    private static final AtomicInteger downstreamNotModified = new AtomicInteger();
+    private static volatile String apparelName = "Home Jersey";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/v1/apparels", exchange -> handle(exchange, """
+                {"apparelId":"%s","itemName":"%s","stock":100}
+                """.formatted(APPAREL_ID, apparelName)));
+        stub.createContext("/api/v1/customers", exchange -> handle(exchange, """
+                {"customerId":"%s","firstName":"John","lastName":"Doe"}
+                """.formatted(CUSTOMER_ID)));
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        for (String service : new String[]{"apparels-service", "customers-service"}) {
+            registry.add("app." + service + ".host", () -> "localhost");
+            registry.add("app." + service + ".port", () -> stub.getAddress().getPort());
+        }
+        // the apparels reads go through the RestTemplate, the customer reads through WebClient
+        registry.add("app.customers-service.client", () -> "reactive");
+    }
+
+    @BeforeEach
+    void clear() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        downstreamGets.clear();
+        downstreamNotModified.set(0);
+        apparelName = "Home Jersey";
+    }
+
+    @Test
+    void getApparel_repeatedReads_areServedFromCache() {
+        double hitsBefore = cacheGets("apparels", "hit");
+
+        getApparel().jsonPath("$.itemName").isEqualTo("Home Jersey");
+        getApparel().jsonPath("$.itemName").isEqualTo("Home Jersey")
+                .jsonPath("$._links.self.href").exists();
+        getApparel();
+
+        assertEquals(1, downstreamGets("/api/v1/apparels/" + APPAREL_ID));
+        assertEquals(2, cacheGets("apparels", "hit") - hitsBefore);
+    }
+
+    @Test
+    void updateApparel_refreshesCachedEntry() {
+        getApparel();
+        apparelName = "Away Jersey";
+
+        webTestClient.put().uri("/api/v1/apparels/" + APPAREL_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"Away Jersey\"}")
+                .exchange()
+                .expectStatus().isOk();
+        getApparel().jsonPath("$.itemName").isEqualTo("Away Jersey");
+
+        // one read before the update and the read-back the update itself performs
+        assertEquals(2, downstreamGets("/api/v1/apparels/" + APPAREL_ID));
+    }
+
+    @Test
+    void updateApparel_linksTheResponseNotTheCachedEntry() {
+        webTestClient.put().uri("/api/v1/apparels/" + APPAREL_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"Home Jersey\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$._links.self.href").exists();
+
+        ApparelResponseModel cached = (ApparelResponseModel) cacheManager.getCache("apparels").get(APPAREL_ID).get();
+        assertTrue(cached.getLinks().isEmpty());
+        getApparel().jsonPath("$._links.self.href").value(href -> assertInstanceOf(String.class, href));
+    }
+
+    @Test
+    void getApparel_matchingETag_isAnswered304FromCache() {
+        String etag = webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", etag)
+                .expectBody().isEmpty();
+        assertEquals(1, downstreamGets("/api/v1/apparels/" + APPAREL_ID));
+
+        apparelName = "Away Jersey";
+        webTestClient.put().uri("/api/v1/apparels/" + APPAREL_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"Away Jersey\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("ETag", changed -> assertNotEquals(etag, changed))
+                .expectBody().jsonPath("$.itemName").isEqualTo("Away Jersey");
+    }
+
+    @Test
+    void getApparel_matchingETagNotCached_isAnswered304ByTheApparelsService() {
+        String etag = getApparel().returnResult().getResponseHeaders().getETag();
+        cacheManager.getCache("apparels").clear();
+
+        webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", etag)
+                .expectBody().isEmpty();
+
+        assertEquals(2, downstreamGets("/api/v1/apparels/" + APPAREL_ID));
+        assertEquals(1, downstreamNotModified.get());
+        assertNull(cacheManager.getCache("apparels").get(APPAREL_ID));
+    }
+
+    @Test
+    void getCustomer_reactiveClient_propagatesDownstreamETag() {
+        String etag = webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.etag").doesNotExist()
+                .returnResult().getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified();
+        assertEquals(1, downstreamGets("/api/v1/customers/" + CUSTOMER_ID));
+    }
+
+    @Test
+    void deleteApparel_evictsCachedEntry() {
+        getApparel();
+
+        webTestClient.delete().uri("/api/v1/apparels/" + APPAREL_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+        assertNull(cacheManager.getCache("apparels").get(APPAREL_ID));
+
+        getApparel();
+        assertEquals(2, downstreamGets("/api/v1/apparels/" + APPAREL_ID));
+    }
+
+    @Test
+    void getCustomer_reactiveClient_sharesTheCache() {
+        for (int i = 0; i < 3; i++) {
+            webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().jsonPath("$.firstName").isEqualTo("John");
+        }
+
+        assertEquals(1, downstreamGets("/api/v1/customers/" + CUSTOMER_ID));
+        assertNotNull(cacheManager.getCache("customers").get(CUSTOMER_ID));
+    }
+
+    @Test
+    void caches_areBoundToCacheMetrics() {
+        for (String cache : new String[]{"apparels", "customers", "warehouses"}) {
+            assertNotNull(meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "miss").functionCounter(),
+                    "missing cache.gets for " + cache);
+            assertNotNull(meterRegistry.find("cache.evictions").tag("cache", cache).functionCounter(),
+                    "missing cache.evictions for " + cache);
+        }
+    }
+
+    private WebTestClient.BodyContentSpec getApparel() {
+        return webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody();
+    }
+
+    private double cacheGets(String cache, String result) {
+        var counter = meterRegistry.find("cache.gets").tag("cache", cache).tag("result", result).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static int downstreamGets(String path) {
+        AtomicInteger count = downstreamGets.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void handle(HttpExchange exchange, String body) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            downstreamGets.computeIfAbsent(exchange.getRequestURI().getPath(), k -> new AtomicInteger()).incrementAndGet();
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                downstreamNotModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            }
+        } else {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(204, -1);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Throughput of the gateway's downstream calls against a local stub server, comparing
+ * the previous unpooled {@link SimpleClientHttpRequestFactory} with the pooled client.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class DownstreamClientLoadTest {
+
+    private static final int CALLERS = 32;
+    private static final int CALLS_PER_CALLER = 500;
+
+    @Test
+    void throughputBeforeAndAfterPooling() throws Exception {
+        // without TCP_NODELAY the stub's split header/body writes hit the 40ms delayed-ACK stall
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 512);
+        byte[] body = "{\"customerId\":\"c-1\"}".getBytes(StandardCharsets.UTF_8);
+        stub.createContext("/api/v1/customers", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.setExecutor(Executors.newFixedThreadPool(CALLERS));
+        stub.start();
+
+        DownstreamClientProperties properties = new DownstreamClientProperties();
+        properties.getCustomersService().setPort(stub.getAddress().getPort());
+        properties.getCustomersService().getPool().setMaxConnections(CALLERS);
+        DownstreamHttpClientConfig config = new DownstreamHttpClientConfig();
+        var connectionManager = config.downstreamConnectionManager(properties);
+
+        String url = "http://localhost:" + stub.getAddress().getPort() + "/api/v1/customers";
+        try (CloseableHttpClient pooled = config.downstreamHttpClient(connectionManager, properties)) {
+            System.out.printf("%-10s %12s %12s%n", "client", "req/s", "total(ms)");
+            run("unpooled", new RestTemplate(new SimpleClientHttpRequestFactory()), url);
+            run("pooled", config.restTemplate(pooled, properties), url);
+        } finally {
+            connectionManager.close();
+            stub.stop(0);
+        }
+    }
+
+    private void run(String name, RestTemplate restTemplate, String url) throws Exception {
+        // warm-up round so class loading and JIT do not count against either client
+        load(restTemplate, url, 50);
+        long start = System.nanoTime();
+        load(restTemplate, url, CALLS_PER_CALLER);
+        double elapsedMs = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-10s %12.0f %12.1f%n", name,
+                CALLERS * CALLS_PER_CALLER / (elapsedMs / 1000), elapsedMs);
+    }
+
+    private void load(RestTemplate restTemplate, String url, int callsPerCaller) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    for (int j = 0; j < callsPerCaller; j++) {
+                        restTemplate.getForObject(url, String.class);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
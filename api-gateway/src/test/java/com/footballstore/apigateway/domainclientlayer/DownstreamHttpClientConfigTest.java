@@ -0,0 +1,106 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DownstreamHttpClientConfigTest {
+
+    private static HttpServer stub;
+    private static final AtomicInteger connections = new AtomicInteger();
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private DownstreamClientProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        registry.add("app.apparels-service.port", () -> stub.getAddress().getPort());
+        registry.add("app.apparels-service.pool.max-connections", () -> 7);
+        registry.add("app.apparels-service.pool.read-timeout", () -> "200ms");
+        registry.add("app.warehouses-service.pool.max-connections", () -> 3);
+    }
+
+    @Test
+    void eachDownstreamGetsItsOwnPoolLimit() {
+        assertEquals(7, connectionManager.getMaxPerRoute(
+                DownstreamHttpClientConfig.route(properties.getApparelsService())));
+        assertEquals(3, connectionManager.getMaxPerRoute(
+                DownstreamHttpClientConfig.route(properties.getWarehousesService())));
+    }
+
+    @Test
+    void sequentialCallsReuseOnePooledConnection() {
+        String url = "http://localhost:" + stub.getAddress().getPort() + "/ok";
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ok", restTemplate.getForObject(url, String.class));
+        }
+
+        var stats = connectionManager.getStats(DownstreamHttpClientConfig.route(properties.getApparelsService()));
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+        assertEquals(1.0, meterRegistry.get("gateway.downstream.pool.connections")
+                .tags("service", "apparels-service", "state", "available").gauge().value());
+        assertEquals(7.0, meterRegistry.get("gateway.downstream.pool.connections")
+                .tags("service", "apparels-service", "state", "max").gauge().value());
+    }
+
+    @Test
+    void readTimeoutIsAppliedPerDownstream() {
+        String url = "http://localhost:" + stub.getAddress().getPort() + "/slow";
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class));
+    }
+}
@@ -0,0 +1,285 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedReadsTest {
+
+    private static final String SERVICE = "apparels-service";
+    private static final int READS = 300;
+    // one request in SLOW_EVERY stalls, as a single overloaded downstream instance would
+    private static final int SLOW_EVERY = 20;
+    private static final long SLOW_MS = 200;
+
+    private static HttpServer stub;
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private static PoolingHttpClientConnectionManager connectionManager;
+    private static CloseableHttpClient httpClient;
+    private static RestTemplate restTemplate;
+    private static String baseUrl;
+
+    private DownstreamClientProperties properties;
+    private MeterRegistry meterRegistry;
+    private HedgedReads hedgedReads;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 64);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/api/v1/apparels/latency", exchange -> {
+            if (requests.incrementAndGet() % SLOW_EVERY == 0) {
+                sleep(SLOW_MS);
+            }
+            respond(exchange, 200, "{\"apparelId\":\"a-1\"}");
+        });
+        stub.createContext("/api/v1/apparels/flaky", exchange -> {
+            requests.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                // a 500, since the pooled client already retries a 503 on its own
+                respond(exchange, 500, "{\"message\":\"unavailable\"}");
+            } else {
+                respond(exchange, 200, "{\"apparelId\":\"a-2\"}");
+            }
+        });
+        stub.createContext("/api/v1/apparels/missing", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 404, "{\"message\":\"Apparel not found\"}");
+        });
+        stub.start();
+
+        DownstreamClientProperties poolProperties = new DownstreamClientProperties();
+        poolProperties.getApparelsService().setPort(stub.getAddress().getPort());
+        DownstreamHttpClientConfig config = new DownstreamHttpClientConfig();
+        connectionManager = config.downstreamConnectionManager(poolProperties);
+        httpClient = config.downstreamHttpClient(connectionManager, poolProperties);
+        restTemplate = config.restTemplate(httpClient, poolProperties);
+        baseUrl = "http://localhost:" + stub.getAddress().getPort() + "/api/v1/apparels/";
+    }
+
+    @AfterAll
+    static void stopStub() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        stub.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new DownstreamClientProperties();
+        DownstreamClientProperties.Hedging hedging = properties.getApparelsService().getHedging();
+        hedging.setEnabled(true);
+        hedging.setPercentile(0.9);
+        hedging.setMinDelay(Duration.ofMillis(10));
+        hedging.setBudget(0.1);
+        hedging.setRetryBackoff(Duration.ofMillis(5));
+        meterRegistry = new SimpleMeterRegistry();
+        requests.set(0);
+        failuresLeft.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hedgedReads != null) {
+            hedgedReads.shutdown();
+        }
+    }
+
+    @Test
+    void stalledPrimary_isHedgedAfterThePercentileDelay() {
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        // twenty 30 ms reads: the 90th percentile, not the 10 ms floor, sets the hedge delay
+        for (int i = 0; i < 20; i++) {
+            hedgedReads.read(SERVICE, () -> {
+                sleep(30);
+                return "warm-up";
+            });
+        }
+        AtomicLong hedgeSentAfter = new AtomicLong();
+        long start = System.nanoTime();
+
+        String body = hedgedReads.read(SERVICE, stalledFirst(1_000, () -> {
+            hedgeSentAfter.set(System.nanoTime() - start);
+            return "hedge";
+        }));
+
+        assertEquals("hedge", body);
+        assertTrue(hedgeSentAfter.get() >= Duration.ofMillis(30).toNanos(),
+                "hedge sent after " + hedgeSentAfter.get() / 1e6 + " ms");
+    }
+
+    @Test
+    void stalledPrimaries_areHedgedOnlyWhileTheBudgetLasts() {
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        // twenty reads earn two tokens and fill the latency window
+        for (int i = 0; i < 20; i++) {
+            hedgedReads.read(SERVICE, () -> "warm-up");
+        }
+
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bodies.add(hedgedReads.read(SERVICE, stalledFirst(100, () -> "hedge")));
+        }
+
+        // the third read finds 0.3 of a token and waits for its primary instead
+        assertEquals(List.of("hedge", "hedge", "primary"), bodies);
+        assertEquals(1.0, hedgeCount("throttled"));
+    }
+
+    @Tag("benchmark")
+    @Test
+    void slowTail_hedgingCutsP99WithinBudget() {
+        properties.getApparelsService().getHedging().setEnabled(false);
+        HedgedReads direct = new HedgedReads(properties, meterRegistry, false);
+        long[] directLatencies;
+        try {
+            directLatencies = latencies(direct);
+        } finally {
+            direct.shutdown();
+        }
+        int directRequests = requests.getAndSet(0);
+
+        properties.getApparelsService().getHedging().setEnabled(true);
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        long[] hedged = latencies(hedgedReads);
+        int hedgedRequests = requests.get();
+
+        double directP99 = p99(directLatencies);
+        double hedgedP99 = p99(hedged);
+
+        assertTrue(directP99 >= SLOW_MS, "the stub's slow tail should show without hedging, was " + directP99 + " ms");
+        assertTrue(hedgedP99 < directP99 / 2, "hedging should cut the p99, was " + hedgedP99 + " ms");
+        // the budget earns 0.1 of a hedge per read
+        assertTrue(hedgedRequests - READS <= READS / 10,
+                "hedges exceeded the budget: " + (hedgedRequests - directRequests) + " extra requests");
+        assertTrue(hedgeCount("won") > 0);
+    }
+
+    @Test
+    void serverError_isRetriedWithBackoff() {
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        warmBudget();
+        failuresLeft.set(1);
+
+        String body = hedgedReads.read(SERVICE, () -> restTemplate.getForObject(baseUrl + "flaky", String.class));
+
+        assertTrue(body.contains("a-2"));
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.get("gateway.downstream.retries").tag("service", SERVICE).counter().count());
+    }
+
+    @Test
+    void serverError_withoutBudget_isNotRetried() {
+        properties.getApparelsService().getHedging().setBudget(0);
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        failuresLeft.set(1);
+
+        assertThrows(HttpServerErrorException.class,
+                () -> hedgedReads.read(SERVICE, () -> restTemplate.getForObject(baseUrl + "flaky", String.class)));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void notFound_isReturnedWithoutRetryOrHedge() {
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        warmBudget();
+
+        assertThrows(HttpClientErrorException.NotFound.class,
+                () -> hedgedReads.read(SERVICE, () -> restTemplate.getForObject(baseUrl + "missing", String.class)));
+        assertEquals(1, requests.get());
+        assertEquals(0.0, meterRegistry.get("gateway.downstream.retries").tag("service", SERVICE).counter().count());
+    }
+
+    @Test
+    void disabledService_callsThrough() {
+        hedgedReads = new HedgedReads(properties, meterRegistry, false);
+        assertEquals("x", hedgedReads.read("customers-service", () -> "x"));
+        assertNull(meterRegistry.find("gateway.downstream.hedges").tag("service", "customers-service").counter());
+    }
+
+    private long[] latencies(HedgedReads reads) {
+        String url = baseUrl + "latency";
+        long[] samples = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            reads.read(SERVICE, () -> restTemplate.getForObject(url, String.class));
+            samples[i] = System.nanoTime() - start;
+        }
+        return samples;
+    }
+
+    private void warmBudget() {
+        // a little over ten reads, so the summed tenths clear one whole token
+        for (int i = 0; i < 11; i++) {
+            hedgedReads.read(SERVICE, () -> "warm-up");
+        }
+    }
+
+    // the first attempt stalls, as on an overloaded instance; any later one answers with the hedge
+    private static Supplier<String> stalledFirst(long stallMillis, Supplier<String> hedge) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return () -> {
+            if (first.getAndSet(false)) {
+                sleep(stallMillis);
+                return "primary";
+            }
+            return hedge.get();
+        };
+    }
+
+    private double hedgeCount(String outcome) {
+        return meterRegistry.get("gateway.downstream.hedges")
+                .tag("service", SERVICE).tag("outcome", outcome).counter().count();
+    }
+
+    private static double p99(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(0.99 * sorted.length) - 1] / 1e6;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
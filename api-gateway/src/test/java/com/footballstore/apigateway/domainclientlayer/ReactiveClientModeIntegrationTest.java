@@ -0,0 +1,193 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=4")
+@ActiveProfiles("test")
+class ReactiveClientModeIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c1111111-1111-1111-1111-111111111111";
+    private static final String ORDER_ID = "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa";
+    private static final String MISSING_ID = "bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb";
+    private static final long SLOW_MS = 500;
+
+    private static HttpServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 256);
+        stub.setExecutor(Executors.newFixedThreadPool(64));
+        stub.createContext("/api/v1/customers", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/orders/" + ORDER_ID)) {
+                respond(exchange, 200, """
+                        {"orderId":"%s","customerId":"%s","warehouseId":"wh1"}
+                        """.formatted(ORDER_ID, CUSTOMER_ID));
+            } else if (path.endsWith(MISSING_ID)) {
+                respond(exchange, 404, "{\"message\":\"Unknown customerId: " + MISSING_ID + "\"}");
+            } else {
+                sleep();
+                respond(exchange, 200, """
+                        {"customerId":"%s","firstName":"John","lastName":"Doe"}
+                        """.formatted(CUSTOMER_ID));
+            }
+        });
+        stub.createContext("/api/v1/warehouses", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 422, "{\"message\":\"Invalid capacity\"}");
+            } else {
+                respond(exchange, 200, """
+                        {"warehouseId":"wh1","locationName":"Main Warehouse","capacity":500}
+                        """);
+            }
+        });
+        stub.createContext("/api/v1/apparels", exchange -> {
+            byte[] bytes = """
+                    {"apparelId":"a1","itemName":"Home Jersey"}
+                    {"apparelId":"a2","itemName":"Away Jersey"}
+                    {"apparelId":"a3","itemName":"Training Shorts"}
+                    """.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void reactiveDownstreams(DynamicPropertyRegistry registry) {
+        for (String service : new String[]{"customers-service", "orders-service", "warehouses-service", "apparels-service"}) {
+            registry.add("app." + service + ".host", () -> "localhost");
+            registry.add("app." + service + ".port", () -> stub.getAddress().getPort());
+            registry.add("app." + service + ".client", () -> "reactive");
+        }
+    }
+
+    @Test
+    void getCustomer_reactive_returnsBodyWithAbsoluteLinks() {
+        webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$._links.self.href").isEqualTo(
+                        "http://localhost:" + port + "/api/v1/customers/" + CUSTOMER_ID);
+    }
+
+    @Test
+    void getCustomer_reactiveUpstream404_mapsToNotFound() {
+        webTestClient.get().uri("/api/v1/customers/" + MISSING_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createWarehouse_reactiveUpstream422_mapsToUnprocessableEntity() {
+        webTestClient.post().uri("/api/v1/warehouses")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"locationName\":\"X\",\"capacity\":10}")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void getOrder_reactive_enrichesFromCustomerAndWarehouse() {
+        webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID + "/orders/" + ORDER_ID)
+                .accept(MediaTypes.HAL_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$.locationName").isEqualTo("Main Warehouse")
+                .jsonPath("$._links.self.href").exists();
+    }
+
+    @Test
+    void streamApparels_ndjson_relaysEachRow() {
+        var apparels = webTestClient.get().uri("/api/v1/apparels")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ApparelResponseModel.class)
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertNotNull(apparels);
+        assertEquals(List.of("a1", "a2", "a3"), apparels.stream().map(ApparelResponseModel::getApparelId).toList());
+    }
+
+    @Test
+    void slowDownstreamCalls_doNotPinServletThreads() {
+        int requests = 40;
+        WebClient caller = WebClient.create("http://localhost:" + port);
+
+        long start = System.nanoTime();
+        Long ok = Flux.range(0, requests)
+                .flatMap(i -> caller.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                        .retrieve().toBodilessEntity(), requests)
+                .filter(response -> response.getStatusCode().is2xxSuccessful())
+                .count()
+                .block(Duration.ofSeconds(30));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(requests, ok);
+        // four servlet threads blocking on 500ms calls would need at least 5s for 40 requests
+        assertTrue(elapsedMs < requests / 4 * SLOW_MS / 2, "took " + elapsedMs + "ms");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.footballstore.apigateway.domainclientlayer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.cache.enabled=false")
+@ActiveProfiles("test")
+class WireFormatIntegrationTest {
+
+    private static final String APPAREL_ID = "a3333333-3333-3333-3333-333333333333";
+    private static final String CUSTOMER_ID = "c3333333-3333-3333-3333-333333333333";
+    private static final String MISSING_ID = "a0000000-0000-0000-0000-000000000000";
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private static HttpServer stub;
+    // the Accept and Accept-Encoding each downstream path was last asked with
+    private static final Map<String, String> accepts = new ConcurrentHashMap<>();
+    private static final Map<String, String> encodings = new ConcurrentHashMap<>();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/v1/apparels", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith(MISSING_ID)) {
+                respond(exchange, 404, "application/json", jsonMapper.writeValueAsBytes(
+                        Map.of("message", "Apparel not found: " + MISSING_ID)));
+            } else {
+                respondNegotiated(exchange, Map.of("apparelId", APPAREL_ID, "itemName", "Home Jersey", "stock", 100,
+                        "links", List.of(Map.of("rel", "self", "href", "http://apparels/" + APPAREL_ID))));
+            }
+        });
+        stub.createContext("/api/v1/customers", exchange -> respondNegotiated(exchange,
+                Map.of("customerId", CUSTOMER_ID, "firstName", "John", "lastName", "Doe")));
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        for (String service : new String[]{"apparels-service", "customers-service"}) {
+            registry.add("app." + service + ".host", () -> "localhost");
+            registry.add("app." + service + ".port", () -> stub.getAddress().getPort());
+            registry.add("app." + service + ".wire-format", () -> "smile");
+        }
+        // the apparel reads go through the RestTemplate, the customer reads through WebClient
+        registry.add("app.customers-service.client", () -> "reactive");
+    }
+
+    @BeforeEach
+    void clear() {
+        accepts.clear();
+        encodings.clear();
+    }
+
+    @Test
+    void getApparel_blockingClient_readsSmileAndAnswersJson() {
+        webTestClient.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.itemName").isEqualTo("Home Jersey")
+                .jsonPath("$.stock").isEqualTo(100);
+
+        String path = "/api/v1/apparels/" + APPAREL_ID;
+        assertTrue(accepts.get(path).startsWith(SMILE), accepts.get(path));
+        assertTrue(encodings.get(path).contains("gzip"), encodings.get(path));
+    }
+
+    @Test
+    void getCustomer_reactiveClient_readsSmileAndAnswersJson() {
+        webTestClient.get().uri("/api/v1/customers/" + CUSTOMER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.firstName").isEqualTo("John");
+
+        String path = "/api/v1/customers/" + CUSTOMER_ID;
+        assertTrue(accepts.get(path).startsWith(SMILE), accepts.get(path));
+        assertTrue(encodings.get(path).contains("gzip"), encodings.get(path));
+    }
+
+    @Test
+    void getApparel_downstreamJsonError_keepsItsMessage() {
+        webTestClient.get().uri("/api/v1/apparels/" + MISSING_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Apparel not found: " + MISSING_ID);
+    }
+
+    // Smile only when it is the preferred type, gzip whenever the client accepts it, as the services do
+    private static void respondNegotiated(HttpExchange exchange, Map<String, Object> body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String accept = String.valueOf(exchange.getRequestHeaders().getFirst("Accept"));
+        String encoding = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        accepts.put(path, accept);
+        encodings.put(path, encoding);
+
+        boolean smile = accept.startsWith(SMILE);
+        byte[] bytes = smile ? smileMapper.writeValueAsBytes(body) : jsonMapper.writeValueAsBytes(body);
+        if (encoding.contains("gzip")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream zipped = new GZIPOutputStream(out)) {
+                zipped.write(bytes);
+            }
+            bytes = out.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        respond(exchange, 200, smile ? SMILE : "application/json", bytes);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.footballstore.apigateway.presentationlayer.apparels;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ApparelsCoalescingIntegrationTest {
+
+    private static final String APPAREL_ID = "a1111111-1111-1111-1111-111111111111";
+    private static final int REQUESTS = 1_000;
+
+    private static HttpServer stub;
+    private static final AtomicInteger downstreamCalls = new AtomicInteger();
+    private static final CountDownLatch release = new CountDownLatch(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newFixedThreadPool(4));
+        stub.createContext("/api/v1/apparels", exchange -> {
+            downstreamCalls.incrementAndGet();
+            try {
+                // hold the response until every gateway request is waiting on it
+                release.await(50, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = """
+                    {"apparelId":"%s","itemName":"Home Jersey","stock":100}
+                    """.formatted(APPAREL_ID).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void apparelsDownstream(DynamicPropertyRegistry registry) {
+        registry.add("app.apparels-service.host", () -> "localhost");
+        registry.add("app.apparels-service.port", () -> stub.getAddress().getPort());
+        // the held response must outlive the time it takes all requests to arrive
+        registry.add("app.apparels-service.pool.read-timeout", () -> "60s");
+    }
+
+    @Test
+    void simultaneousIdenticalGets_shareOneDownstreamCall() throws Exception {
+        Counter coalesced = meterRegistry.counter("gateway.singleflight.coalesced", "service", "apparels");
+        double coalescedBefore = coalesced.count();
+        ConnectionProvider connections = ConnectionProvider.builder("coalescing-test")
+                .maxConnections(REQUESTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient caller = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+
+        try {
+            var responses = Flux.range(0, REQUESTS)
+                    .flatMap(i -> caller.get().uri("/api/v1/apparels/" + APPAREL_ID)
+                            .retrieve()
+                            .bodyToMono(ApparelResponseModel.class), REQUESTS)
+                    .collectList()
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .toFuture();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(45);
+            while (coalesced.count() - coalescedBefore < REQUESTS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            release.countDown();
+
+            List<ApparelResponseModel> apparels = responses.get(60, TimeUnit.SECONDS);
+            assertEquals(REQUESTS, apparels.size());
+            assertTrue(apparels.stream().allMatch(a -> "Home Jersey".equals(a.getItemName())));
+            // every caller gets its own links, not one accumulated list
+            assertTrue(apparels.stream().allMatch(a -> a.getLinks().stream().count() <= 2));
+            assertEquals(1, downstreamCalls.get());
+            assertEquals(REQUESTS - 1, coalesced.count() - coalescedBefore);
+        } finally {
+            release.countDown();
+            connections.dispose();
+        }
+    }
+}
@@ -105,6 +105,53 @@ class ApparelsControllerIntegrationTest {
         mockServer.verify();
     }
 
+    @Test
+    void getApparelsPage_whenUpstreamHasMore_thenGatewayReturnsItemsAndNextLink() throws Exception {
+        var upstreamJson = """
+        {
+          "items":[
+            {"apparelId":"aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee","itemName":"Jersey A","stock":100},
+            {"apparelId":"aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee","itemName":"Shorts B","stock":50}
+          ],
+          "nextCursor":"aWQ6Mg"
+        }
+        """;
+
+        mockServer.expect(once(), requestTo(new URI(UPSTREAM_BASE + "?limit=2&cursor=aWQ6MA")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(upstreamJson, MediaType.APPLICATION_JSON));
+
+        webTestClient.get()
+                .uri(GATEWAY_BASE + "?limit=2&cursor=aWQ6MA")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.items[0].itemName").isEqualTo("Jersey A")
+                .jsonPath("$.nextCursor").isEqualTo("aWQ6Mg")
+                .jsonPath("$._links.next.href").value(href ->
+                        assertTrue(href.toString().endsWith(GATEWAY_BASE + "?limit=2&cursor=aWQ6Mg")));
+
+        mockServer.verify();
+    }
+
+    @Test
+    void getApparelsPage_whenUpstreamRejectsCursor_thenGatewayReturns422() throws Exception {
+        mockServer.expect(once(), requestTo(new URI(UPSTREAM_BASE + "?limit=2&cursor=bad")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"message\":\"Provided cursor is invalid: bad\"}"));
+
+        webTestClient.get()
+                .uri(GATEWAY_BASE + "?limit=2&cursor=bad")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        mockServer.verify();
+    }
+
     @Test
     void getAllApparels_whenUpstreamNotFound_thenGatewayReturns404() throws Exception {
         mockServer.expect(once(), requestTo(new URI(UPSTREAM_BASE)))
@@ -159,6 +206,25 @@ class ApparelsControllerIntegrationTest {
         mockServer.verify();
     }
 
+    @Test
+    void getApparelById_whenUpstreamNotModified_thenReturns304WithoutBody() throws Exception {
+        String id = "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee";
+        mockServer.expect(once(), requestTo(new URI(UPSTREAM_BASE + "/" + id)))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"3\""));
+
+        webTestClient.get()
+                .uri(GATEWAY_BASE + "/" + id)
+                .ifNoneMatch("\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody().isEmpty();
+
+        mockServer.verify();
+    }
+
     @Test
     void getApparelById_whenInvalidUuid_thenReturns422() {
         webTestClient.get()
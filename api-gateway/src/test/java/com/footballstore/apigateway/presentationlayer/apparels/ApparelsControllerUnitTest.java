@@ -13,6 +13,9 @@ import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -54,9 +57,9 @@ class ApparelsControllerUnitTest {
                 .sizeOption("S")
                 .build();
 
-        when(service.getAllApparels()).thenReturn(List.of(a1, a2));
+        when(service.getAllApparels()).thenReturn(Flux.just(a1, a2));
 
-        ResponseEntity<List<ApparelResponseModel>> resp = controller.getAllApparels();
+        ResponseEntity<List<ApparelResponseModel>> resp = controller.getAllApparels().block();
 
         assertAll("getAll",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -67,6 +70,21 @@ class ApparelsControllerUnitTest {
         verify(service, times(1)).getAllApparels();
     }
 
+    @Test
+    void getApparelsPage_whenServiceReturnsPage_thenOkAndBody() {
+        var item = ApparelResponseModel.builder().apparelId("id1").itemName("Item1").build();
+        when(service.getApparelsPage(1, null))
+                .thenReturn(Mono.just(new ApparelPageResponseModel(List.of(item), "next")));
+
+        ResponseEntity<ApparelPageResponseModel> resp = controller.getApparelsPage(1, null).block();
+
+        assertNotNull(resp);
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(List.of(item), resp.getBody().getItems());
+        assertEquals("next", resp.getBody().getNextCursor());
+        verify(service).getApparelsPage(1, null);
+    }
+
     @Test
     void getApparelById_whenValid_thenOkAndBody() {
         var model = ApparelResponseModel.builder()
@@ -81,9 +99,9 @@ class ApparelsControllerUnitTest {
                 .sizeOption("L")
                 .build();
 
-        when(service.getApparelById(VALID_ID)).thenReturn(model);
+        when(service.getApparelById(VALID_ID, null)).thenReturn(Mono.just(model));
 
-        ResponseEntity<ApparelResponseModel> resp = controller.getApparelById(VALID_ID);
+        ResponseEntity<ApparelResponseModel> resp = controller.getApparelById(VALID_ID, null).block();
 
         assertAll("getById",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -91,19 +109,30 @@ class ApparelsControllerUnitTest {
                 () -> assertEquals("ItemX", resp.getBody().getItemName()),
                 () -> assertEquals(100, resp.getBody().getStock())
         );
-        verify(service).getApparelById(VALID_ID);
+        verify(service).getApparelById(VALID_ID, null);
     }
 
     @Test
     void getApparelById_whenServiceThrowsNotFound_thenPropagates() {
         doThrow(new NotFoundException("not found"))
-                .when(service).getApparelById(NOT_FOUND);
+                .when(service).getApparelById(NOT_FOUND, null);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.getApparelById(NOT_FOUND)
+                controller.getApparelById(NOT_FOUND, null).block()
         );
         assertEquals("not found", ex.getMessage());
-        verify(service).getApparelById(NOT_FOUND);
+        verify(service).getApparelById(NOT_FOUND, null);
+    }
+
+    @Test
+    void getApparelById_whenNotModifiedDownstream_thenNotModified() {
+        when(service.getApparelById(VALID_ID, "\"7\"")).thenReturn(Mono.empty());
+
+        ResponseEntity<ApparelResponseModel> resp = controller.getApparelById(VALID_ID, "\"7\"").block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, resp.getStatusCode());
+        assertEquals("\"7\"", resp.getHeaders().getETag());
+        assertNull(resp.getBody());
     }
 
     @Test
@@ -131,9 +160,9 @@ class ApparelsControllerUnitTest {
                 .sizeOption("M")
                 .build();
 
-        when(service.createApparel(req)).thenReturn(respModel);
+        when(service.createApparel(req)).thenReturn(Mono.just(respModel));
 
-        ResponseEntity<ApparelResponseModel> resp = controller.createApparel(req);
+        ResponseEntity<ApparelResponseModel> resp = controller.createApparel(req).block();
 
         assertAll("create",
                 () -> assertEquals(HttpStatus.CREATED, resp.getStatusCode()),
@@ -150,7 +179,7 @@ class ApparelsControllerUnitTest {
         when(service.createApparel(req)).thenThrow(new InvalidInputException("bad input"));
 
         InvalidInputException ex = assertThrows(InvalidInputException.class, () ->
-                controller.createApparel(req)
+                controller.createApparel(req).block()
         );
         assertEquals("bad input", ex.getMessage());
         verify(service).createApparel(req);
@@ -181,9 +210,9 @@ class ApparelsControllerUnitTest {
                 .sizeOption("L")
                 .build();
 
-        when(service.updateApparel(VALID_ID, req)).thenReturn(respModel);
+        when(service.updateApparel(VALID_ID, req)).thenReturn(Mono.just(respModel));
 
-        ResponseEntity<ApparelResponseModel> resp = controller.updateApparel(VALID_ID, req);
+        ResponseEntity<ApparelResponseModel> resp = controller.updateApparel(VALID_ID, req).block();
 
         assertAll("update",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -200,7 +229,7 @@ class ApparelsControllerUnitTest {
         when(service.updateApparel(NOT_FOUND, req)).thenThrow(new NotFoundException("gone"));
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.updateApparel(NOT_FOUND, req)
+                controller.updateApparel(NOT_FOUND, req).block()
         );
         assertEquals("gone", ex.getMessage());
         verify(service).updateApparel(NOT_FOUND, req);
@@ -208,9 +237,9 @@ class ApparelsControllerUnitTest {
 
     @Test
     void deleteApparel_whenValid_thenNoContent() {
-        when(service.deleteApparel(VALID_ID)).thenReturn(null);
+        when(service.deleteApparel(VALID_ID)).thenReturn(Mono.empty());
 
-        ResponseEntity<Void> resp = controller.deleteApparel(VALID_ID);
+        ResponseEntity<Void> resp = controller.deleteApparel(VALID_ID).block();
 
         assertEquals(HttpStatus.NO_CONTENT, resp.getStatusCode(), "Should return 204");
         verify(service).deleteApparel(VALID_ID);
@@ -221,7 +250,7 @@ class ApparelsControllerUnitTest {
         when(service.deleteApparel(NOT_FOUND)).thenThrow(new NotFoundException("not here"));
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.deleteApparel(NOT_FOUND)
+                controller.deleteApparel(NOT_FOUND).block()
         );
         assertEquals("not here", ex.getMessage());
         verify(service).deleteApparel(NOT_FOUND);
@@ -14,6 +14,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 @SpringBootTest
@@ -39,9 +42,9 @@ class CustomersControllerUnitTest {
                 .customerId("id2").firstName("C").lastName("D")
                 .email("c@d.com").phone("456").build();
 
-        when(customersService.getAllCustomers()).thenReturn(List.of(c1, c2));
+        when(customersService.getAllCustomers()).thenReturn(Flux.just(c1, c2));
 
-        ResponseEntity<List<CustomerResponseModel>> resp = customersController.getAllCustomers();
+        ResponseEntity<List<CustomerResponseModel>> resp = customersController.getAllCustomers().block();
 
         assertAll("getAll",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -59,10 +62,10 @@ class CustomersControllerUnitTest {
                 .firstName("X").lastName("Y")
                 .email("x@y.com").phone("789").build();
 
-        when(customersService.getCustomerById(VALID_ID)).thenReturn(model);
+        when(customersService.getCustomerById(VALID_ID)).thenReturn(Mono.just(model));
 
         ResponseEntity<CustomerResponseModel> resp =
-                customersController.getCustomerById(VALID_ID);
+                customersController.getCustomerById(VALID_ID).block();
 
         assertAll("getById",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -78,7 +81,7 @@ class CustomersControllerUnitTest {
         doThrow(new NotFoundException("not found")).when(customersService).getCustomerById(NOT_FOUND);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                customersController.getCustomerById(NOT_FOUND)
+                customersController.getCustomerById(NOT_FOUND).block()
         );
         assertEquals("not found", ex.getMessage());
         verify(customersService).getCustomerById(NOT_FOUND);
@@ -98,10 +101,10 @@ class CustomersControllerUnitTest {
                 .email("new@u.com").phone("000")
                 .build();
 
-        when(customersService.createCustomer(req)).thenReturn(respModel);
+        when(customersService.createCustomer(req)).thenReturn(Mono.just(respModel));
 
         ResponseEntity<CustomerResponseModel> resp =
-                customersController.createCustomer(req);
+                customersController.createCustomer(req).block();
 
         assertAll("create",
                 () -> assertEquals(HttpStatus.CREATED, resp.getStatusCode()),
@@ -119,7 +122,7 @@ class CustomersControllerUnitTest {
                 .when(customersService).createCustomer(req);
 
         InvalidInputException ex = assertThrows(InvalidInputException.class, () ->
-                customersController.createCustomer(req)
+                customersController.createCustomer(req).block()
         );
         assertEquals("bad", ex.getMessage());
         verify(customersService).createCustomer(req);
@@ -139,10 +142,10 @@ class CustomersControllerUnitTest {
                 .email("up@d.com").phone("111")
                 .build();
 
-        when(customersService.updateCustomer(VALID_ID, req)).thenReturn(respModel);
+        when(customersService.updateCustomer(VALID_ID, req)).thenReturn(Mono.just(respModel));
 
         ResponseEntity<CustomerResponseModel> resp =
-                customersController.updateCustomer(VALID_ID, req);
+                customersController.updateCustomer(VALID_ID, req).block();
 
         assertAll("update",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -160,7 +163,7 @@ class CustomersControllerUnitTest {
                 .when(customersService).updateCustomer(NOT_FOUND, req);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                customersController.updateCustomer(NOT_FOUND, req)
+                customersController.updateCustomer(NOT_FOUND, req).block()
         );
         assertEquals("nope", ex.getMessage());
         verify(customersService).updateCustomer(NOT_FOUND, req);
@@ -168,10 +171,10 @@ class CustomersControllerUnitTest {
 
     @Test
     void deleteCustomer_whenValid_thenNoContent() {
-        when(customersService.deleteCustomer(VALID_ID)).thenReturn(null);
+        when(customersService.deleteCustomer(VALID_ID)).thenReturn(Mono.empty());
 
         ResponseEntity<Void> resp =
-                customersController.deleteCustomer(VALID_ID);
+                customersController.deleteCustomer(VALID_ID).block();
 
         assertEquals(HttpStatus.NO_CONTENT, resp.getStatusCode());
         verify(customersService, times(1)).deleteCustomer(VALID_ID);
@@ -184,7 +187,7 @@ class CustomersControllerUnitTest {
 
         NotFoundException ex = assertThrows(
                 NotFoundException.class,
-                () -> customersController.deleteCustomer(NOT_FOUND)
+                () -> customersController.deleteCustomer(NOT_FOUND).block()
         );
         assertEquals("gone", ex.getMessage());
         verify(customersService, times(1)).deleteCustomer(NOT_FOUND);
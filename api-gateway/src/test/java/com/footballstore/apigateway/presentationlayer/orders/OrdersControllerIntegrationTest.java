@@ -22,6 +22,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.net.URI;
 import java.time.LocalDate;
@@ -58,12 +59,15 @@ class OrdersControllerIntegrationTest {
     private WebTestClient webClient;
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
     private MockRestServiceServer mockServer;
     private ObjectMapper mapper;
 
     @BeforeEach
     void setUp() {
-        mockServer = MockRestServiceServer.createServer(restTemplate);
+        // customer and warehouse lookups run concurrently, so their order is not fixed
+        mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
         mapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -139,6 +143,56 @@ class OrdersControllerIntegrationTest {
         mockServer.verify();
     }
 
+    @Test
+    void getAllOrders_whenOrdersShareCustomerAndWarehouses_thenEachIsFetchedOnce() throws Exception {
+        String order = """
+                  {"orderId":"%s","customerId":"%s","warehouseId":"%s","currency":"USD"}
+                """;
+        String upstreamJson = "[" + String.join(",",
+                order.formatted(VALID_ORDER_ID, CUST_ID, "wh1"),
+                order.formatted(CREATED_ORDER_ID, CUST_ID, "wh2"),
+                order.formatted(UPDATED_ORDER_ID, CUST_ID, "wh1"),
+                order.formatted(NOTFOUND_ORDER_ID, CUST_ID, "wh2")) + "]";
+
+        mockServer.expect(once(),
+                        requestTo(new URI(ORDERS_BASE + "/" + CUST_ID + ORDERS_PATH)))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(upstreamJson, MediaType.APPLICATION_JSON));
+        mockServer.expect(once(),
+                        requestTo(new URI(CUSTOMERS_BASE + "/" + CUST_ID)))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("""
+                            {"customerId":"%s","firstName":"John","lastName":"Doe"}
+                        """.formatted(CUST_ID), MediaType.APPLICATION_JSON));
+        for (String warehouseId : List.of("wh1", "wh2")) {
+            mockServer.expect(once(),
+                            requestTo(new URI(WAREHOUSES_BASE + "/" + warehouseId)))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("""
+                                {"warehouseId":"%1$s","locationName":"Warehouse %1$s"}
+                            """.formatted(warehouseId), MediaType.APPLICATION_JSON));
+        }
+        var callsSaved = meterRegistry.summary("gateway.orders.enrichment.calls.saved");
+        double savedBefore = callsSaved.totalAmount();
+
+        webClient.get()
+                .uri(GATEWAY_BASE + "/" + CUST_ID + ORDERS_PATH)
+                .accept(MediaTypes.HAL_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(OrderResponseModel.class)
+                .value(list -> {
+                    assertEquals(4, list.size());
+                    assertTrue(list.stream().allMatch(o -> "John".equals(o.getFirstName())));
+                    assertEquals(List.of("Warehouse wh1", "Warehouse wh2", "Warehouse wh1", "Warehouse wh2"),
+                            list.stream().map(OrderResponseModel::getLocationName).toList());
+                });
+
+        mockServer.verify();
+        // 4 orders would have needed 8 lookups; 1 customer + 2 warehouses were fetched
+        assertEquals(5.0, callsSaved.totalAmount() - savedBefore);
+    }
+
     @Test
     void getAllOrders_whenUpstream404_thenGatewayReturns404() throws Exception {
         mockServer.expect(once(),
@@ -323,6 +377,75 @@ class OrdersControllerIntegrationTest {
         mockServer.verify();
     }
 
+    @Test
+    void createOrder_withIdempotencyKeyAndRespondAsync_forwardsBothAndPassesOnTheAcceptance() throws Exception {
+        var req = OrderRequestModel.builder()
+                .items(List.of(
+                        OrderItemRequestModel.builder()
+                                .apparelId("aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee")
+                                .quantity(1)
+                                .unitPrice(new BigDecimal("59.99"))
+                                .discount(new BigDecimal("0"))
+                                .currency("USD")
+                                .build()
+                ))
+                .build();
+
+        mockServer.expect(once(),
+                        requestTo(new URI(ORDERS_BASE + "/" + CUST_ID + ORDERS_PATH)))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("Idempotency-Key", "key-15"))
+                .andExpect(request -> assertTrue(String.join(",", request.getHeaders().get("Prefer"))
+                        .contains("respond-async")))
+                .andRespond(withStatus(HttpStatus.ACCEPTED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Location", "http://localhost:7004/api/v1/customers/" + CUST_ID + "/orders/"
+                                + CREATED_ORDER_ID)
+                        .header("Preference-Applied", "respond-async")
+                        .header("Idempotent-Replayed", "true")
+                        .body("""
+                                {
+                                  "orderId":"%1$s",
+                                  "customerId":"%2$s",
+                                  "orderDate":"2025-05-02",
+                                  "totalAmount":59.99,
+                                  "currency":"USD",
+                                  "orderStatus":"ACCEPTED",
+                                  "paymentStatus":"PENDING"
+                                }
+                                """.formatted(CREATED_ORDER_ID, CUST_ID)));
+
+        mockServer.expect(once(),
+                        requestTo(new URI(CUSTOMERS_BASE + "/" + CUST_ID)))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("""
+                            {
+                              "customerId":"%s",
+                              "firstName":"Bob",
+                              "lastName":"Builder"
+                            }
+                        """.formatted(CUST_ID), MediaType.APPLICATION_JSON));
+
+        webClient.post()
+                .uri(GATEWAY_BASE + "/" + CUST_ID + ORDERS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "key-15")
+                .header("Prefer", "respond-async, wait=10")
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals("Preference-Applied", "respond-async")
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                // the status is polled through the gateway, not at orders-service
+                .expectHeader().value("Location", location -> assertTrue(
+                        location.endsWith(GATEWAY_BASE + "/" + CUST_ID + ORDERS_PATH + "/" + CREATED_ORDER_ID)
+                                && !location.contains(":7004")))
+                .expectBody(OrderResponseModel.class)
+                .value(o -> assertEquals(OrderStatus.ACCEPTED, o.getOrderStatus()));
+
+        mockServer.verify();
+    }
+
     @Test
     void createOrder_whenUpstream422_thenReturns422() throws Exception {
         mockServer.expect(once(),
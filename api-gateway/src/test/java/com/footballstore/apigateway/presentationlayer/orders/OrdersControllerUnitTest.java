@@ -14,6 +14,9 @@ import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -40,10 +43,10 @@ class OrdersControllerUnitTest {
                 .customerId("c1")
                 .build();
 
-        when(service.getAllCustomerOrders(CUST_ID)).thenReturn(List.of(o));
+        when(service.getAllCustomerOrders(CUST_ID)).thenReturn(Flux.just(o));
 
         ResponseEntity<List<OrderResponseModel>> resp =
-                controller.getAllCustomerOrders(CUST_ID);
+                controller.getAllCustomerOrders(CUST_ID).block();
 
         assertAll("getAll",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -60,7 +63,7 @@ class OrdersControllerUnitTest {
                 .thenThrow(new InvalidInputException("Invalid customerId: " + BAD_ID));
 
         InvalidInputException ex = assertThrows(InvalidInputException.class, () ->
-                controller.getAllCustomerOrders(BAD_ID)
+                controller.getAllCustomerOrders(BAD_ID).block()
         );
         assertTrue(ex.getMessage().contains("Invalid customerId"));
         verify(service).getAllCustomerOrders(BAD_ID);
@@ -74,10 +77,10 @@ class OrdersControllerUnitTest {
                 .customerId(CUST_ID)
                 .build();
 
-        when(service.getCustomerOrderById(CUST_ID, ORDER_ID)).thenReturn(o);
+        when(service.getCustomerOrderById(CUST_ID, ORDER_ID)).thenReturn(Mono.just(o));
 
         ResponseEntity<OrderResponseModel> resp =
-                controller.getCustomerOrderById(CUST_ID, ORDER_ID);
+                controller.getCustomerOrderById(CUST_ID, ORDER_ID).block();
 
         assertAll("getById",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -93,7 +96,7 @@ class OrdersControllerUnitTest {
                 .when(service).getCustomerOrderById(CUST_ID, ORDER_ID);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.getCustomerOrderById(CUST_ID, ORDER_ID)
+                controller.getCustomerOrderById(CUST_ID, ORDER_ID).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).getCustomerOrderById(CUST_ID, ORDER_ID);
@@ -112,30 +115,30 @@ class OrdersControllerUnitTest {
                 .customerId(CUST_ID)
                 .build();
 
-        when(service.processCustomerOrder(CUST_ID, req)).thenReturn(respModel);
+        when(service.processCustomerOrder(CUST_ID, req, null, null)).thenReturn(Mono.just(respModel));
 
         ResponseEntity<OrderResponseModel> resp =
-                controller.processCustomerOrder(CUST_ID, req);
+                controller.processCustomerOrder(CUST_ID, null, null, req).block();
 
         assertAll("create",
                 () -> assertEquals(HttpStatus.CREATED, resp.getStatusCode()),
                 () -> assertNotNull(resp.getBody()),
                 () -> assertEquals("oNew", resp.getBody().getOrderId())
         );
-        verify(service).processCustomerOrder(CUST_ID, req);
+        verify(service).processCustomerOrder(CUST_ID, req, null, null);
     }
 
     @Test
     void createOrder_whenInvalid_thenThrows() {
         var req = OrderRequestModel.builder().build();
         doThrow(new InvalidInputException("bad"))
-                .when(service).processCustomerOrder(CUST_ID, req);
+                .when(service).processCustomerOrder(CUST_ID, req, null, null);
 
         InvalidInputException ex = assertThrows(InvalidInputException.class, () ->
-                controller.processCustomerOrder(CUST_ID, req)
+                controller.processCustomerOrder(CUST_ID, null, null, req).block()
         );
         assertEquals("bad", ex.getMessage());
-        verify(service).processCustomerOrder(CUST_ID, req);
+        verify(service).processCustomerOrder(CUST_ID, req, null, null);
     }
 
     @Test
@@ -151,10 +154,10 @@ class OrdersControllerUnitTest {
                 .customerId(CUST_ID)
                 .build();
 
-        when(service.updateCustomerOrder(CUST_ID, ORDER_ID, req)).thenReturn(respModel);
+        when(service.updateCustomerOrder(CUST_ID, ORDER_ID, req)).thenReturn(Mono.just(respModel));
 
         ResponseEntity<OrderResponseModel> resp =
-                controller.updateCustomerOrder(CUST_ID, ORDER_ID, req);
+                controller.updateCustomerOrder(CUST_ID, ORDER_ID, req).block();
 
         assertAll("update",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -171,7 +174,7 @@ class OrdersControllerUnitTest {
                 .when(service).updateCustomerOrder(CUST_ID, ORDER_ID, req);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.updateCustomerOrder(CUST_ID, ORDER_ID, req)
+                controller.updateCustomerOrder(CUST_ID, ORDER_ID, req).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).updateCustomerOrder(CUST_ID, ORDER_ID, req);
@@ -179,10 +182,10 @@ class OrdersControllerUnitTest {
 
     @Test
     void deleteOrder_whenValid_thenNoContent() {
-        doNothing().when(service).deleteCustomerOrder(CUST_ID, ORDER_ID);
+        doReturn(Mono.empty()).when(service).deleteCustomerOrder(CUST_ID, ORDER_ID);
 
         ResponseEntity<Void> resp =
-                controller.deleteCustomerOrder(CUST_ID, ORDER_ID);
+                controller.deleteCustomerOrder(CUST_ID, ORDER_ID).block();
 
         assertEquals(HttpStatus.NO_CONTENT, resp.getStatusCode());
         verify(service).deleteCustomerOrder(CUST_ID, ORDER_ID);
@@ -194,7 +197,7 @@ class OrdersControllerUnitTest {
                 .when(service).deleteCustomerOrder(CUST_ID, ORDER_ID);
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                controller.deleteCustomerOrder(CUST_ID, ORDER_ID)
+                controller.deleteCustomerOrder(CUST_ID, ORDER_ID).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).deleteCustomerOrder(CUST_ID, ORDER_ID);
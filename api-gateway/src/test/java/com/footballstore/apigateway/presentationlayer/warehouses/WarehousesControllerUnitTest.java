@@ -16,6 +16,9 @@ import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 @SpringBootTest
@@ -41,10 +44,10 @@ class WarehousesControllerUnitTest {
                 .capacity(1000)
                 .build();
 
-        when(service.getAllWarehouses()).thenReturn(List.of(w));
+        when(service.getAllWarehouses()).thenReturn(Flux.just(w));
 
         ResponseEntity<List<WarehouseResponseModel>> resp =
-                controller.getAllWarehouses();
+                controller.getAllWarehouses().block();
 
         assertAll("getAll",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -64,10 +67,10 @@ class WarehousesControllerUnitTest {
                 .capacity(1000)
                 .build();
 
-        when(service.getWarehouseById(VALID_ID)).thenReturn(w);
+        when(service.getWarehouseById(VALID_ID)).thenReturn(Mono.just(w));
 
         ResponseEntity<WarehouseResponseModel> resp =
-                controller.getWarehouseById(VALID_ID);
+                controller.getWarehouseById(VALID_ID).block();
 
         assertAll("getById",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -83,7 +86,7 @@ class WarehousesControllerUnitTest {
                 .when(service).getWarehouseById(BAD_ID);
 
         var ex = assertThrows(InvalidInputException.class, () ->
-                controller.getWarehouseById(BAD_ID)
+                controller.getWarehouseById(BAD_ID).block()
         );
         assertTrue(ex.getMessage().contains("bad id"));
         verify(service).getWarehouseById(BAD_ID);
@@ -95,7 +98,7 @@ class WarehousesControllerUnitTest {
                 .when(service).getWarehouseById(NOTFOUND_ID);
 
         var ex = assertThrows(NotFoundException.class, () ->
-                controller.getWarehouseById(NOTFOUND_ID)
+                controller.getWarehouseById(NOTFOUND_ID).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).getWarehouseById(NOTFOUND_ID);
@@ -115,10 +118,10 @@ class WarehousesControllerUnitTest {
                 .capacity(200)
                 .build();
 
-        when(service.createWarehouse(req)).thenReturn(w);
+        when(service.createWarehouse(req)).thenReturn(Mono.just(w));
 
         ResponseEntity<WarehouseResponseModel> resp =
-                controller.createWarehouse(req);
+                controller.createWarehouse(req).block();
 
         assertAll("create",
                 () -> assertEquals(HttpStatus.CREATED, resp.getStatusCode()),
@@ -139,7 +142,7 @@ class WarehousesControllerUnitTest {
                 .when(service).createWarehouse(req);
 
         var ex = assertThrows(InvalidWarehouseCapacityException.class, () ->
-                controller.createWarehouse(req)
+                controller.createWarehouse(req).block()
         );
         assertEquals("too small", ex.getMessage());
         verify(service).createWarehouse(req);
@@ -159,10 +162,10 @@ class WarehousesControllerUnitTest {
                 .capacity(300)
                 .build();
 
-        when(service.updateWarehouse(VALID_ID, req)).thenReturn(w);
+        when(service.updateWarehouse(VALID_ID, req)).thenReturn(Mono.just(w));
 
         ResponseEntity<WarehouseResponseModel> resp =
-                controller.updateWarehouse(VALID_ID, req);
+                controller.updateWarehouse(VALID_ID, req).block();
 
         assertAll("update",
                 () -> assertEquals(HttpStatus.OK, resp.getStatusCode()),
@@ -179,7 +182,7 @@ class WarehousesControllerUnitTest {
                 .when(service).updateWarehouse(NOTFOUND_ID, req);
 
         var ex = assertThrows(NotFoundException.class, () ->
-                controller.updateWarehouse(NOTFOUND_ID, req)
+                controller.updateWarehouse(NOTFOUND_ID, req).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).updateWarehouse(NOTFOUND_ID, req);
@@ -187,10 +190,10 @@ class WarehousesControllerUnitTest {
 
     @Test
     void deleteWarehouse_whenValid_thenNoContent() {
-        doNothing().when(service).deleteWarehouse(VALID_ID);
+        doReturn(Mono.empty()).when(service).deleteWarehouse(VALID_ID);
 
         ResponseEntity<Void> resp =
-                controller.deleteWarehouse(VALID_ID);
+                controller.deleteWarehouse(VALID_ID).block();
 
         assertEquals(HttpStatus.NO_CONTENT, resp.getStatusCode());
         verify(service).deleteWarehouse(VALID_ID);
@@ -202,7 +205,7 @@ class WarehousesControllerUnitTest {
                 .when(service).deleteWarehouse(BAD_ID);
 
         var ex = assertThrows(InvalidInputException.class, () ->
-                controller.deleteWarehouse(BAD_ID)
+                controller.deleteWarehouse(BAD_ID).block()
         );
         assertEquals("bad", ex.getMessage());
         verify(service).deleteWarehouse(BAD_ID);
@@ -214,7 +217,7 @@ class WarehousesControllerUnitTest {
                 .when(service).deleteWarehouse(NOTFOUND_ID);
 
         var ex = assertThrows(NotFoundException.class, () ->
-                controller.deleteWarehouse(NOTFOUND_ID)
+                controller.deleteWarehouse(NOTFOUND_ID).block()
         );
         assertEquals("nf", ex.getMessage());
         verify(service).deleteWarehouse(NOTFOUND_ID);
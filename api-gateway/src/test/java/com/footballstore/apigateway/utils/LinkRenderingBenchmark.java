@@ -0,0 +1,137 @@
+package com.footballstore.apigateway.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelResponseModel;
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelsController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Linking and writing a list of apparels as HAL, the way {@code GET /api/v1/apparels} does, with
+ * per-element {@code linkTo(methodOn(...))} against {@link LinkTemplate}. Times the linking alone and
+ * linking plus serialization, with the bytes allocated per list. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class LinkRenderingBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000};
+    private static final int ROUNDS = 15;
+    private static final LinkTemplate APPAREL = LinkTemplate.of(ApparelsController.class, "getApparelById");
+    private static final LinkTemplate ALL_APPARELS = LinkTemplate.of(ApparelsController.class, "getAllApparels");
+
+    private final ObjectMapper hal = halMapper();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void bind() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/apparels");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void unbind() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void linkToAgainstLinkTemplate() throws Exception {
+        System.out.printf("%-9s %7s %14s %14s %14s %14s%n", "links", "rows", "link p50(ms)", "link p99(ms)",
+                "+json p50(ms)", "alloc(KB/row)");
+        for (int size : SIZES) {
+            run("linkTo", size, LinkRenderingBenchmark::withLinkTo);
+            run("template", size, LinkRenderingBenchmark::withTemplate);
+        }
+    }
+
+    private void run(String name, int size, Consumer<ApparelResponseModel> linker) throws Exception {
+        // warm-up rounds so class loading and JIT do not count against either way of linking
+        for (int i = 0; i < 3; i++) {
+            hal.writeValueAsBytes(link(rows(size), linker));
+        }
+        long[] linking = new long[ROUNDS];
+        long[] rendering = new long[ROUNDS];
+        long allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<ApparelResponseModel> rows = rows(size);
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            link(rows, linker);
+            long linked = System.nanoTime();
+            hal.writeValueAsBytes(rows);
+            rendering[round] = System.nanoTime() - start;
+            linking[round] = linked - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        System.out.printf("%-9s %7d %14.2f %14.2f %14.2f %14.2f%n", name, size, percentile(linking, 0.50) / 1e6,
+                percentile(linking, 0.99) / 1e6, percentile(rendering, 0.50) / 1e6,
+                allocated / (double) ROUNDS / size / 1024);
+    }
+
+    private static void withLinkTo(ApparelResponseModel apparel) {
+        apparel.add(linkTo(methodOn(ApparelsController.class).getApparelById(apparel.getApparelId(), null)).withSelfRel());
+        apparel.add(linkTo(methodOn(ApparelsController.class).getAllApparels()).withRel("allApparels"));
+    }
+
+    private static void withTemplate(ApparelResponseModel apparel) {
+        apparel.add(APPAREL.withSelfRel(apparel.getApparelId()));
+        apparel.add(ALL_APPARELS.withRel("allApparels"));
+    }
+
+    private static List<ApparelResponseModel> link(List<ApparelResponseModel> rows,
+                                                   Consumer<ApparelResponseModel> linker) {
+        rows.forEach(linker);
+        return rows;
+    }
+
+    private static List<ApparelResponseModel> rows(int size) {
+        List<ApparelResponseModel> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(ApparelResponseModel.builder()
+                    .apparelId(new UUID(0, i).toString())
+                    .itemName("Home Jersey " + i)
+                    .description("Replica home jersey")
+                    .brand("Adidas")
+                    .price(new BigDecimal("89.99"))
+                    .cost(new BigDecimal("40.00"))
+                    .stock(i % 100)
+                    .apparelType("JERSEY")
+                    .sizeOption("M")
+                    .build());
+        }
+        return rows;
+    }
+
+    private static ObjectMapper halMapper() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static long percentile(long[] samples, double percentile) {
+        Arrays.sort(samples);
+        return samples[(int) Math.min(samples.length - 1, samples.length * percentile)];
+    }
+}
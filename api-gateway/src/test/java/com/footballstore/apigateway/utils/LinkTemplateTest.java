@@ -0,0 +1,116 @@
+package com.footballstore.apigateway.utils;
+
+import com.footballstore.apigateway.presentationlayer.apparels.ApparelsController;
+import com.footballstore.apigateway.presentationlayer.customers.CustomersController;
+import com.footballstore.apigateway.presentationlayer.orders.OrdersController;
+import com.footballstore.apigateway.presentationlayer.warehouses.WarehousesController;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplateTest {
+
+    private static final String ID = "a1111111-1111-1111-1111-111111111111";
+    private static final String OTHER_ID = "b2222222-2222-2222-2222-222222222222";
+    private static final ObjectMapper HAL = halMapper();
+
+    @AfterEach
+    void unbind() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void links_localRequest_matchLinkTo() {
+        bind("http", "localhost", 8080, "");
+        assertSameLinks();
+    }
+
+    @Test
+    void links_defaultPortAndContextPath_matchLinkTo() {
+        bind("https", "shop.example.com", 443, "/gateway");
+        assertSameLinks();
+    }
+
+    @Test
+    void links_noCurrentRequest_matchLinkTo() {
+        assertSameLinks();
+    }
+
+    @Test
+    void links_argumentsNeedingEscapes_matchLinkTo() {
+        bind("http", "localhost", 8080, "");
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getApparelById("a b/c%d", null)).withSelfRel(),
+                LinkTemplate.of(ApparelsController.class, "getApparelById").withSelfRel("a b/c%d"));
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getApparelsPage(5, "a b+c/=&d")).withSelfRel(),
+                LinkTemplate.of(ApparelsController.class, "getApparelsPage").withSelfRel(5, "a b+c/=&d"));
+    }
+
+    @Test
+    void of_overloadedOrMissingMethod_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LinkTemplate.of(ApparelsController.class, "noSuchMethod"));
+    }
+
+    private static void assertSameLinks() {
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getApparelById(ID, null)).withSelfRel(),
+                LinkTemplate.of(ApparelsController.class, "getApparelById").withSelfRel(ID));
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getAllApparels()).withRel("allApparels"),
+                LinkTemplate.of(ApparelsController.class, "getAllApparels").withRel("allApparels"));
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getApparelsPage(2, "aWQ6Mg")).withRel(IanaLinkRelations.NEXT),
+                LinkTemplate.of(ApparelsController.class, "getApparelsPage").withRel(IanaLinkRelations.NEXT, 2, "aWQ6Mg"));
+        assertSameHal(linkTo(methodOn(ApparelsController.class).getApparelsPage(2, null)).withSelfRel(),
+                LinkTemplate.of(ApparelsController.class, "getApparelsPage").withSelfRel(2, null));
+        assertSameHal(linkTo(methodOn(CustomersController.class).getCustomerById(ID)).withSelfRel(),
+                LinkTemplate.of(CustomersController.class, "getCustomerById").withSelfRel(ID));
+        assertSameHal(linkTo(methodOn(CustomersController.class).getAllCustomers()).withRel("allCustomers"),
+                LinkTemplate.of(CustomersController.class, "getAllCustomers").withRel("allCustomers"));
+        assertSameHal(linkTo(methodOn(WarehousesController.class).getWarehouseById(ID)).withSelfRel(),
+                LinkTemplate.of(WarehousesController.class, "getWarehouseById").withSelfRel(ID));
+        assertSameHal(linkTo(methodOn(WarehousesController.class).getAllWarehouses()).withRel("allWarehouses"),
+                LinkTemplate.of(WarehousesController.class, "getAllWarehouses").withRel("allWarehouses"));
+        assertSameHal(linkTo(methodOn(OrdersController.class).getCustomerOrderById(ID, OTHER_ID)).withSelfRel(),
+                LinkTemplate.of(OrdersController.class, "getCustomerOrderById").withSelfRel(ID, OTHER_ID));
+        assertSameHal(linkTo(methodOn(OrdersController.class).getAllCustomerOrders(ID)).withRel("all-orders"),
+                LinkTemplate.of(OrdersController.class, "getAllCustomerOrders").withRel("all-orders", ID));
+    }
+
+    // affordances differ, but HAL does not render them; what is written must match
+    private static void assertSameHal(Link expected, Link actual) {
+        try {
+            assertEquals(HAL.writeValueAsString(new RepresentationModel<>(expected)),
+                    HAL.writeValueAsString(new RepresentationModel<>(actual)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObjectMapper halMapper() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new Jackson2HalModule());
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static void bind(String scheme, String host, int port, String contextPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + "/api/v1/apparels");
+        request.setScheme(scheme);
+        request.setServerName(host);
+        request.setServerPort(port);
+        request.setContextPath(contextPath);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,36 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.utils.exceptions.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination. It wraps the surrogate {@code id} of the last
+ * row served so the next page is a {@code WHERE id > ?} range scan on the primary key,
+ * however deep the client has paged. Callers must treat the token as opaque.
+ */
+final class ApparelCursor {
+
+    private static final String PREFIX = "id:";
+
+    private ApparelCursor() {
+    }
+
+    static String encode(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Integer.parseInt(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidInputException("Provided cursor is invalid: " + cursor);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.footballstore.apparels.businesslayer;
 
+import com.footballstore.apparels.presentationlayer.ApparelPageResponseModel;
 import com.footballstore.apparels.presentationlayer.ApparelRequestModel;
 import com.footballstore.apparels.presentationlayer.ApparelResponseModel;
+import com.footballstore.apparels.presentationlayer.StockAdjustmentRequestModel;
+import com.footballstore.apparels.presentationlayer.StockLevelResponseModel;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ApparelService {
     List<ApparelResponseModel> getAllApparels();
+    ApparelPageResponseModel getApparelsPage(String cursor, int limit);
+    void streamAllApparels(Consumer<ApparelResponseModel> sink);
     ApparelResponseModel getApparelById(String apparelId);
+    long getApparelVersion(String apparelId);
+    List<ApparelResponseModel> getApparelsByIds(List<String> apparelIds);
     ApparelResponseModel createApparel(ApparelRequestModel requestModel);
     ApparelResponseModel updateApparel(String apparelId, ApparelRequestModel requestModel);
     void deleteApparel(String apparelId);
@@ -15,4 +23,5 @@ public interface ApparelService {
     int getStock(String apparelId);
     void decreaseStock(String apparelId, int quantity);
     void increaseStock(String apparelId, int quantity);
+    List<StockLevelResponseModel> adjustStock(List<StockAdjustmentRequestModel> adjustments);
 }
@@ -5,32 +5,84 @@ import com.footballstore.apparels.dataaccesslayer.ApparelIdentifier;
 import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
 import com.footballstore.apparels.datamapperlayer.ApparelRequestMapper;
 import com.footballstore.apparels.datamapperlayer.ApparelResponseMapper;
+import com.footballstore.apparels.presentationlayer.ApparelPageResponseModel;
 import com.footballstore.apparels.presentationlayer.ApparelRequestModel;
 import com.footballstore.apparels.presentationlayer.ApparelResponseModel;
+import com.footballstore.apparels.presentationlayer.StockAdjustmentRequestModel;
+import com.footballstore.apparels.presentationlayer.StockLevelResponseModel;
+import com.footballstore.apparels.presentationlayer.StockOperation;
 import com.footballstore.apparels.utils.exceptions.InvalidApparelPricingException;
 import com.footballstore.apparels.utils.exceptions.InvalidInputException;
 import com.footballstore.apparels.utils.exceptions.NotFoundException;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class ApparelServiceImpl implements ApparelService {
 
     private final ApparelRepository apparelRepository;
     private final ApparelResponseMapper apparelResponseMapper;
     private final ApparelRequestMapper apparelRequestMapper;
+    private final EntityManager entityManager;
+    private final StockHoldIndex holds;
+    private final int maxPageSize;
+
+    public ApparelServiceImpl(ApparelRepository apparelRepository,
+                              ApparelResponseMapper apparelResponseMapper,
+                              ApparelRequestMapper apparelRequestMapper,
+                              EntityManager entityManager,
+                              StockHoldIndex holds,
+                              @Value("${app.apparels.page.max-size:500}") int maxPageSize) {
+        this.apparelRepository = apparelRepository;
+        this.apparelResponseMapper = apparelResponseMapper;
+        this.apparelRequestMapper = apparelRequestMapper;
+        this.entityManager = entityManager;
+        this.holds = holds;
+        this.maxPageSize = maxPageSize;
+    }
 
     @Override
     public List<ApparelResponseModel> getAllApparels() {
         return apparelResponseMapper.entityListToResponseModelList(apparelRepository.findAll());
     }
 
+    @Override
+    public ApparelPageResponseModel getApparelsPage(String cursor, int limit) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new InvalidInputException("Page limit must be between 1 and " + maxPageSize + ": " + limit);
+        }
+        int afterId = cursor == null || cursor.isBlank() ? 0 : ApparelCursor.decode(cursor);
+
+        // one extra row tells us whether another page exists without a count query
+        List<Apparel> rows = apparelRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<Apparel> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? ApparelCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return new ApparelPageResponseModel(apparelResponseMapper.entityListToResponseModelList(page), nextCursor);
+    }
+
+    @Override
+    public void streamAllApparels(Consumer<ApparelResponseModel> sink) {
+        try (Stream<Apparel> apparels = apparelRepository.streamAllOrderedById()) {
+            apparels.forEach(apparel -> {
+                sink.accept(apparelResponseMapper.entityToResponseModel(apparel));
+                // drop each row from the persistence context so memory stays flat over the whole table
+                entityManager.detach(apparel);
+            });
+        }
+    }
+
     @Override
     public ApparelResponseModel getApparelById(String apparelId) {
         validateUuid(apparelId);
@@ -39,6 +91,20 @@ public class ApparelServiceImpl implements ApparelService {
         return apparelResponseMapper.entityToResponseModel(a);
     }
 
+    @Override
+    public long getApparelVersion(String apparelId) {
+        validateUuid(apparelId);
+        return apparelRepository.findVersionByApparelId(apparelId)
+                .orElseThrow(() -> new NotFoundException("Apparel not found with id: " + apparelId));
+    }
+
+    @Override
+    public List<ApparelResponseModel> getApparelsByIds(List<String> apparelIds) {
+        apparelIds.forEach(this::validateUuid);
+        Map<String, Apparel> found = findAllByIds(new LinkedHashSet<>(apparelIds));
+        return apparelResponseMapper.entityListToResponseModelList(new ArrayList<>(found.values()));
+    }
+
     @Override
     public ApparelResponseModel createApparel(ApparelRequestModel requestModel) {
         if (requestModel.getCost() != null && requestModel.getPrice() != null &&
@@ -102,22 +168,80 @@ public class ApparelServiceImpl implements ApparelService {
     @Override
     public void decreaseStock(String apparelId, int quantity) {
         validateUuid(apparelId);
-        Apparel existing = apparelRepository.findByApparelIdentifier_ApparelId(apparelId)
-                .orElseThrow(() -> new NotFoundException("Apparel not found with id: " + apparelId));
-        if (existing.getStock() < quantity) {
-            throw new InvalidInputException("Not enough stock for apparel: " + apparelId);
-        }
-        existing.setStock(existing.getStock() - quantity);
-        apparelRepository.save(existing);
+        holds.withLocksUntilCompletion(List.of(apparelId), () -> {
+            applyDelta(apparelId, -quantity);
+            return null;
+        });
     }
 
     @Override
     public void increaseStock(String apparelId, int quantity) {
         validateUuid(apparelId);
-        Apparel existing = apparelRepository.findByApparelIdentifier_ApparelId(apparelId)
-                .orElseThrow(() -> new NotFoundException("Apparel not found with id: " + apparelId));
-        existing.setStock(existing.getStock() + quantity);
-        apparelRepository.save(existing);
+        applyDelta(apparelId, quantity);
+    }
+
+    @Override
+    public List<StockLevelResponseModel> adjustStock(List<StockAdjustmentRequestModel> adjustments) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new InvalidInputException("At least one stock adjustment is required");
+        }
+
+        // net delta per apparel, so repeated ids in one batch are checked together
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (StockAdjustmentRequestModel adjustment : adjustments) {
+            String apparelId = adjustment.getApparelId();
+            validateUuid(apparelId);
+            if (adjustment.getQuantity() == null || adjustment.getQuantity() <= 0
+                    || adjustment.getOperation() == null) {
+                throw new InvalidInputException("Invalid stock adjustment for apparel: " + apparelId);
+            }
+            int delta = adjustment.getOperation() == StockOperation.DECREASE
+                    ? -adjustment.getQuantity()
+                    : adjustment.getQuantity();
+            deltas.merge(apparelId, delta, Integer::sum);
+        }
+
+        // sorted so concurrent batches take row locks in the same order;
+        // any rejected line throws and rolls the whole batch back
+        holds.withLocksUntilCompletion(deltas.keySet(), () -> {
+            deltas.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> applyDelta(e.getKey(), e.getValue()));
+            return null;
+        });
+
+        return findAllByIds(deltas.keySet()).values().stream()
+                .map(a -> new StockLevelResponseModel(a.getApparelIdentifier().getApparelId(), a.getStock()))
+                .toList();
+    }
+
+    // decrements leave reserved stock alone; callers hold the apparel's stripe lock
+    private void applyDelta(String apparelId, int delta) {
+        int updated = delta < 0
+                ? apparelRepository.decreaseStockIfAvailable(apparelId, -delta, holds.heldQuantity(apparelId))
+                : apparelRepository.increaseStock(apparelId, delta);
+        if (updated == 0) {
+            if (!apparelRepository.existsByApparelIdentifier_ApparelId(apparelId)) {
+                throw new NotFoundException("Apparel not found with id: " + apparelId);
+            }
+            throw new InvalidInputException("Not enough stock for apparel: " + apparelId);
+        }
+    }
+
+    private Map<String, Apparel> findAllByIds(Set<String> apparelIds) {
+        Map<String, Apparel> byId = apparelRepository.findAllByApparelIdentifier_ApparelIdIn(apparelIds)
+                .stream()
+                .collect(Collectors.toMap(a -> a.getApparelIdentifier().getApparelId(), Function.identity()));
+
+        Map<String, Apparel> ordered = new LinkedHashMap<>();
+        for (String apparelId : apparelIds) {
+            Apparel apparel = byId.get(apparelId);
+            if (apparel == null) {
+                throw new NotFoundException("Apparel not found with id: " + apparelId);
+            }
+            ordered.put(apparelId, apparel);
+        }
+        return ordered;
     }
 
     private void validateUuid(String id) {
@@ -0,0 +1,108 @@
+package com.footballstore.apparels.businesslayer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of outstanding reservations. Held quantities are guarded by
+ * a fixed set of lock stripes keyed on apparelId, so reservations for unrelated
+ * apparels never wait on each other. Every stock decrement takes the same stripes,
+ * so stock that is held is never sold from under its reservation.
+ */
+@Component
+class StockHoldIndex {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, Integer> heldByApparel = new ConcurrentHashMap<>();
+    private final Map<String, StockReservation> reservations = new ConcurrentHashMap<>();
+
+    StockHoldIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    <T> T withLocks(Collection<String> apparelIds, Supplier<T> action) {
+        int[] stripes = lock(apparelIds);
+        try {
+            return action.get();
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * Like {@link #withLocks}, but inside a transaction the locks are kept until it
+     * completes, so a check against the held quantities still holds when the stock
+     * it decremented is committed.
+     */
+    <T> T withLocksUntilCompletion(Collection<String> apparelIds, Supplier<T> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return withLocks(apparelIds, action);
+        }
+        int[] stripes = lock(apparelIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(stripes);
+            }
+        });
+        return action.get();
+    }
+
+    int heldQuantity(String apparelId) {
+        return heldByApparel.getOrDefault(apparelId, 0);
+    }
+
+    Optional<StockReservation> find(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId));
+    }
+
+    List<StockReservation> expired(Instant now) {
+        return reservations.values().stream().filter(r -> r.isExpired(now)).toList();
+    }
+
+    // callers must hold the locks for every apparel in the reservation
+    void add(StockReservation reservation) {
+        reservations.put(reservation.getReservationId(), reservation);
+        reservation.getQuantities().forEach((apparelId, qty) -> heldByApparel.merge(apparelId, qty, Integer::sum));
+    }
+
+    // callers must hold the locks for every apparel in the reservation
+    boolean remove(StockReservation reservation) {
+        if (!reservations.remove(reservation.getReservationId(), reservation)) {
+            return false;
+        }
+        reservation.getQuantities().forEach((apparelId, qty) ->
+                heldByApparel.computeIfPresent(apparelId, (id, held) -> held - qty == 0 ? null : held - qty));
+        return true;
+    }
+
+    private int[] lock(Collection<String> apparelIds) {
+        // always acquired in stripe order, so two multi-apparel callers cannot deadlock
+        int[] stripes = apparelIds.stream().mapToInt(StockHoldIndex::stripeOf).distinct().sorted().toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private static int stripeOf(String apparelId) {
+        return Math.floorMod(apparelId.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,17 @@
+package com.footballstore.apparels.businesslayer;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+class StockReservation {
+    String reservationId;
+    Map<String, Integer> quantities;
+    Instant expiresAt;
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
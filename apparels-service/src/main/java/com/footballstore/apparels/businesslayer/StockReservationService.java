@@ -0,0 +1,11 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.presentationlayer.ReservationRequestModel;
+import com.footballstore.apparels.presentationlayer.ReservationResponseModel;
+
+public interface StockReservationService {
+    ReservationResponseModel reserve(ReservationRequestModel requestModel);
+    void confirm(String reservationId);
+    void release(String reservationId);
+    int expireReservations();
+}
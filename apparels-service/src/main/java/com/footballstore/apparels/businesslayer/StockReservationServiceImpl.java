@@ -0,0 +1,187 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.dataaccesslayer.Apparel;
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.presentationlayer.ReservationItemModel;
+import com.footballstore.apparels.presentationlayer.ReservationRequestModel;
+import com.footballstore.apparels.presentationlayer.ReservationResponseModel;
+import com.footballstore.apparels.presentationlayer.StockAdjustmentRequestModel;
+import com.footballstore.apparels.presentationlayer.StockOperation;
+import com.footballstore.apparels.utils.exceptions.InvalidInputException;
+import com.footballstore.apparels.utils.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final ApparelRepository apparelRepository;
+    private final ApparelService apparelService;
+    private final Duration ttl;
+    private final Duration confirmedRetention;
+    private final StockHoldIndex holds;
+    // confirmed reservations, kept for a while so a caller that could not tell whether its
+    // confirm went through can still undo it by releasing the reservation
+    private final Map<String, StockReservation> confirmed = new ConcurrentHashMap<>();
+
+    public StockReservationServiceImpl(ApparelRepository apparelRepository,
+                                       ApparelService apparelService,
+                                       StockHoldIndex holds,
+                                       @Value("${app.reservations.ttl:PT5M}") Duration ttl,
+                                       @Value("${app.reservations.confirmed-retention:PT1H}") Duration confirmedRetention) {
+        this.apparelRepository = apparelRepository;
+        this.apparelService = apparelService;
+        this.holds = holds;
+        this.ttl = ttl;
+        this.confirmedRetention = confirmedRetention;
+    }
+
+    @Override
+    public ReservationResponseModel reserve(ReservationRequestModel requestModel) {
+        Map<String, Integer> quantities = netQuantities(requestModel);
+
+        return holds.withLocks(quantities.keySet(), () -> {
+            // one read for the whole cart; outstanding holds come from memory
+            Map<String, Integer> onHand = apparelRepository
+                    .findAllByApparelIdentifier_ApparelIdIn(quantities.keySet()).stream()
+                    .collect(Collectors.toMap(a -> a.getApparelIdentifier().getApparelId(), Apparel::getStock));
+
+            quantities.forEach((apparelId, qty) -> {
+                Integer stock = onHand.get(apparelId);
+                if (stock == null) {
+                    throw new NotFoundException("Apparel not found with id: " + apparelId);
+                }
+                if (stock - holds.heldQuantity(apparelId) < qty) {
+                    throw new InvalidInputException("Not enough stock for apparel: " + apparelId);
+                }
+            });
+
+            StockReservation reservation = new StockReservation(
+                    UUID.randomUUID().toString(), quantities, Instant.now().plus(ttl));
+            holds.add(reservation);
+            return toResponseModel(reservation);
+        });
+    }
+
+    @Override
+    public void confirm(String reservationId) {
+        StockReservation reservation = findActive(reservationId);
+        List<StockAdjustmentRequestModel> adjustments = reservation.getQuantities().entrySet().stream()
+                .map(e -> new StockAdjustmentRequestModel(e.getKey(), e.getValue(), StockOperation.DECREASE))
+                .toList();
+
+        holds.withLocks(reservation.getQuantities().keySet(), () -> {
+            if (holds.find(reservationId).isEmpty()) {
+                throw new NotFoundException("Reservation not found or expired: " + reservationId);
+            }
+            // recorded before the hold goes, so a release never finds the reservation in neither
+            confirmed.put(reservationId, new StockReservation(
+                    reservationId, reservation.getQuantities(), Instant.now().plus(confirmedRetention)));
+            // freed first, or the decrement would count the reservation against its own stock;
+            // the stripes stay locked, so nobody else can take it in between. A reservation is
+            // settled either way: a failed confirm does not keep holding stock
+            holds.remove(reservation);
+            try {
+                apparelService.adjustStock(adjustments);
+            } catch (RuntimeException ex) {
+                confirmed.remove(reservationId);
+                throw ex;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Frees an outstanding hold, or puts back the stock of a reservation confirmed
+     * within the retention window, so releasing is the undo of either step.
+     */
+    @Override
+    public void release(String reservationId) {
+        // only read for its apparels; a concurrent confirm moves it between the two maps, and
+        // which one it is in is decided again under the locks
+        StockReservation known = holds.find(reservationId)
+                .or(() -> Optional.ofNullable(confirmed.get(reservationId)))
+                .orElseThrow(() -> new NotFoundException("Reservation not found or expired: " + reservationId));
+
+        holds.withLocks(known.getQuantities().keySet(), () -> {
+            Optional<StockReservation> held = holds.find(reservationId);
+            if (held.isPresent() && holds.remove(held.get())) {
+                return null;
+            }
+            StockReservation settled = confirmed.remove(reservationId);
+            if (settled == null) {
+                throw new NotFoundException("Reservation not found or expired: " + reservationId);
+            }
+            apparelService.adjustStock(settled.getQuantities().entrySet().stream()
+                    .map(e -> new StockAdjustmentRequestModel(e.getKey(), e.getValue(), StockOperation.INCREASE))
+                    .toList());
+            return null;
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.reservations.sweep-interval:PT5S}")
+    public int expireReservations() {
+        int expired = 0;
+        for (StockReservation reservation : holds.expired(Instant.now())) {
+            if (holds.withLocks(reservation.getQuantities().keySet(), () -> holds.remove(reservation))) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.debug("Expired {} stock reservation(s)", expired);
+        }
+        Instant now = Instant.now();
+        confirmed.values().removeIf(reservation -> reservation.isExpired(now));
+        return expired;
+    }
+
+    private StockReservation findActive(String reservationId) {
+        StockReservation reservation = holds.find(reservationId)
+                .orElseThrow(() -> new NotFoundException("Reservation not found or expired: " + reservationId));
+        if (reservation.isExpired(Instant.now())) {
+            holds.withLocks(reservation.getQuantities().keySet(), () -> holds.remove(reservation));
+            throw new NotFoundException("Reservation not found or expired: " + reservationId);
+        }
+        return reservation;
+    }
+
+    private Map<String, Integer> netQuantities(ReservationRequestModel requestModel) {
+        if (requestModel.getItems() == null || requestModel.getItems().isEmpty()) {
+            throw new InvalidInputException("At least one reservation item is required");
+        }
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (ReservationItemModel item : requestModel.getItems()) {
+            validateUuid(item.getApparelId());
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new InvalidInputException("Invalid reservation quantity for apparel: " + item.getApparelId());
+            }
+            quantities.merge(item.getApparelId(), item.getQuantity(), Integer::sum);
+        }
+        return Collections.unmodifiableMap(quantities);
+    }
+
+    private ReservationResponseModel toResponseModel(StockReservation reservation) {
+        List<ReservationItemModel> items = reservation.getQuantities().entrySet().stream()
+                .map(e -> new ReservationItemModel(e.getKey(), e.getValue()))
+                .toList();
+        return new ReservationResponseModel(reservation.getReservationId(), items, reservation.getExpiresAt());
+    }
+
+    private void validateUuid(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new InvalidInputException("Provided apparelId is invalid: " + id);
+        }
+    }
+}
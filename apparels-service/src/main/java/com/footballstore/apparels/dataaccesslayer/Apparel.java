@@ -48,4 +48,9 @@ public class Apparel {
     @Enumerated(EnumType.STRING)
     @Column(name = "SIZE_OPTION")
     private SizeOption sizeOption;
+
+    // bumped on every write, including the bulk stock updates, so it doubles as the ETag
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
 }
@@ -10,7 +10,7 @@ import java.util.UUID;
 @Data
 public class ApparelIdentifier {
 
-    @Column(name = "APPAREL_ID")
+    @Column(name = "APPAREL_ID", unique = true)
     private String apparelId;
 
     protected ApparelIdentifier() {
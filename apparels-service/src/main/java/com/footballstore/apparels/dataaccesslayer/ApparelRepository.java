@@ -1,11 +1,52 @@
 package com.footballstore.apparels.dataaccesslayer;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ApparelRepository extends JpaRepository<Apparel, Integer> {
     Optional<Apparel> findByApparelIdentifier_ApparelId(String apparelId);
+    List<Apparel> findAllByApparelIdentifier_ApparelIdIn(Collection<String> apparelIds);
+    boolean existsByApparelIdentifier_ApparelId(String apparelId);
+
+    @Query("SELECT a.version FROM Apparel a WHERE a.apparelIdentifier.apparelId = :apparelId")
+    Optional<Long> findVersionByApparelId(@Param("apparelId") String apparelId);
+
+    // keyset page: a primary-key range scan, so the cost does not grow with the page depth
+    List<Apparel> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    // forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Apparel a ORDER BY a.id")
+    Stream<Apparel> streamAllOrderedById();
+
+    // guarded in the WHERE clause so concurrent checkouts cannot oversell and stock held by
+    // reservations is left alone; 0 rows means rejected
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Apparel a SET a.stock = a.stock - :quantity, a.version = a.version + 1 " +
+            "WHERE a.apparelIdentifier.apparelId = :apparelId AND a.stock - :held >= :quantity")
+    int decreaseStockIfAvailable(@Param("apparelId") String apparelId, @Param("quantity") int quantity,
+                                 @Param("held") int held);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Apparel a SET a.stock = a.stock + :quantity, a.version = a.version + 1 " +
+            "WHERE a.apparelIdentifier.apparelId = :apparelId")
+    int increaseStock(@Param("apparelId") String apparelId, @Param("quantity") int quantity);
 }
@@ -0,0 +1,25 @@
+package com.footballstore.apparels.dataaccesslayer;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.UUID;
+
+/**
+ * Stores the textual apparel identifier as a native UUID, which Hibernate binds as
+ * {@code uuid} on PostgreSQL and H2 and as {@code BINARY(16)} on MySQL. Only applied
+ * under the {@code binary-ids} profile, through {@code META-INF/binary-ids-orm.xml}.
+ */
+@Converter
+public class CompactUuidConverter implements AttributeConverter<String, UUID> {
+
+    @Override
+    public UUID convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : UUID.fromString(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(UUID dbData) {
+        return dbData == null ? null : dbData.toString();
+    }
+}
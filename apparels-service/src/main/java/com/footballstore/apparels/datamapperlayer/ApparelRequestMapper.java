@@ -12,7 +12,8 @@ public interface ApparelRequestMapper {
 
     @Mappings({
             @Mapping(target = "id", ignore = true),
-            @Mapping(target = "apparelIdentifier", ignore = true)
+            @Mapping(target = "apparelIdentifier", ignore = true),
+            @Mapping(target = "version", ignore = true)
     })
     Apparel requestModelToEntity(ApparelRequestModel requestModel);
 }
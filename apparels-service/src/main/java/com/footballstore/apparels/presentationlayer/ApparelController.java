@@ -1,10 +1,18 @@
 package com.footballstore.apparels.presentationlayer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.footballstore.apparels.businesslayer.ApparelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,6 +21,7 @@ import java.util.List;
 public class ApparelController {
 
     private final ApparelService apparelService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<ApparelResponseModel>> getAllApparels() {
@@ -20,10 +29,40 @@ public class ApparelController {
         return ResponseEntity.ok(apparels);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApparelPageResponseModel> getApparelsPage(@RequestParam int limit,
+                                                                    @RequestParam(required = false) String cursor) {
+        ApparelPageResponseModel page = apparelService.getApparelsPage(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllApparels() {
+        StreamingResponseBody body = out -> {
+            try {
+                apparelService.streamAllApparels(apparel -> writeLine(out, apparel));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ApparelResponseModel>> getApparelsByIds(@RequestParam List<String> ids) {
+        List<ApparelResponseModel> apparels = apparelService.getApparelsByIds(ids);
+        return ResponseEntity.ok(apparels);
+    }
+
     @GetMapping("/{apparelId}")
-    public ResponseEntity<ApparelResponseModel> getApparelById(@PathVariable String apparelId) {
+    public ResponseEntity<ApparelResponseModel> getApparelById(@PathVariable String apparelId, WebRequest request) {
+        // a revalidation only needs the version column; the row is loaded and serialized on a miss
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(apparelService.getApparelVersion(apparelId)))) {
+            return null;
+        }
         ApparelResponseModel apparel = apparelService.getApparelById(apparelId);
-        return ResponseEntity.ok(apparel);
+        return ResponseEntity.ok().eTag(etag(apparel.getVersion())).body(apparel);
     }
 
     @PostMapping
@@ -44,4 +83,17 @@ public class ApparelController {
         apparelService.deleteApparel(apparelId);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private void writeLine(OutputStream out, ApparelResponseModel apparel) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(apparel));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.footballstore.apparels.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApparelPageResponseModel {
+    private List<ApparelResponseModel> items;
+    // opaque token for the following page; null once the last page has been served
+    private String nextCursor;
+}
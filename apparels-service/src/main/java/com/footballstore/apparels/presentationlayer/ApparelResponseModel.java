@@ -2,6 +2,7 @@ package com.footballstore.apparels.presentationlayer;
 
 import com.footballstore.apparels.dataaccesslayer.ApparelType;
 import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -18,4 +19,7 @@ public class ApparelResponseModel extends RepresentationModel<ApparelResponseMod
     private Integer stock;
     private ApparelType apparelType;
     private SizeOption sizeOption;
+
+    @JsonIgnore
+    private long version;
 }
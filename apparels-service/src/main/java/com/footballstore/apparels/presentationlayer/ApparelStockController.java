@@ -2,29 +2,38 @@ package com.footballstore.apparels.presentationlayer;
 
 import com.footballstore.apparels.businesslayer.ApparelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
-@RequestMapping("/api/v1/apparels/{apparelId}/stock")
+@RequestMapping("/api/v1/apparels")
 @RequiredArgsConstructor
 public class ApparelStockController {
 
     private final ApparelService apparelService;
 
-    @GetMapping
+    @GetMapping("/{apparelId}/stock")
     public Integer getStock(@PathVariable String apparelId) {
         return apparelService.getStock(apparelId);
     }
 
-    @PatchMapping("/decrease")
+    @PatchMapping("/{apparelId}/stock/decrease")
     public void decreaseStock(@PathVariable String apparelId,
                               @RequestParam("quantity") int quantity) {
         apparelService.decreaseStock(apparelId, quantity);
     }
 
-    @PatchMapping("/increase")
+    @PatchMapping("/{apparelId}/stock/increase")
     public void increaseStock(@PathVariable String apparelId,
                               @RequestParam("quantity") int quantity) {
         apparelService.increaseStock(apparelId, quantity);
     }
+
+    @PostMapping("/stock/batch")
+    public ResponseEntity<List<StockLevelResponseModel>> adjustStock(
+            @RequestBody List<StockAdjustmentRequestModel> adjustments) {
+        return ResponseEntity.ok(apparelService.adjustStock(adjustments));
+    }
 }
@@ -0,0 +1,15 @@
+package com.footballstore.apparels.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationItemModel {
+    private String apparelId;
+    private Integer quantity;
+}
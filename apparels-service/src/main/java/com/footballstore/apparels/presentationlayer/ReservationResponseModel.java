@@ -0,0 +1,17 @@
+package com.footballstore.apparels.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponseModel {
+    private String reservationId;
+    private List<ReservationItemModel> items;
+    private Instant expiresAt;
+}
@@ -0,0 +1,6 @@
+package com.footballstore.apparels.presentationlayer;
+
+public enum StockOperation {
+    DECREASE,
+    INCREASE
+}
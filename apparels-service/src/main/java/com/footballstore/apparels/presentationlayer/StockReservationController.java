@@ -0,0 +1,32 @@
+package com.footballstore.apparels.presentationlayer;
+
+import com.footballstore.apparels.businesslayer.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/apparels/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationResponseModel> reserve(@RequestBody ReservationRequestModel requestModel) {
+        ReservationResponseModel reservation = reservationService.reserve(requestModel);
+        return ResponseEntity.status(201).body(reservation);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    public ResponseEntity<Void> confirm(@PathVariable String reservationId) {
+        reservationService.confirm(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable String reservationId) {
+        reservationService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
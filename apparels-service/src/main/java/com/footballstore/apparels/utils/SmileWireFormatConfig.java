@@ -0,0 +1,29 @@
+package com.footballstore.apparels.utils;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Serves apparels and reservations in Smile to the callers that ask for it; errors stay JSON so
+ * the orders service and the gateway can still turn them back into their own exceptions.
+ */
+@Configuration
+public class SmileWireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter smile
+                ? new MappingJackson2SmileHttpMessageConverter(smile.getObjectMapper()) {
+                    @Override
+                    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                        return !HttpErrorInfo.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+                    }
+                }
+                : converter);
+    }
+}
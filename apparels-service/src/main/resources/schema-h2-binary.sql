@@ -0,0 +1,17 @@
+DROP TABLE IF EXISTS APPARELS;
+
+CREATE TABLE APPARELS (
+                          id INT AUTO_INCREMENT PRIMARY KEY,
+                          apparel_id UUID,
+                          item_name VARCHAR(100) NOT NULL,
+                          description VARCHAR(255),
+                          brand VARCHAR(100),
+                          price DECIMAL(10,2),
+                          cost DECIMAL(10,2),
+                          stock INT,
+                          apparel_type VARCHAR(20),
+                          size_option VARCHAR(20),
+                          version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE UNIQUE INDEX ux_apparels_apparel_id ON APPARELS (apparel_id);
@@ -10,5 +10,8 @@ CREATE TABLE APPARELS (
                           cost DECIMAL(10,2),
                           stock INT,
                           apparel_type VARCHAR(20),
-                          size_option VARCHAR(20)
+                          size_option VARCHAR(20),
+                          version BIGINT NOT NULL DEFAULT 0
 );
+
+CREATE UNIQUE INDEX ux_apparels_apparel_id ON APPARELS (apparel_id);
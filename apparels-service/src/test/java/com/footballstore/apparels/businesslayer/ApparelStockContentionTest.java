@@ -0,0 +1,102 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.dataaccesslayer.Apparel;
+import com.footballstore.apparels.dataaccesslayer.ApparelIdentifier;
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.dataaccesslayer.ApparelType;
+import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import com.footballstore.apparels.utils.exceptions.InvalidInputException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ApparelStockContentionTest {
+
+    private static final int INITIAL_STOCK = 25;
+    private static final int BUYERS = 100;
+
+    @Autowired
+    private ApparelService apparelService;
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    private String apparelId;
+
+    @BeforeEach
+    void setup() {
+        apparelRepository.deleteAll();
+        apparelId = UUID.randomUUID().toString();
+        apparelRepository.save(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier(apparelId))
+                .itemName("Popular Kit")
+                .description("Contended")
+                .brand("Brand")
+                .price(new BigDecimal("80.00"))
+                .cost(new BigDecimal("40.00"))
+                .stock(INITIAL_STOCK)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build());
+    }
+
+    @Test
+    void concurrentDecreases_neverOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                apparelService.decreaseStock(apparelId, 1);
+                sold.incrementAndGet();
+            } catch (InvalidInputException ex) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(sold.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - INITIAL_STOCK);
+        assertThat(apparelService.getStock(apparelId)).isZero();
+    }
+
+    @Test
+    void concurrentIncreases_loseNoUpdates() throws Exception {
+        runConcurrently(() -> apparelService.increaseStock(apparelId, 2));
+
+        assertThat(apparelService.getStock(apparelId)).isEqualTo(INITIAL_STOCK + BUYERS * 2);
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < BUYERS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
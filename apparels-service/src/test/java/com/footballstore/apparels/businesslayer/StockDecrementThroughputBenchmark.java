@@ -0,0 +1,110 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.dataaccesslayer.Apparel;
+import com.footballstore.apparels.dataaccesslayer.ApparelIdentifier;
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.dataaccesslayer.ApparelType;
+import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the conditional UPDATE stock path with the old load-check-save
+ * approach under contention on H2. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+class StockDecrementThroughputBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 4_000;
+
+    @Autowired
+    private ApparelService apparelService;
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void throughputUnderContention() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        System.out.printf("%-18s %10s %10s %10s %12s%n", "mode", "ops/s", "ok", "errors", "lost/oversold");
+        run("conditional-update", id -> apparelService.decreaseStock(id, 1));
+        run("read-modify-write", id -> tx.executeWithoutResult(status -> {
+            Apparel a = apparelRepository.findByApparelIdentifier_ApparelId(id).orElseThrow();
+            if (a.getStock() >= 1) {
+                a.setStock(a.getStock() - 1);
+                apparelRepository.save(a);
+            }
+        }));
+    }
+
+    private void run(String mode, Decrement decrement) throws Exception {
+        String apparelId = seed();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        decrement.apply(apparelId);
+                        ok.incrementAndGet();
+                    } catch (RuntimeException ex) {
+                        errors.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int remaining = apparelService.getStock(apparelId);
+            // every successful call took one unit, so anything else is a lost update
+            int drift = (OPERATIONS - ok.get()) - remaining;
+            System.out.printf("%-18s %10.0f %10d %10d %12d%n",
+                    mode, OPERATIONS / seconds, ok.get(), errors.get(), Math.abs(drift));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String seed() {
+        String apparelId = UUID.randomUUID().toString();
+        apparelRepository.save(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier(apparelId))
+                .itemName("Benchmark Kit")
+                .brand("Brand")
+                .price(new BigDecimal("80.00"))
+                .cost(new BigDecimal("40.00"))
+                .stock(OPERATIONS)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build());
+        return apparelId;
+    }
+
+    @FunctionalInterface
+    private interface Decrement {
+        void apply(String apparelId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.dataaccesslayer.Apparel;
+import com.footballstore.apparels.dataaccesslayer.ApparelIdentifier;
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.dataaccesslayer.ApparelType;
+import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import com.footballstore.apparels.presentationlayer.ReservationItemModel;
+import com.footballstore.apparels.presentationlayer.ReservationRequestModel;
+import com.footballstore.apparels.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "app.reservations.ttl=PT0.2S",
+        // swept by hand below
+        "app.reservations.sweep-interval=PT1H"
+})
+class StockReservationExpiryTest {
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    private String apparelId;
+
+    @BeforeEach
+    void setup() {
+        apparelRepository.deleteAll();
+        apparelId = UUID.randomUUID().toString();
+        apparelRepository.save(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier(apparelId))
+                .itemName("Expiring Kit")
+                .brand("Brand")
+                .price(new BigDecimal("80.00"))
+                .cost(new BigDecimal("40.00"))
+                .stock(3)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build());
+    }
+
+    @Test
+    void expiredReservations_areSweptAndStockIsReservableAgain() throws Exception {
+        reservationService.reserve(request(3));
+        Thread.sleep(300);
+
+        assertThat(reservationService.expireReservations()).isEqualTo(1);
+        assertThat(reservationService.reserve(request(3)).getReservationId()).isNotBlank();
+    }
+
+    @Test
+    void confirm_afterTtl_throwsNotFoundAndLeavesStock() throws Exception {
+        String reservationId = reservationService.reserve(request(2)).getReservationId();
+        Thread.sleep(300);
+
+        assertThrows(NotFoundException.class, () -> reservationService.confirm(reservationId));
+        assertThat(apparelRepository.findByApparelIdentifier_ApparelId(apparelId).orElseThrow().getStock())
+                .isEqualTo(3);
+    }
+
+    private ReservationRequestModel request(int quantity) {
+        return new ReservationRequestModel(List.of(new ReservationItemModel(apparelId, quantity)));
+    }
+}
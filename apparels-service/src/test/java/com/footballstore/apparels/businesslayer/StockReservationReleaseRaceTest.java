@@ -0,0 +1,91 @@
+package com.footballstore.apparels.businesslayer;
+
+import com.footballstore.apparels.dataaccesslayer.Apparel;
+import com.footballstore.apparels.dataaccesslayer.ApparelIdentifier;
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.dataaccesslayer.ApparelType;
+import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import com.footballstore.apparels.presentationlayer.ReservationItemModel;
+import com.footballstore.apparels.presentationlayer.ReservationRequestModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class StockReservationReleaseRaceTest {
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    @MockitoSpyBean
+    private ApparelService apparelService;
+
+    private String apparelId;
+
+    @BeforeEach
+    void setup() {
+        apparelRepository.deleteAll();
+        apparelId = UUID.randomUUID().toString();
+        apparelRepository.save(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier(apparelId))
+                .itemName("Contended Kit")
+                .brand("Brand")
+                .price(new BigDecimal("80.00"))
+                .cost(new BigDecimal("40.00"))
+                .stock(5)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build());
+    }
+
+    @Test
+    void release_whileConfirmHoldsTheLocks_putsTheConfirmedStockBack() throws Exception {
+        String reservationId = reservationService.reserve(new ReservationRequestModel(
+                List.of(new ReservationItemModel(apparelId, 3)))).getReservationId();
+        AtomicReference<Thread> releasing = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Void>> release = new AtomicReference<>();
+        // the release starts while the confirm holds the locks, and is let in once it waits on them
+        doAnswer(invocation -> {
+            if (release.get() == null) {
+                release.set(CompletableFuture.runAsync(() -> {
+                    releasing.set(Thread.currentThread());
+                    reservationService.release(reservationId);
+                }));
+                awaitBlocked(releasing);
+            }
+            return invocation.callRealMethod();
+        }).when(apparelService).adjustStock(anyList());
+
+        reservationService.confirm(reservationId);
+        release.get().get(5, TimeUnit.SECONDS);
+
+        assertThat(apparelRepository.findByApparelIdentifier_ApparelId(apparelId).orElseThrow().getStock())
+                .isEqualTo(5);
+    }
+
+    private static void awaitBlocked(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((thread.get() == null || thread.get().getState() != Thread.State.WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @DataJpaTest
 public class ApparelRepositoryTest {
@@ -65,6 +66,27 @@ public class ApparelRepositoryTest {
         assertEquals("Test Shorts", found.get().getItemName());
     }
 
+    @Test
+    public void whenFindAllByApparelIdIn_thenReturnOnlyMatchingApparels() {
+        for (String id : List.of("APP010", "APP011", "APP012")) {
+            apparelRepository.save(Apparel.builder()
+                    .apparelIdentifier(new ApparelIdentifier(id))
+                    .itemName("Batch " + id)
+                    .description("Batch lookup")
+                    .brand("TestBrand")
+                    .price(new BigDecimal("19.99"))
+                    .cost(new BigDecimal("10.00"))
+                    .stock(5)
+                    .apparelType(ApparelType.SHOES)
+                    .sizeOption(SizeOption.M)
+                    .build());
+        }
+
+        List<Apparel> found = apparelRepository
+                .findAllByApparelIdentifier_ApparelIdIn(List.of("APP010", "APP012", "NON_EXISTENT"));
+        assertEquals(2, found.size());
+    }
+
     @Test
     public void whenFindByNonExistentApparelId_thenReturnEmptyOptional() {
         Optional<Apparel> found = apparelRepository.findByApparelIdentifier_ApparelId("NON_EXISTENT");
@@ -89,4 +111,17 @@ public class ApparelRepositoryTest {
         List<Apparel> all = apparelRepository.findAll();
         assertEquals(0, all.size());
     }
+
+    @Test
+    public void whenSaveDuplicateApparelId_thenUniqueIndexRejectsIt() {
+        apparelRepository.saveAndFlush(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier("APP004"))
+                .itemName("First")
+                .build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> apparelRepository.saveAndFlush(Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier("APP004"))
+                .itemName("Second")
+                .build()));
+    }
 }
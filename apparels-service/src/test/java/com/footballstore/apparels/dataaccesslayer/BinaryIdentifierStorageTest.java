@@ -0,0 +1,68 @@
+package com.footballstore.apparels.dataaccesslayer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"h2", "binary-ids"})
+class BinaryIdentifierStorageTest {
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void binaryProfile_storesIdentifierAsNativeUuid() {
+        String type = jdbcTemplate.queryForObject("""
+                SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_NAME = 'APPARELS' AND COLUMN_NAME = 'APPAREL_ID'
+                """, String.class);
+
+        assertEquals("UUID", type);
+    }
+
+    @Test
+    void binaryProfile_seedDataAndLookupsRoundTrip() {
+        String seeded = "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee";
+        String created = UUID.randomUUID().toString();
+        apparelRepository.saveAndFlush(apparel(created));
+
+        assertTrue(apparelRepository.findByApparelIdentifier_ApparelId(seeded).isPresent());
+        assertEquals(created, apparelRepository.findByApparelIdentifier_ApparelId(created)
+                .orElseThrow().getApparelIdentifier().getApparelId());
+        assertEquals(2, apparelRepository.findAllByApparelIdentifier_ApparelIdIn(List.of(seeded, created)).size());
+    }
+
+    @Test
+    void binaryProfile_duplicateIdentifier_isRejected() {
+        String id = UUID.randomUUID().toString();
+        apparelRepository.saveAndFlush(apparel(id));
+
+        assertThrows(DataIntegrityViolationException.class, () -> apparelRepository.saveAndFlush(apparel(id)));
+    }
+
+    private static Apparel apparel(String apparelId) {
+        return Apparel.builder()
+                .apparelIdentifier(new ApparelIdentifier(apparelId))
+                .itemName("Compact Jersey")
+                .price(new BigDecimal("59.99"))
+                .stock(10)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.footballstore.apparels.dataaccesslayer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Apparel-id lookups and storage at {@link #ROWS} rows on file-backed H2, built from the
+ * real schema scripts: the old unindexed VARCHAR(36) column, the unique VARCHAR(36) index
+ * and the compact UUID column of the {@code binary-ids} profile. Run with
+ * {@code gradle benchmark}; {@code -Pbenchmark.rows=N} changes the table size.
+ */
+@Tag("benchmark")
+class IdentifierIndexBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH = 10_000;
+    private static final int LOOKUPS = 10_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void lookupAndSizeByStorage() throws Exception {
+        UUID[] ids = new UUID[ROWS];
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        System.out.printf("%-26s %10s %12s %10s %10s%n", "storage", "rows", "table(MB)", "p50(us)", "p99(us)");
+        run("varchar, no index", "schema-h2.sql", false, 20, ids);
+        run("varchar, unique index", "schema-h2.sql", true, LOOKUPS, ids);
+        run("uuid, unique index", "schema-h2-binary.sql", true, LOOKUPS, ids);
+    }
+
+    private void run(String storage, String schema, boolean indexed, int lookups, UUID[] ids) throws SQLException {
+        boolean binary = schema.endsWith("-binary.sql");
+        String url = "jdbc:h2:file:" + dataDir.resolve(storage.replaceAll("\\W+", "-")) + ";NON_KEYWORDS=YEAR,VALUE";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(schema));
+            if (!indexed) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP INDEX ux_apparels_apparel_id");
+                }
+            }
+            seed(connection, ids, binary);
+
+            long bytes;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("CALL DISK_SPACE_USED('APPARELS')")) {
+                rs.next();
+                bytes = rs.getLong(1);
+            }
+
+            Random random = new Random(7);
+            long[] samples = new long[lookups];
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, item_name FROM APPARELS WHERE apparel_id = ?")) {
+                for (int i = 0; i < lookups; i++) {
+                    UUID id = ids[random.nextInt(ids.length)];
+                    bind(select, id, binary);
+                    long start = System.nanoTime();
+                    try (ResultSet rs = select.executeQuery()) {
+                        rs.next();
+                    }
+                    samples[i] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-26s %10d %12.1f %10.1f %10.1f%n", storage, ids.length, bytes / 1048576.0,
+                    samples[lookups / 2] / 1e3, samples[(int) (lookups * 0.99)] / 1e3);
+        }
+    }
+
+    private static void seed(Connection connection, UUID[] ids, boolean binary) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO APPARELS (apparel_id, item_name, stock) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < ids.length; i++) {
+                bind(insert, ids[i], binary);
+                insert.setString(2, "Jersey " + i);
+                insert.setInt(3, 100);
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+
+    private static void bind(PreparedStatement statement, UUID id, boolean binary) throws SQLException {
+        if (binary) {
+            statement.setObject(1, id);
+        } else {
+            statement.setString(1, id.toString());
+        }
+    }
+}
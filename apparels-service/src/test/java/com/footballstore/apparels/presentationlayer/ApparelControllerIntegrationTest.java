@@ -3,10 +3,14 @@ package com.footballstore.apparels.presentationlayer;
 import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
 import com.footballstore.apparels.dataaccesslayer.ApparelType;
 import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -14,7 +18,16 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,6 +39,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 class ApparelControllerIntegrationTest {
 
     private static final String BASE_URI = "/api/v1/apparels";
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
+
+    @LocalServerPort
+    private int port;
 
     @Autowired
     private WebTestClient webTestClient;
@@ -86,6 +104,197 @@ class ApparelControllerIntegrationTest {
                 .hasSize(2);
     }
 
+    @Test
+    void getByIds_existingApparels_returns200AndRequestedApparels() {
+        var req = ApparelRequestModel.builder()
+                .itemName("Jersey A")
+                .description("A Jersey")
+                .brand("BrandA")
+                .price(new BigDecimal("59.99"))
+                .cost(new BigDecimal("30.00"))
+                .stock(100)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build();
+        String id1 = createAndGetId(req);
+        String id2 = createAndGetId(req);
+        createAndGetId(req);
+
+        webTestClient.get()
+                .uri(BASE_URI + "?ids=" + id2 + "," + id1)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ApparelResponseModel.class)
+                .value(list -> assertThat(list)
+                        .extracting(ApparelResponseModel::getApparelId)
+                        .containsExactly(id2, id1));
+    }
+
+    @Test
+    void getByIds_oneMissing_returns404NotFound() {
+        webTestClient.get()
+                .uri(BASE_URI + "?ids=00000000-0000-0000-0000-000000000000")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getByIds_invalidUuid_returns422UnprocessableEntity() {
+        webTestClient.get()
+                .uri(BASE_URI + "?ids=BAD-ID")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void getPage_keyset_walksAllRowsInInsertOrder() {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createAndGetId(jersey("Jersey " + i)));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String uri = BASE_URI + "?limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            ApparelPageResponseModel page = webTestClient.get().uri(uri)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ApparelPageResponseModel.class)
+                    .returnResult().getResponseBody();
+            page.getItems().forEach(a -> seen.add(a.getApparelId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void getPage_exactMultipleOfLimit_hasNoTrailingEmptyPage() {
+        createAndGetId(jersey("Jersey A"));
+        createAndGetId(jersey("Jersey B"));
+
+        webTestClient.get().uri(BASE_URI + "?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void getPage_invalidCursor_returns422UnprocessableEntity() {
+        webTestClient.get().uri(BASE_URI + "?limit=2&cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void getPage_limitAboveMaximum_returns422UnprocessableEntity() {
+        webTestClient.get().uri(BASE_URI + "?limit=100000")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void streamAll_ndjson_writesOneLinePerApparel() {
+        createAndGetId(jersey("Jersey A"));
+        createAndGetId(jersey("Jersey B"));
+        createAndGetId(jersey("Jersey C"));
+
+        String body = webTestClient.get().uri(BASE_URI)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(body.lines().toList()).hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{").contains("\"apparelId\""));
+        assertThat(body).contains("Jersey A", "Jersey B", "Jersey C");
+    }
+
+    @Test
+    void getAll_smileAccept_returnsSmileWhileJsonStaysTheDefault() throws IOException {
+        createAndGetId(jersey("Jersey A"));
+        createAndGetId(jersey("Jersey B"));
+
+        byte[] smile = webTestClient.get().uri(BASE_URI)
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(SMILE)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+        ApparelResponseModel[] apparels = new ObjectMapper(new SmileFactory()).findAndRegisterModules()
+                .readValue(smile, ApparelResponseModel[].class);
+        assertThat(apparels).extracting(ApparelResponseModel::getItemName)
+                .containsExactlyInAnyOrder("Jersey A", "Jersey B");
+
+        webTestClient.get().uri(BASE_URI)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBodyList(ApparelResponseModel.class).hasSize(2);
+    }
+
+    @Test
+    void getById_smileAccept_errorBodyStaysJson() {
+        webTestClient.get()
+                .uri(BASE_URI + "/00000000-0000-0000-0000-000000000000")
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.message").exists();
+    }
+
+    @Test
+    void getAll_acceptEncodingGzip_compressesOnlyWhenAsked() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            createAndGetId(jersey("Jersey " + i));
+        }
+
+        // the JDK client passes Accept-Encoding through untouched and does not decompress
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + port + BASE_URI);
+        HttpResponse<byte[]> gzipped = client.send(HttpRequest.newBuilder(uri)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> plain = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.body());
+        }
+        assertThat(gzipped.body().length).isLessThan(plain.body().length);
+    }
+
+    private static ApparelRequestModel jersey(String name) {
+        return ApparelRequestModel.builder()
+                .itemName(name)
+                .brand("BrandX")
+                .price(new BigDecimal("50.00"))
+                .cost(new BigDecimal("25.00"))
+                .stock(10)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build();
+    }
+
+    private String createAndGetId(ApparelRequestModel req) {
+        return webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(req)
+                .exchange().expectStatus().isCreated()
+                .expectBody(ApparelResponseModel.class)
+                .returnResult().getResponseBody().getApparelId();
+    }
+
     @Test
     void getById_existingApparel_returns200AndApparel() {
         var req = ApparelRequestModel.builder()
@@ -123,6 +332,57 @@ class ApparelControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void getById_matchingETag_returns304UntilTheApparelChanges() {
+        var req = ApparelRequestModel.builder()
+                .itemName("Test Jersey")
+                .price(new BigDecimal("50.00"))
+                .cost(new BigDecimal("25.00"))
+                .stock(100)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.M)
+                .build();
+        String id = webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(req)
+                .exchange().expectStatus().isCreated()
+                .expectBody(ApparelResponseModel.class).returnResult().getResponseBody().getApparelId();
+
+        String etag = webTestClient.get().uri(BASE_URI + "/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").doesNotExist()
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(etag).isNotNull().doesNotStartWith("W/");
+
+        webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", etag)
+                .expectBody().isEmpty();
+
+        // the bulk stock update bypasses the entity, so it has to bump the version itself
+        webTestClient.patch().uri(BASE_URI + "/" + id + "/stock/decrease?quantity=1")
+                .exchange().expectStatus().isOk();
+
+        String changed = webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ApparelResponseModel.class)
+                .value(a -> assertThat(a.getStock()).isEqualTo(99))
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getById_ifNoneMatch_nonExistentValidUuid_returns404NotFound() {
+        webTestClient.get()
+                .uri(BASE_URI + "/00000000-0000-0000-0000-000000000000")
+                .ifNoneMatch("\"0\"")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     void getById_nonExistentValidUuid_returns404NotFound() {
         webTestClient.get()
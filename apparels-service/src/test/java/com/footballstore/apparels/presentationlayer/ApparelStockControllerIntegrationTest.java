@@ -14,6 +14,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -142,4 +143,96 @@ class ApparelStockControllerIntegrationTest {
                 .exchange()
                 .expectStatus().isEqualTo(422);
     }
+
+    @Test
+    void adjustStockBatch_validAdjustments_appliesAllAndReturnsLevels() {
+        var body = List.of(
+                new StockAdjustmentRequestModel(apparelId, 4, StockOperation.DECREASE),
+                new StockAdjustmentRequestModel(apparelId, 1, StockOperation.INCREASE));
+
+        webTestClient.post()
+                .uri(BASE_URI + STOCK_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StockLevelResponseModel.class)
+                .value(levels -> assertThat(levels)
+                        .containsExactly(new StockLevelResponseModel(apparelId, 7)));
+    }
+
+    @Test
+    void adjustStockBatch_oneLineShort_returns422AndLeavesStockUnchanged() {
+        String otherId = webTestClient.post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApparelRequestModel.builder()
+                        .itemName("StockTest Shorts")
+                        .description("Desc")
+                        .brand("BrandStock")
+                        .price(new BigDecimal("40.00"))
+                        .cost(new BigDecimal("20.00"))
+                        .stock(1)
+                        .apparelType(ApparelType.SHORTS)
+                        .sizeOption(SizeOption.M)
+                        .build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ApparelResponseModel.class)
+                .returnResult()
+                .getResponseBody()
+                .getApparelId();
+        var body = List.of(
+                new StockAdjustmentRequestModel(apparelId, 3, StockOperation.DECREASE),
+                new StockAdjustmentRequestModel(otherId, 2, StockOperation.DECREASE));
+
+        webTestClient.post()
+                .uri(BASE_URI + STOCK_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        webTestClient.get()
+                .uri(BASE_URI + "/" + apparelId + STOCK_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class)
+                .value(stock -> assertThat(stock).isEqualTo(10));
+    }
+
+    @Test
+    void adjustStockBatch_unknownApparel_returns404NotFound() {
+        var body = List.of(
+                new StockAdjustmentRequestModel("00000000-0000-0000-0000-000000000000", 1, StockOperation.DECREASE));
+
+        webTestClient.post()
+                .uri(BASE_URI + STOCK_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void adjustStockBatch_nonPositiveQuantity_returns422UnprocessableEntity() {
+        var body = List.of(new StockAdjustmentRequestModel(apparelId, 0, StockOperation.INCREASE));
+
+        webTestClient.post()
+                .uri(BASE_URI + STOCK_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void adjustStockBatch_emptyBatch_returns422UnprocessableEntity() {
+        webTestClient.post()
+                .uri(BASE_URI + STOCK_PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
 }
@@ -0,0 +1,236 @@
+package com.footballstore.apparels.presentationlayer;
+
+import com.footballstore.apparels.dataaccesslayer.ApparelRepository;
+import com.footballstore.apparels.dataaccesslayer.ApparelType;
+import com.footballstore.apparels.dataaccesslayer.SizeOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql({"/schema-h2.sql"})
+@Sql({"/data-h2.sql"})
+class StockReservationControllerIntegrationTest {
+
+    private static final String BASE_URI = "/api/v1/apparels";
+    private static final String RESERVATIONS_URI = BASE_URI + "/reservations";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApparelRepository apparelRepository;
+
+    private String apparelId;
+
+    @BeforeEach
+    void setup() {
+        apparelRepository.deleteAll();
+
+        var createReq = ApparelRequestModel.builder()
+                .itemName("Reserved Jersey")
+                .description("Desc")
+                .brand("BrandStock")
+                .price(new BigDecimal("100.00"))
+                .cost(new BigDecimal("50.00"))
+                .stock(10)
+                .apparelType(ApparelType.JERSEY)
+                .sizeOption(SizeOption.L)
+                .build();
+
+        apparelId = webTestClient.post()
+                .uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createReq)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ApparelResponseModel.class)
+                .returnResult()
+                .getResponseBody()
+                .getApparelId();
+    }
+
+    @Test
+    void reserve_availableStock_returns201AndHoldsWithoutDecrementing() {
+        ReservationResponseModel reservation = reserve(6);
+
+        assertThat(reservation.getReservationId()).isNotBlank();
+        assertThat(reservation.getItems()).containsExactly(new ReservationItemModel(apparelId, 6));
+        assertThat(reservation.getExpiresAt()).isNotNull();
+        assertStock(10);
+    }
+
+    @Test
+    void reserve_beyondUnheldStock_returns422UnprocessableEntity() {
+        reserve(6);
+
+        webTestClient.post()
+                .uri(RESERVATIONS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(5))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void reserve_unknownApparel_returns404NotFound() {
+        var body = new ReservationRequestModel(List.of(
+                new ReservationItemModel("00000000-0000-0000-0000-000000000000", 1)));
+
+        webTestClient.post()
+                .uri(RESERVATIONS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void reserve_invalidQuantity_returns422UnprocessableEntity() {
+        webTestClient.post()
+                .uri(RESERVATIONS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(0))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void confirm_activeReservation_returns204AndDecrementsStock() {
+        ReservationResponseModel reservation = reserve(4);
+
+        webTestClient.post()
+                .uri(RESERVATIONS_URI + "/" + reservation.getReservationId() + "/confirm")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertStock(6);
+        // the hold is gone, so the remaining six can be reserved again
+        reserve(6);
+    }
+
+    @Test
+    void confirm_everythingHeld_returns204AndDecrementsStock() {
+        ReservationResponseModel reservation = reserve(10);
+
+        webTestClient.post()
+                .uri(RESERVATIONS_URI + "/" + reservation.getReservationId() + "/confirm")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertStock(0);
+    }
+
+    @Test
+    void decreaseStock_intoHeldStock_returns422AndLeavesStock() {
+        reserve(6);
+
+        webTestClient.patch()
+                .uri(BASE_URI + "/" + apparelId + "/stock/decrease?quantity=5")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+        assertStock(10);
+
+        webTestClient.patch()
+                .uri(BASE_URI + "/" + apparelId + "/stock/decrease?quantity=4")
+                .exchange()
+                .expectStatus().isOk();
+        assertStock(6);
+    }
+
+    @Test
+    void adjustStockBatch_intoHeldStock_returns422AndLeavesStock() {
+        reserve(6);
+        var body = List.of(new StockAdjustmentRequestModel(apparelId, 5, StockOperation.DECREASE));
+
+        webTestClient.post()
+                .uri(BASE_URI + "/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+        assertStock(10);
+    }
+
+    @Test
+    void confirm_twice_returns404NotFound() {
+        ReservationResponseModel reservation = reserve(4);
+        String confirmUri = RESERVATIONS_URI + "/" + reservation.getReservationId() + "/confirm";
+
+        webTestClient.post().uri(confirmUri).exchange().expectStatus().isNoContent();
+        webTestClient.post().uri(confirmUri).exchange().expectStatus().isNotFound();
+        assertStock(6);
+    }
+
+    @Test
+    void release_activeReservation_returns204AndFreesHold() {
+        ReservationResponseModel reservation = reserve(10);
+
+        webTestClient.delete()
+                .uri(RESERVATIONS_URI + "/" + reservation.getReservationId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertStock(10);
+        reserve(10);
+    }
+
+    @Test
+    void release_confirmedReservation_returns204AndPutsStockBack() {
+        ReservationResponseModel reservation = reserve(4);
+        String reservationUri = RESERVATIONS_URI + "/" + reservation.getReservationId();
+        webTestClient.post().uri(reservationUri + "/confirm").exchange().expectStatus().isNoContent();
+
+        webTestClient.delete().uri(reservationUri).exchange().expectStatus().isNoContent();
+        assertStock(10);
+        // the stock goes back once
+        webTestClient.delete().uri(reservationUri).exchange().expectStatus().isNotFound();
+        assertStock(10);
+    }
+
+    @Test
+    void release_unknownReservation_returns404NotFound() {
+        webTestClient.delete()
+                .uri(RESERVATIONS_URI + "/unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private ReservationRequestModel request(int quantity) {
+        return new ReservationRequestModel(List.of(new ReservationItemModel(apparelId, quantity)));
+    }
+
+    private ReservationResponseModel reserve(int quantity) {
+        return webTestClient.post()
+                .uri(RESERVATIONS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(quantity))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ReservationResponseModel.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private void assertStock(int expected) {
+        webTestClient.get()
+                .uri(BASE_URI + "/" + apparelId + "/stock")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class)
+                .value(stock -> assertThat(stock).isEqualTo(expected));
+    }
+}
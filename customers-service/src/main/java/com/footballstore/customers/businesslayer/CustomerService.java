@@ -10,6 +10,7 @@ import java.util.List;
 public interface CustomerService {
     List<CustomerResponseModel> getAllCustomers();
     CustomerResponseModel getCustomerById(String customerId);
+    long getCustomerVersion(String customerId);
     CustomerResponseModel createCustomer(CustomerRequestModel customerRequestModel);
     CustomerResponseModel updateCustomer(String customerId, CustomerRequestModel customerRequestModel);
     void deleteCustomer(String customerId);
@@ -42,6 +42,13 @@ public class CustomerServiceImpl implements CustomerService {
         return customerResponseMapper.entityToResponseModel(customer);
     }
 
+    @Override
+    public long getCustomerVersion(String customerId) {
+        validateUuid(customerId);
+        return customerRepository.findVersionByCustomerId(customerId)
+                .orElseThrow(() -> new NotFoundException("Customer not found with id: " + customerId));
+    }
+
     @Override
     public CustomerResponseModel createCustomer(CustomerRequestModel request) {
         if (customerRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -42,4 +42,8 @@ public class Customer {
 
     @Embedded
     private Address address;
+
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
 }
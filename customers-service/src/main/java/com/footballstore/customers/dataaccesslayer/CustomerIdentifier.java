@@ -11,7 +11,7 @@ import java.util.UUID;
 @Data
 public class CustomerIdentifier {
 
-    @Column(name = "CUSTOMER_ID")
+    @Column(name = "CUSTOMER_ID", unique = true)
     private String customerId;
 
     protected CustomerIdentifier() {
@@ -1,6 +1,8 @@
 package com.footballstore.customers.dataaccesslayer;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,5 +13,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
 
     Optional<Customer> findByEmail(String email);
 
+    @Query("SELECT c.version FROM Customer c WHERE c.customerIdentifier.customerId = :customerId")
+    Optional<Long> findVersionByCustomerId(@Param("customerId") String customerId);
+
 
 }
\ No newline at end of file
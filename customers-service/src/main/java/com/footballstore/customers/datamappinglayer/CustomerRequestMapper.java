@@ -12,7 +12,8 @@ public interface CustomerRequestMapper {
             @Mapping(target = "id", ignore = true),
             @Mapping(target = "customerIdentifier", ignore = true),
             @Mapping(target = "address", ignore = true),
-            @Mapping(target = "registrationDate", ignore = true)
+            @Mapping(target = "registrationDate", ignore = true),
+            @Mapping(target = "version", ignore = true)
     })
     Customer requestModelToEntity(CustomerRequestModel requestModel);
 }
\ No newline at end of file
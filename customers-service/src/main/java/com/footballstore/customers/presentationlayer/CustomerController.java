@@ -2,8 +2,10 @@ package com.footballstore.customers.presentationlayer;
 
 import com.footballstore.customers.businesslayer.CustomerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,9 +23,14 @@ public class CustomerController {
     }
 
     @GetMapping("/{customerId}")
-    public ResponseEntity<CustomerResponseModel> getCustomerById(@PathVariable String customerId) {
+    public ResponseEntity<CustomerResponseModel> getCustomerById(@PathVariable String customerId, WebRequest request) {
+        // a revalidation only needs the version column; the row is loaded and serialized on a miss
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(customerService.getCustomerVersion(customerId)))) {
+            return null;
+        }
         CustomerResponseModel customer = customerService.getCustomerById(customerId);
-        return ResponseEntity.ok(customer);
+        return ResponseEntity.ok().eTag(etag(customer.getVersion())).body(customer);
     }
 
     @PostMapping
@@ -44,4 +51,8 @@ public class CustomerController {
         customerService.deleteCustomer(customerId);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.footballstore.customers.presentationlayer;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.footballstore.customers.dataaccesslayer.ContactMethod;
 import lombok.Data;
 import org.springframework.hateoas.RepresentationModel;
@@ -21,4 +22,7 @@ public class CustomerResponseModel extends RepresentationModel<CustomerResponseM
     private String state;
     private String postalCode;
     private String country;
+
+    @JsonIgnore
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.footballstore.customers.utils;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Smile for the customer lookups the orders service makes, JSON for everything that goes wrong.
+ */
+@Configuration
+public class SmileWireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter smile
+                ? new MappingJackson2SmileHttpMessageConverter(smile.getObjectMapper()) {
+                    @Override
+                    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                        return !CustomersHttpErrorInfo.class.isAssignableFrom(clazz) && super.canWrite(clazz, mediaType);
+                    }
+                }
+                : converter);
+    }
+}
@@ -0,0 +1,14 @@
+INSERT INTO CUSTOMERS
+(CUSTOMER_ID, FIRST_NAME, LAST_NAME, EMAIL, PHONE, REGISTRATION_DATE, PREFERRED_CONTACT, STREET, CITY, STATE, POSTAL_CODE, COUNTRY)
+VALUES
+    (UUID_TO_BIN('3fa85f64-5717-4562-b3fc-2c963f66afa6'), 'Lionel', 'Messi', 'lionel.messi@gmail.com', '1112223333', '2023-07-15', 'EMAIL', 'Avenida del Libertador 1234', 'Rosario', 'Santa Fe', '2000', 'Argentina'),
+    (UUID_TO_BIN('7e2a4b80-8f09-4d53-9c0a-123456789abc'), 'Cristiano', 'Ronaldo', 'cristiano.ronaldo@yahoo.com', '4445556666', '2022-11-20', 'PHONE', 'Avenida dos Estados 5678', 'Funchal', 'Madeira', '9000', 'Portugal'),
+    (UUID_TO_BIN('11111111-2222-3333-4444-555555555555'), 'Neymar', 'Jr', 'neymar.jr@gmail.com', '7778889999', '2021-05-10', 'EMAIL', 'Rua das Palmeiras 101', 'Santos', 'Sao Paulo', '1100', 'Brazil'),
+    (UUID_TO_BIN('aaaaaaaa-bbbb-cccc-dddd-eeeeeeeeeeee'), 'Kylian', 'Mbappe', 'k.mbappe@hotmail.com', '1234567890', '2023-03-12', 'SMS', 'Rue de la Republique 12', 'Paris', 'Ile-de-France', '75000', 'France'),
+    (UUID_TO_BIN('99999999-8888-7777-6666-555555555555'), 'Mohamed', 'Salah', 'm.salah@gmail.com', '0987654321', '2022-08-25', 'EMAIL', 'El Gezirah Street 34', 'Cairo', 'Cairo Governorate', '11511', 'Egypt'),
+    (UUID_TO_BIN('123e4567-e89b-12d3-a456-426614174000'), 'Kevin', 'De Bruyne', 'k.debruyne@yahoo.com', '5556667777', '2021-12-01', 'PHONE', 'Kempston Road 78', 'Leuven', 'Flemish Brabant', '3000', 'Belgium'),
+    (UUID_TO_BIN('abcdefab-cdef-abcd-efab-cdefabcdefab'), 'Luka', 'Modric', 'l.modric@gmail.com', '4443332222', '2020-10-30', 'EMAIL', 'Zagreb Avenue 45', 'Zagreb', 'Zagreb County', '10000', 'Croatia'),
+    (UUID_TO_BIN('11223344-5566-7788-99aa-bbccddeeff00'), 'Sergio', 'Ramos', 's.ramos@hotmail.com', '7776665555', '2022-04-15', 'SMS', 'Calle Mayor 89', 'Sevilla', 'Andalusia', '41001', 'Spain'),
+    (UUID_TO_BIN('deadbeef-dead-beef-dead-beefdeadbeef'), 'Robert', 'Lewandowski', 'r.lewandowski@gmail.com', '8889990000', '2023-01-20', 'EMAIL', 'ul. Pilsudskiego 12', 'Warsaw', 'Masovian', '00-001', 'Poland'),
+    (UUID_TO_BIN('feedface-feed-face-feed-facefeedface'), 'Erling', 'Haaland', 'e.haaland@yahoo.com', '2223334444', '2021-09-05', 'PHONE', 'Vikings Gate 7', 'Oslo', 'Oslo County', '0150', 'Norway');
+
@@ -13,5 +13,8 @@ CREATE TABLE CUSTOMERS (
                            CITY VARCHAR(100),
                            STATE VARCHAR(100),
                            POSTAL_CODE VARCHAR(20),
-                           COUNTRY VARCHAR(100)
+                           COUNTRY VARCHAR(100),
+                           VERSION BIGINT NOT NULL DEFAULT 0
 );
+
+CREATE UNIQUE INDEX ux_customers_customer_id ON CUSTOMERS (CUSTOMER_ID);
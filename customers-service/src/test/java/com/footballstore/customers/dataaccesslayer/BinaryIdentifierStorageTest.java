@@ -0,0 +1,33 @@
+package com.footballstore.customers.dataaccesslayer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"h2", "binary-ids"})
+class BinaryIdentifierStorageTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void binaryProfile_seedDataIsStoredAsNativeUuidAndFoundById() {
+        String type = jdbcTemplate.queryForObject("""
+                SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_NAME = 'CUSTOMERS' AND COLUMN_NAME = 'CUSTOMER_ID'
+                """, String.class);
+
+        assertEquals("UUID", type);
+        assertTrue(customerRepository.findByCustomerIdentifier_CustomerId("3fa85f64-5717-4562-b3fc-2c963f66afa6").isPresent());
+    }
+}
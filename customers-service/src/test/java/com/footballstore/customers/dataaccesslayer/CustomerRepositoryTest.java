@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -80,4 +81,21 @@ public class CustomerRepositoryTest {
         List<Customer> allCustomers = customerRepository.findAll();
         assertEquals(0, allCustomers.size());
     }
+
+    @Test
+    public void testSaveDuplicateCustomerIdentifier_thenUniqueIndexRejectsIt() {
+        customerRepository.saveAndFlush(Customer.builder()
+                .customerIdentifier(new CustomerIdentifier("CUST004"))
+                .firstName("Carl")
+                .lastName("Moore")
+                .email("carl.moore@example.com")
+                .build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> customerRepository.saveAndFlush(Customer.builder()
+                .customerIdentifier(new CustomerIdentifier("CUST004"))
+                .firstName("Carla")
+                .lastName("Moore")
+                .email("carla.moore@example.com")
+                .build()));
+    }
 }
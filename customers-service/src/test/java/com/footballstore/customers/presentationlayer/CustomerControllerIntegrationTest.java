@@ -1,10 +1,13 @@
 package com.footballstore.customers.presentationlayer;
 
 import com.footballstore.customers.dataaccesslayer.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -12,6 +15,8 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -22,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class CustomerControllerIntegrationTest {
 
     private static final String BASE_URI = "/api/v1/customers";
+    private static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
 
     @Autowired private WebTestClient webTestClient;
     @Autowired private CustomerRepository customerRepository;
@@ -102,6 +108,78 @@ class CustomerControllerIntegrationTest {
                 .value(body -> assertThat(body.getCustomerId()).isEqualTo(id));
     }
 
+    @Test
+    void getById_matchingETag_returns304UntilTheCustomerChanges() {
+        var create = CustomerRequestModel.builder()
+                .firstName("Emily").lastName("Clark")
+                .email("emily.clark@example.com").phone("3213214321")
+                .street("456 Old St").city("OldCity").state("OldState")
+                .postalCode("33445").country("OldCountry")
+                .build();
+        String id = webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(create)
+                .exchange().expectStatus().isCreated()
+                .expectBody(CustomerResponseModel.class).returnResult().getResponseBody().getCustomerId();
+
+        String etag = webTestClient.get().uri(BASE_URI + "/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").doesNotExist()
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(etag).isNotNull().doesNotStartWith("W/");
+
+        webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        create.setCity("NewCity");
+        webTestClient.put().uri(BASE_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(create)
+                .exchange()
+                .expectStatus().isOk();
+
+        String changed = webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerResponseModel.class)
+                .value(c -> assertThat(c.getCity()).isEqualTo("NewCity"))
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getById_smileAccept_returnsSmileAndErrorsStayJson() throws IOException {
+        var req = CustomerRequestModel.builder()
+                .firstName("Sam").lastName("Kerr")
+                .email("sam.kerr@example.com").phone("5554443333")
+                .street("1 Pitch Rd").city("Perth").state("WA")
+                .postalCode("6000").country("Australia")
+                .build();
+        String id = webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(req)
+                .exchange().expectStatus().isCreated()
+                .expectBody(CustomerResponseModel.class).returnResult().getResponseBody().getCustomerId();
+
+        byte[] smile = webTestClient.get().uri(BASE_URI + "/" + id)
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        CustomerResponseModel customer = new ObjectMapper(new SmileFactory()).findAndRegisterModules()
+                .readValue(smile, CustomerResponseModel.class);
+        assertThat(customer.getFirstName()).isEqualTo("Sam");
+
+        webTestClient.get().uri(BASE_URI + "/00000000-0000-0000-0000-000000000000")
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.message").exists();
+    }
+
     @Test
     void getById_nonExistentCustomer_returns404() {
         webTestClient.get()
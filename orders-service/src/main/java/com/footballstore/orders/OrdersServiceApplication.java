@@ -1,25 +1,111 @@
 package com.footballstore.orders;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @SpringBootApplication
+@EnableScheduling
 public class OrdersServiceApplication {
 
+	static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+	// JSON stays acceptable, so a downstream without the Smile converter still answers
+	static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
+
 	@Bean
-	RestTemplate restTemplate() {
+	RestTemplate restTemplate(@Value("${app.downstream.max-concurrency:32}") int maxConcurrency,
+							  @Value("${app.downstream.wire-format:json}") String wireFormat) {
 		RestTemplate restTemplate = new RestTemplate();
-		HttpClient httpClient = HttpClientBuilder.create().build();
+		// the default pool allows 5 connections per route, which would throttle the order fan-out
+		HttpClient httpClient = HttpClientBuilder.create()
+				.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+						.setMaxConnPerRoute(maxConcurrency)
+						.setMaxConnTotal(maxConcurrency * 3)
+						.build())
+				.build();
 		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
 		restTemplate.setRequestFactory(requestFactory);
+		if ("smile".equalsIgnoreCase(wireFormat)) {
+			// the RestTemplate already reads Smile but lists it after JSON; request bodies stay JSON
+			restTemplate.getInterceptors().add((request, body, execution) -> {
+				if (request.getHeaders().getAccept().contains(SMILE)) {
+					request.getHeaders().set(HttpHeaders.ACCEPT, SMILE_FIRST);
+				}
+				return execution.execute(request, body);
+			});
+		}
 		return restTemplate;
 	}
 
+	// on virtual threads every call gets its own thread; the bulkheads and the connection pool still bound them
+	@Bean(destroyMethod = "shutdown")
+	ExecutorService downstreamExecutor(@Value("${app.downstream.max-concurrency:32}") int maxConcurrency,
+									   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		if (virtualThreads) {
+			return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("downstream-", 1).factory());
+		}
+		return Executors.newFixedThreadPool(maxConcurrency, new CustomizableThreadFactory("downstream-"));
+	}
+
+	// bounded on both sides: once the queue is full new async orders are turned away, not buffered
+	@Bean(destroyMethod = "shutdown")
+	ExecutorService orderAcceptanceExecutor(@Value("${app.orders.async.workers:4}") int workers,
+											@Value("${app.orders.async.queue-capacity:100}") int queueCapacity) {
+		return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("order-acceptance-"),
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	// resilience4j-micrometer only gauges bulkhead capacity, so rejections are counted here
+	@Bean
+	RegistryEventConsumer<Bulkhead> bulkheadRejectionMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+		return new RegistryEventConsumer<>() {
+			@Override
+			public void onEntryAddedEvent(EntryAddedEvent<Bulkhead> event) {
+				Bulkhead bulkhead = event.getAddedEntry();
+				meterRegistry.ifAvailable(registry -> {
+					Counter rejected = Counter.builder("resilience4j.bulkhead.rejected.calls")
+							.description("Calls rejected because the bulkhead was full")
+							.tag("name", bulkhead.getName())
+							.register(registry);
+					bulkhead.getEventPublisher().onCallRejected(e -> rejected.increment());
+				});
+			}
+
+			@Override
+			public void onEntryRemovedEvent(EntryRemovedEvent<Bulkhead> event) {
+			}
+
+			@Override
+			public void onEntryReplacedEvent(EntryReplacedEvent<Bulkhead> event) {
+			}
+		};
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(OrdersServiceApplication.class, args);
 	}
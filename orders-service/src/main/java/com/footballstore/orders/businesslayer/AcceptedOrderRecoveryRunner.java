@@ -0,0 +1,40 @@
+package com.footballstore.orders.businesslayer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Component
+public class AcceptedOrderRecoveryRunner implements ApplicationRunner {
+
+    private final OrderServiceImpl orderService;
+    private final Duration abandonedAfter;
+
+    public AcceptedOrderRecoveryRunner(OrderServiceImpl orderService,
+                                       @Value("${app.orders.async.abandoned-after:PT2M}") Duration abandonedAfter) {
+        this.orderService = orderService;
+        this.abandonedAfter = abandonedAfter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        recover();
+    }
+
+    // orders another instance accepted only go stale after this one has started
+    @Scheduled(initialDelayString = "${app.orders.async.recovery-interval:PT1M}",
+            fixedDelayString = "${app.orders.async.recovery-interval:PT1M}")
+    public void recover() {
+        int cancelled = orderService.cancelAbandonedOrders(Instant.now().minus(abandonedAfter));
+        if (cancelled > 0) {
+            log.info("Cancelled {} accepted order(s) nobody was placing any more", cancelled);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process fan-out of relayed order events to every {@link OrderEventSink} bean.
+ * A failing sink is logged and skipped; the event stays in {@code order_events}
+ * for replay either way.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventBus {
+
+    private final ObjectProvider<OrderEventSink> sinks;
+
+    public void publish(OrderEvent event) {
+        sinks.orderedStream().forEach(sink -> {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("Order event sink {} failed on event {}: {}",
+                        sink.getClass().getSimpleName(), event.getOffset(), ex.getMessage());
+            }
+        });
+    }
+}
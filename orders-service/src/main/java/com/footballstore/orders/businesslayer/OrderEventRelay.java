@@ -0,0 +1,96 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Drains the outbox entries saved on order documents into {@code order_events},
+ * stamping each with the next offset, and hands them to the {@link OrderEventBus}.
+ * <p>
+ * An entry is removed from its order only after it is in {@code order_events}; one
+ * that was relayed but not removed, say after a crash, is recognised by its event id
+ * and just removed the next time round.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventRelay {
+
+    private static final int BATCH = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository eventRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OrderEventBus eventBus;
+
+    // one relay at a time, whether scheduled or called
+    private final ReentrantLock relaying = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${app.order-events.relay-interval:PT1S}")
+    public int relay() {
+        relaying.lock();
+        try {
+            return relayPending();
+        } finally {
+            relaying.unlock();
+        }
+    }
+
+    private int relayPending() {
+        int relayed = 0;
+        for (Order order : orderRepository.findWithPendingEvents(Limit.of(BATCH))) {
+            for (OrderOutboxEntry entry : order.getPendingEvents()) {
+                if (!eventRepository.existsByEventId(entry.getEventId())) {
+                    OrderEvent event = eventRepository.insert(toEvent(entry, nextOffset()));
+                    eventBus.publish(event);
+                    relayed++;
+                }
+                // pull by event id: the order may have gained newer entries since it was read;
+                // by collection name, so the order's version and ETag stay as they are
+                mongoTemplate.updateFirst(query(where("_id").is(order.getId())),
+                        new Update().pull("pendingEvents", new Document("eventId", entry.getEventId())),
+                        mongoTemplate.getCollectionName(Order.class));
+            }
+        }
+        if (relayed > 0) {
+            log.debug("Relayed {} order event(s)", relayed);
+        }
+        return relayed;
+    }
+
+    private long nextOffset() {
+        OrderEventSequence sequence = mongoTemplate.findAndModify(
+                query(where("_id").is(OrderEventSequence.ORDER_EVENTS)),
+                new Update().inc("value", 1L),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                OrderEventSequence.class);
+        return sequence.getValue();
+    }
+
+    private static OrderEvent toEvent(OrderOutboxEntry entry, long offset) {
+        return OrderEvent.builder()
+                .offset(offset)
+                .eventId(entry.getEventId())
+                .eventType(entry.getEventType())
+                .orderId(entry.getOrderId())
+                .customerId(entry.getCustomerId())
+                .orderStatus(entry.getOrderStatus())
+                .paymentStatus(entry.getPaymentStatus())
+                .totalPrice(entry.getTotalPrice())
+                .occurredAt(entry.getOccurredAt())
+                .build();
+    }
+}
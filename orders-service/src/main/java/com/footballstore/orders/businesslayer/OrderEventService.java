@@ -0,0 +1,10 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.presentationlayer.OrderEventResponseModel;
+
+import java.util.List;
+
+public interface OrderEventService {
+
+    List<OrderEventResponseModel> getOrderEventsAfter(long offset, int limit);
+}
@@ -0,0 +1,26 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderEventRepository;
+import com.footballstore.orders.mappinglayer.OrderResponseMapper;
+import com.footballstore.orders.presentationlayer.OrderEventResponseModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OrderEventServiceImpl implements OrderEventService {
+
+    private final OrderEventRepository eventRepository;
+    private final OrderResponseMapper orderModelMapper;
+
+    @Override
+    public List<OrderEventResponseModel> getOrderEventsAfter(long offset, int limit) {
+        return eventRepository.findByOffsetGreaterThanOrderByOffsetAsc(offset, Limit.of(limit))
+                .stream()
+                .map(orderModelMapper::mapToOrderEventResponse)
+                .toList();
+    }
+}
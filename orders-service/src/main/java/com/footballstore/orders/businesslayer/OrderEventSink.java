@@ -0,0 +1,12 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderEvent;
+
+/**
+ * Receives every relayed order event, in offset order. Register one as a bean to
+ * plug another consumer into the {@link OrderEventBus}.
+ */
+public interface OrderEventSink {
+
+    void accept(OrderEvent event);
+}
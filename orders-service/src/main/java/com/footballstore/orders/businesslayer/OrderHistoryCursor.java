@@ -0,0 +1,45 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.utils.exceptions.InvalidInputException;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for a customer's order history. It carries the
+ * {@code (orderDate, _id)} of the last order served, matching the sort of the
+ * {@code customer_history} index, so every page is an index range scan.
+ */
+@Getter
+final class OrderHistoryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate orderDate;
+    private final ObjectId id;
+
+    private OrderHistoryCursor(LocalDate orderDate, ObjectId id) {
+        this.orderDate = orderDate;
+        this.id = id;
+    }
+
+    static String encode(LocalDate orderDate, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((orderDate + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderHistoryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = decoded.indexOf(SEPARATOR);
+            return new OrderHistoryCursor(LocalDate.parse(decoded.substring(0, split)),
+                    new ObjectId(decoded.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new InvalidInputException("Invalid cursor: " + cursor);
+        }
+    }
+}
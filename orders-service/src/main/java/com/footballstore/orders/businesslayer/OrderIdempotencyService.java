@@ -0,0 +1,291 @@
+package com.footballstore.orders.businesslayer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footballstore.orders.dataaccesslayer.IdempotencyRecord;
+import com.footballstore.orders.dataaccesslayer.IdempotencyStatus;
+import com.footballstore.orders.presentationlayer.OrderRequestModel;
+import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import com.footballstore.orders.utils.exceptions.IdempotencyKeyInProgressException;
+import com.footballstore.orders.utils.exceptions.InvalidInputException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Makes order creation safe to retry under an {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key claims it in Mongo and runs; its response is stored and every
+ * repeat of the key is answered from that record (or the in-memory cache in front of it)
+ * without calling any downstream service. Duplicates arriving while the first is still running
+ * wait for it: on this instance through the in-flight future, across instances by polling the
+ * record. A failed execution releases the key so the client can retry it.
+ * <p>
+ * The claim is a lease: the execution holding it renews {@code lockedUntil} while it runs, so
+ * only a crashed holder's claim is ever taken over, and it completes or releases the key only
+ * while the record still names it as the owner.
+ */
+@Slf4j
+@Component
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Duration waitTimeout;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(MongoTemplate mongoTemplate,
+                                   ObjectMapper objectMapper,
+                                   TaskScheduler taskScheduler,
+                                   @Value("${app.orders.idempotency.ttl:PT24H}") Duration ttl,
+                                   @Value("${app.orders.idempotency.lock-timeout:PT30S}") Duration lockTimeout,
+                                   @Value("${app.orders.idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+                                   @Value("${app.orders.idempotency.cache-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.waitTimeout = waitTimeout;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public IdempotentResponse execute(String customerId, String idempotencyKey, OrderRequestModel request,
+                                      int responseStatus, Supplier<OrderResponseModel> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidInputException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = customerId + ":" + idempotencyKey;
+        String requestHash = hash(customerId, request, responseStatus);
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash, requestHash);
+            return replay(await(running), requestHash);
+        }
+        try {
+            String owner = UUID.randomUUID().toString();
+            IdempotencyRecord existing = claim(id, owner, requestHash, responseStatus);
+            IdempotencyRecord record = existing != null
+                    ? existing
+                    : run(id, owner, requestHash, responseStatus, action);
+            completed.put(id, record);
+            mine.result.complete(record);
+            return existing != null
+                    ? replay(record, requestHash)
+                    : new IdempotentResponse(record.getResponseStatus(), record.getResponse(), false);
+        } catch (RuntimeException ex) {
+            mine.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Claims the key for this request. Returns {@code null} once it is ours to run, or the
+     * completed record of an earlier execution of the same key.
+     */
+    private IdempotencyRecord claim(String id, String owner, String requestHash, int responseStatus) {
+        Instant deadline = Instant.now().plus(waitTimeout);
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                mongoTemplate.insert(IdempotencyRecord.builder()
+                        .id(id)
+                        .requestHash(requestHash)
+                        .status(IdempotencyStatus.IN_PROGRESS)
+                        .lockedUntil(now.plus(lockTimeout))
+                        .lockOwner(owner)
+                        .responseStatus(responseStatus)
+                        .expiresAt(now.plus(ttl))
+                        .build());
+                return null;
+            } catch (DuplicateKeyException taken) {
+                log.debug("Idempotency key {} already claimed", id);
+            }
+
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // released by a failed execution between our insert and this read
+                continue;
+            }
+            checkSameRequest(existing.getRequestHash(), requestHash);
+            if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+                return existing;
+            }
+            // the holder died mid-execution: its lock ran out, so take the key over
+            if (existing.getLockedUntil().isBefore(now) && takeOver(id, owner, existing.getLockedUntil(), now)) {
+                return null;
+            }
+            if (now.isAfter(deadline)) {
+                throw new IdempotencyKeyInProgressException(
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            sleep();
+        }
+    }
+
+    private boolean takeOver(String id, String owner, Instant expiredLock, Instant now) {
+        return mongoTemplate.updateFirst(
+                query(where("_id").is(id)
+                        .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                        .and("lockedUntil").is(expiredLock)),
+                new Update().set("lockedUntil", now.plus(lockTimeout)).set("lockOwner", owner),
+                IdempotencyRecord.class).getModifiedCount() == 1;
+    }
+
+    private IdempotencyRecord run(String id, String owner, String requestHash, int responseStatus,
+                                  Supplier<OrderResponseModel> action) {
+        Duration renewEvery = lockTimeout.dividedBy(3);
+        ScheduledFuture<?> lease = taskScheduler.scheduleAtFixedRate(() -> renew(id, owner),
+                Instant.now().plus(renewEvery), renewEvery);
+        OrderResponseModel response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            mongoTemplate.remove(held(id, owner), IdempotencyRecord.class);
+            throw ex;
+        } finally {
+            lease.cancel(false);
+        }
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .id(id)
+                .requestHash(requestHash)
+                .status(IdempotencyStatus.COMPLETED)
+                .responseStatus(responseStatus)
+                .response(response)
+                .expiresAt(Instant.now().plus(ttl))
+                .build();
+        if (mongoTemplate.findAndReplace(held(id, owner), record) == null) {
+            // our lease ran out and another execution took the key over; its outcome stands
+            log.warn("Idempotency key {} was taken over before its order completed", id);
+        }
+        return record;
+    }
+
+    private void renew(String id, String owner) {
+        try {
+            mongoTemplate.updateFirst(held(id, owner),
+                    new Update().set("lockedUntil", Instant.now().plus(lockTimeout)), IdempotencyRecord.class);
+        } catch (RuntimeException ex) {
+            log.warn("Could not renew the claim on idempotency key {}: {}", id, ex.getMessage());
+        }
+    }
+
+    // the claim as long as this execution still holds it
+    private static Query held(String id, String owner) {
+        return query(where("_id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                .and("lockOwner").is(owner));
+    }
+
+    private IdempotencyRecord await(InFlight running) {
+        try {
+            return running.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInProgressException(
+                    "A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on a duplicate order request", ex);
+        }
+    }
+
+    private static IdempotentResponse replay(IdempotencyRecord record, String requestHash) {
+        checkSameRequest(record.getRequestHash(), requestHash);
+        return new IdempotentResponse(record.getResponseStatus(), record.getResponse(), true);
+    }
+
+    private static void checkSameRequest(String original, String requestHash) {
+        if (!original.equals(requestHash)) {
+            throw new InvalidInputException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String hash(String customerId, OrderRequestModel request, int responseStatus) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((customerId + "|" + responseStatus + "|").getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint order request", ex);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on a duplicate order request", ex);
+        }
+    }
+
+    private static final class InFlight {
+        private final String requestHash;
+        private final CompletableFuture<IdempotencyRecord> result = new CompletableFuture<>();
+
+        InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IdempotentResponse {
+        private final int status;
+        private final OrderResponseModel body;
+        private final boolean replayed;
+    }
+}
@@ -0,0 +1,251 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.StockOperation;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.utils.exceptions.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Drives the stock side of an order change as a saga. Every stock step is
+ * logged in {@code order_sagas} before and after it runs, so a failure, or a
+ * crash, can be undone by applying the inverse of each applied step.
+ * <p>
+ * The order document is the commit point: an order saved with
+ * {@code lastSagaId} equal to the saga id means the saga went through.
+ * <p>
+ * Apparel steps taken through a stock reservation are undone by releasing the
+ * reservation, which apparels-service honours before and after the confirm, so
+ * a confirm that was never recorded here is still undone. apparels-service only
+ * remembers a confirmed reservation for a while, so once it no longer knows the
+ * reservation, the steps recorded as applied are put back one by one instead.
+ */
+@Slf4j
+@Component
+public class OrderSagaOrchestrator {
+
+    private static final EnumSet<SagaStatus> OPEN =
+            EnumSet.of(SagaStatus.STARTED, SagaStatus.COMPENSATING, SagaStatus.COMPENSATION_FAILED);
+
+    private final OrderSagaRepository sagaRepository;
+    private final OrderRepository orderRepository;
+    private final ApparelsServiceClient apparelsClient;
+    private final WarehousesServiceClient warehousesClient;
+    private final ExecutorService downstreamExecutor;
+    private final MongoTemplate mongoTemplate;
+    private final Duration staleAfter;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OrderSagaOrchestrator(OrderSagaRepository sagaRepository,
+                                 OrderRepository orderRepository,
+                                 ApparelsServiceClient apparelsClient,
+                                 WarehousesServiceClient warehousesClient,
+                                 ExecutorService downstreamExecutor,
+                                 MongoTemplate mongoTemplate,
+                                 @Value("${app.orders.saga.stale-after:PT2M}") Duration staleAfter) {
+        this.sagaRepository = sagaRepository;
+        this.orderRepository = orderRepository;
+        this.apparelsClient = apparelsClient;
+        this.warehousesClient = warehousesClient;
+        this.downstreamExecutor = downstreamExecutor;
+        this.mongoTemplate = mongoTemplate;
+        this.staleAfter = staleAfter;
+    }
+
+    public OrderSaga start(String orderId, SagaType sagaType, List<SagaStep> steps) {
+        return start(orderId, sagaType, steps, null);
+    }
+
+    public OrderSaga start(String orderId, SagaType sagaType, List<SagaStep> steps, String reservationId) {
+        steps.forEach(step -> step.setStepStatus(SagaStepStatus.PENDING));
+        OrderSaga saga = OrderSaga.builder()
+                .sagaId(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .sagaType(sagaType)
+                .sagaStatus(SagaStatus.STARTED)
+                .steps(steps)
+                .reservationId(reservationId)
+                .owner(instanceId)
+                .startedAt(Instant.now())
+                .build();
+        save(saga);
+        return saga;
+    }
+
+    public void apply(OrderSaga saga, SagaStep step) {
+        execute(step.getOperation(), step);
+        step.setStepStatus(SagaStepStatus.APPLIED);
+        save(saga);
+    }
+
+    // for steps carried out in bulk elsewhere, e.g. by confirming a stock reservation
+    public void markApplied(OrderSaga saga) {
+        saga.getSteps().forEach(step -> step.setStepStatus(SagaStepStatus.APPLIED));
+        save(saga);
+    }
+
+    public void complete(OrderSaga saga) {
+        saga.setSagaStatus(SagaStatus.COMPLETED);
+        save(saga);
+    }
+
+    public void compensate(OrderSaga saga) {
+        saga.setSagaStatus(SagaStatus.COMPENSATING);
+        save(saga);
+
+        // the inverse steps are independent of each other, so they run side by side
+        List<CompletableFuture<Boolean>> undone = new ArrayList<>();
+        if (saga.getReservationId() != null) {
+            undone.add(CompletableFuture.supplyAsync(() -> releaseReservation(saga), downstreamExecutor));
+        }
+        saga.getSteps().stream()
+                .filter(step -> step.getStepStatus() == SagaStepStatus.APPLIED && !isReserved(saga, step))
+                .map(step -> CompletableFuture.supplyAsync(() -> undo(saga, step), downstreamExecutor))
+                .forEach(undone::add);
+        boolean allUndone = undone.stream()
+                .map(CompletableFuture::join)
+                .reduce(true, Boolean::logicalAnd);
+
+        saga.setSagaStatus(allUndone ? SagaStatus.COMPENSATED : SagaStatus.COMPENSATION_FAILED);
+        save(saga);
+    }
+
+    /**
+     * Settles open sagas nobody is driving any more: ones whose order was saved are
+     * marked complete, everything else is compensated. A saga still in flight, on this
+     * instance or on another one that saved it within {@code stale-after}, is left to it;
+     * one whose compensation failed is retried whoever started it. A saga of this instance
+     * whose order was saved but which could not be marked complete is completed once stale.
+     */
+    public int recover() {
+        Instant staleBefore = Instant.now().minus(staleAfter);
+        int recovered = 0;
+        for (OrderSaga open : sagaRepository.findAllBySagaStatusIn(OPEN)) {
+            boolean fresh = open.getUpdatedAt() != null && open.getUpdatedAt().isAfter(staleBefore);
+            if (open.getSagaStatus() != SagaStatus.COMPENSATION_FAILED && (fresh
+                    || (instanceId.equals(open.getOwner()) && !isCommitted(open)))) {
+                continue;
+            }
+            OrderSaga saga = claim(open);
+            if (saga == null) {
+                continue;
+            }
+            if (saga.getSagaStatus() == SagaStatus.STARTED && isCommitted(saga)) {
+                complete(saga);
+            } else {
+                compensate(saga);
+            }
+            recovered++;
+        }
+        return recovered;
+    }
+
+    // takes the saga over only if nobody has saved it since it was read, so two instances
+    // never settle the same saga
+    private OrderSaga claim(OrderSaga saga) {
+        return mongoTemplate.findAndModify(
+                query(where("sagaId").is(saga.getSagaId()).and("updatedAt").is(saga.getUpdatedAt())),
+                new Update().set("owner", instanceId).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                OrderSaga.class);
+    }
+
+    private boolean isCommitted(OrderSaga saga) {
+        Order order = orderRepository.findByOrderIdentifier_OrderId(saga.getOrderId());
+        return order != null && saga.getSagaId().equals(order.getLastSagaId());
+    }
+
+    private static boolean isReserved(OrderSaga saga, SagaStep step) {
+        return saga.getReservationId() != null && step.getWarehouseId() == null;
+    }
+
+    private boolean releaseReservation(OrderSaga saga) {
+        try {
+            apparelsClient.releaseReservation(saga.getReservationId());
+        } catch (NotFoundException ex) {
+            // expired or forgotten: nothing is held any more, but stock the saga recorded as
+            // taken under it is still gone
+            log.debug("Saga {}: reservation {} no longer known, restocking its applied steps",
+                    saga.getSagaId(), saga.getReservationId());
+            boolean allUndone = true;
+            for (SagaStep step : saga.getSteps()) {
+                if (!isReserved(saga, step)) {
+                    continue;
+                }
+                if (step.getStepStatus() == SagaStepStatus.APPLIED) {
+                    allUndone &= undo(saga, step);
+                } else {
+                    step.setStepStatus(SagaStepStatus.COMPENSATED);
+                }
+            }
+            return allUndone;
+        } catch (RuntimeException ex) {
+            log.warn("Saga {}: could not release reservation {}: {}",
+                    saga.getSagaId(), saga.getReservationId(), ex.getMessage());
+            return false;
+        }
+        saga.getSteps().stream()
+                .filter(step -> isReserved(saga, step))
+                .forEach(step -> step.setStepStatus(SagaStepStatus.COMPENSATED));
+        return true;
+    }
+
+    private boolean undo(OrderSaga saga, SagaStep step) {
+        StockOperation inverse = step.getOperation() == StockOperation.DECREASE
+                ? StockOperation.INCREASE
+                : StockOperation.DECREASE;
+        try {
+            execute(inverse, step);
+            step.setStepStatus(SagaStepStatus.COMPENSATED);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Saga {}: could not compensate {} x{} for apparel {} (warehouse {}): {}",
+                    saga.getSagaId(), step.getOperation(), step.getQuantity(), step.getApparelId(),
+                    step.getWarehouseId(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private void execute(StockOperation operation, SagaStep step) {
+        if (step.getWarehouseId() != null) {
+            if (operation == StockOperation.DECREASE) {
+                warehousesClient.decreaseStock(step.getWarehouseId(), step.getApparelId(), step.getQuantity());
+            } else {
+                warehousesClient.increaseStock(step.getWarehouseId(), step.getApparelId(), step.getQuantity());
+            }
+            return;
+        }
+        if (operation == StockOperation.DECREASE) {
+            apparelsClient.decreaseStock(step.getApparelId(), step.getQuantity());
+        } else {
+            apparelsClient.increaseStock(step.getApparelId(), step.getQuantity());
+        }
+    }
+
+    private void save(OrderSaga saga) {
+        // nothing to undo or replay for a saga without stock steps
+        if (saga.getSteps().isEmpty()) {
+            return;
+        }
+        saga.setUpdatedAt(Instant.now());
+        sagaRepository.save(saga);
+    }
+}
@@ -1,7 +1,9 @@
 package com.footballstore.orders.businesslayer;
 
+import com.footballstore.orders.presentationlayer.OrderPageResponseModel;
 import com.footballstore.orders.presentationlayer.OrderRequestModel;
 import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import com.footballstore.orders.presentationlayer.OrderSummaryResponseModel;
 
 import java.util.List;
 
@@ -9,10 +11,18 @@ public interface OrderService {
 
     List<OrderResponseModel> getAllCustomerOrders(String customerId);
 
+    OrderPageResponseModel<OrderResponseModel> getCustomerOrderHistory(String customerId, String cursor, int limit);
+
+    OrderPageResponseModel<OrderSummaryResponseModel> getCustomerOrderSummaries(String customerId, String cursor, int limit);
+
     OrderResponseModel getCustomerOrderById(String customerId, String orderId);
 
+    long getCustomerOrderVersion(String customerId, String orderId);
+
     OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request);
 
+    OrderResponseModel acceptCustomerOrder(String customerId, OrderRequestModel request);
+
     OrderResponseModel updateCustomerOrder(String customerId, String orderId, OrderRequestModel request);
 
     void deleteCustomerOrder(String customerId, String orderId);
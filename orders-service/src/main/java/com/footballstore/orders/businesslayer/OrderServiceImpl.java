@@ -3,6 +3,8 @@ package com.footballstore.orders.businesslayer;
 import com.footballstore.orders.dataaccesslayer.*;
 import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
 import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationItemModel;
+import com.footballstore.orders.domainclientlayer.apparels.StockOperation;
 import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
 import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
 import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
@@ -10,19 +12,34 @@ import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceCl
 import com.footballstore.orders.mappinglayer.OrderRequestMapper;
 import com.footballstore.orders.mappinglayer.OrderResponseMapper;
 import com.footballstore.orders.presentationlayer.OrderItemRequestModel;
+import com.footballstore.orders.presentationlayer.OrderPageResponseModel;
 import com.footballstore.orders.presentationlayer.OrderRequestModel;
 import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import com.footballstore.orders.presentationlayer.OrderSummaryResponseModel;
+import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import com.footballstore.orders.utils.exceptions.NotFoundException;
+import com.footballstore.orders.utils.exceptions.OrderCapacityExceededException;
 import com.footballstore.orders.utils.exceptions.OrderStateException;
 import com.footballstore.orders.utils.exceptions.StockExceededException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
@@ -33,6 +50,11 @@ public class OrderServiceImpl implements OrderService {
     private final ApparelsServiceClient apparelsClient;
     private final OrderRequestMapper orderEntityMapper;
     private final OrderResponseMapper orderModelMapper;
+    private final ExecutorService downstreamExecutor;
+    private final OrderSagaOrchestrator sagaOrchestrator;
+    private final ExecutorService orderAcceptanceExecutor;
+    private final WarehouseAllocator warehouseAllocator;
+    private final String instanceId = UUID.randomUUID().toString();
 
     @Override
     public List<OrderResponseModel> getAllCustomerOrders(String customerId) {
@@ -43,6 +65,51 @@ public class OrderServiceImpl implements OrderService {
                 .toList();
     }
 
+    @Override
+    public OrderPageResponseModel<OrderResponseModel> getCustomerOrderHistory(String customerId,
+                                                                              String cursor, int limit) {
+        // one row past the page tells us whether an older page exists
+        Limit fetch = Limit.of(limit + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(customerId, fetch);
+        } else {
+            OrderHistoryCursor after = OrderHistoryCursor.decode(cursor);
+            orders = orderRepository.findHistoryAfter(customerId, after.getOrderDate(), after.getId(), fetch);
+        }
+        return toPage(orders, limit, Order::getOrderDate, Order::getId, orderModelMapper::mapToOrderResponse);
+    }
+
+    @Override
+    public OrderPageResponseModel<OrderSummaryResponseModel> getCustomerOrderSummaries(String customerId,
+                                                                                       String cursor, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<OrderSummary> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = orderRepository
+                    .findSummariesByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(customerId, fetch);
+        } else {
+            OrderHistoryCursor after = OrderHistoryCursor.decode(cursor);
+            summaries = orderRepository.findSummariesAfter(customerId, after.getOrderDate(), after.getId(), fetch);
+        }
+        return toPage(summaries, limit, OrderSummary::getOrderDate, OrderSummary::getId,
+                orderModelMapper::mapToOrderSummaryResponse);
+    }
+
+    private static <E, T> OrderPageResponseModel<T> toPage(List<E> rows, int limit,
+                                                           Function<E, LocalDate> orderDate,
+                                                           Function<E, String> id,
+                                                           Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            nextCursor = OrderHistoryCursor.encode(orderDate.apply(last), id.apply(last));
+        }
+        return new OrderPageResponseModel<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
     @Override
     public OrderResponseModel getCustomerOrderById(String customerId, String orderId) {
         Order existing = orderRepository
@@ -53,24 +120,185 @@ public class OrderServiceImpl implements OrderService {
         return orderModelMapper.mapToOrderResponse(existing);
     }
 
+    @Override
+    public long getCustomerOrderVersion(String customerId, String orderId) {
+        Order version = orderRepository.findVersionByCustomerIdAndOrderId(customerId, orderId)
+                .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
+        return version.getVersion() == null ? 0 : version.getVersion();
+    }
+
     @Override
     public OrderResponseModel processCustomerOrder(String customerId, OrderRequestModel request) {
-        CustomerModel cust = customersClient.getCustomerByCustomerId(customerId);
-        WarehouseModel wh = warehousesClient.getWarehouseByWarehouseId(request.getWarehouseId());
+        return orderModelMapper.mapToOrderResponse(placeOrder(customerId, new OrderIdentifier(), null, request));
+    }
+
+    @Override
+    public OrderResponseModel acceptCustomerOrder(String customerId, OrderRequestModel request) {
+        // an ACCEPTED placeholder carrying only what the request itself says; the worker
+        // replaces it with the enriched order, or cancels it
+        Map<String, ApparelModel> unresolved = request.getItems().stream()
+                .map(OrderItemRequestModel::getApparelId)
+                .distinct()
+                .collect(Collectors.toMap(id -> id, id -> ApparelModel.builder().apparelId(id).build()));
+        Order placeholder = buildOrder(new OrderIdentifier(),
+                CustomerModel.builder().customerId(customerId).build(),
+                WarehouseModel.builder().warehouseId(request.getWarehouseId()).build(),
+                unresolved, request);
+        placeholder.setOrderStatus(OrderStatus.ACCEPTED);
+        placeholder.setAcceptedBy(instanceId);
+        placeholder.setAcceptedAt(Instant.now());
+        Order accepted = orderRepository.save(placeholder);
+
+        try {
+            orderAcceptanceExecutor.execute(() -> completeAcceptedOrder(customerId, accepted, request));
+        } catch (RejectedExecutionException ex) {
+            orderRepository.delete(accepted);
+            throw new OrderCapacityExceededException("Too many orders are being processed, retry shortly");
+        }
+        return orderModelMapper.mapToOrderResponse(accepted);
+    }
 
+    private void completeAcceptedOrder(String customerId, Order accepted, OrderRequestModel request) {
+        String orderId = accepted.getOrderIdentifier().getOrderId();
+        try {
+            placeOrder(customerId, accepted.getOrderIdentifier(), accepted, request);
+        } catch (RuntimeException ex) {
+            // read again: the placement may have saved the order before it failed, or recovery
+            // may have cancelled it already
+            Order current = orderRepository.findByOrderIdentifier_OrderId(orderId);
+            if (current == null || current.getOrderStatus() != OrderStatus.ACCEPTED) {
+                log.info("Accepted order {} failed after it moved on: {}", orderId, ex.getMessage());
+                return;
+            }
+            log.info("Cancelling accepted order {}: {}", orderId, ex.getMessage());
+            current.setOrderStatus(OrderStatus.CANCELLED);
+            recordEvent(current, OrderEventType.ORDER_CANCELLED, orderId, customerId);
+            try {
+                orderRepository.save(current);
+            } catch (OptimisticLockingFailureException lost) {
+                log.info("Accepted order {} moved on before it could be cancelled", orderId);
+            }
+        }
+    }
+
+    /**
+     * Cancels the orders left ACCEPTED by an instance whose queued work went with it: ones
+     * another instance accepted before {@code staleBefore}. This instance's own queue is left
+     * to finish. Stock a placement had taken is returned by saga recovery.
+     */
+    public int cancelAbandonedOrders(Instant staleBefore) {
+        int cancelled = 0;
+        for (Order order : orderRepository.findAllByOrderStatus(OrderStatus.ACCEPTED)) {
+            if (instanceId.equals(order.getAcceptedBy())
+                    || (order.getAcceptedAt() != null && order.getAcceptedAt().isAfter(staleBefore))) {
+                continue;
+            }
+            order.setOrderStatus(OrderStatus.CANCELLED);
+            recordEvent(order, OrderEventType.ORDER_CANCELLED,
+                    order.getOrderIdentifier().getOrderId(), order.getCustomerModel().getCustomerId());
+            try {
+                orderRepository.save(order);
+                cancelled++;
+            } catch (OptimisticLockingFailureException ex) {
+                // its instance placed or cancelled it after all
+                log.debug("Accepted order {} moved on before it could be cancelled",
+                        order.getOrderIdentifier().getOrderId());
+            }
+        }
+        return cancelled;
+    }
+
+    // placeholder is set when the order replaces an accepted one, which it is saved over
+    private Order placeOrder(String customerId, OrderIdentifier orderIdentifier, Order placeholder,
+                             OrderRequestModel request) {
+        // customer, warehouse and the whole cart are independent lookups,
+        // so they are all in flight at the same time; without a warehouseId
+        // the warehouse comes from the stock snapshot instead
+        CompletableFuture<CustomerModel> custLookup = async(() ->
+                customersClient.getCustomerByCustomerId(customerId));
+        CompletableFuture<WarehouseModel> whLookup = request.getWarehouseId() == null ? null : async(() ->
+                warehousesClient.getWarehouseByWarehouseId(request.getWarehouseId()));
+        CompletableFuture<Map<String, ApparelModel>> appLookup = async(() ->
+                lookupApparels(request.getItems()));
+
+        CustomerModel cust = await(custLookup);
+        Map<String, Integer> cart = request.getItems().stream()
+                .collect(Collectors.toMap(OrderItemRequestModel::getApparelId,
+                        OrderItemRequestModel::getQuantity, Integer::sum, LinkedHashMap::new));
+        WarehouseAllocation allocation = whLookup == null
+                ? warehouseAllocator.allocate(cart, cust.getAddress())
+                : warehouseAllocator.fromWarehouse(await(whLookup), cart);
+        WarehouseModel wh = allocation.getPrimary();
+        Map<String, ApparelModel> apparels = await(appLookup);
+
+        // the invariant: you cannot reserve more than exists; the hold keeps
+        // the stock aside while the rest of the order is put together
+        String reservationId = reserveStock(request.getItems());
+        List<SagaStep> warehouseSteps = allocation.getLines().stream()
+                .map(line -> warehouseStep(line, StockOperation.DECREASE))
+                .toList();
+        List<SagaStep> steps = request.getItems().stream()
+                .map(ri -> stockStep(ri.getApparelId(), ri.getQuantity(), StockOperation.DECREASE))
+                .collect(Collectors.toList());
+        steps.addAll(warehouseSteps);
+        OrderSaga saga = sagaOrchestrator.start(orderIdentifier.getOrderId(), SagaType.CREATE_ORDER, steps,
+                reservationId);
+        Order saved;
+        try {
+            // the warehouses have the final say on their own stock, whatever the snapshot showed
+            for (SagaStep step : warehouseSteps) {
+                applyWarehouseStep(saga, step);
+            }
+            warehouseAllocator.shipped(allocation);
+
+            Order order = buildOrder(orderIdentifier, cust, wh, apparels, request);
+            if (placeholder != null) {
+                order.setId(placeholder.getId());
+                order.setVersion(placeholder.getVersion());
+            }
+            order.setAllocations(allocation.getLines());
+            order.setLastSagaId(saga.getSagaId());
+            confirmReservation(reservationId);
+            sagaOrchestrator.markApplied(saga);
+
+            recordEvent(order, OrderEventType.ORDER_CREATED, orderIdentifier.getOrderId(), customerId);
+            saved = orderRepository.save(order);
+        } catch (RuntimeException ex) {
+            // releases the reservation too, confirmed or not
+            sagaOrchestrator.compensate(saga);
+            throw ex;
+        }
+        completeSaga(saga);
+        return saved;
+    }
+
+    // the saved order is the commit point: past it the saga is never compensated, and if it
+    // cannot be marked complete here, recovery finds the order and completes it
+    private void completeSaga(OrderSaga saga) {
+        try {
+            sagaOrchestrator.complete(saga);
+        } catch (RuntimeException ex) {
+            log.warn("Order {} is saved, but its saga {} could not be marked complete: {}",
+                    saga.getOrderId(), saga.getSagaId(), ex.getMessage());
+        }
+    }
+
+    private void applyWarehouseStep(OrderSaga saga, SagaStep step) {
+        try {
+            sagaOrchestrator.apply(saga, step);
+        } catch (InvalidInputException ex) {
+            throw new StockExceededException(ex.getMessage());
+        }
+    }
+
+    private Order buildOrder(OrderIdentifier orderIdentifier, CustomerModel cust, WarehouseModel wh,
+                             Map<String, ApparelModel> apparels, OrderRequestModel request) {
         List<OrderItem> items = new ArrayList<>();
         BigDecimal totalAmt = BigDecimal.ZERO;
         String currency = null;
 
         for (OrderItemRequestModel ri : request.getItems()) {
-            ApparelModel app = apparelsClient.getApparelByApparelId(ri.getApparelId());
-
-            // the invariant: you cannot reserve more than exists
-            if (apparelsClient.getStock(app.getApparelId()) < ri.getQuantity()) {
-                throw new StockExceededException(
-                        "Not enough stock for " + app.getApparelId());
-            }
-            apparelsClient.decreaseStock(app.getApparelId(), ri.getQuantity());
+            ApparelModel app = apparels.get(ri.getApparelId());
 
             BigDecimal lineTotal = ri.getUnitPrice()
                     .multiply(BigDecimal.valueOf(ri.getQuantity()))
@@ -81,7 +309,7 @@ public class OrderServiceImpl implements OrderService {
 
             items.add(OrderItem.builder()
                     .orderItemIdentifier(new OrderItemIdentifier())
-                    .apparelModel(app)
+                    .apparelModel(orderEntityMapper.mapToApparelSnapshot(app))
                     .quantity(ri.getQuantity())
                     .unitPrice(ri.getUnitPrice())
                     .discount(ri.getDiscount())
@@ -90,7 +318,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order order = orderEntityMapper.mapToOrderEntity(
-                new OrderIdentifier(),
+                orderIdentifier,
                 cust, wh, request, items,
                 new OrderPrice(totalAmt, currency),
                 LocalDate.now()
@@ -100,9 +328,7 @@ public class OrderServiceImpl implements OrderService {
                 .ofNullable(request.getPaymentStatus())
                 .orElse(PaymentStatus.PENDING)
         );
-
-        return orderModelMapper
-                .mapToOrderResponse(orderRepository.save(order));
+        return order;
     }
 
     @Override
@@ -115,10 +341,14 @@ public class OrderServiceImpl implements OrderService {
             throw new NotFoundException("Order not found: " + orderId);
         }
         if (existing.getOrderStatus() == OrderStatus.COMPLETED ||
-                existing.getOrderStatus() == OrderStatus.CANCELLED) {
+                existing.getOrderStatus() == OrderStatus.CANCELLED ||
+                existing.getOrderStatus() == OrderStatus.ACCEPTED) {
             throw new OrderStateException(
                     "Cannot modify order " + orderId + " in state " + existing.getOrderStatus());
         }
+        if (request.getOrderStatus() == OrderStatus.ACCEPTED) {
+            throw new InvalidInputException("Order status ACCEPTED cannot be set");
+        }
 
         Map<String, Integer> oldQty = existing.getItems().stream()
                 .collect(Collectors.toMap(
@@ -129,27 +359,78 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toMap(
                         OrderItemRequestModel::getApparelId,
                         OrderItemRequestModel::getQuantity,
-                        Integer::sum));
+                        Integer::sum,
+                        LinkedHashMap::new));
 
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        List<SagaStep> steps = new ArrayList<>();
         for (var e : newQty.entrySet()) {
-            String apparelId = e.getKey();
-            int delta = e.getValue() - oldQty.getOrDefault(apparelId, 0);
+            int delta = e.getValue() - oldQty.getOrDefault(e.getKey(), 0);
             if (delta > 0) {
-                if (apparelsClient.getStock(apparelId) < delta) {
-                    throw new StockExceededException(
-                            "Not enough stock to increase " + apparelId + " by " + delta);
-                }
-                apparelsClient.decreaseStock(apparelId, delta);
+                steps.add(stockStep(e.getKey(), delta, StockOperation.DECREASE));
             } else if (delta < 0) {
-                apparelsClient.increaseStock(apparelId, -delta);
+                steps.add(stockStep(e.getKey(), -delta, StockOperation.INCREASE));
             }
+            deltas.put(e.getKey(), delta);
         }
         for (String removed : oldQty.keySet()) {
             if (!newQty.containsKey(removed)) {
-                apparelsClient.increaseStock(removed, oldQty.get(removed));
+                steps.add(stockStep(removed, oldQty.get(removed), StockOperation.INCREASE));
+                deltas.put(removed, -oldQty.get(removed));
+            }
+        }
+
+        // the order's warehouse lines follow the quantities, so a later cancel returns what was taken
+        List<OrderAllocation> allocations = existing.getAllocations() == null
+                ? null : returnToWarehouses(existing.getAllocations(), deltas, steps);
+        Map<String, Integer> extra = new LinkedHashMap<>();
+        deltas.forEach((apparelId, delta) -> {
+            if (delta > 0) {
+                extra.put(apparelId, delta);
+            }
+        });
+        WarehouseAllocation added = null;
+        if (allocations != null && !extra.isEmpty()) {
+            added = request.getWarehouseId() == null
+                    ? warehouseAllocator.allocate(extra, existing.getCustomerModel().getAddress())
+                    : warehouseAllocator.fromWarehouse(
+                            warehousesClient.getWarehouseByWarehouseId(request.getWarehouseId()), extra);
+            added.getLines().forEach(line -> steps.add(warehouseStep(line, StockOperation.DECREASE)));
+            allocations.addAll(added.getLines());
+        }
+
+        OrderSaga saga = sagaOrchestrator.start(orderId, SagaType.UPDATE_ORDER, steps);
+        Order saved;
+        try {
+            for (SagaStep step : steps) {
+                if (step.getWarehouseId() != null) {
+                    applyWarehouseStep(saga, step);
+                    continue;
+                }
+                if (step.getOperation() == StockOperation.DECREASE
+                        && apparelsClient.getStock(step.getApparelId()) < step.getQuantity()) {
+                    throw new StockExceededException(
+                            "Not enough stock to increase " + step.getApparelId() + " by " + step.getQuantity());
+                }
+                sagaOrchestrator.apply(saga, step);
+            }
+            if (added != null) {
+                warehouseAllocator.shipped(added);
             }
+
+            Order updated = applyUpdate(existing, request, saga);
+            updated.setAllocations(allocations);
+            recordEvent(updated, OrderEventType.ORDER_UPDATED, orderId, customerId);
+            saved = orderRepository.save(updated);
+        } catch (RuntimeException ex) {
+            sagaOrchestrator.compensate(saga);
+            throw ex;
         }
+        completeSaga(saga);
+        return orderModelMapper.mapToOrderResponse(saved);
+    }
 
+    private Order applyUpdate(Order existing, OrderRequestModel request, OrderSaga saga) {
         List<OrderItem> updatedItems = new ArrayList<>();
         BigDecimal totalAmt = BigDecimal.ZERO;
         String currency = null;
@@ -164,7 +445,7 @@ public class OrderServiceImpl implements OrderService {
 
             updatedItems.add(OrderItem.builder()
                     .orderItemIdentifier(new OrderItemIdentifier())
-                    .apparelModel(app)
+                    .apparelModel(orderEntityMapper.mapToApparelSnapshot(app))
                     .quantity(ri.getQuantity())
                     .unitPrice(ri.getUnitPrice())
                     .discount(ri.getDiscount())
@@ -176,9 +457,8 @@ public class OrderServiceImpl implements OrderService {
         existing.setTotalPrice(new OrderPrice(totalAmt, currency));
         existing.setOrderStatus(request.getOrderStatus());
         existing.setPaymentStatus(request.getPaymentStatus());
-
-        return orderModelMapper
-                .mapToOrderResponse(orderRepository.save(existing));
+        existing.setLastSagaId(saga.getSagaId());
+        return existing;
     }
 
     @Override
@@ -192,19 +472,156 @@ public class OrderServiceImpl implements OrderService {
             throw new OrderStateException(
                     "Cannot cancel order " + orderId + " because it is already COMPLETED");
         }
+        if (existing.getOrderStatus() == OrderStatus.ACCEPTED) {
+            throw new OrderStateException(
+                    "Cannot cancel order " + orderId + " before it has been placed");
+        }
 
-        existing.getItems().forEach(item ->
-                apparelsClient.increaseStock(
-                        item.getApparelModel().getApparelId(),
-                        item.getQuantity()
-                )
-        );
+        List<SagaStep> steps = existing.getItems().stream()
+                .map(item -> stockStep(item.getApparelModel().getApparelId(), item.getQuantity(),
+                        StockOperation.INCREASE))
+                .collect(Collectors.toList());
+        if (existing.getAllocations() != null) {
+            existing.getAllocations().forEach(line -> steps.add(warehouseStep(line, StockOperation.INCREASE)));
+        }
+        OrderSaga saga = sagaOrchestrator.start(orderId, SagaType.CANCEL_ORDER, steps);
+        try {
+            steps.forEach(step -> sagaOrchestrator.apply(saga, step));
 
-        existing.setOrderStatus(PaymentStatus.REFUNDED == existing.getPaymentStatus()
-                ? OrderStatus.CANCELLED
-                : OrderStatus.CANCELLED);
-        existing.setPaymentStatus(PaymentStatus.REFUNDED);
+            existing.setOrderStatus(PaymentStatus.REFUNDED == existing.getPaymentStatus()
+                    ? OrderStatus.CANCELLED
+                    : OrderStatus.CANCELLED);
+            existing.setPaymentStatus(PaymentStatus.REFUNDED);
+            existing.setLastSagaId(saga.getSagaId());
+            recordEvent(existing, OrderEventType.ORDER_CANCELLED, orderId, customerId);
 
-        orderRepository.save(existing);
+            orderRepository.save(existing);
+        } catch (RuntimeException ex) {
+            sagaOrchestrator.compensate(saga);
+            throw ex;
+        }
+        completeSaga(saga);
+    }
+
+    // the outbox entry rides along in the order's own save, so it commits with the change
+    private static void recordEvent(Order order, OrderEventType eventType, String orderId, String customerId) {
+        List<OrderOutboxEntry> pending = order.getPendingEvents() == null
+                ? new ArrayList<>()
+                : new ArrayList<>(order.getPendingEvents());
+        pending.add(OrderOutboxEntry.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .orderId(orderId)
+                .customerId(customerId)
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .totalPrice(order.getTotalPrice())
+                .occurredAt(Instant.now())
+                .build());
+        order.setPendingEvents(pending);
+    }
+
+    /**
+     * Gives the units an update drops back to the warehouses they came from, newest line first,
+     * adding an INCREASE step for each.
+     *
+     * @return the lines left once they are taken off
+     */
+    private static List<OrderAllocation> returnToWarehouses(List<OrderAllocation> lines, Map<String, Integer> deltas,
+                                                            List<SagaStep> steps) {
+        List<OrderAllocation> kept = new ArrayList<>(lines.size());
+        Map<String, Integer> toReturn = new HashMap<>();
+        deltas.forEach((apparelId, delta) -> {
+            if (delta < 0) {
+                toReturn.put(apparelId, -delta);
+            }
+        });
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            OrderAllocation line = lines.get(i);
+            int returned = Math.min(line.getQuantity(), toReturn.getOrDefault(line.getApparelId(), 0));
+            if (returned > 0) {
+                steps.add(warehouseStep(new OrderAllocation(line.getWarehouseId(), line.getApparelId(), returned),
+                        StockOperation.INCREASE));
+                toReturn.merge(line.getApparelId(), -returned, Integer::sum);
+            }
+            if (line.getQuantity() > returned) {
+                kept.add(0, new OrderAllocation(line.getWarehouseId(), line.getApparelId(),
+                        line.getQuantity() - returned));
+            }
+        }
+        return kept;
+    }
+
+    private static SagaStep stockStep(String apparelId, int quantity, StockOperation operation) {
+        return SagaStep.builder()
+                .apparelId(apparelId)
+                .quantity(quantity)
+                .operation(operation)
+                .build();
+    }
+
+    private static SagaStep warehouseStep(OrderAllocation line, StockOperation operation) {
+        return SagaStep.builder()
+                .warehouseId(line.getWarehouseId())
+                .apparelId(line.getApparelId())
+                .quantity(line.getQuantity())
+                .operation(operation)
+                .build();
+    }
+
+    private Map<String, ApparelModel> lookupApparels(List<OrderItemRequestModel> items) {
+        List<String> ids = items.stream().map(OrderItemRequestModel::getApparelId).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, ApparelModel> byId = apparelsClient.getApparelsByApparelIds(ids).stream()
+                .collect(Collectors.toMap(ApparelModel::getApparelId, a -> a, (a, b) -> a));
+        ids.stream()
+                .filter(id -> !byId.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new NotFoundException("Apparel not found with id: " + id);
+                });
+        return byId;
+    }
+
+    private String reserveStock(List<OrderItemRequestModel> lines) {
+        if (lines.isEmpty()) {
+            return null;
+        }
+        List<ReservationItemModel> items = lines.stream()
+                .map(ri -> new ReservationItemModel(ri.getApparelId(), ri.getQuantity()))
+                .toList();
+        try {
+            return apparelsClient.reserveStock(items).getReservationId();
+        } catch (InvalidInputException ex) {
+            throw new StockExceededException(ex.getMessage());
+        }
+    }
+
+    private void confirmReservation(String reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        try {
+            apparelsClient.confirmReservation(reservationId);
+        } catch (InvalidInputException | NotFoundException ex) {
+            throw new StockExceededException(ex.getMessage());
+        }
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, downstreamExecutor);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 }
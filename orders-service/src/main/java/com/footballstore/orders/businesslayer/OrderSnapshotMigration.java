@@ -0,0 +1,128 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Rewrites order documents saved before {@link Order#SNAPSHOT_VERSION} into the slim shape,
+ * one batch per run. The catalogue price and stock copied into every line are unset and the
+ * class hint is shortened, all on the server: a concurrent save of the same order is never
+ * overwritten, and an order saved by this service is written slim anyway.
+ * <p>
+ * Batches walk the collection in {@code _id} order from where the last one ended, so a pass
+ * reads each document once. Polling stops once a pass finds nothing left to do; documents an
+ * older instance writes during a rolling deploy are picked up on the next start.
+ * <p>
+ * The first run also gives every order without a version version 0, in one update: Spring Data
+ * takes an order with no version for a new one and would insert it again on its next save.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.orders.snapshot-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderSnapshotMigration {
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private volatile boolean done;
+    private volatile boolean versioned;
+    // _id of the last document the current pass looked at
+    private volatile Object resumeAfter;
+
+    public OrderSnapshotMigration(MongoTemplate mongoTemplate,
+                                  @Value("${app.orders.snapshot-migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.snapshot-migration.interval:PT1S}")
+    public void migrate() {
+        if (done) {
+            return;
+        }
+        try {
+            if (!versioned) {
+                long backfilled = backfillVersions();
+                versioned = true;
+                if (backfilled > 0) {
+                    log.info("Gave {} order(s) their first version", backfilled);
+                }
+            }
+            int migrated = migrateBatch();
+            if (migrated == 0) {
+                done = true;
+                log.info("All orders are at snapshot version {}", Order.SNAPSHOT_VERSION);
+            } else {
+                log.debug("Migrated {} order(s) to snapshot version {}", migrated, Order.SNAPSHOT_VERSION);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not migrate order snapshots: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Brings up to one batch of older orders to the current snapshot version.
+     *
+     * @return how many older orders the batch found; all of them are current afterwards
+     */
+    public int migrateBatch() {
+        String collection = mongoTemplate.getCollectionName(Order.class);
+        Criteria remaining = resumeAfter == null
+                ? olderSnapshot()
+                : where("_id").gt(resumeAfter).andOperator(olderSnapshot());
+        Query older = query(remaining).with(Sort.by("_id")).limit(batchSize);
+        older.fields().include("_id");
+        List<Object> ids = mongoTemplate.find(older, Document.class, collection).stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        resumeAfter = ids.get(ids.size() - 1);
+        // the version is checked again, so an order saved since it was found is left alone;
+        // $[] fails on a document without an items array, so those only get the version
+        mongoTemplate.updateMulti(query(where("_id").in(ids).and("items").type(JsonSchemaObject.Type.arrayType())
+                        .andOperator(olderSnapshot())),
+                toCurrent().unset("items.$[].apparelModel.price").unset("items.$[].apparelModel.stock"),
+                collection);
+        mongoTemplate.updateMulti(query(where("_id").in(ids).andOperator(olderSnapshot())), toCurrent(), collection);
+        return ids.size();
+    }
+
+    /**
+     * Sets version 0 on every order saved before orders were versioned.
+     *
+     * @return how many orders had no version
+     */
+    public long backfillVersions() {
+        return mongoTemplate.updateMulti(query(where("version").exists(false)), new Update().set("version", 0L),
+                mongoTemplate.getCollectionName(Order.class)).getModifiedCount();
+    }
+
+    private static Update toCurrent() {
+        return new Update()
+                .set("_class", Order.TYPE_ALIAS)
+                .set("snapshotVersion", Order.SNAPSHOT_VERSION);
+    }
+
+    private static Criteria olderSnapshot() {
+        return new Criteria().orOperator(
+                where("snapshotVersion").exists(false),
+                where("snapshotVersion").lt(Order.SNAPSHOT_VERSION));
+    }
+}
@@ -0,0 +1,31 @@
+package com.footballstore.orders.businesslayer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaRecoveryRunner implements ApplicationRunner {
+
+    private final OrderSagaOrchestrator sagaOrchestrator;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        recover();
+    }
+
+    // sagas another instance was driving only go stale after this one has started
+    @Scheduled(initialDelayString = "${app.orders.saga.recovery-interval:PT1M}",
+            fixedDelayString = "${app.orders.saga.recovery-interval:PT1M}")
+    public void recover() {
+        int recovered = sagaOrchestrator.recover();
+        if (recovered > 0) {
+            log.info("Settled {} order saga(s) nobody was driving any more", recovered);
+        }
+    }
+}
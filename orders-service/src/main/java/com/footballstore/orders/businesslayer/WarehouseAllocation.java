@@ -0,0 +1,19 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderAllocation;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Where a cart ships from. {@code primary} is the warehouse the order is filed under: the
+ * only one for a single-warehouse cart, otherwise the one taking the largest share.
+ */
+@Value
+public class WarehouseAllocation {
+
+    WarehouseModel primary;
+
+    List<OrderAllocation> lines;
+}
@@ -0,0 +1,198 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderAllocation;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.utils.exceptions.StockExceededException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Picks the warehouses a cart ships from, reading only the {@link WarehouseStockSnapshot}.
+ * <p>
+ * Warehouses are ranked by how much of the customer's address their own address mentions:
+ * city, then state, then country. Neither side carries coordinates, so this is as close as
+ * "nearest" gets. The nearest warehouse holding the whole cart takes it; failing that the cart
+ * is split, each step going to the warehouse that covers most of what is left, nearest first
+ * on a tie.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarehouseAllocator {
+
+    private static final int CITY = 4;
+    private static final int STATE = 2;
+    private static final int COUNTRY = 1;
+    private static final int BEST_SCORE = CITY + STATE + COUNTRY;
+
+    private final WarehouseStockSnapshot snapshot;
+    private final WarehousesServiceClient warehousesClient;
+
+    public WarehouseAllocation allocate(Map<String, Integer> cart, Address shipTo) {
+        WarehouseStockSnapshot.Stock stock = snapshot.loaded();
+        String[] apparelIds = cart.keySet().toArray(String[]::new);
+        int[] needed = new int[apparelIds.length];
+        AtomicIntegerArray[] columns = new AtomicIntegerArray[apparelIds.length];
+        for (int i = 0; i < apparelIds.length; i++) {
+            needed[i] = cart.get(apparelIds[i]);
+            columns[i] = stock.quantities(apparelIds[i]);
+            if (columns[i] == null) {
+                throw new StockExceededException("No warehouse stocks apparel: " + apparelIds[i]);
+            }
+        }
+
+        int[] ranked = rank(stock, shipTo);
+        for (int warehouse : ranked) {
+            if (holdsAll(columns, needed, warehouse)) {
+                String warehouseId = stock.warehouses.get(warehouse).getWarehouseId();
+                List<OrderAllocation> lines = new ArrayList<>(apparelIds.length);
+                for (int i = 0; i < apparelIds.length; i++) {
+                    lines.add(new OrderAllocation(warehouseId, apparelIds[i], needed[i]));
+                }
+                return new WarehouseAllocation(stock.warehouses.get(warehouse), lines);
+            }
+        }
+        return split(stock, ranked, apparelIds, columns, needed);
+    }
+
+    /**
+     * Checks a cart against the warehouse the client chose. Before the first load, or for a
+     * warehouse added since it, the warehouse is asked for its stock of each line instead.
+     */
+    public WarehouseAllocation fromWarehouse(WarehouseModel warehouse, Map<String, Integer> cart) {
+        String warehouseId = warehouse.getWarehouseId();
+        WarehouseStockSnapshot.Stock stock = snapshot.current();
+        Integer index = stock == null ? null : stock.indexById.get(warehouseId);
+        List<OrderAllocation> lines = new ArrayList<>(cart.size());
+        for (Map.Entry<String, Integer> line : cart.entrySet()) {
+            int held;
+            if (index == null) {
+                held = warehousesClient.getStock(warehouseId, line.getKey());
+            } else {
+                AtomicIntegerArray column = stock.quantities(line.getKey());
+                held = column == null ? 0 : column.get(index);
+            }
+            if (held < line.getValue()) {
+                throw new StockExceededException("Warehouse " + warehouseId + " holds " + held
+                        + " of apparel " + line.getKey() + ", " + line.getValue() + " requested");
+            }
+            lines.add(new OrderAllocation(warehouseId, line.getKey(), line.getValue()));
+        }
+        return new WarehouseAllocation(warehouse, lines);
+    }
+
+    // taken off the snapshot as soon as the warehouses confirm, ahead of the change feed
+    public void shipped(WarehouseAllocation allocation) {
+        allocation.getLines().forEach(line ->
+                snapshot.deduct(line.getWarehouseId(), line.getApparelId(), line.getQuantity()));
+    }
+
+    private static WarehouseAllocation split(WarehouseStockSnapshot.Stock stock, int[] ranked, String[] apparelIds,
+                                             AtomicIntegerArray[] columns, int[] needed) {
+        int[] left = needed.clone();
+        long remaining = sum(left);
+        boolean[] used = new boolean[stock.warehouses.size()];
+        List<OrderAllocation> lines = new ArrayList<>();
+        int primary = -1;
+        while (remaining > 0) {
+            int best = -1;
+            long bestUnits = 0;
+            for (int warehouse : ranked) {
+                if (used[warehouse]) {
+                    continue;
+                }
+                long units = 0;
+                for (int i = 0; i < left.length; i++) {
+                    units += Math.min(columns[i].get(warehouse), left[i]);
+                }
+                if (units > bestUnits) {
+                    best = warehouse;
+                    bestUnits = units;
+                }
+            }
+            if (best < 0) {
+                throw new StockExceededException("No combination of warehouses holds the cart, "
+                        + remaining + " unit(s) short");
+            }
+            used[best] = true;
+            primary = primary < 0 ? best : primary;
+            lines.addAll(take(stock, best, apparelIds, columns, left));
+            remaining = sum(left);
+        }
+        return new WarehouseAllocation(stock.warehouses.get(primary), lines);
+    }
+
+    // takes what the warehouse holds of each line, up to what is still wanted, and lowers left to match
+    private static List<OrderAllocation> take(WarehouseStockSnapshot.Stock stock, int warehouse, String[] apparelIds,
+                                              AtomicIntegerArray[] columns, int[] left) {
+        String warehouseId = stock.warehouses.get(warehouse).getWarehouseId();
+        List<OrderAllocation> lines = new ArrayList<>(apparelIds.length);
+        for (int i = 0; i < apparelIds.length; i++) {
+            int taken = Math.min(columns[i].get(warehouse), left[i]);
+            if (taken > 0) {
+                lines.add(new OrderAllocation(warehouseId, apparelIds[i], taken));
+                left[i] -= taken;
+            }
+        }
+        return lines;
+    }
+
+    private static boolean holdsAll(AtomicIntegerArray[] columns, int[] needed, int warehouse) {
+        for (int i = 0; i < needed.length; i++) {
+            if (columns[i].get(warehouse) < needed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // warehouse indexes, best locality score first and list order within a score
+    private static int[] rank(WarehouseStockSnapshot.Stock stock, Address shipTo) {
+        int count = stock.addresses.length;
+        int[] scores = new int[count];
+        if (shipTo != null) {
+            String city = lower(shipTo.getCity());
+            String state = lower(shipTo.getState());
+            String country = lower(shipTo.getCountry());
+            for (int w = 0; w < count; w++) {
+                String address = stock.addresses[w];
+                scores[w] = (mentions(address, city) ? CITY : 0)
+                        + (mentions(address, state) ? STATE : 0)
+                        + (mentions(address, country) ? COUNTRY : 0);
+            }
+        }
+        int[] ranked = new int[count];
+        int next = 0;
+        for (int score = BEST_SCORE; score >= 0; score--) {
+            for (int w = 0; w < count; w++) {
+                if (scores[w] == score) {
+                    ranked[next++] = w;
+                }
+            }
+        }
+        return ranked;
+    }
+
+    private static boolean mentions(String address, String part) {
+        return part != null && address.contains(part);
+    }
+
+    private static String lower(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long sum(int[] values) {
+        long total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
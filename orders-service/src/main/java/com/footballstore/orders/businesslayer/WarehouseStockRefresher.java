@@ -0,0 +1,29 @@
+package com.footballstore.orders.businesslayer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link WarehouseStockSnapshot} following warehouses-service. A failed poll keeps
+ * the last copy; allocations then work from it until the next poll gets through.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.warehouse-stock.refresh-enabled", havingValue = "true", matchIfMissing = true)
+public class WarehouseStockRefresher {
+
+    private final WarehouseStockSnapshot snapshot;
+
+    @Scheduled(fixedDelayString = "${app.warehouse-stock.refresh-interval:PT2S}")
+    public void refresh() {
+        try {
+            snapshot.refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh warehouse stock: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseStockModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of every warehouse's stock, so an allocation reads a few arrays instead of
+ * asking warehouses-service once per warehouse and item.
+ * <p>
+ * A full load takes the warehouse list and every stock row; after that a refresh only asks for
+ * the rows written since the newest one seen. The feed carries absolute quantities, so looking
+ * back a little, to catch writes that were still committing at the last poll, only re-applies
+ * rows. The full load is repeated every so often, which is what drops deleted warehouses.
+ */
+@Slf4j
+@Component
+public class WarehouseStockSnapshot {
+
+    private final WarehousesServiceClient warehousesClient;
+    private final Duration lookBack;
+    private final Duration fullLoadInterval;
+
+    // one load or refresh at a time
+    private final ReentrantLock loading = new ReentrantLock();
+    private volatile Stock stock;
+    private Instant newestWrite;
+    private Instant lastFullLoad;
+
+    public WarehouseStockSnapshot(WarehousesServiceClient warehousesClient,
+                                  @Value("${app.warehouse-stock.look-back:PT10S}") Duration lookBack,
+                                  @Value("${app.warehouse-stock.full-load-interval:PT5M}") Duration fullLoadInterval) {
+        this.warehousesClient = warehousesClient;
+        this.lookBack = lookBack;
+        this.fullLoadInterval = fullLoadInterval;
+    }
+
+    public void refresh() {
+        loading.lock();
+        try {
+            Instant now = Instant.now();
+            if (stock == null || now.isAfter(lastFullLoad.plus(fullLoadInterval))) {
+                fullLoad(now);
+                return;
+            }
+            List<WarehouseStockModel> changes =
+                    warehousesClient.getStockChanges(newestWrite == null ? null : newestWrite.minus(lookBack));
+            // a warehouse this copy has never seen needs its details, which only a full load brings
+            if (!stock.applyAll(changes)) {
+                fullLoad(now);
+                return;
+            }
+            track(changes);
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    // loads on first use, for callers that cannot work without a snapshot
+    Stock loaded() {
+        Stock current = stock;
+        if (current != null) {
+            return current;
+        }
+        loading.lock();
+        try {
+            if (stock == null) {
+                fullLoad(Instant.now());
+            }
+            return stock;
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    // null until the first load
+    Stock current() {
+        return stock;
+    }
+
+    // applied locally straight away; the feed overwrites it with the warehouse's own count
+    void deduct(String warehouseId, String apparelId, int quantity) {
+        Stock current = stock;
+        Integer index = current == null ? null : current.indexById.get(warehouseId);
+        if (index != null) {
+            current.column(apparelId).getAndUpdate(index, held -> Math.max(0, held - quantity));
+        }
+    }
+
+    private void fullLoad(Instant now) {
+        Stock loaded = new Stock(warehousesClient.getAllWarehouses());
+        newestWrite = null;
+        List<WarehouseStockModel> rows = warehousesClient.getStockChanges(null);
+        loaded.applyAll(rows);
+        track(rows);
+        stock = loaded;
+        lastFullLoad = now;
+        log.debug("Loaded stock for {} warehouse(s), {} row(s)", loaded.warehouses.size(), rows.size());
+    }
+
+    private void track(List<WarehouseStockModel> rows) {
+        for (WarehouseStockModel row : rows) {
+            if (row.getUpdatedAt() != null && (newestWrite == null || row.getUpdatedAt().isAfter(newestWrite))) {
+                newestWrite = row.getUpdatedAt();
+            }
+        }
+    }
+
+    /**
+     * One warehouse list and, per apparel, a quantity per warehouse indexed like that list.
+     * The list is fixed for the life of the copy; quantities are updated in place.
+     */
+    static final class Stock {
+
+        final List<WarehouseModel> warehouses;
+        final Map<String, Integer> indexById;
+        // lower-cased, so locality matching is a plain substring search
+        final String[] addresses;
+        private final Map<String, AtomicIntegerArray> byApparel = new ConcurrentHashMap<>();
+
+        Stock(List<WarehouseModel> warehouses) {
+            this.warehouses = List.copyOf(warehouses);
+            this.indexById = new HashMap<>();
+            this.addresses = new String[this.warehouses.size()];
+            for (int i = 0; i < this.warehouses.size(); i++) {
+                WarehouseModel warehouse = this.warehouses.get(i);
+                indexById.put(warehouse.getWarehouseId(), i);
+                addresses[i] = warehouse.getAddress() == null ? "" : warehouse.getAddress().toLowerCase(Locale.ROOT);
+            }
+        }
+
+        // false when a row names a warehouse this copy does not know
+        boolean applyAll(List<WarehouseStockModel> rows) {
+            for (WarehouseStockModel row : rows) {
+                Integer index = indexById.get(row.getWarehouseId());
+                if (index == null) {
+                    return false;
+                }
+                column(row.getApparelId()).set(index, row.getQuantity() == null ? 0 : row.getQuantity());
+            }
+            return true;
+        }
+
+        // null for an apparel no warehouse has ever held
+        AtomicIntegerArray quantities(String apparelId) {
+            return byApparel.get(apparelId);
+        }
+
+        private AtomicIntegerArray column(String apparelId) {
+            return byApparel.computeIfAbsent(apparelId, id -> new AtomicIntegerArray(warehouses.size()));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
+import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * The apparel as an order line shows it, copied when the line is written. Catalogue price
+ * and stock are not kept: the line carries its own unit price, and stock is out of date as
+ * soon as the order is saved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApparelSnapshot {
+
+    private String apparelId;
+
+    private String itemName;
+
+    private String description;
+
+    private String brand;
+
+    private BigDecimal cost;
+
+    private ApparelType apparelType;
+
+    private SizeOption sizeOption;
+}
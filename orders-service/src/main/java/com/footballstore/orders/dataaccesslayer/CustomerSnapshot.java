@@ -0,0 +1,31 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// the customer as an order shows it, copied when the order is placed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSnapshot {
+
+    private String customerId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private LocalDate registrationDate;
+
+    private ContactMethod preferredContact;
+
+    private Address address;
+}
@@ -0,0 +1,48 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The outcome of one {@code Idempotency-Key} on order creation. The id is the customer id and
+ * the key, so keys only need to be unique per customer. While {@code IN_PROGRESS} the record
+ * is a lock held by {@code lockOwner} until {@code lockedUntil}, which the holder keeps pushing
+ * back while it runs; once {@code COMPLETED} it carries the response
+ * that repeats of the key are answered with.
+ */
+@Document(collection = "order_idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    private String id;
+
+    // hash of the request the key was first used with; a different request under the same key is refused
+    private String requestHash;
+
+    private IdempotencyStatus status;
+
+    private Instant lockedUntil;
+
+    // token of the execution holding the lock; its completion and release only apply while it still does
+    private String lockOwner;
+
+    private int responseStatus;
+
+    private OrderResponseModel response;
+
+    // TTL index: Mongo drops the record once this instant has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
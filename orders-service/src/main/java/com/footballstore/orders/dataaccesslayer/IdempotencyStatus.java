@@ -0,0 +1,6 @@
+package com.footballstore.orders.dataaccesslayer;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
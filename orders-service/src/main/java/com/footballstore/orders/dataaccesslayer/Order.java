@@ -1,33 +1,50 @@
 package com.footballstore.orders.dataaccesslayer;
 
-import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
-import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
-import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Document(collection = "orders")
+// written as _class on every document; the class name it replaces still reads back
+@TypeAlias(Order.TYPE_ALIAS)
+// backs the newest-first order history; _id breaks ties between orders placed on the same day
+@CompoundIndex(name = "customer_history",
+        def = "{'customerModel.customerId': 1, 'orderDate': -1, '_id': -1}")
+// only orders with unrelayed events are in this index, which keeps the relay poll cheap
+@CompoundIndex(name = "outbox_pending", def = "{'pendingEvents.eventId': 1}", sparse = true)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
+    // shape of the embedded snapshots; 1 was the full downstream models, older documents have no version
+    public static final int SNAPSHOT_VERSION = 2;
+
+    public static final String TYPE_ALIAS = "order";
+
     @Id
     private String id;
 
     private OrderIdentifier orderIdentifier;
 
-    private CustomerModel customerModel;
+    // snapshots keep the field names of the models they replaced, so stored paths, indexes and queries still match
+    private CustomerSnapshot customerModel;
 
-    private WarehouseModel warehouseModel;
+    private WarehouseSnapshot warehouseModel;
 
     private List<OrderItem> items;
 
+    // the warehouse stock the items were taken from, one line per warehouse and apparel
+    private List<OrderAllocation> allocations;
+
     private OrderPrice totalPrice;
 
     private OrderStatus orderStatus;
@@ -35,4 +52,23 @@ public class Order {
     private PaymentStatus paymentStatus;
 
     private LocalDate orderDate;
+
+    // id of the last saga whose stock changes this document reflects
+    private String lastSagaId;
+
+    // the instance that accepted the order and when, while it is ACCEPTED; another instance
+    // only cancels it once acceptedAt is stale
+    private String acceptedBy;
+
+    private Instant acceptedAt;
+
+    // transactional outbox: lifecycle events saved with the order, drained by the event relay
+    private List<OrderOutboxEntry> pendingEvents;
+
+    @Builder.Default
+    private Integer snapshotVersion = SNAPSHOT_VERSION;
+
+    // bumped on every save, so it doubles as the ETag; the outbox bookkeeping leaves it alone
+    @Version
+    private Long version;
 }
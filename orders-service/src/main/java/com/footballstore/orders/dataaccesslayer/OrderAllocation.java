@@ -0,0 +1,17 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.*;
+
+// how many units of one apparel an order takes from one warehouse
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAllocation {
+
+    private String warehouseId;
+
+    private String apparelId;
+
+    private Integer quantity;
+}
@@ -0,0 +1,47 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A relayed order lifecycle event. {@code offset} increases with every event relayed,
+ * so it doubles as the resume position for event stream consumers.
+ */
+@Document(collection = "order_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private Long offset;
+
+    // guards against relaying the same outbox entry twice
+    @Indexed(unique = true)
+    private String eventId;
+
+    private OrderEventType eventType;
+
+    private String orderId;
+
+    private String customerId;
+
+    private OrderStatus orderStatus;
+
+    private PaymentStatus paymentStatus;
+
+    private OrderPrice totalPrice;
+
+    private Instant occurredAt;
+}
@@ -0,0 +1,13 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface OrderEventRepository extends MongoRepository<OrderEvent, String> {
+
+    boolean existsByEventId(String eventId);
+
+    List<OrderEvent> findByOffsetGreaterThanOrderByOffsetAsc(long offset, Limit limit);
+}
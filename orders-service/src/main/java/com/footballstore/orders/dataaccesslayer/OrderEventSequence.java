@@ -0,0 +1,19 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "order_event_sequences")
+@Data
+@NoArgsConstructor
+public class OrderEventSequence {
+
+    public static final String ORDER_EVENTS = "order_events";
+
+    @Id
+    private String id;
+
+    private long value;
+}
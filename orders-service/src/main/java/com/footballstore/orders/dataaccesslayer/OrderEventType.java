@@ -0,0 +1,7 @@
+package com.footballstore.orders.dataaccesslayer;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_UPDATED,
+    ORDER_CANCELLED
+}
@@ -1,6 +1,5 @@
 package com.footballstore.orders.dataaccesslayer;
 
-import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -13,7 +12,7 @@ public class OrderItem {
 
     private OrderItemIdentifier orderItemIdentifier;
 
-    private ApparelModel apparelModel;
+    private ApparelSnapshot apparelModel;
 
     private Integer quantity;
 
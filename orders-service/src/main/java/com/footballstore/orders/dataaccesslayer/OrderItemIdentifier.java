@@ -8,6 +8,7 @@ import java.util.UUID;
 @Getter
 public class OrderItemIdentifier {
 
+    // not final, so a loaded item keeps its stored id instead of drawing a fresh one on every read
     @Indexed
-    private final String orderItemId = UUID.randomUUID().toString();
+    private String orderItemId = UUID.randomUUID().toString();
 }
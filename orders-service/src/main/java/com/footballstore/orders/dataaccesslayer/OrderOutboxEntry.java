@@ -0,0 +1,35 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A lifecycle change waiting on its order document to be relayed. It is written in the
+ * same save as the order it describes, so the change and its event commit together.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutboxEntry {
+
+    private String eventId;
+
+    private OrderEventType eventType;
+
+    private String orderId;
+
+    private String customerId;
+
+    private OrderStatus orderStatus;
+
+    private PaymentStatus paymentStatus;
+
+    private OrderPrice totalPrice;
+
+    private Instant occurredAt;
+}
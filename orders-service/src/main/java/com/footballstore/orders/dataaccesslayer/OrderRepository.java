@@ -1,11 +1,45 @@
 package com.footballstore.orders.dataaccesslayer;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends MongoRepository<Order, String> {
+
+    // keyset continuation: strictly older than the last (orderDate, _id) served
+    String HISTORY_AFTER = "{ 'customerModel.customerId': ?0, $or: [ "
+            + "{ 'orderDate': { $lt: ?1 } }, "
+            + "{ 'orderDate': ?1, '_id': { $lt: ?2 } } ] }";
+    String HISTORY_SORT = "{ 'orderDate': -1, '_id': -1 }";
+    String SUMMARY_FIELDS = "{ 'orderIdentifier': 1, 'orderDate': 1, 'orderStatus': 1, 'totalPrice': 1 }";
+
     List<Order> findAllByCustomerModel_CustomerId(String customerId);
 
+    @Query(value = "{ 'pendingEvents.eventId': { $exists: true } }", fields = "{ 'pendingEvents': 1 }")
+    List<Order> findWithPendingEvents(Limit limit);
+
     Order findByCustomerModel_CustomerIdAndOrderIdentifier_OrderId(String customerId, String orderId);
+
+    @Query(value = "{ 'customerModel.customerId': ?0, 'orderIdentifier.orderId': ?1 }", fields = "{ 'version': 1 }")
+    Optional<Order> findVersionByCustomerIdAndOrderId(String customerId, String orderId);
+
+    Order findByOrderIdentifier_OrderId(String orderId);
+
+    List<Order> findAllByOrderStatus(OrderStatus orderStatus);
+
+    List<Order> findByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(String customerId, Limit limit);
+
+    @Query(value = HISTORY_AFTER, sort = HISTORY_SORT)
+    List<Order> findHistoryAfter(String customerId, LocalDate orderDate, ObjectId id, Limit limit);
+
+    List<OrderSummary> findSummariesByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(String customerId,
+                                                                                         Limit limit);
+
+    @Query(value = HISTORY_AFTER, fields = SUMMARY_FIELDS, sort = HISTORY_SORT)
+    List<OrderSummary> findSummariesAfter(String customerId, LocalDate orderDate, ObjectId id, Limit limit);
 }
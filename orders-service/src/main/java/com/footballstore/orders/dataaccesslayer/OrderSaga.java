@@ -0,0 +1,46 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Document(collection = "order_sagas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSaga {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String sagaId;
+
+    private String orderId;
+
+    private SagaType sagaType;
+
+    @Indexed
+    private SagaStatus sagaStatus;
+
+    private List<SagaStep> steps;
+
+    // the stock reservation behind the apparel steps, when the saga took one; those steps
+    // are undone by releasing it, whether or not the confirm was recorded
+    private String reservationId;
+
+    // the instance driving the saga; another one only recovers it once updatedAt is stale
+    private String owner;
+
+    private Instant startedAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSagaRepository extends MongoRepository<OrderSaga, String> {
+    List<OrderSaga> findAllBySagaStatusIn(Collection<SagaStatus> statuses);
+
+    OrderSaga findBySagaId(String sagaId);
+}
@@ -1,6 +1,9 @@
 package com.footballstore.orders.dataaccesslayer;
 
 public enum OrderStatus {
+    // set only on an order accepted with Prefer: respond-async until it is placed or cancelled;
+    // clients cannot set it
+    ACCEPTED,
     CREATED,
     PROCESSING,
     COMPLETED,
@@ -0,0 +1,26 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.Value;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of {@link Order} for history listings. Only these fields are
+ * requested from Mongo, so the embedded customer, warehouse and item snapshots are never
+ * read or decoded.
+ */
+@Value
+public class OrderSummary {
+
+    @Id
+    String id;
+
+    OrderIdentifier orderIdentifier;
+
+    LocalDate orderDate;
+
+    OrderStatus orderStatus;
+
+    OrderPrice totalPrice;
+}
@@ -0,0 +1,9 @@
+package com.footballstore.orders.dataaccesslayer;
+
+public enum SagaStatus {
+    STARTED,
+    COMPLETED,
+    COMPENSATING,
+    COMPENSATED,
+    COMPENSATION_FAILED
+}
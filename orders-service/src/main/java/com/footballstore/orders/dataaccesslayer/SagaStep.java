@@ -0,0 +1,25 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.domainclientlayer.apparels.StockOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SagaStep {
+
+    // set for a warehouse's own stock; unset, the step moves the apparel's overall stock
+    private String warehouseId;
+
+    private String apparelId;
+
+    private Integer quantity;
+
+    private StockOperation operation;
+
+    private SagaStepStatus stepStatus;
+}
@@ -0,0 +1,7 @@
+package com.footballstore.orders.dataaccesslayer;
+
+public enum SagaStepStatus {
+    PENDING,
+    APPLIED,
+    COMPENSATED
+}
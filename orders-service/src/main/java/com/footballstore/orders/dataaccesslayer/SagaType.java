@@ -0,0 +1,7 @@
+package com.footballstore.orders.dataaccesslayer;
+
+public enum SagaType {
+    CREATE_ORDER,
+    UPDATE_ORDER,
+    CANCEL_ORDER
+}
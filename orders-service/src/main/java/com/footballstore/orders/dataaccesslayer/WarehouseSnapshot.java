@@ -0,0 +1,19 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import lombok.*;
+
+// the warehouse as an order shows it, copied when the order is placed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WarehouseSnapshot {
+
+    private String warehouseId;
+
+    private String locationName;
+
+    private String address;
+
+    private Integer capacity;
+}
@@ -4,6 +4,8 @@ import com.footballstore.orders.utils.HttpErrorInfo;
 import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import com.footballstore.orders.utils.exceptions.NotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +22,8 @@ import static org.springframework.http.HttpStatus.*;
 
 @Slf4j
 @Component
+@CircuitBreaker(name = "apparels-service")
+@Bulkhead(name = "apparels-service")
 public class ApparelsServiceClient {
 
     private final RestTemplate restTemplate;
@@ -59,6 +63,18 @@ public class ApparelsServiceClient {
         }
     }
 
+    public List<ApparelModel> getApparelsByApparelIds(List<String> apparelIds) {
+        try {
+            String url = BASE_URL + "?ids=" + String.join(",", apparelIds);
+            ApparelModel[] arr = restTemplate.getForObject(url, ApparelModel[].class);
+            return arr != null
+                    ? Arrays.asList(arr)
+                    : new ArrayList<>();
+        } catch (HttpClientErrorException ex) {
+            throw handleException(ex);
+        }
+    }
+
     public ApparelModel createApparel(ApparelModel newApparel) {
         try {
             return restTemplate.postForObject(BASE_URL, newApparel, ApparelModel.class);
@@ -114,6 +130,45 @@ public class ApparelsServiceClient {
         }
     }
 
+    public List<StockLevelModel> adjustStock(List<StockAdjustmentModel> adjustments) {
+        try {
+            String url = BASE_URL + "/stock/batch";
+            StockLevelModel[] arr = restTemplate.postForObject(url, adjustments, StockLevelModel[].class);
+            return arr != null
+                    ? Arrays.asList(arr)
+                    : new ArrayList<>();
+        } catch (HttpClientErrorException ex) {
+            throw handleException(ex);
+        }
+    }
+
+    public ReservationModel reserveStock(List<ReservationItemModel> items) {
+        try {
+            String url = BASE_URL + "/reservations";
+            return restTemplate.postForObject(url, new ReservationModel(null, items, null), ReservationModel.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleException(ex);
+        }
+    }
+
+    public void confirmReservation(String reservationId) {
+        try {
+            String url = BASE_URL + "/reservations/" + reservationId + "/confirm";
+            restTemplate.postForObject(url, null, Void.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleException(ex);
+        }
+    }
+
+    public void releaseReservation(String reservationId) {
+        try {
+            String url = BASE_URL + "/reservations/" + reservationId;
+            restTemplate.delete(url);
+        } catch (HttpClientErrorException ex) {
+            throw handleException(ex);
+        }
+    }
+
 
     private String extractErrorMessage(HttpClientErrorException ex) {
         try {
@@ -0,0 +1,21 @@
+package com.footballstore.orders.domainclientlayer.apparels;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReservationModel {
+    private String reservationId;
+    private List<ReservationItemModel> items;
+    private Instant expiresAt;
+}
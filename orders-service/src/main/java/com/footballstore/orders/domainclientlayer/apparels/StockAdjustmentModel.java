@@ -0,0 +1,16 @@
+package com.footballstore.orders.domainclientlayer.apparels;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAdjustmentModel {
+    private String apparelId;
+    private Integer quantity;
+    private StockOperation operation;
+}
@@ -0,0 +1,15 @@
+package com.footballstore.orders.domainclientlayer.apparels;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockLevelModel {
+    private String apparelId;
+    private Integer stock;
+}
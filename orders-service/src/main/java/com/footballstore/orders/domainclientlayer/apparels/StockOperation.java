@@ -0,0 +1,6 @@
+package com.footballstore.orders.domainclientlayer.apparels;
+
+public enum StockOperation {
+    DECREASE,
+    INCREASE
+}
@@ -4,6 +4,8 @@ import com.footballstore.orders.utils.HttpErrorInfo;
 import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import com.footballstore.orders.utils.exceptions.NotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +23,8 @@ import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
 @Component
+@CircuitBreaker(name = "customers-service")
+@Bulkhead(name = "customers-service")
 public class CustomersServiceClient {
 
     private final RestTemplate restTemplate;
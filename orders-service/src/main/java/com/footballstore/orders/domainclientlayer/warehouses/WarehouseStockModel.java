@@ -0,0 +1,18 @@
+package com.footballstore.orders.domainclientlayer.warehouses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WarehouseStockModel {
+    private String warehouseId;
+    private String apparelId;
+    private Integer quantity;
+    private Instant updatedAt;
+}
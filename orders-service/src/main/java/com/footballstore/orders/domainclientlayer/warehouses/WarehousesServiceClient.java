@@ -4,6 +4,8 @@ import com.footballstore.orders.utils.HttpErrorInfo;
 import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import com.footballstore.orders.utils.exceptions.NotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +14,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +24,8 @@ import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @Slf4j
 @Component
+@CircuitBreaker(name = "warehouses-service")
+@Bulkhead(name = "warehouses-service")
 public class WarehousesServiceClient {
 
     private final RestTemplate restTemplate;
@@ -88,9 +93,25 @@ public class WarehousesServiceClient {
         }
     }
 
+    // every stock row, or only those written after changedSince, oldest write first
+    public List<WarehouseStockModel> getStockChanges(Instant changedSince) {
+        log.debug("2. Request received in Orders-Service WarehousesServiceClient: getStockChanges({})", changedSince);
+        try {
+            String url = BASE_URL + "/stock" + (changedSince == null ? "" : "?changedSince=" + changedSince);
+            WarehouseStockModel[] arr = restTemplate.getForObject(url, WarehouseStockModel[].class);
+            return arr != null ? Arrays.asList(arr) : new ArrayList<>();
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
+    }
+
     public int getStock(String warehouseId, String apparelId) {
-        String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock";
-        return restTemplate.getForObject(url, Integer.class);
+        try {
+            String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock";
+            return restTemplate.getForObject(url, Integer.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
     }
 
     public boolean isInStock(String warehouseId, String apparelId, int qty) {
@@ -98,13 +119,21 @@ public class WarehousesServiceClient {
     }
 
     public void decreaseStock(String warehouseId, String apparelId, int qty) {
-        String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock/decrease?quantity=" + qty;
-        restTemplate.patchForObject(url, null, Void.class);
+        try {
+            String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock/decrease?quantity=" + qty;
+            restTemplate.patchForObject(url, null, Void.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
     }
 
     public void increaseStock(String warehouseId, String apparelId, int qty) {
-        String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock/increase?quantity=" + qty;
-        restTemplate.patchForObject(url, null, Void.class);
+        try {
+            String url = BASE_URL + "/" + warehouseId + "/apparels/" + apparelId + "/stock/increase?quantity=" + qty;
+            restTemplate.patchForObject(url, null, Void.class);
+        } catch (HttpClientErrorException ex) {
+            throw handleHttpClientException(ex);
+        }
     }
 
     private RuntimeException handleHttpClientException(HttpClientErrorException ex) {
@@ -1,6 +1,7 @@
 package com.footballstore.orders.mappinglayer;
 
 import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
 import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
 import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
 import com.footballstore.orders.presentationlayer.OrderRequestModel;
@@ -17,10 +18,17 @@ public interface OrderRequestMapper {
     @Mapping(target = "customerModel", source = "customer")
     @Mapping(target = "warehouseModel", source = "warehouse")
     @Mapping(target = "items", source = "items")
+    @Mapping(target = "allocations", ignore = true)
     @Mapping(target = "totalPrice", source = "totalPrice")
     @Mapping(target = "orderStatus", ignore = true)
     @Mapping(target = "paymentStatus", ignore = true)
     @Mapping(target = "orderDate", source = "orderDate")
+    @Mapping(target = "lastSagaId", ignore = true)
+    @Mapping(target = "acceptedBy", ignore = true)
+    @Mapping(target = "acceptedAt", ignore = true)
+    @Mapping(target = "pendingEvents", ignore = true)
+    @Mapping(target = "snapshotVersion", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Order mapToOrderEntity(
             OrderIdentifier orderIdentifier,
             CustomerModel customer,
@@ -30,4 +38,10 @@ public interface OrderRequestMapper {
             OrderPrice totalPrice,
             LocalDate orderDate
     );
+
+    CustomerSnapshot mapToCustomerSnapshot(CustomerModel customer);
+
+    WarehouseSnapshot mapToWarehouseSnapshot(WarehouseModel warehouse);
+
+    ApparelSnapshot mapToApparelSnapshot(ApparelModel apparel);
 }
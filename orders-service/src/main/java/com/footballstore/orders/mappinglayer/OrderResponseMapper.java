@@ -1,9 +1,13 @@
 package com.footballstore.orders.mappinglayer;
 
 import com.footballstore.orders.dataaccesslayer.Order;
+import com.footballstore.orders.dataaccesslayer.OrderEvent;
 import com.footballstore.orders.dataaccesslayer.OrderItem;
+import com.footballstore.orders.dataaccesslayer.OrderSummary;
+import com.footballstore.orders.presentationlayer.OrderEventResponseModel;
 import com.footballstore.orders.presentationlayer.OrderItemResponseModel;
 import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import com.footballstore.orders.presentationlayer.OrderSummaryResponseModel;
 import org.mapstruct.*;
 import org.springframework.hateoas.Link;
 
@@ -32,6 +36,7 @@ public interface OrderResponseMapper {
     @Mapping(target = "capacity",          expression = "java(order.getWarehouseModel().getCapacity())")
 
     @Mapping(target = "items",             source = "items")
+    @Mapping(target = "allocations",       source = "allocations")
     @Mapping(target = "totalAmount",       expression = "java(order.getTotalPrice().getAmount())")
     @Mapping(target = "currency",          expression = "java(order.getTotalPrice().getCurrency())")
     @Mapping(target = "orderStatus",       source = "orderStatus")
@@ -52,6 +57,17 @@ public interface OrderResponseMapper {
     @Mapping(target = "sizeOption",         expression = "java(item.getApparelModel().getSizeOption())")
     OrderItemResponseModel mapToOrderItemResponse(OrderItem item);
 
+    @Mapping(target = "orderId",            expression = "java(summary.getOrderIdentifier().getOrderId())")
+    @Mapping(target = "orderDate",          source = "orderDate")
+    @Mapping(target = "orderStatus",        source = "orderStatus")
+    @Mapping(target = "totalAmount",        expression = "java(summary.getTotalPrice().getAmount())")
+    @Mapping(target = "currency",           expression = "java(summary.getTotalPrice().getCurrency())")
+    OrderSummaryResponseModel mapToOrderSummaryResponse(OrderSummary summary);
+
+    @Mapping(target = "totalAmount",        expression = "java(event.getTotalPrice() == null ? null : event.getTotalPrice().getAmount())")
+    @Mapping(target = "currency",           expression = "java(event.getTotalPrice() == null ? null : event.getTotalPrice().getCurrency())")
+    OrderEventResponseModel mapToOrderEventResponse(OrderEvent event);
+
 //    @AfterMapping
 //    default void addHateoasLinks(@MappingTarget OrderResponseModel model, Order order) {
 //        Link self = linkTo(methodOn(
@@ -0,0 +1,13 @@
+package com.footballstore.orders.presentationlayer;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAllocationResponseModel {
+    private String warehouseId;
+    private String apparelId;
+    private Integer quantity;
+}
@@ -1,11 +1,17 @@
 package com.footballstore.orders.presentationlayer;
 
+import com.footballstore.orders.businesslayer.OrderIdempotencyService;
+import com.footballstore.orders.businesslayer.OrderIdempotencyService.IdempotentResponse;
 import com.footballstore.orders.businesslayer.OrderService;
 import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -14,7 +20,12 @@ import java.util.List;
 public class OrderController {
 
     private static final int UUID_LEN = 36;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String PREFER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
     private final OrderService service;
+    private final OrderIdempotencyService idempotency;
 
     @GetMapping
     public List<OrderResponseModel> getAllCustomerOrders(@PathVariable String customerId) {
@@ -24,26 +35,83 @@ public class OrderController {
         return service.getAllCustomerOrders(customerId);
     }
 
+    @GetMapping(params = "limit")
+    public OrderPageResponseModel<OrderResponseModel> getCustomerOrderHistory(
+            @PathVariable String customerId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        validatePage(customerId, limit);
+        return service.getCustomerOrderHistory(customerId, cursor, limit);
+    }
+
+    @GetMapping("/summaries")
+    public OrderPageResponseModel<OrderSummaryResponseModel> getCustomerOrderSummaries(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        validatePage(customerId, limit);
+        return service.getCustomerOrderSummaries(customerId, cursor, limit);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponseModel> getCustomerOrderById(
             @PathVariable String customerId,
-            @PathVariable String orderId
+            @PathVariable String orderId,
+            WebRequest request
     ) {
         if (customerId.length() != UUID_LEN || orderId.length() != UUID_LEN) {
             throw new InvalidInputException("Invalid IDs");
         }
-        return ResponseEntity.ok(service.getCustomerOrderById(customerId, orderId));
+        // a revalidation only reads the version; the order is loaded and mapped on a miss
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(service.getCustomerOrderVersion(customerId, orderId)))) {
+            return null;
+        }
+        var order = service.getCustomerOrderById(customerId, orderId);
+        return ResponseEntity.ok().eTag(etag(order.getVersion())).body(order);
     }
 
+    // Prefer: respond-async (RFC 7240) returns 202 straight away; the Location is polled until
+    // the order leaves ACCEPTED
     @PostMapping
     public ResponseEntity<OrderResponseModel> processCustomerOrder(
             @PathVariable String customerId,
+            @RequestHeader(value = PREFER, required = false) List<String> preferences,
             @RequestBody OrderRequestModel request
     ) {
+        if (respondAsync(preferences)) {
+            if (customerId.length() != UUID_LEN) {
+                throw new InvalidInputException("Invalid customerId: " + customerId);
+            }
+            return accepted(ResponseEntity.accepted(), service.acceptCustomerOrder(customerId, request));
+        }
         var created = service.processCustomerOrder(customerId, request);
         return ResponseEntity.status(201).body(created);
     }
 
+    // a retried POST under the same Idempotency-Key gets the first response back instead of a second order
+    @PostMapping(headers = IDEMPOTENCY_KEY)
+    public ResponseEntity<OrderResponseModel> processCustomerOrderIdempotently(
+            @PathVariable String customerId,
+            @RequestHeader(IDEMPOTENCY_KEY) String idempotencyKey,
+            @RequestHeader(value = PREFER, required = false) List<String> preferences,
+            @RequestBody OrderRequestModel request
+    ) {
+        if (customerId.length() != UUID_LEN) {
+            throw new InvalidInputException("Invalid customerId: " + customerId);
+        }
+        if (respondAsync(preferences)) {
+            var outcome = idempotency.execute(customerId, idempotencyKey, request, 202,
+                    () -> service.acceptCustomerOrder(customerId, request));
+            return accepted(replayable(outcome), outcome.getBody());
+        }
+        var outcome = idempotency.execute(customerId, idempotencyKey, request, 201,
+                () -> service.processCustomerOrder(customerId, request));
+        return replayable(outcome).body(outcome.getBody());
+    }
+
     @PutMapping("/{orderId}")
     public ResponseEntity<OrderResponseModel> updateCustomerOrder(
             @PathVariable String customerId,
@@ -68,4 +136,54 @@ public class OrderController {
         service.deleteCustomerOrder(customerId, orderId);
         return ResponseEntity.noContent().build();
     }
+
+    private static ResponseEntity<OrderResponseModel> accepted(ResponseEntity.BodyBuilder response,
+                                                               OrderResponseModel order) {
+        return response
+                .location(statusLocation(order.getOrderId()))
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(order);
+    }
+
+    // Prefer may repeat and carries a list of preferences, each with optional parameters
+    // ("respond-async, wait=10"); only the preference name matters here
+    static boolean respondAsync(List<String> preferences) {
+        if (preferences == null) {
+            return false;
+        }
+        for (String header : preferences) {
+            for (String preference : header.split(",")) {
+                String name = preference.split("[;=]", 2)[0].trim();
+                if (RESPOND_ASYNC.equalsIgnoreCase(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static URI statusLocation(String orderId) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{orderId}")
+                .buildAndExpand(orderId)
+                .toUri();
+    }
+
+    private static ResponseEntity.BodyBuilder replayable(IdempotentResponse outcome) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(outcome.getStatus());
+        return outcome.isReplayed() ? response.header("Idempotent-Replayed", "true") : response;
+    }
+
+    private static void validatePage(String customerId, int limit) {
+        if (customerId.length() != UUID_LEN) {
+            throw new InvalidInputException("Invalid customerId: " + customerId);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 }
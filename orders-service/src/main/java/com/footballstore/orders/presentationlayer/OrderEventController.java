@@ -0,0 +1,28 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.utils.exceptions.InvalidInputException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/orders/events")
+@RequiredArgsConstructor
+public class OrderEventController {
+
+    private final OrderEventStreams eventStreams;
+
+    // resumes after ?after= or the standard Last-Event-ID header; with neither, replays from the start
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        long offset = after != null ? after : lastEventId != null ? lastEventId : 0L;
+        if (offset < 0) {
+            throw new InvalidInputException("Invalid event offset: " + offset);
+        }
+        return eventStreams.subscribe(offset);
+    }
+}
@@ -0,0 +1,29 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderEventType;
+import com.footballstore.orders.dataaccesslayer.OrderStatus;
+import com.footballstore.orders.dataaccesslayer.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEventResponseModel {
+    private Long offset;
+    private String eventId;
+    private OrderEventType eventType;
+    private String orderId;
+    private String customerId;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private BigDecimal totalAmount;
+    private String currency;
+    private Instant occurredAt;
+}
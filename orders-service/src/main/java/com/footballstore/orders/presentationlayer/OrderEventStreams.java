@@ -0,0 +1,160 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.businesslayer.OrderEventService;
+import com.footballstore.orders.businesslayer.OrderEventSink;
+import com.footballstore.orders.dataaccesslayer.OrderEvent;
+import com.footballstore.orders.mappinglayer.OrderResponseMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The server-sent event side of the order event bus. A new subscriber first replays
+ * {@code order_events} after its resume offset, then switches to live delivery; live
+ * events that arrive during the replay wait in its queue and are de-duplicated by offset.
+ * <p>
+ * Each subscriber has its own sender and a bounded queue, so {@link #accept} only enqueues
+ * and a slow client never holds up the relay or the other subscribers. A subscriber whose
+ * queue is full is closed; it resumes from its last event id like any other reconnect.
+ */
+@Slf4j
+@Component
+public class OrderEventStreams implements OrderEventSink {
+
+    private static final int REPLAY_BATCH = 500;
+
+    private final OrderEventService eventService;
+    private final OrderResponseMapper orderModelMapper;
+    private final Duration streamTimeout;
+    private final int bufferSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senderExecutor;
+
+    public OrderEventStreams(OrderEventService eventService,
+                             OrderResponseMapper orderModelMapper,
+                             @Value("${app.order-events.stream-timeout:PT30M}") Duration streamTimeout,
+                             @Value("${app.order-events.subscriber-buffer:256}") int bufferSize,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.eventService = eventService;
+        this.orderModelMapper = orderModelMapper;
+        this.streamTimeout = streamTimeout;
+        this.bufferSize = bufferSize;
+        this.senderExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-events-sender-", 1).factory())
+                : Executors.newCachedThreadPool(new CustomizableThreadFactory("order-events-sender-"));
+    }
+
+    public SseEmitter subscribe(long afterOffset) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, afterOffset, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(ex -> close(subscriber));
+        subscriber.sender = senderExecutor.submit(() -> deliver(subscriber));
+        if (subscriber.closed) {
+            subscriber.sender.cancel(true);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void accept(OrderEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        OrderEventResponseModel model = orderModelMapper.mapToOrderEventResponse(event);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.pending.offer(model)) {
+                log.debug("Closing order event subscriber {} event(s) behind at offset {}",
+                        bufferSize, subscriber.lastOffset);
+                close(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senderExecutor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.complete();
+            } catch (RuntimeException ex) {
+                // the client went away and its response was already recycled
+                log.debug("Order event subscriber already gone: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // runs on the subscriber's own thread until it is closed
+    private void deliver(Subscriber subscriber) {
+        try {
+            List<OrderEventResponseModel> batch;
+            do {
+                batch = eventService.getOrderEventsAfter(subscriber.lastOffset, REPLAY_BATCH);
+                for (OrderEventResponseModel event : batch) {
+                    subscriber.send(event);
+                }
+            } while (batch.size() == REPLAY_BATCH);
+            while (!subscriber.closed) {
+                subscriber.send(subscriber.pending.take());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Dropping order event subscriber: {}", ex.getMessage());
+            close(subscriber);
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        Future<?> sender = subscriber.sender;
+        if (sender != null) {
+            sender.cancel(true);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<OrderEventResponseModel> pending;
+        private volatile Future<?> sender;
+        private volatile boolean closed;
+        // only the sender thread moves it; read elsewhere for logging
+        private volatile long lastOffset;
+
+        Subscriber(SseEmitter emitter, long afterOffset, int bufferSize) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+            this.lastOffset = afterOffset;
+        }
+
+        void send(OrderEventResponseModel event) throws IOException {
+            if (event.getOffset() <= lastOffset) {
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getOffset()))
+                    .name(event.getEventType().name())
+                    .data(event));
+            lastOffset = event.getOffset();
+        }
+    }
+}
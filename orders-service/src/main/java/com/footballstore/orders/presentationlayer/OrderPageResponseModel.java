@@ -0,0 +1,16 @@
+package com.footballstore.orders.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponseModel<T> {
+    private List<T> items;
+    // opaque token for the next (older) page; null on the last page
+    private String nextCursor;
+}
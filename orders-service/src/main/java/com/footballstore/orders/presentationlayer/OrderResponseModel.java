@@ -31,8 +31,10 @@ public class OrderResponseModel {
     private String warehouseAddress;
     private Integer capacity;
     private List<OrderItemResponseModel> items;
+    private List<OrderAllocationResponseModel> allocations;
     private BigDecimal totalAmount;
     private String currency;
     private OrderStatus orderStatus;
     private PaymentStatus paymentStatus;
+    private long version;
 }
@@ -0,0 +1,22 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponseModel {
+    private String orderId;
+    private LocalDate orderDate;
+    private OrderStatus orderStatus;
+    private BigDecimal totalAmount;
+    private String currency;
+}
@@ -8,6 +8,7 @@ import com.footballstore.orders.domainclientlayer.customers.Address;
 import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
 import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
 import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.mappinglayer.OrderRequestMapper;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -20,9 +21,11 @@ import java.util.List;
 public class DatabaseLoaderService implements CommandLineRunner {
 
     private final OrderRepository orderRepository;
+    private final OrderRequestMapper orderEntityMapper;
 
-    public DatabaseLoaderService(OrderRepository orderRepository) {
+    public DatabaseLoaderService(OrderRepository orderRepository, OrderRequestMapper orderEntityMapper) {
         this.orderRepository = orderRepository;
+        this.orderEntityMapper = orderEntityMapper;
     }
 
     @Override
@@ -169,7 +172,7 @@ public class DatabaseLoaderService implements CommandLineRunner {
 
         var orderItem = OrderItem.builder()
                 .orderItemIdentifier(itemId)
-                .apparelModel(app)
+                .apparelModel(orderEntityMapper.mapToApparelSnapshot(app))
                 .quantity(quantity)
                 .unitPrice(app.getPrice())
                 .discount(BigDecimal.ZERO)
@@ -178,8 +181,8 @@ public class DatabaseLoaderService implements CommandLineRunner {
 
         return Order.builder()
                 .orderIdentifier(new OrderIdentifier(manualOrderId))
-                .customerModel(cust)
-                .warehouseModel(wh)
+                .customerModel(orderEntityMapper.mapToCustomerSnapshot(cust))
+                .warehouseModel(orderEntityMapper.mapToWarehouseSnapshot(wh))
                 .items(List.of(orderItem))
                 .totalPrice(new OrderPrice(lineTotal, "USD"))
                 .orderStatus(OrderStatus.CREATED)
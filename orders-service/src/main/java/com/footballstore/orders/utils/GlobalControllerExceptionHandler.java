@@ -1,10 +1,17 @@
 package com.footballstore.orders.utils;
 
+import com.footballstore.orders.utils.exceptions.IdempotencyKeyInProgressException;
 import com.footballstore.orders.utils.exceptions.InvalidInputException;
 import com.footballstore.orders.utils.exceptions.NotFoundException;
+import com.footballstore.orders.utils.exceptions.OrderCapacityExceededException;
 import com.footballstore.orders.utils.exceptions.OrderStateException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
@@ -38,6 +45,37 @@ public class GlobalControllerExceptionHandler {
         return createHttpErrorInfo(UNPROCESSABLE_ENTITY, request, ex);
     }
 
+    // the acceptance queue drains in seconds, so ask the client to come back shortly
+    @ExceptionHandler(OrderCapacityExceededException.class)
+    public ResponseEntity<HttpErrorInfo> handleOrderCapacityExceededException(WebRequest request, Exception ex) {
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createHttpErrorInfo(SERVICE_UNAVAILABLE, request, ex));
+    }
+
+    // the first request with this key is still running; a retry shortly after will get its response
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<HttpErrorInfo> handleIdempotencyKeyInProgressException(WebRequest request, Exception ex) {
+        return ResponseEntity.status(CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createHttpErrorInfo(CONFLICT, request, ex));
+    }
+
+    // the order was saved by someone else since it was read; a retry reads the new version
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public HttpErrorInfo handleOptimisticLockingFailureException(WebRequest request, Exception ex) {
+        return createHttpErrorInfo(CONFLICT, request, ex);
+    }
+
+    // an open circuit breaker or a full bulkhead: the downstream is failing fast, not this request
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<HttpErrorInfo> handleDownstreamUnavailable(WebRequest request, Exception ex) {
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(createHttpErrorInfo(SERVICE_UNAVAILABLE, request, ex));
+    }
+
     private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, WebRequest request, Exception ex) {
         final String path = request.getDescription(false);
         final String message = ex.getMessage();
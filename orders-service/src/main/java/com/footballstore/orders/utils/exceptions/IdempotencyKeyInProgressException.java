@@ -0,0 +1,8 @@
+package com.footballstore.orders.utils.exceptions;
+
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
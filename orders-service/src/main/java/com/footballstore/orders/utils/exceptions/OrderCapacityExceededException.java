@@ -0,0 +1,8 @@
+package com.footballstore.orders.utils.exceptions;
+
+
+public class OrderCapacityExceededException extends RuntimeException {
+    public OrderCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,301 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.presentationlayer.OrderItemRequestModel;
+import com.footballstore.orders.presentationlayer.OrderRequestModel;
+import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import com.footballstore.orders.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.orders.async.workers=1",
+        "app.orders.async.queue-capacity=1"
+})
+@ActiveProfiles("test")
+class AsyncOrderAcceptanceIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-000000000015";
+    private static final String WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000015";
+    private static final String BASE_URI = "/api/v1/customers/" + CUSTOMER_ID + "/orders";
+
+    @Autowired private WebTestClient webClient;
+    @Autowired private OrderServiceImpl orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ExecutorService orderAcceptanceExecutor;
+    @Autowired private MongoTemplate mongoTemplate;
+
+    @MockitoBean private CustomersServiceClient customersClient;
+    @MockitoBean private WarehousesServiceClient warehousesClient;
+    @MockitoBean private ApparelsServiceClient apparelsClient;
+
+    // holds the single worker inside the customer lookup until a test lets it go
+    private CountDownLatch downstreamGate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        downstreamGate = new CountDownLatch(0);
+
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID)).thenAnswer(inv -> {
+            assertTrue(downstreamGate.await(10, TimeUnit.SECONDS));
+            return CustomerModel.builder().customerId(CUSTOMER_ID).firstName("Ada").build();
+        });
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).locationName("Main").build());
+        when(warehousesClient.getStock(eq(WAREHOUSE_ID), anyString())).thenReturn(50);
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").itemName("Home Jersey").stock(50).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-15").build());
+    }
+
+    @AfterEach
+    void drainWorkers() throws InterruptedException {
+        downstreamGate.countDown();
+        // work left queued by a test must not run against the next test's mocks
+        ThreadPoolExecutor workers = (ThreadPoolExecutor) orderAcceptanceExecutor;
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while ((workers.getActiveCount() > 0 || !workers.getQueue().isEmpty()) && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void acceptOrder_returns202WithStatusUrl_thenOrderBecomesCreated() {
+        downstreamGate = new CountDownLatch(1);
+
+        var result = accept()
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals("Preference-Applied", "respond-async")
+                .expectBody(OrderResponseModel.class)
+                .returnResult();
+        OrderResponseModel accepted = result.getResponseBody();
+        URI status = result.getResponseHeaders().getLocation();
+
+        assertEquals(OrderStatus.ACCEPTED, accepted.getOrderStatus());
+        assertEquals(new BigDecimal("20"), accepted.getTotalAmount());
+        assertTrue(status.getPath().endsWith("/orders/" + accepted.getOrderId()));
+        assertEquals(OrderStatus.ACCEPTED, poll(status).getOrderStatus());
+
+        downstreamGate.countDown();
+        OrderResponseModel created = awaitStatus(status, OrderStatus.CREATED);
+        assertEquals("Ada", created.getFirstName());
+        assertEquals("Home Jersey", created.getItems().get(0).getItemName());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void acceptOrder_preferenceListedWithOthers_isHonoured() {
+        webClient.post().uri(BASE_URI)
+                .header("Prefer", "respond-async, wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request())
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals("Preference-Applied", "respond-async");
+    }
+
+    @Test
+    void acceptOrder_downstreamFailure_cancelsTheOrder() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenThrow(new NotFoundException("Customer not found: " + CUSTOMER_ID));
+
+        URI status = accept()
+                .expectStatus().isAccepted()
+                .returnResult(OrderResponseModel.class)
+                .getResponseHeaders().getLocation();
+
+        awaitStatus(status, OrderStatus.CANCELLED);
+        verify(apparelsClient, never()).reserveStock(anyList());
+    }
+
+    @Test
+    void acceptOrder_failsAfterTheOrderMovedOn_leavesItAsItIs() throws InterruptedException {
+        downstreamGate = new CountDownLatch(1);
+        doAnswer(inv -> {
+            assertTrue(downstreamGate.await(10, TimeUnit.SECONDS));
+            throw new NotFoundException("Customer not found: " + CUSTOMER_ID);
+        }).when(customersClient).getCustomerByCustomerId(CUSTOMER_ID);
+        String orderId = accept()
+                .expectStatus().isAccepted()
+                .expectBody(OrderResponseModel.class)
+                .returnResult().getResponseBody().getOrderId();
+        // placed before a later step failed; the version is left alone, so only a fresh read
+        // shows the order is no longer ACCEPTED
+        mongoTemplate.updateFirst(query(where("orderIdentifier.orderId").is(orderId)),
+                new Update().set("orderStatus", OrderStatus.CREATED), Order.class);
+
+        downstreamGate.countDown();
+        drainWorkers();
+
+        Order current = orderRepository.findByOrderIdentifier_OrderId(orderId);
+        assertEquals(OrderStatus.CREATED, current.getOrderStatus());
+        assertNull(current.getPendingEvents());
+    }
+
+    @Test
+    void acceptOrder_queueFull_isTurnedAwayWith503() {
+        downstreamGate = new CountDownLatch(1);
+        accept().expectStatus().isAccepted();
+        // the first order holds the only worker; this one takes the only queue slot
+        accept().expectStatus().isAccepted();
+
+        accept()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void acceptedOrder_cannotBeUpdatedOrCancelled() {
+        downstreamGate = new CountDownLatch(1);
+        String orderId = accept()
+                .expectStatus().isAccepted()
+                .expectBody(OrderResponseModel.class)
+                .returnResult().getResponseBody().getOrderId();
+
+        webClient.put().uri(BASE_URI + "/" + orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request())
+                .exchange()
+                .expectStatus().isEqualTo(422);
+        webClient.delete().uri(BASE_URI + "/" + orderId)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    @Test
+    void cancelAbandonedOrders_cancelsOnlyStaleOrdersLeftAccepted() {
+        String orderId = UUID.randomUUID().toString();
+        String inFlightId = UUID.randomUUID().toString();
+        String processingId = UUID.randomUUID().toString();
+        Instant staleBefore = Instant.now().minus(Duration.ofMinutes(2));
+        orderRepository.save(acceptedOrder(orderId, staleBefore.minus(Duration.ofMinutes(1))));
+        // another instance is still placing this one
+        orderRepository.save(acceptedOrder(inFlightId, Instant.now()));
+        // set by a client through the update API, not by acceptance
+        orderRepository.save(storedOrder(processingId, OrderStatus.PROCESSING));
+
+        assertEquals(1, orderService.cancelAbandonedOrders(staleBefore));
+
+        Order cancelled = orderRepository.findByOrderIdentifier_OrderId(orderId);
+        assertEquals(OrderStatus.CANCELLED, cancelled.getOrderStatus());
+        assertEquals(OrderEventType.ORDER_CANCELLED, cancelled.getPendingEvents().get(0).getEventType());
+        assertEquals(OrderStatus.ACCEPTED, orderRepository.findByOrderIdentifier_OrderId(inFlightId).getOrderStatus());
+        assertEquals(OrderStatus.PROCESSING, orderRepository.findByOrderIdentifier_OrderId(processingId).getOrderStatus());
+    }
+
+    @Test
+    void updateOrder_toAccepted_isRejected() {
+        String orderId = UUID.randomUUID().toString();
+        orderRepository.save(storedOrder(orderId, OrderStatus.CREATED));
+        OrderRequestModel request = request();
+        request.setOrderStatus(OrderStatus.ACCEPTED);
+
+        webClient.put().uri(BASE_URI + "/" + orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    private static Order acceptedOrder(String orderId, Instant acceptedAt) {
+        Order order = storedOrder(orderId, OrderStatus.ACCEPTED);
+        order.setAcceptedBy("another-instance");
+        order.setAcceptedAt(acceptedAt);
+        return order;
+    }
+
+    private static Order storedOrder(String orderId, OrderStatus status) {
+        return Order.builder()
+                .orderIdentifier(new OrderIdentifier(orderId))
+                .customerModel(CustomerSnapshot.builder().customerId(CUSTOMER_ID).build())
+                .items(List.of())
+                .orderStatus(status)
+                .orderDate(LocalDate.now())
+                .build();
+    }
+
+    private WebTestClient.ResponseSpec accept() {
+        return webClient.post().uri(BASE_URI)
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request())
+                .exchange();
+    }
+
+    private OrderResponseModel poll(URI status) {
+        return webClient.get().uri(status.getPath())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderResponseModel.class)
+                .returnResult().getResponseBody();
+    }
+
+    private OrderResponseModel awaitStatus(URI status, OrderStatus expected) {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        OrderResponseModel order = poll(status);
+        while (order.getOrderStatus() != expected && Instant.now().isBefore(deadline)) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            order = poll(status);
+        }
+        assertEquals(expected, order.getOrderStatus());
+        return order;
+    }
+
+    private static OrderRequestModel request() {
+        return OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(OrderItemRequestModel.builder()
+                        .apparelId("A1")
+                        .quantity(2)
+                        .unitPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .currency("USD")
+                        .build()))
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+    }
+}
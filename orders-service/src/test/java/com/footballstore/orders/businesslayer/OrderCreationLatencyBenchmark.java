@@ -0,0 +1,141 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.Order;
+import com.footballstore.orders.dataaccesslayer.OrderRepository;
+import com.footballstore.orders.dataaccesslayer.OrderSagaRepository;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.mappinglayer.OrderRequestMapper;
+import com.footballstore.orders.mappinglayer.OrderResponseMapper;
+import com.footballstore.orders.presentationlayer.OrderItemRequestModel;
+import com.footballstore.orders.presentationlayer.OrderRequestModel;
+import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Order-creation latency against cart size, with every downstream call stubbed
+ * to take {@link #ROUND_TRIP_MS}. Compares the serial path (single worker) with
+ * the concurrent fan-out. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class OrderCreationLatencyBenchmark {
+
+    private static final long ROUND_TRIP_MS = 5;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 50;
+
+    @Test
+    void latencyByCartSize() {
+        System.out.printf("%-6s %-10s %10s %10s%n", "lines", "mode", "p50(ms)", "p99(ms)");
+        for (int lines : new int[]{1, 5, 10, 20}) {
+            report(lines, "serial", Executors.newSingleThreadExecutor());
+            report(lines, "fan-out", Executors.newFixedThreadPool(32));
+        }
+    }
+
+    private void report(int lines, String mode, ExecutorService executor) {
+        try {
+            OrderServiceImpl service = stubbedService(executor);
+            OrderRequestModel request = cart(lines);
+            for (int i = 0; i < WARMUP; i++) {
+                service.processCustomerOrder("c-1", request);
+            }
+            long[] samples = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                service.processCustomerOrder("c-1", request);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-6d %-10s %10.1f %10.1f%n", lines, mode,
+                    samples[RUNS / 2] / 1e6, samples[(int) (RUNS * 0.99)] / 1e6);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private OrderServiceImpl stubbedService(ExecutorService executor) {
+        CustomersServiceClient customers = mock(CustomersServiceClient.class);
+        WarehousesServiceClient warehouses = mock(WarehousesServiceClient.class);
+        ApparelsServiceClient apparels = mock(ApparelsServiceClient.class);
+        OrderRepository repository = mock(OrderRepository.class);
+        OrderRequestMapper requestMapper = mock(OrderRequestMapper.class);
+        OrderResponseMapper responseMapper = mock(OrderResponseMapper.class);
+
+        when(customers.getCustomerByCustomerId(anyString())).thenAnswer(inv -> {
+            roundTrip();
+            return CustomerModel.builder().customerId(inv.getArgument(0)).build();
+        });
+        when(warehouses.getWarehouseByWarehouseId(anyString())).thenAnswer(inv -> {
+            roundTrip();
+            return WarehouseModel.builder().warehouseId(inv.getArgument(0)).build();
+        });
+        when(apparels.getApparelsByApparelIds(anyList())).thenAnswer(inv -> {
+            roundTrip();
+            List<String> ids = inv.getArgument(0);
+            return ids.stream()
+                    .map(id -> ApparelModel.builder().apparelId(id).stock(Integer.MAX_VALUE).build())
+                    .toList();
+        });
+        when(apparels.reserveStock(anyList())).thenAnswer(inv -> {
+            roundTrip();
+            return ReservationModel.builder().reservationId(UUID.randomUUID().toString()).build();
+        });
+        doAnswer(inv -> {
+            roundTrip();
+            return null;
+        }).when(apparels).confirmReservation(anyString());
+        when(requestMapper.mapToOrderEntity(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> new Order());
+        when(repository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(responseMapper.mapToOrderResponse(any(Order.class))).thenReturn(new OrderResponseModel());
+
+        OrderSagaOrchestrator sagas = new OrderSagaOrchestrator(
+                mock(OrderSagaRepository.class), repository, apparels, warehouses, executor,
+                mock(MongoTemplate.class), Duration.ofMinutes(2));
+        // never loaded, so the named warehouse is asked for each line; answered at once here,
+        // those checks are the same in both modes and only the fan-out is timed
+        when(warehouses.getStock(anyString(), anyString())).thenReturn(Integer.MAX_VALUE);
+        WarehouseAllocator allocator = new WarehouseAllocator(
+                new WarehouseStockSnapshot(warehouses, Duration.ofSeconds(10), Duration.ofMinutes(5)), warehouses);
+
+        return new OrderServiceImpl(repository, customers, warehouses, apparels,
+                requestMapper, responseMapper, executor, sagas, executor, allocator);
+    }
+
+    private static OrderRequestModel cart(int lines) {
+        List<OrderItemRequestModel> items = IntStream.range(0, lines)
+                .mapToObj(i -> OrderItemRequestModel.builder()
+                        .apparelId(UUID.randomUUID().toString())
+                        .quantity(1)
+                        .unitPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .currency("USD")
+                        .build())
+                .toList();
+        return OrderRequestModel.builder().warehouseId("w-1").items(items).build();
+    }
+
+    private static void roundTrip() throws InterruptedException {
+        Thread.sleep(ROUND_TRIP_MS);
+    }
+}
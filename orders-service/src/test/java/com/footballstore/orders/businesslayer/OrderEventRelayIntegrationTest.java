@@ -0,0 +1,160 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.presentationlayer.OrderItemRequestModel;
+import com.footballstore.orders.presentationlayer.OrderRequestModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "app.order-events.relay-interval=PT1H")
+@ActiveProfiles("test")
+class OrderEventRelayIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-000000000014";
+    private static final String WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000014";
+
+    @Autowired private OrderServiceImpl orderService;
+    @Autowired private OrderEventRelay eventRelay;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderEventRepository eventRepository;
+    @Autowired private RecordingSink recordingSink;
+
+    @MockitoBean private CustomersServiceClient customersClient;
+    @MockitoBean private WarehousesServiceClient warehousesClient;
+    @MockitoBean private ApparelsServiceClient apparelsClient;
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OrderEventSink {
+        final List<OrderEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void accept(OrderEvent event) {
+            received.add(event);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        eventRelay.relay();
+        orderRepository.deleteAll();
+        recordingSink.received.clear();
+
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).build());
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).build());
+        when(warehousesClient.getStock(eq(WAREHOUSE_ID), anyString())).thenReturn(50);
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").stock(50).build()));
+        when(apparelsClient.getApparelByApparelId("A1"))
+                .thenReturn(ApparelModel.builder().apparelId("A1").stock(50).build());
+        when(apparelsClient.getStock(anyString())).thenReturn(50);
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-14").build());
+    }
+
+    @Test
+    void lifecycleChanges_areSavedWithTheOrder_untilRelayed() {
+        String orderId = orderService.processCustomerOrder(CUSTOMER_ID, request(1)).getOrderId();
+
+        Order saved = orderRepository.findByOrderIdentifier_OrderId(orderId);
+        assertEquals(1, saved.getPendingEvents().size());
+        assertEquals(OrderEventType.ORDER_CREATED, saved.getPendingEvents().get(0).getEventType());
+        assertFalse(eventRepository.existsByEventId(saved.getPendingEvents().get(0).getEventId()));
+    }
+
+    @Test
+    void relay_publishesCreateUpdateCancelInOffsetOrder_andDrainsTheOutbox() {
+        String orderId = orderService.processCustomerOrder(CUSTOMER_ID, request(1)).getOrderId();
+        orderService.updateCustomerOrder(CUSTOMER_ID, orderId, request(2));
+        orderService.deleteCustomerOrder(CUSTOMER_ID, orderId);
+
+        assertEquals(3, eventRelay.relay());
+
+        assertEquals(List.of(OrderEventType.ORDER_CREATED, OrderEventType.ORDER_UPDATED,
+                        OrderEventType.ORDER_CANCELLED),
+                recordingSink.received.stream().map(OrderEvent::getEventType).toList());
+        List<Long> offsets = recordingSink.received.stream().map(OrderEvent::getOffset).toList();
+        assertTrue(offsets.get(0) < offsets.get(1) && offsets.get(1) < offsets.get(2));
+        assertEquals(OrderStatus.CANCELLED, recordingSink.received.get(2).getOrderStatus());
+        assertTrue(recordingSink.received.stream().allMatch(e -> orderId.equals(e.getOrderId())));
+
+        assertTrue(orderRepository.findByOrderIdentifier_OrderId(orderId).getPendingEvents().isEmpty());
+        assertEquals(0, eventRelay.relay());
+    }
+
+    @Test
+    void relay_entryAlreadyInTheLog_isRemovedWithoutPublishingAgain() {
+        String orderId = orderService.processCustomerOrder(CUSTOMER_ID, request(1)).getOrderId();
+        OrderOutboxEntry entry = orderRepository.findByOrderIdentifier_OrderId(orderId).getPendingEvents().get(0);
+        // as if the relay stopped after writing the log entry but before draining the order
+        eventRepository.insert(OrderEvent.builder()
+                .offset(Long.MAX_VALUE)
+                .eventId(entry.getEventId())
+                .eventType(entry.getEventType())
+                .orderId(orderId)
+                .build());
+
+        assertEquals(0, eventRelay.relay());
+        assertTrue(recordingSink.received.isEmpty());
+        assertTrue(orderRepository.findByOrderIdentifier_OrderId(orderId).getPendingEvents().isEmpty());
+    }
+
+    @Test
+    void publish_failingSink_doesNotStopTheOtherSinks() {
+        StaticListableBeanFactory sinks = new StaticListableBeanFactory();
+        sinks.addBean("failing", (OrderEventSink) event -> {
+            throw new IllegalStateException("sink down");
+        });
+        sinks.addBean("recording", recordingSink);
+
+        new OrderEventBus(sinks.getBeanProvider(OrderEventSink.class))
+                .publish(OrderEvent.builder().offset(1L).eventType(OrderEventType.ORDER_CREATED).build());
+
+        assertEquals(1, recordingSink.received.size());
+    }
+
+    private static OrderRequestModel request(int quantity) {
+        return OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(OrderItemRequestModel.builder()
+                        .apparelId("A1")
+                        .quantity(quantity)
+                        .unitPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .currency("USD")
+                        .build()))
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+    }
+}
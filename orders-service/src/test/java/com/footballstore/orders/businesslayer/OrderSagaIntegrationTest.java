@@ -0,0 +1,444 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationModel;
+import com.footballstore.orders.domainclientlayer.apparels.StockOperation;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseStockModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.presentationlayer.OrderItemRequestModel;
+import com.footballstore.orders.presentationlayer.OrderRequestModel;
+import com.footballstore.orders.utils.exceptions.InvalidInputException;
+import com.footballstore.orders.utils.exceptions.NotFoundException;
+import com.footballstore.orders.utils.exceptions.StockExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSagaIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-000000000001";
+    private static final String WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000001";
+    private static final List<String> APPARELS = List.of("A1", "A2", "A3", "A4");
+    private static final String NEAR_WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000002";
+    private static final String FAR_WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000003";
+
+    @Autowired private OrderServiceImpl orderService;
+    @MockitoSpyBean private OrderSagaOrchestrator sagaOrchestrator;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderSagaRepository sagaRepository;
+    @Autowired private WarehouseStockSnapshot stockSnapshot;
+
+    @MockitoBean private CustomersServiceClient customersClient;
+    @MockitoBean private WarehousesServiceClient warehousesClient;
+    @MockitoBean private ApparelsServiceClient apparelsClient;
+
+    private String orderId;
+
+    @BeforeEach
+    void setUp() {
+        sagaRepository.deleteAll();
+        when(warehousesClient.getStock(eq(WAREHOUSE_ID), anyString())).thenReturn(100);
+        orderId = UUID.randomUUID().toString();
+        orderRepository.save(Order.builder()
+                .orderIdentifier(new OrderIdentifier(orderId))
+                .customerModel(CustomerSnapshot.builder().customerId(CUSTOMER_ID).build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId(WAREHOUSE_ID).build())
+                .items(APPARELS.stream().map(id -> OrderItem.builder()
+                        .orderItemIdentifier(new OrderItemIdentifier())
+                        .apparelModel(ApparelSnapshot.builder().apparelId(id).build())
+                        .quantity(1)
+                        .unitPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .lineTotal(BigDecimal.TEN)
+                        .build()).toList())
+                .totalPrice(new OrderPrice(new BigDecimal("40"), "USD"))
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build());
+    }
+
+    @Test
+    void updateOrder_stockShortOnThirdItem_compensatesEarlierDecrements() {
+        when(apparelsClient.getStock(anyString())).thenReturn(100);
+        when(apparelsClient.getStock("A3")).thenReturn(0);
+
+        var ex = assertThrows(StockExceededException.class,
+                () -> orderService.updateCustomerOrder(CUSTOMER_ID, orderId, quantities(3)));
+        assertTrue(ex.getMessage().contains("A3"));
+
+        verify(apparelsClient).decreaseStock("A1", 2);
+        verify(apparelsClient).decreaseStock("A2", 2);
+        verify(apparelsClient, never()).decreaseStock(eq("A3"), anyInt());
+        verify(apparelsClient).increaseStock("A1", 2);
+        verify(apparelsClient).increaseStock("A2", 2);
+        verify(apparelsClient, never()).increaseStock(eq("A3"), anyInt());
+
+        OrderSaga saga = onlySaga();
+        assertEquals(SagaType.UPDATE_ORDER, saga.getSagaType());
+        assertEquals(SagaStatus.COMPENSATED, saga.getSagaStatus());
+        assertEquals(List.of(SagaStepStatus.COMPENSATED, SagaStepStatus.COMPENSATED,
+                        SagaStepStatus.PENDING, SagaStepStatus.PENDING),
+                saga.getSteps().stream().map(SagaStep::getStepStatus).toList());
+        assertTrue(orderRepository.findByOrderIdentifier_OrderId(orderId).getItems().stream()
+                .allMatch(item -> item.getQuantity() == 1));
+    }
+
+    @Test
+    void cancelOrder_restockFailsOnChosenItem_undoesEarlierRestocks() {
+        doThrow(new InvalidInputException("apparels unavailable"))
+                .when(apparelsClient).increaseStock(eq("A2"), anyInt());
+
+        assertThrows(InvalidInputException.class,
+                () -> orderService.deleteCustomerOrder(CUSTOMER_ID, orderId));
+
+        verify(apparelsClient).increaseStock("A1", 1);
+        verify(apparelsClient).decreaseStock("A1", 1);
+        verify(apparelsClient, never()).increaseStock(eq("A3"), anyInt());
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+        assertEquals(OrderStatus.CREATED,
+                orderRepository.findByOrderIdentifier_OrderId(orderId).getOrderStatus());
+    }
+
+    @Test
+    void compensation_failingUndo_isMarkedForRecovery() {
+        when(apparelsClient.getStock(anyString())).thenReturn(100);
+        when(apparelsClient.getStock("A4")).thenReturn(0);
+        doThrow(new InvalidInputException("apparels unavailable"))
+                .when(apparelsClient).increaseStock("A2", 2);
+
+        assertThrows(StockExceededException.class,
+                () -> orderService.updateCustomerOrder(CUSTOMER_ID, orderId, quantities(3)));
+
+        OrderSaga saga = onlySaga();
+        assertEquals(SagaStatus.COMPENSATION_FAILED, saga.getSagaStatus());
+        assertEquals(SagaStepStatus.APPLIED, saga.getSteps().get(1).getStepStatus());
+
+        reset(apparelsClient);
+        assertEquals(1, sagaOrchestrator.recover());
+        verify(apparelsClient).increaseStock("A2", 2);
+        verifyNoMoreInteractions(apparelsClient);
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+    }
+
+    @Test
+    void createOrder_success_logsCompletedSagaAndCommitsOrder() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).build());
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).build());
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").stock(5).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-1").build());
+
+        var request = OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(item("A1", 2)))
+                .build();
+        String createdId = orderService.processCustomerOrder(CUSTOMER_ID, request).getOrderId();
+
+        OrderSaga saga = onlySaga();
+        assertEquals(SagaType.CREATE_ORDER, saga.getSagaType());
+        assertEquals(SagaStatus.COMPLETED, saga.getSagaStatus());
+        assertEquals(createdId, saga.getOrderId());
+        assertEquals(SagaStepStatus.APPLIED, saga.getSteps().get(0).getStepStatus());
+        assertEquals(saga.getSagaId(), orderRepository.findByOrderIdentifier_OrderId(createdId).getLastSagaId());
+    }
+
+    @Test
+    void createOrder_withoutWarehouse_shipsFromNearestAndCancelReturnsItsStock() {
+        stubAllocation();
+
+        var request = OrderRequestModel.builder()
+                .items(List.of(item("A1", 2), item("A2", 1)))
+                .build();
+        String createdId = orderService.processCustomerOrder(CUSTOMER_ID, request).getOrderId();
+
+        verify(warehousesClient).decreaseStock(NEAR_WAREHOUSE_ID, "A1", 2);
+        verify(warehousesClient).decreaseStock(NEAR_WAREHOUSE_ID, "A2", 1);
+        verify(warehousesClient, never()).getWarehouseByWarehouseId(anyString());
+        Order created = orderRepository.findByOrderIdentifier_OrderId(createdId);
+        assertEquals(NEAR_WAREHOUSE_ID, created.getWarehouseModel().getWarehouseId());
+        assertEquals(List.of(new OrderAllocation(NEAR_WAREHOUSE_ID, "A1", 2), new OrderAllocation(NEAR_WAREHOUSE_ID, "A2", 1)),
+                created.getAllocations());
+        assertEquals(SagaStatus.COMPLETED, onlySaga().getSagaStatus());
+
+        orderService.deleteCustomerOrder(CUSTOMER_ID, createdId);
+
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A1", 2);
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A2", 1);
+    }
+
+    @Test
+    void updateOrder_changedQuantities_moveTheAllocationsSoCancelReturnsWhatIsHeld() {
+        stubAllocation();
+        when(apparelsClient.getStock(anyString())).thenReturn(100);
+        when(apparelsClient.getApparelByApparelId(anyString()))
+                .thenAnswer(inv -> ApparelModel.builder().apparelId(inv.getArgument(0)).build());
+        String createdId = orderService.processCustomerOrder(CUSTOMER_ID, OrderRequestModel.builder()
+                .items(List.of(item("A1", 2), item("A2", 1)))
+                .build()).getOrderId();
+
+        orderService.updateCustomerOrder(CUSTOMER_ID, createdId, OrderRequestModel.builder()
+                .items(List.of(item("A1", 1), item("A2", 3)))
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build());
+
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A1", 1);
+        verify(warehousesClient).decreaseStock(NEAR_WAREHOUSE_ID, "A2", 2);
+        assertEquals(List.of(new OrderAllocation(NEAR_WAREHOUSE_ID, "A1", 1), new OrderAllocation(NEAR_WAREHOUSE_ID, "A2", 1),
+                        new OrderAllocation(NEAR_WAREHOUSE_ID, "A2", 2)),
+                orderRepository.findByOrderIdentifier_OrderId(createdId).getAllocations());
+
+        orderService.deleteCustomerOrder(CUSTOMER_ID, createdId);
+
+        verify(warehousesClient, times(2)).increaseStock(NEAR_WAREHOUSE_ID, "A1", 1);
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A2", 1);
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A2", 2);
+    }
+
+    @Test
+    void createOrder_warehouseRefusesALine_undoesShippedLinesAndReleasesHold() {
+        stubAllocation();
+        doThrow(new InvalidInputException("Not enough stock for apparel A2"))
+                .when(warehousesClient).decreaseStock(NEAR_WAREHOUSE_ID, "A2", 1);
+
+        var request = OrderRequestModel.builder()
+                .items(List.of(item("A1", 2), item("A2", 1)))
+                .build();
+        assertThrows(StockExceededException.class, () -> orderService.processCustomerOrder(CUSTOMER_ID, request));
+
+        verify(warehousesClient).increaseStock(NEAR_WAREHOUSE_ID, "A1", 2);
+        verify(apparelsClient).releaseReservation("res-1");
+        verify(apparelsClient, never()).confirmReservation(anyString());
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+    }
+
+    @Test
+    void createOrder_sagaCannotBeMarkedComplete_keepsTheOrderAndItsStockForRecovery() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).build());
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).build());
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").stock(5).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-1").build());
+        doThrow(new IllegalStateException("saga log unavailable")).doCallRealMethod()
+                .when(sagaOrchestrator).complete(any());
+
+        var request = OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(item("A1", 2)))
+                .build();
+        String createdId = orderService.processCustomerOrder(CUSTOMER_ID, request).getOrderId();
+
+        // the order is saved, so nothing is released or undone
+        verify(apparelsClient, never()).releaseReservation(anyString());
+        verify(warehousesClient, never()).increaseStock(anyString(), anyString(), anyInt());
+        assertEquals(OrderStatus.CREATED, orderRepository.findByOrderIdentifier_OrderId(createdId).getOrderStatus());
+        assertEquals(SagaStatus.STARTED, onlySaga().getSagaStatus());
+
+        OrderSaga saga = onlySaga();
+        saga.setUpdatedAt(Instant.now().minus(Duration.ofHours(1)));
+        sagaRepository.save(saga);
+        assertEquals(1, sagaOrchestrator.recover());
+        assertEquals(SagaStatus.COMPLETED, onlySaga().getSagaStatus());
+        verify(apparelsClient, never()).releaseReservation(anyString());
+    }
+
+    @Test
+    void recover_startedSagaWithoutCommittedOrder_isCompensated() {
+        sagaRepository.save(openSaga(orderId, List.of(
+                step("A1", 2, SagaStepStatus.APPLIED),
+                step("A2", 1, SagaStepStatus.PENDING))));
+
+        assertEquals(1, sagaOrchestrator.recover());
+
+        verify(apparelsClient).increaseStock("A1", 2);
+        verifyNoMoreInteractions(apparelsClient);
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+    }
+
+    @Test
+    void createOrder_confirmTimesOut_releasesTheReservationAnyway() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).build());
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).build());
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").stock(5).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-1").build());
+        // apparels may have confirmed before the read timed out
+        doThrow(new IllegalStateException("Read timed out")).when(apparelsClient).confirmReservation("res-1");
+
+        var request = OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(item("A1", 2)))
+                .build();
+        assertThrows(IllegalStateException.class, () -> orderService.processCustomerOrder(CUSTOMER_ID, request));
+
+        verify(apparelsClient).releaseReservation("res-1");
+        verify(apparelsClient, never()).increaseStock(anyString(), anyInt());
+        OrderSaga saga = onlySaga();
+        assertEquals(SagaStatus.COMPENSATED, saga.getSagaStatus());
+        assertEquals(SagaStepStatus.COMPENSATED, saga.getSteps().get(0).getStepStatus());
+    }
+
+    @Test
+    void recover_reservedStepsNotYetMarkedApplied_releasesTheReservation() {
+        OrderSaga saga = openSaga(orderId, List.of(step("A1", 2, SagaStepStatus.PENDING)));
+        saga.setReservationId("res-1");
+        sagaRepository.save(saga);
+
+        assertEquals(1, sagaOrchestrator.recover());
+
+        verify(apparelsClient).releaseReservation("res-1");
+        verifyNoMoreInteractions(apparelsClient);
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+    }
+
+    @Test
+    void recover_confirmedReservationNoLongerKnown_restocksTheAppliedSteps() {
+        OrderSaga saga = openSaga(orderId, List.of(step("A1", 2, SagaStepStatus.APPLIED)));
+        saga.setReservationId("res-1");
+        sagaRepository.save(saga);
+        // apparels forgot the confirm, e.g. after a restart
+        doThrow(new NotFoundException("Reservation not found or expired: res-1"))
+                .when(apparelsClient).releaseReservation("res-1");
+
+        assertEquals(1, sagaOrchestrator.recover());
+
+        verify(apparelsClient).increaseStock("A1", 2);
+        OrderSaga recovered = onlySaga();
+        assertEquals(SagaStatus.COMPENSATED, recovered.getSagaStatus());
+        assertEquals(SagaStepStatus.COMPENSATED, recovered.getSteps().get(0).getStepStatus());
+    }
+
+    @Test
+    void recover_sagaAnotherInstanceSavedRecently_isLeftToIt() {
+        OrderSaga saga = openSaga(orderId, List.of(step("A1", 2, SagaStepStatus.APPLIED)));
+        saga.setOwner("another-instance");
+        saga.setUpdatedAt(Instant.now());
+        sagaRepository.save(saga);
+
+        assertEquals(0, sagaOrchestrator.recover());
+        verifyNoInteractions(apparelsClient);
+        assertEquals(SagaStatus.STARTED, onlySaga().getSagaStatus());
+
+        saga = onlySaga();
+        saga.setUpdatedAt(Instant.now().minus(Duration.ofHours(1)));
+        sagaRepository.save(saga);
+
+        assertEquals(1, sagaOrchestrator.recover());
+        verify(apparelsClient).increaseStock("A1", 2);
+        assertEquals(SagaStatus.COMPENSATED, onlySaga().getSagaStatus());
+    }
+
+    @Test
+    void recover_startedSagaWithCommittedOrder_isCompleted() {
+        OrderSaga saga = sagaRepository.save(openSaga(orderId, List.of(step("A1", 2, SagaStepStatus.APPLIED))));
+        Order order = orderRepository.findByOrderIdentifier_OrderId(orderId);
+        order.setLastSagaId(saga.getSagaId());
+        orderRepository.save(order);
+
+        assertEquals(1, sagaOrchestrator.recover());
+
+        verifyNoInteractions(apparelsClient);
+        assertEquals(SagaStatus.COMPLETED, onlySaga().getSagaStatus());
+    }
+
+    // the snapshot is a singleton, so it is refreshed from these stubs rather than loaded once
+    private void stubAllocation() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID)).thenReturn(CustomerModel.builder()
+                .customerId(CUSTOMER_ID)
+                .address(new Address("Avenida 1", "Rosario", "Santa Fe", "Argentina", "2000"))
+                .build());
+        when(warehousesClient.getAllWarehouses()).thenReturn(List.of(
+                WarehouseModel.builder().warehouseId(FAR_WAREHOUSE_ID).address("1 Nile St, Cairo").build(),
+                WarehouseModel.builder().warehouseId(NEAR_WAREHOUSE_ID).address("3 Cordoba, Rosario").build()));
+        List<WarehouseStockModel> rows = List.of(
+                new WarehouseStockModel(FAR_WAREHOUSE_ID, "A1", 10, Instant.now()),
+                new WarehouseStockModel(FAR_WAREHOUSE_ID, "A2", 10, Instant.now()),
+                new WarehouseStockModel(NEAR_WAREHOUSE_ID, "A1", 10, Instant.now()),
+                new WarehouseStockModel(NEAR_WAREHOUSE_ID, "A2", 10, Instant.now()));
+        when(warehousesClient.getStockChanges(any())).thenReturn(rows);
+        when(warehousesClient.getStockChanges(null)).thenReturn(rows);
+        stockSnapshot.refresh();
+        when(apparelsClient.getApparelsByApparelIds(anyList())).thenReturn(List.of(
+                ApparelModel.builder().apparelId("A1").build(), ApparelModel.builder().apparelId("A2").build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-1").build());
+    }
+
+    private OrderSaga onlySaga() {
+        List<OrderSaga> sagas = sagaRepository.findAll();
+        assertEquals(1, sagas.size());
+        return sagas.get(0);
+    }
+
+    private static OrderRequestModel quantities(int quantity) {
+        return OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(APPARELS.stream().map(id -> item(id, quantity)).toList())
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+    }
+
+    private static OrderItemRequestModel item(String apparelId, int quantity) {
+        return OrderItemRequestModel.builder()
+                .apparelId(apparelId)
+                .quantity(quantity)
+                .unitPrice(BigDecimal.TEN)
+                .discount(BigDecimal.ZERO)
+                .currency("USD")
+                .build();
+    }
+
+    private static OrderSaga openSaga(String orderId, List<SagaStep> steps) {
+        return OrderSaga.builder()
+                .sagaId(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .sagaType(SagaType.UPDATE_ORDER)
+                .sagaStatus(SagaStatus.STARTED)
+                .steps(steps)
+                .startedAt(Instant.now())
+                .build();
+    }
+
+    private static SagaStep step(String apparelId, int quantity, SagaStepStatus status) {
+        return SagaStep.builder()
+                .apparelId(apparelId)
+                .quantity(quantity)
+                .operation(StockOperation.DECREASE)
+                .stepStatus(status)
+                .build();
+    }
+}
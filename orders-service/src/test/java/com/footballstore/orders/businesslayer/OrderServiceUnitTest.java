@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -37,6 +38,9 @@ class OrderServiceUnitTest {
     private OrderServiceImpl orderService;
 
     @MockitoBean private OrderRepository orderRepository;
+    @MockitoBean private OrderSagaRepository sagaRepository;
+    @MockitoBean private OrderEventRepository eventRepository;
+    @MockitoBean private MongoTemplate mongoTemplate;
     @MockitoBean private CustomersServiceClient customersClient;
     @MockitoBean private WarehousesServiceClient warehousesClient;
     @MockitoBean private ApparelsServiceClient apparelsClient;
@@ -53,6 +57,7 @@ class OrderServiceUnitTest {
         warehouseId = UUID.randomUUID().toString();
         apparelId   = UUID.randomUUID().toString();
         reset(orderRepository, customersClient, warehousesClient, apparelsClient, orderResponseMapper);
+        when(warehousesClient.getStock(eq(warehouseId), anyString())).thenReturn(100);
     }
 
     //  processCustomerOrder tests
@@ -89,14 +94,14 @@ class OrderServiceUnitTest {
                 .cost(new BigDecimal("5.00")).stock(5)
                 .apparelType(ApparelType.JERSEY).sizeOption(SizeOption.M)
                 .build();
-        when(apparelsClient.getApparelByApparelId(apparelId)).thenReturn(am);
-        when(apparelsClient.getStock(apparelId)).thenReturn(5);
-        doNothing().when(apparelsClient).decreaseStock(apparelId, 2);
+        when(apparelsClient.getApparelsByApparelIds(List.of(apparelId))).thenReturn(List.of(am));
+        when(apparelsClient.reserveStock(List.of(new ReservationItemModel(apparelId, 2))))
+                .thenReturn(ReservationModel.builder().reservationId("res-1").build());
 
         var savedOrder = Order.builder()
                 .orderIdentifier(new OrderIdentifier("fixed-order-id"))
-                .customerModel(cm)
-                .warehouseModel(wm)
+                .customerModel(orderRequestMapper.mapToCustomerSnapshot(cm))
+                .warehouseModel(orderRequestMapper.mapToWarehouseSnapshot(wm))
                 .items(List.of())
                 .totalPrice(new OrderPrice(new BigDecimal("20.00"), "USD"))
                 .orderDate(LocalDate.now())
@@ -121,7 +126,8 @@ class OrderServiceUnitTest {
         assertEquals("fixed-order-id", resp.getOrderId());
         assertEquals(OrderStatus.CREATED, resp.getOrderStatus());
         assertEquals(PaymentStatus.PENDING, resp.getPaymentStatus());
-        verify(apparelsClient).decreaseStock(apparelId, 2);
+        verify(apparelsClient).confirmReservation("res-1");
+        verify(apparelsClient, never()).releaseReservation(anyString());
     }
 
 
@@ -141,13 +147,67 @@ class OrderServiceUnitTest {
                 .thenReturn(CustomerModel.builder().customerId(customerId).build());
         when(warehousesClient.getWarehouseByWarehouseId(anyString()))
                 .thenReturn(WarehouseModel.builder().warehouseId(warehouseId).build());
-        when(apparelsClient.getApparelByApparelId(anyString()))
-                .thenReturn(ApparelModel.builder().apparelId(apparelId).build());
-        when(apparelsClient.getStock(apparelId)).thenReturn(5);
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId(apparelId).stock(5).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenThrow(new InvalidInputException("Not enough stock for apparel: " + apparelId));
 
         var ex = assertThrows(StockExceededException.class,
                 () -> orderService.processCustomerOrder(customerId, req));
         assertTrue(ex.getMessage().contains(apparelId));
+        verify(apparelsClient, never()).confirmReservation(anyString());
+    }
+
+    @Test
+    void processCustomerOrder_reservationNotConfirmed_releasesAndThrowsStockExceededException() {
+        var itemReq = OrderItemRequestModel.builder()
+                .apparelId(apparelId).quantity(2)
+                .unitPrice(new BigDecimal("1.00"))
+                .discount(BigDecimal.ZERO).currency("USD")
+                .build();
+        var req = OrderRequestModel.builder()
+                .warehouseId(warehouseId)
+                .items(List.of(itemReq))
+                .build();
+
+        when(customersClient.getCustomerByCustomerId(anyString()))
+                .thenReturn(CustomerModel.builder().customerId(customerId).build());
+        when(warehousesClient.getWarehouseByWarehouseId(anyString()))
+                .thenReturn(WarehouseModel.builder().warehouseId(warehouseId).build());
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId(apparelId).stock(5).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-2").build());
+        doThrow(new NotFoundException("Reservation not found or expired: res-2"))
+                .when(apparelsClient).confirmReservation("res-2");
+
+        var ex = assertThrows(StockExceededException.class,
+                () -> orderService.processCustomerOrder(customerId, req));
+        assertTrue(ex.getMessage().contains("res-2"));
+        verify(apparelsClient).releaseReservation("res-2");
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void processCustomerOrder_apparelMissingFromBatch_throwsNotFoundException() {
+        var itemReq = OrderItemRequestModel.builder()
+                .apparelId(apparelId).quantity(1)
+                .unitPrice(new BigDecimal("1.00"))
+                .discount(BigDecimal.ZERO).currency("USD")
+                .build();
+        var req = OrderRequestModel.builder()
+                .warehouseId(warehouseId)
+                .items(List.of(itemReq))
+                .build();
+
+        when(customersClient.getCustomerByCustomerId(anyString()))
+                .thenReturn(CustomerModel.builder().customerId(customerId).build());
+        when(warehousesClient.getWarehouseByWarehouseId(anyString()))
+                .thenReturn(WarehouseModel.builder().warehouseId(warehouseId).build());
+        when(apparelsClient.getApparelsByApparelIds(anyList())).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class,
+                () -> orderService.processCustomerOrder(customerId, req));
     }
 
     @Test
@@ -227,7 +287,7 @@ class OrderServiceUnitTest {
     void updateCustomerOrder_orderCompleted_throwsOrderStateException() {
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("oX"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
                 .orderStatus(OrderStatus.COMPLETED)
                 .items(List.of())
                 .totalPrice(new OrderPrice(BigDecimal.ZERO,"USD"))
@@ -242,7 +302,7 @@ class OrderServiceUnitTest {
 
     @Test
     void updateCustomerOrder_increaseQuantity_callsDecreaseStock() {
-        var itemModel = ApparelModel.builder().apparelId("A").build();
+        var itemModel = ApparelSnapshot.builder().apparelId("A").build();
         var existingItem = OrderItem.builder()
                 .orderItemIdentifier(new OrderItemIdentifier())
                 .apparelModel(itemModel)
@@ -250,8 +310,8 @@ class OrderServiceUnitTest {
                 .build();
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("o2"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
-                .warehouseModel(WarehouseModel.builder().warehouseId("w").build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId("w").build())
                 .items(List.of(existingItem))
                 .totalPrice(new OrderPrice(BigDecimal.ZERO,"USD"))
                 .orderStatus(OrderStatus.CREATED)
@@ -277,7 +337,7 @@ class OrderServiceUnitTest {
 
     @Test
     void updateCustomerOrder_decreaseQuantity_callsIncreaseStock() {
-        var itemModel = ApparelModel.builder().apparelId("B").build();
+        var itemModel = ApparelSnapshot.builder().apparelId("B").build();
         var existingItem = OrderItem.builder()
                 .orderItemIdentifier(new OrderItemIdentifier())
                 .apparelModel(itemModel)
@@ -285,8 +345,8 @@ class OrderServiceUnitTest {
                 .build();
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("o3"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
-                .warehouseModel(WarehouseModel.builder().warehouseId("w").build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId("w").build())
                 .items(List.of(existingItem))
                 .totalPrice(new OrderPrice(BigDecimal.ZERO,"USD"))
                 .orderStatus(OrderStatus.CREATED)
@@ -324,7 +384,7 @@ class OrderServiceUnitTest {
     void deleteCustomerOrder_completedOrder_throwsOrderStateException() {
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("z"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
                 .orderStatus(OrderStatus.COMPLETED)
                 .paymentStatus(PaymentStatus.CAPTURED)
                 .items(List.of())
@@ -342,7 +402,7 @@ class OrderServiceUnitTest {
     void deleteCustomerOrder_withNoItems_savesCancelledOrder() {
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("y"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
                 .orderStatus(OrderStatus.CREATED)
                 .paymentStatus(PaymentStatus.PENDING)
                 .items(List.of())
@@ -360,7 +420,7 @@ class OrderServiceUnitTest {
 
     @Test
     void deleteCustomerOrder_withItems_restocksAndSaves() {
-        var itemModel = ApparelModel.builder().apparelId("C").build();
+        var itemModel = ApparelSnapshot.builder().apparelId("C").build();
         var orderItem = OrderItem.builder()
                 .orderItemIdentifier(new OrderItemIdentifier())
                 .apparelModel(itemModel)
@@ -368,7 +428,7 @@ class OrderServiceUnitTest {
                 .build();
         var existing = Order.builder()
                 .orderIdentifier(new OrderIdentifier("x"))
-                .customerModel(CustomerModel.builder().customerId(customerId).build())
+                .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
                 .orderStatus(OrderStatus.CREATED)
                 .paymentStatus(PaymentStatus.PENDING)
                 .items(List.of(orderItem))
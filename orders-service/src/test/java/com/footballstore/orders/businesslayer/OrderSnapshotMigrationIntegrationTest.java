@@ -0,0 +1,153 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.*;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
+import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
+import com.footballstore.orders.mappinglayer.OrderResponseMapper;
+import com.footballstore.orders.presentationlayer.OrderResponseModel;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@SpringBootTest(properties = "app.orders.snapshot-migration.interval=PT1H")
+@ActiveProfiles("test")
+class OrderSnapshotMigrationIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-000000000025";
+
+    @Autowired private OrderSnapshotMigration migration;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderResponseMapper responseMapper;
+    @Autowired private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void clean() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void migrateBatch_olderDocuments_dropsCatalogueFieldsAndReadsTheSame() {
+        String orderId = UUID.randomUUID().toString();
+        insertAsVersionOne(order(orderId));
+        insertAsVersionOne(Order.builder()
+                .orderIdentifier(new OrderIdentifier())
+                .customerModel(CustomerSnapshot.builder().customerId(CUSTOMER_ID).build())
+                .orderStatus(OrderStatus.PROCESSING)
+                .orderDate(LocalDate.now())
+                .build());
+        OrderResponseModel before = responseMapper.mapToOrderResponse(orderRepository.findByOrderIdentifier_OrderId(orderId));
+
+        assertEquals(2, migration.migrateBatch());
+
+        Document stored = raw(orderId);
+        assertEquals(Order.SNAPSHOT_VERSION, stored.getInteger("snapshotVersion"));
+        assertEquals(Order.TYPE_ALIAS, stored.getString("_class"));
+        for (Document item : stored.getList("items", Document.class)) {
+            Document apparel = item.get("apparelModel", Document.class);
+            assertFalse(apparel.containsKey("price"));
+            assertFalse(apparel.containsKey("stock"));
+            assertEquals("Home jersey for the current season", apparel.getString("description"));
+        }
+        assertEquals(before, responseMapper.mapToOrderResponse(orderRepository.findByOrderIdentifier_OrderId(orderId)));
+        assertEquals(0, migration.migrateBatch());
+    }
+
+    @Test
+    void migrateBatch_orderSavedSinceItWasWritten_isLeftAsSaved() {
+        String orderId = UUID.randomUUID().toString();
+        insertAsVersionOne(order(orderId));
+        // as the first run does, before any order is read for a save
+        assertEquals(1, migration.backfillVersions());
+        Order order = orderRepository.findByOrderIdentifier_OrderId(orderId);
+        order.setOrderStatus(OrderStatus.COMPLETED);
+        orderRepository.save(order);
+
+        assertEquals(0, migration.migrateBatch());
+
+        Document stored = raw(orderId);
+        assertEquals(1L, stored.getLong("version"));
+        assertEquals(Order.SNAPSHOT_VERSION, stored.getInteger("snapshotVersion"));
+        assertEquals(Order.TYPE_ALIAS, stored.getString("_class"));
+        assertEquals("COMPLETED", stored.getString("orderStatus"));
+        assertFalse(stored.getList("items", Document.class).get(0).get("apparelModel", Document.class).containsKey("stock"));
+    }
+
+    // the document as the full downstream models were stored before snapshot versions
+    private void insertAsVersionOne(Order order) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(order, document);
+        document.remove("snapshotVersion");
+        document.put("_class", Order.class.getName());
+        List<Document> items = document.getList("items", Document.class, List.of());
+        for (Document item : items) {
+            item.get("apparelModel", Document.class).append("price", "59.99").append("stock", 120);
+        }
+        mongoTemplate.insert(document, mongoTemplate.getCollectionName(Order.class));
+    }
+
+    private Document raw(String orderId) {
+        return mongoTemplate.findOne(query(where("orderIdentifier.orderId").is(orderId)), Document.class,
+                mongoTemplate.getCollectionName(Order.class));
+    }
+
+    private static Order order(String orderId) {
+        return Order.builder()
+                .orderIdentifier(new OrderIdentifier(orderId))
+                .customerModel(CustomerSnapshot.builder()
+                        .customerId(CUSTOMER_ID)
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .email("jane.doe@example.com")
+                        .phone("555-0100")
+                        .registrationDate(LocalDate.of(2020, 1, 1))
+                        .preferredContact(ContactMethod.EMAIL)
+                        .address(new Address("1 Main St", "Montreal", "QC", "Canada", "H1A 1A1"))
+                        .build())
+                .warehouseModel(WarehouseSnapshot.builder()
+                        .warehouseId(UUID.randomUUID().toString())
+                        .locationName("Main Warehouse")
+                        .address("500 Industrial Rd")
+                        .capacity(10_000)
+                        .build())
+                .items(List.of(item(), item()))
+                .totalPrice(new OrderPrice(new BigDecimal("119.98"), "USD"))
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .orderDate(LocalDate.now())
+                .build();
+    }
+
+    private static OrderItem item() {
+        return OrderItem.builder()
+                .orderItemIdentifier(new OrderItemIdentifier())
+                .apparelModel(ApparelSnapshot.builder()
+                        .apparelId(UUID.randomUUID().toString())
+                        .itemName("Home Jersey")
+                        .description("Home jersey for the current season")
+                        .brand("Adidas")
+                        .cost(new BigDecimal("30.00"))
+                        .apparelType(ApparelType.JERSEY)
+                        .sizeOption(SizeOption.M)
+                        .build())
+                .quantity(1)
+                .unitPrice(new BigDecimal("59.99"))
+                .discount(BigDecimal.ZERO)
+                .lineTotal(new BigDecimal("59.99"))
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseStockModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Allocation time against a snapshot of {@link #WAREHOUSES} warehouses holding {@link #SKUS}
+ * apparels each, next to the number of per-warehouse stock calls the snapshot stands in for.
+ * Load and refresh times are for the in-memory side only; the client is a stub.
+ * Timings are the median and p99 of {@link #RUNS} allocations after a warm-up. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class WarehouseAllocationBenchmark {
+
+    private static final int WAREHOUSES = 50;
+    private static final int SKUS = 10_000;
+    private static final int CHANGED_ROWS = 500;
+    private static final int[] CART_LINES = {1, 5, 20};
+    private static final int WARMUP = 20_000;
+    private static final int RUNS = 20_000;
+
+    @Test
+    void allocateAgainstSnapshot() {
+        Random random = new Random(42);
+        List<WarehouseModel> warehouses = new ArrayList<>(WAREHOUSES);
+        for (int w = 0; w < WAREHOUSES; w++) {
+            warehouses.add(WarehouseModel.builder()
+                    .warehouseId("w-" + w)
+                    .address(w + " Dock Rd, City" + w + ", State" + (w % 10) + ", Country" + (w % 3))
+                    .build());
+        }
+        Instant written = Instant.parse("2026-01-01T00:00:00Z");
+        List<WarehouseStockModel> rows = new ArrayList<>(WAREHOUSES * SKUS);
+        for (int w = 0; w < WAREHOUSES; w++) {
+            for (int s = 0; s < SKUS; s++) {
+                rows.add(new WarehouseStockModel("w-" + w, "sku-" + s, random.nextInt(40), written));
+            }
+        }
+        List<WarehouseStockModel> changes = new ArrayList<>(CHANGED_ROWS);
+        for (int i = 0; i < CHANGED_ROWS; i++) {
+            changes.add(new WarehouseStockModel("w-" + random.nextInt(WAREHOUSES), "sku-" + random.nextInt(SKUS),
+                    random.nextInt(40), written.plusSeconds(1)));
+        }
+
+        WarehousesServiceClient client = mock(WarehousesServiceClient.class);
+        when(client.getAllWarehouses()).thenReturn(warehouses);
+        when(client.getStockChanges(null)).thenReturn(rows);
+        when(client.getStockChanges(any(Instant.class))).thenReturn(changes);
+        WarehouseStockSnapshot snapshot = new WarehouseStockSnapshot(client, Duration.ofSeconds(10), Duration.ofMinutes(5));
+        WarehouseAllocator allocator = new WarehouseAllocator(snapshot, client);
+
+        long start = System.nanoTime();
+        snapshot.refresh();
+        long fullLoad = System.nanoTime() - start;
+        start = System.nanoTime();
+        snapshot.refresh();
+        long incremental = System.nanoTime() - start;
+        System.out.printf("full load %d rows: %.1f ms, refresh of %d changed rows: %.1f us%n",
+                rows.size(), fullLoad / 1e6, CHANGED_ROWS, incremental / 1e3);
+
+        Address shipTo = new Address("1 Main St", "City7", "State7", "Country1", "00000");
+        System.out.printf("%-8s %6s %12s %12s %14s%n", "cart", "lines", "median(us)", "p99(us)", "calls replaced");
+        for (int lines : CART_LINES) {
+            // a unit of each line fits somewhere nearby; more than a single warehouse holds forces a split
+            report("single", lines, allocator, shipTo, cart(random, lines, 1));
+            report("split", lines, allocator, shipTo, cart(random, lines, 60));
+        }
+    }
+
+    private static void report(String kind, int lines, WarehouseAllocator allocator, Address shipTo,
+                               Map<String, Integer> cart) {
+        WarehouseAllocation first = allocator.allocate(cart, shipTo);
+        assertEquals(cart.values().stream().mapToInt(Integer::intValue).sum(),
+                first.getLines().stream().mapToInt(line -> line.getQuantity()).sum());
+
+        for (int i = 0; i < WARMUP; i++) {
+            allocator.allocate(cart, shipTo);
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            allocator.allocate(cart, shipTo);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-8s %6d %12.2f %12.2f %14d%n", kind, lines,
+                samples[RUNS / 2] / 1e3, samples[RUNS * 99 / 100] / 1e3, (long) lines * WAREHOUSES);
+    }
+
+    private static Map<String, Integer> cart(Random random, int lines, int quantity) {
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        while (cart.size() < lines) {
+            cart.put("sku-" + random.nextInt(SKUS), quantity);
+        }
+        return cart;
+    }
+}
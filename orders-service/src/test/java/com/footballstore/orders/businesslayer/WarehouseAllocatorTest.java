@@ -0,0 +1,175 @@
+package com.footballstore.orders.businesslayer;
+
+import com.footballstore.orders.dataaccesslayer.OrderAllocation;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseStockModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.utils.exceptions.StockExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WarehouseAllocatorTest {
+
+    private static final Address ROSARIO = new Address("Avenida 1", "Rosario", "Santa Fe", "Argentina", "2000");
+    private static final Instant WRITTEN = Instant.parse("2025-01-01T00:00:00Z");
+
+    private WarehousesServiceClient warehousesClient;
+    private WarehouseStockSnapshot snapshot;
+    private WarehouseAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        warehousesClient = mock(WarehousesServiceClient.class);
+        // listed far to near, so only the ranking can put the Rosario warehouse first
+        when(warehousesClient.getAllWarehouses()).thenReturn(List.of(
+                warehouse("W-CAIRO", "1 Nile St, Cairo, Egypt"),
+                warehouse("W-BUENOS-AIRES", "2 Defensa, Buenos Aires, Argentina"),
+                warehouse("W-ROSARIO", "3 Cordoba, Rosario, Santa Fe, Argentina")));
+        when(warehousesClient.getStockChanges(null)).thenReturn(List.of(
+                row("W-CAIRO", "A1", 50), row("W-CAIRO", "A2", 50),
+                row("W-BUENOS-AIRES", "A1", 50), row("W-BUENOS-AIRES", "A2", 4),
+                row("W-ROSARIO", "A1", 5), row("W-ROSARIO", "A2", 3)));
+        snapshot = new WarehouseStockSnapshot(warehousesClient, Duration.ofSeconds(10), Duration.ofMinutes(5));
+        allocator = new WarehouseAllocator(snapshot, warehousesClient);
+    }
+
+    @Test
+    void allocate_nearestWarehouseHoldsCart_shipsFromItAlone() {
+        WarehouseAllocation allocation = allocator.allocate(cart("A1", 5, "A2", 3), ROSARIO);
+
+        assertEquals("W-ROSARIO", allocation.getPrimary().getWarehouseId());
+        assertEquals(List.of(line("W-ROSARIO", "A1", 5), line("W-ROSARIO", "A2", 3)), allocation.getLines());
+    }
+
+    @Test
+    void allocate_nearestWarehouseShort_movesToNextNearestHoldingAll() {
+        WarehouseAllocation allocation = allocator.allocate(cart("A1", 6, "A2", 4), ROSARIO);
+
+        // same country beats a warehouse that merely has more
+        assertEquals("W-BUENOS-AIRES", allocation.getPrimary().getWarehouseId());
+        assertEquals(2, allocation.getLines().size());
+    }
+
+    @Test
+    void allocate_noAddress_takesFirstListedWarehouseHoldingAll() {
+        assertEquals("W-CAIRO", allocator.allocate(cart("A1", 1, "A2", 1), null).getPrimary().getWarehouseId());
+    }
+
+    @Test
+    void allocate_noSingleWarehouseHoldsCart_splitsLargestShareFirst() {
+        WarehouseAllocation allocation = allocator.allocate(cart("A1", 100, "A2", 10), ROSARIO);
+
+        // Cairo covers 60 of the 110 units, Buenos Aires the 50 left, Rosario is not needed
+        assertEquals("W-CAIRO", allocation.getPrimary().getWarehouseId());
+        assertEquals(List.of(
+                line("W-CAIRO", "A1", 50), line("W-CAIRO", "A2", 10),
+                line("W-BUENOS-AIRES", "A1", 50)), allocation.getLines());
+    }
+
+    @Test
+    void allocate_splitWithEqualShares_prefersNearerWarehouse() {
+        WarehouseAllocation allocation = allocator.allocate(cart("A1", 54), ROSARIO);
+
+        // Buenos Aires and Cairo both cover 50; Buenos Aires is in the customer's country
+        assertEquals(List.of(line("W-BUENOS-AIRES", "A1", 50), line("W-ROSARIO", "A1", 4)),
+                allocation.getLines());
+    }
+
+    @Test
+    void allocate_moreThanAllWarehousesHold_throwsStockExceeded() {
+        var ex = assertThrows(StockExceededException.class,
+                () -> allocator.allocate(cart("A1", 106, "A2", 1), ROSARIO));
+        assertTrue(ex.getMessage().contains("1 unit(s) short"), ex.getMessage());
+    }
+
+    @Test
+    void allocate_apparelNoWarehouseStocks_throwsStockExceeded() {
+        var ex = assertThrows(StockExceededException.class, () -> allocator.allocate(cart("A9", 1), ROSARIO));
+        assertTrue(ex.getMessage().contains("A9"));
+    }
+
+    @Test
+    void fromWarehouse_notLoadedOrUnknown_asksTheWarehouseForEachLine() {
+        when(warehousesClient.getStock("W-ROSARIO", "A1")).thenReturn(5);
+        when(warehousesClient.getStock("W-NEW", "A1")).thenReturn(2);
+
+        assertEquals(List.of(line("W-ROSARIO", "A1", 5)),
+                allocator.fromWarehouse(warehouse("W-ROSARIO", null), cart("A1", 5)).getLines());
+        verify(warehousesClient, never()).getAllWarehouses();
+
+        snapshot.refresh();
+        assertThrows(StockExceededException.class,
+                () -> allocator.fromWarehouse(warehouse("W-NEW", null), cart("A1", 3)));
+        verify(warehousesClient).getStock("W-NEW", "A1");
+    }
+
+    @Test
+    void fromWarehouse_chosenWarehouseShort_throwsStockExceeded() {
+        snapshot.refresh();
+        WarehouseModel rosario = warehouse("W-ROSARIO", null);
+
+        assertEquals(List.of(line("W-ROSARIO", "A1", 5)), allocator.fromWarehouse(rosario, cart("A1", 5)).getLines());
+        assertThrows(StockExceededException.class, () -> allocator.fromWarehouse(rosario, cart("A1", 6)));
+        verify(warehousesClient, never()).getStock(any(), any());
+    }
+
+    @Test
+    void shipped_takesUnitsOffBeforeTheFeedCatchesUp() {
+        allocator.shipped(allocator.allocate(cart("A1", 5), ROSARIO));
+
+        assertEquals("W-BUENOS-AIRES", allocator.allocate(cart("A1", 1), ROSARIO).getPrimary().getWarehouseId());
+    }
+
+    @Test
+    void refresh_afterFullLoad_appliesOnlyChangesSinceNewestWriteLessLookBack() {
+        snapshot.refresh();
+        when(warehousesClient.getStockChanges(WRITTEN.minusSeconds(10)))
+                .thenReturn(List.of(row("W-ROSARIO", "A1", 0)));
+
+        snapshot.refresh();
+
+        verify(warehousesClient, times(1)).getAllWarehouses();
+        assertEquals("W-BUENOS-AIRES", allocator.allocate(cart("A1", 1), ROSARIO).getPrimary().getWarehouseId());
+    }
+
+    @Test
+    void refresh_changeForUnseenWarehouse_reloadsEverything() {
+        snapshot.refresh();
+        when(warehousesClient.getStockChanges(any(Instant.class))).thenReturn(List.of(row("W-NEW", "A1", 9)));
+
+        snapshot.refresh();
+
+        verify(warehousesClient, times(2)).getAllWarehouses();
+    }
+
+    private static Map<String, Integer> cart(Object... apparelAndQuantity) {
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        for (int i = 0; i < apparelAndQuantity.length; i += 2) {
+            cart.put((String) apparelAndQuantity[i], (Integer) apparelAndQuantity[i + 1]);
+        }
+        return cart;
+    }
+
+    private static WarehouseModel warehouse(String id, String address) {
+        return WarehouseModel.builder().warehouseId(id).locationName(id).address(address).capacity(1000).build();
+    }
+
+    private static WarehouseStockModel row(String warehouseId, String apparelId, int quantity) {
+        return new WarehouseStockModel(warehouseId, apparelId, quantity, WRITTEN);
+    }
+
+    private static OrderAllocation line(String warehouseId, String apparelId, int quantity) {
+        return new OrderAllocation(warehouseId, apparelId, quantity);
+    }
+}
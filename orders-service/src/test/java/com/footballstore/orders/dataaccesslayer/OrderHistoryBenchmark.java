@@ -0,0 +1,144 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
+import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Order history reads for one customer with {@link #ORDERS} orders on embedded Mongo:
+ * the current full-document fetch against a keyset page of full documents and a keyset
+ * page of the summary projection, both at the head of the history and deep into it.
+ * Run with {@code gradle benchmark}; {@code -Pbenchmark.orders=N} changes the history size.
+ */
+@Tag("benchmark")
+@DataMongoTest
+@ActiveProfiles("test")
+class OrderHistoryBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 100_000);
+    private static final int BATCH = 5_000;
+    private static final int PAGE = 50;
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-00000000beef";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void historyReadsByStrategy() {
+        orderRepository.deleteAll();
+        seed();
+
+        // a cursor half way down the history, as a client deep in its paging would hold
+        List<OrderSummary> head = orderRepository.findSummariesByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(
+                CUSTOMER_ID, Limit.of(ORDERS / 2));
+        OrderSummary middle = head.get(head.size() - 1);
+        LocalDate deepDate = middle.getOrderDate();
+        ObjectId deepId = new ObjectId(middle.getId());
+
+        System.out.printf("%-34s %8s %10s %10s%n", "strategy", "rows", "p50(ms)", "max(ms)");
+        report("full fetch (current)", 3,
+                () -> orderRepository.findAllByCustomerModel_CustomerId(CUSTOMER_ID));
+        report("keyset page, full documents", 20,
+                () -> orderRepository.findByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(
+                        CUSTOMER_ID, Limit.of(PAGE)));
+        report("keyset page, summaries", 20,
+                () -> orderRepository.findSummariesByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(
+                        CUSTOMER_ID, Limit.of(PAGE)));
+        report("deep keyset page, full documents", 20,
+                () -> orderRepository.findHistoryAfter(CUSTOMER_ID, deepDate, deepId, Limit.of(PAGE)));
+        report("deep keyset page, summaries", 20,
+                () -> orderRepository.findSummariesAfter(CUSTOMER_ID, deepDate, deepId, Limit.of(PAGE)));
+    }
+
+    private static void report(String strategy, int runs, Supplier<List<?>> read) {
+        int rows = read.get().size();
+        long[] samples = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            read.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-34s %8d %10.1f %10.1f%n", strategy, rows,
+                samples[runs / 2] / 1e6, samples[runs - 1] / 1e6);
+    }
+
+    private void seed() {
+        CustomerSnapshot customer = CustomerSnapshot.builder()
+                .customerId(CUSTOMER_ID)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .phone("555-0100")
+                .registrationDate(LocalDate.of(2020, 1, 1))
+                .preferredContact(ContactMethod.EMAIL)
+                .address(new Address("1 Main St", "Montreal", "QC", "Canada", "H1A 1A1"))
+                .build();
+        WarehouseSnapshot warehouse = WarehouseSnapshot.builder()
+                .warehouseId(UUID.randomUUID().toString())
+                .locationName("Main Warehouse")
+                .address("500 Industrial Rd")
+                .capacity(10_000)
+                .build();
+        LocalDate firstDay = LocalDate.now().minusDays(ORDERS / 20);
+
+        List<Order> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ORDERS; i++) {
+            batch.add(Order.builder()
+                    .orderIdentifier(new OrderIdentifier())
+                    .customerModel(customer)
+                    .warehouseModel(warehouse)
+                    .items(List.of(item(), item(), item()))
+                    .totalPrice(new OrderPrice(new BigDecimal("179.97"), "USD"))
+                    .orderStatus(OrderStatus.COMPLETED)
+                    .paymentStatus(PaymentStatus.CAPTURED)
+                    // about 20 orders a day, so page boundaries regularly fall inside one day
+                    .orderDate(firstDay.plusDays(i / 20))
+                    .build());
+            if (batch.size() == BATCH) {
+                mongoTemplate.insert(batch, Order.class);
+                batch.clear();
+            }
+        }
+        mongoTemplate.insert(batch, Order.class);
+    }
+
+    private static OrderItem item() {
+        return OrderItem.builder()
+                .orderItemIdentifier(new OrderItemIdentifier())
+                .apparelModel(ApparelSnapshot.builder()
+                        .apparelId(UUID.randomUUID().toString())
+                        .itemName("Home Jersey")
+                        .description("Home jersey for the current season")
+                        .brand("Adidas")
+                        .cost(new BigDecimal("30.00"))
+                        .apparelType(ApparelType.JERSEY)
+                        .sizeOption(SizeOption.M)
+                        .build())
+                .quantity(1)
+                .unitPrice(new BigDecimal("59.99"))
+                .discount(BigDecimal.ZERO)
+                .lineTotal(new BigDecimal("59.99"))
+                .build();
+    }
+}
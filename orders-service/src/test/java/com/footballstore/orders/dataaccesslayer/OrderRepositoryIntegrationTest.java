@@ -1,15 +1,17 @@
 package com.footballstore.orders.dataaccesslayer;
 
-import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
-import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.bson.types.ObjectId;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,13 +23,16 @@ class OrderRepositoryIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @BeforeEach
     void cleanAndSeed() {
         orderRepository.deleteAll();
         var order1 = Order.builder()
                 .orderIdentifier(new OrderIdentifier("oid1"))
-                .customerModel(CustomerModel.builder().customerId("cust1").build())
-                .warehouseModel(WarehouseModel.builder().warehouseId("w1").build())
+                .customerModel(CustomerSnapshot.builder().customerId("cust1").build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId("w1").build())
                 .items(List.of())
                 .totalPrice(new OrderPrice(new BigDecimal("50.00"), "USD"))
                 .orderStatus(OrderStatus.CREATED)
@@ -36,8 +41,8 @@ class OrderRepositoryIntegrationTest {
                 .build();
         var order2 = Order.builder()
                 .orderIdentifier(new OrderIdentifier("oid2"))
-                .customerModel(CustomerModel.builder().customerId("cust2").build())
-                .warehouseModel(WarehouseModel.builder().warehouseId("w2").build())
+                .customerModel(CustomerSnapshot.builder().customerId("cust2").build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId("w2").build())
                 .items(List.of())
                 .totalPrice(new OrderPrice(new BigDecimal("75.00"), "USD"))
                 .orderStatus(OrderStatus.PROCESSING)
@@ -78,8 +83,8 @@ class OrderRepositoryIntegrationTest {
     void whenSaveNewOrder_thenCanRetrieveIt() {
         var newOrder = Order.builder()
                 .orderIdentifier(new OrderIdentifier("oid3"))
-                .customerModel(CustomerModel.builder().customerId("cust3").build())
-                .warehouseModel(WarehouseModel.builder().warehouseId("w3").build())
+                .customerModel(CustomerSnapshot.builder().customerId("cust3").build())
+                .warehouseModel(WarehouseSnapshot.builder().warehouseId("w3").build())
                 .items(List.of())
                 .totalPrice(new OrderPrice(new BigDecimal("100.00"), "USD"))
                 .orderStatus(OrderStatus.CREATED)
@@ -92,4 +97,64 @@ class OrderRepositoryIntegrationTest {
         assertNotNull(fetched);
         assertEquals("oid3", fetched.getOrderIdentifier().getOrderId());
     }
+
+    @Test
+    void historyIndex_isCreatedOnCustomerAndOrderDate() {
+        var indexes = mongoTemplate.indexOps(Order.class).getIndexInfo();
+        assertTrue(indexes.stream().anyMatch(index -> index.getName().equals("customer_history")));
+    }
+
+    @Test
+    void whenWalkingHistoryWithKeyset_thenNewestFirstWithoutGapsAcrossSameDayTies() {
+        List<String> expected = seedHistory("cust9", 7);
+
+        List<String> seen = new ArrayList<>();
+        List<Order> page = orderRepository.findByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc("cust9", Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(o -> seen.add(o.getOrderIdentifier().getOrderId()));
+            Order last = page.get(page.size() - 1);
+            page = orderRepository.findHistoryAfter("cust9", last.getOrderDate(), new ObjectId(last.getId()), Limit.of(3));
+        }
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void whenFindingSummaries_thenOnlyProjectedFieldsAreRead() {
+        seedHistory("cust9", 2);
+
+        List<OrderSummary> summaries = orderRepository
+                .findSummariesByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc("cust9", Limit.of(5));
+
+        assertEquals(2, summaries.size());
+        OrderSummary newest = summaries.get(0);
+        assertNotNull(newest.getId());
+        assertEquals("h1", newest.getOrderIdentifier().getOrderId());
+        assertEquals(OrderStatus.CREATED, newest.getOrderStatus());
+        assertEquals(new BigDecimal("10.00"), newest.getTotalPrice().getAmount());
+
+        OrderSummary older = orderRepository.findSummariesAfter("cust9", newest.getOrderDate(),
+                new ObjectId(newest.getId()), Limit.of(5)).get(0);
+        assertEquals("h0", older.getOrderIdentifier().getOrderId());
+    }
+
+    // two orders per day, so every other page boundary falls between same-day orders;
+    // returns the order ids newest first
+    private List<String> seedHistory(String customerId, int count) {
+        List<String> newestFirst = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orderRepository.save(Order.builder()
+                    .orderIdentifier(new OrderIdentifier("h" + i))
+                    .customerModel(CustomerSnapshot.builder().customerId(customerId).build())
+                    .warehouseModel(WarehouseSnapshot.builder().warehouseId("w1").build())
+                    .items(List.of())
+                    .totalPrice(new OrderPrice(new BigDecimal("10.00"), "USD"))
+                    .orderStatus(OrderStatus.CREATED)
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .orderDate(LocalDate.of(2025, 1, 1).plusDays(i / 2))
+                    .build());
+            newestFirst.add(0, "h" + i);
+        }
+        return newestFirst;
+    }
 }
@@ -0,0 +1,179 @@
+package com.footballstore.orders.dataaccesslayer;
+
+import com.footballstore.orders.businesslayer.OrderSnapshotMigration;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
+import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Order documents on embedded Mongo in the version 1 shape, with the full downstream models
+ * embedded, and again after {@link OrderSnapshotMigration} has rewritten them: average and
+ * total document size, and how fast full orders are read and decoded, both as history pages
+ * and as a scan of the whole collection. The migration's own rate is reported in between.
+ * Run with {@code gradle benchmark}; {@code -Pbenchmark.orders=N} changes the collection size.
+ */
+@Tag("benchmark")
+@DataMongoTest
+@ActiveProfiles("test")
+class OrderSnapshotBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 100_000);
+    private static final int CUSTOMERS = 100;
+    private static final int BATCH = 5_000;
+    private static final int PAGE = 50;
+    private static final int PAGE_READS = 200;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void documentSizeAndReadsBeforeAndAfterMigration() {
+        orderRepository.deleteAll();
+        seedVersionOne();
+
+        System.out.printf("%-10s %9s %14s %12s %16s %16s%n", "shape", "orders", "avg size(B)", "data(MB)",
+                "pages docs/s", "scan docs/s");
+        report("version 1");
+
+        OrderSnapshotMigration migration = new OrderSnapshotMigration(mongoTemplate, 1_000);
+        long start = System.nanoTime();
+        while (migration.migrateBatch() > 0) {
+            // a batch per pass, as the scheduled job runs it
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("migration: %d orders in %.1f s, %.0f orders/s%n", ORDERS, elapsedSeconds,
+                ORDERS / elapsedSeconds);
+
+        report("version " + Order.SNAPSHOT_VERSION);
+    }
+
+    private void report(String shape) {
+        Document stats = mongoTemplate.getDb().runCommand(
+                new Document("collStats", mongoTemplate.getCollectionName(Order.class)));
+        // warm-up round so class loading and JIT do not count against the first shape
+        readPages(PAGE_READS / 10);
+        scan();
+        System.out.printf("%-10s %9d %14d %12.1f %16.0f %16.0f%n", shape, stats.get("count", Number.class).longValue(),
+                stats.get("avgObjSize", Number.class).longValue(), stats.get("size", Number.class).longValue() / 1e6,
+                readPages(PAGE_READS), scan());
+    }
+
+    private double readPages(int reads) {
+        Random random = new Random(42);
+        long documents = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            documents += orderRepository.findByCustomerModel_CustomerIdOrderByOrderDateDescIdDesc(
+                    customerId(random.nextInt(CUSTOMERS)), Limit.of(PAGE)).size();
+        }
+        return documents / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private double scan() {
+        long start = System.nanoTime();
+        long documents;
+        try (Stream<Order> orders = mongoTemplate.stream(new Query().cursorBatchSize(1_000), Order.class)) {
+            documents = orders.count();
+        }
+        return documents / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void seedVersionOne() {
+        List<CustomerSnapshot> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(CustomerSnapshot.builder()
+                    .customerId(customerId(i))
+                    .firstName("Jane")
+                    .lastName("Doe")
+                    .email("jane.doe" + i + "@example.com")
+                    .phone("555-0100")
+                    .registrationDate(LocalDate.of(2020, 1, 1))
+                    .preferredContact(ContactMethod.EMAIL)
+                    .address(new Address("1 Main St", "Montreal", "QC", "Canada", "H1A 1A1"))
+                    .build());
+        }
+        WarehouseSnapshot warehouse = WarehouseSnapshot.builder()
+                .warehouseId(UUID.randomUUID().toString())
+                .locationName("Main Warehouse")
+                .address("500 Industrial Rd")
+                .capacity(10_000)
+                .build();
+        LocalDate firstDay = LocalDate.now().minusDays(ORDERS / 20);
+        String collection = mongoTemplate.getCollectionName(Order.class);
+
+        List<Document> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ORDERS; i++) {
+            batch.add(versionOne(Order.builder()
+                    .orderIdentifier(new OrderIdentifier())
+                    .customerModel(customers.get(i % CUSTOMERS))
+                    .warehouseModel(warehouse)
+                    .items(List.of(item(), item(), item()))
+                    .totalPrice(new OrderPrice(new BigDecimal("179.97"), "USD"))
+                    .orderStatus(OrderStatus.COMPLETED)
+                    .paymentStatus(PaymentStatus.CAPTURED)
+                    .orderDate(firstDay.plusDays(i / 20))
+                    .build()));
+            if (batch.size() == BATCH) {
+                mongoTemplate.insert(batch, collection);
+                batch.clear();
+            }
+        }
+        mongoTemplate.insert(batch, collection);
+    }
+
+    // the document as the full downstream models were stored before snapshot versions
+    private Document versionOne(Order order) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(order, document);
+        document.remove("snapshotVersion");
+        document.put("_class", Order.class.getName());
+        for (Document item : document.getList("items", Document.class)) {
+            item.get("apparelModel", Document.class).append("price", "59.99").append("stock", 120);
+        }
+        return document;
+    }
+
+    private static OrderItem item() {
+        return OrderItem.builder()
+                .orderItemIdentifier(new OrderItemIdentifier())
+                .apparelModel(ApparelSnapshot.builder()
+                        .apparelId(UUID.randomUUID().toString())
+                        .itemName("Home Jersey")
+                        .description("Home jersey for the current season")
+                        .brand("Adidas")
+                        .cost(new BigDecimal("30.00"))
+                        .apparelType(ApparelType.JERSEY)
+                        .sizeOption(SizeOption.M)
+                        .build())
+                .quantity(1)
+                .unitPrice(new BigDecimal("59.99"))
+                .discount(BigDecimal.ZERO)
+                .lineTotal(new BigDecimal("59.99"))
+                .build();
+    }
+
+    private static String customerId(int customer) {
+        return String.format("c0000000-0000-0000-0000-%012d", customer);
+    }
+}
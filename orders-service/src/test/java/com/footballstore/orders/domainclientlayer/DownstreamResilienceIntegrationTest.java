@@ -0,0 +1,231 @@
+package com.footballstore.orders.domainclientlayer;
+
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.utils.exceptions.NotFoundException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "resilience4j.circuitbreaker.instances.apparels-service.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.apparels-service.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.apparels-service.wait-duration-in-open-state=300ms",
+        "resilience4j.circuitbreaker.instances.apparels-service.permitted-number-of-calls-in-half-open-state=2",
+        "resilience4j.bulkhead.instances.apparels-service.max-concurrent-calls=2"
+})
+@ActiveProfiles("test")
+class DownstreamResilienceIntegrationTest {
+
+    private static final String APPAREL_ID = "a3333333-3333-3333-3333-333333333333";
+    private static final String CUSTOMER_ID = "c3333333-3333-3333-3333-333333333333";
+
+    private static HttpServer stub;
+    private static final AtomicInteger apparelCalls = new AtomicInteger();
+    private static volatile int apparelStatus = 200;
+    private static volatile long apparelDelayMs = 0;
+
+    @Autowired
+    private ApparelsServiceClient apparelsClient;
+
+    @Autowired
+    private CustomersServiceClient customersClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/api/v1/apparels", DownstreamResilienceIntegrationTest::handleApparel);
+        stub.createContext("/api/v1/customers", exchange -> respond(exchange, 200, """
+                {"customerId":"%s","firstName":"John","lastName":"Doe"}
+                """.formatted(CUSTOMER_ID)));
+        stub.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        for (String service : new String[]{"apparels-service", "customers-service", "warehouses-service"}) {
+            registry.add("app." + service + ".host", () -> "localhost");
+            registry.add("app." + service + ".port", () -> stub.getAddress().getPort());
+        }
+    }
+
+    @BeforeEach
+    void reset() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        apparelCalls.set(0);
+        apparelStatus = 200;
+        apparelDelayMs = 0;
+    }
+
+    @Test
+    void serverErrors_openBreaker_andLaterCallsFailFastWithoutReachingDownstream() {
+        apparelStatus = 500;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> apparelsClient.getStock(APPAREL_ID));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, apparelsBreaker().getState());
+        assertThrows(CallNotPermittedException.class, () -> apparelsClient.getStock(APPAREL_ID));
+        assertEquals(4, apparelCalls.get());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "apparels-service").tag("state", "open").gauge().value());
+        assertTrue(meterRegistry.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .tag("name", "apparels-service").counter().count() >= 1);
+
+        // the other downstreams have their own breakers and keep serving
+        assertEquals("John", customersClient.getCustomerByCustomerId(CUSTOMER_ID).getFirstName());
+    }
+
+    @Test
+    void openBreaker_halfOpenProbesSucceed_closesAgain() throws InterruptedException {
+        apparelStatus = 500;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> apparelsClient.getStock(APPAREL_ID));
+        }
+        apparelStatus = 200;
+
+        waitForState(CircuitBreaker.State.HALF_OPEN);
+        assertEquals(7, apparelsClient.getStock(APPAREL_ID));
+        assertEquals(7, apparelsClient.getStock(APPAREL_ID));
+
+        assertEquals(CircuitBreaker.State.CLOSED, apparelsBreaker().getState());
+    }
+
+    @Test
+    void notFound_isAnAnswer_andDoesNotTripBreaker() {
+        apparelStatus = 404;
+        for (int i = 0; i < 6; i++) {
+            assertThrows(NotFoundException.class, () -> apparelsClient.getStock(APPAREL_ID));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, apparelsBreaker().getState());
+        assertEquals(0, apparelsBreaker().getMetrics().getNumberOfFailedCalls());
+        assertEquals(6, apparelCalls.get());
+    }
+
+    @Test
+    void slowDownstream_bulkheadRejectsCallsBeyondItsLimit() throws Exception {
+        apparelDelayMs = 500;
+        double rejectedBefore = meterRegistry.get("resilience4j.bulkhead.rejected.calls")
+                .tag("name", "apparels-service").counter().count();
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(callers.submit(() -> apparelsClient.getStock(APPAREL_ID)));
+            }
+            int served = 0;
+            int rejected = 0;
+            for (Future<Integer> call : calls) {
+                try {
+                    call.get(5, TimeUnit.SECONDS);
+                    served++;
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(BulkheadFullException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+
+            assertEquals(2, served);
+            assertEquals(2, rejected);
+            assertEquals(2, apparelCalls.get());
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(2, meterRegistry.get("resilience4j.bulkhead.rejected.calls")
+                .tag("name", "apparels-service").counter().count() - rejectedBefore);
+        // rejections never reached the service, so they are not held against the breaker
+        assertEquals(CircuitBreaker.State.CLOSED, apparelsBreaker().getState());
+        assertEquals(0, apparelsBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void everyDownstream_exposesBreakerAndBulkheadMetrics() {
+        for (String name : new String[]{"customers-service", "warehouses-service", "apparels-service"}) {
+            assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", name).gauge(),
+                    "missing breaker state for " + name);
+            assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").tag("name", name).gauge(),
+                    "missing bulkhead gauge for " + name);
+            assertNotNull(meterRegistry.find("resilience4j.bulkhead.rejected.calls").tag("name", name).counter(),
+                    "missing bulkhead rejections for " + name);
+        }
+    }
+
+    private CircuitBreaker apparelsBreaker() {
+        return circuitBreakerRegistry.circuitBreaker("apparels-service");
+    }
+
+    private void waitForState(CircuitBreaker.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (apparelsBreaker().getState() != state && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(state, apparelsBreaker().getState());
+    }
+
+    private static void handleApparel(HttpExchange exchange) throws IOException {
+        apparelCalls.incrementAndGet();
+        try {
+            Thread.sleep(apparelDelayMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        switch (apparelStatus) {
+            case 404 -> respond(exchange, 404, """
+                    {"httpStatus":"NOT_FOUND","message":"Apparel not found: %s"}
+                    """.formatted(APPAREL_ID));
+            case 500 -> respond(exchange, 500, "{\"message\":\"boom\"}");
+            default -> respond(exchange, 200, "7");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
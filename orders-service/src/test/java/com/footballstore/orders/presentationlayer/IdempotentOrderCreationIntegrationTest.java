@@ -0,0 +1,294 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footballstore.orders.businesslayer.OrderIdempotencyService;
+import com.footballstore.orders.businesslayer.OrderIdempotencyService.IdempotentResponse;
+import com.footballstore.orders.dataaccesslayer.IdempotencyRecord;
+import com.footballstore.orders.dataaccesslayer.IdempotencyStatus;
+import com.footballstore.orders.dataaccesslayer.OrderRepository;
+import com.footballstore.orders.dataaccesslayer.OrderStatus;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+import com.footballstore.orders.domainclientlayer.apparels.ReservationModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
+import com.footballstore.orders.domainclientlayer.customers.CustomersServiceClient;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehouseModel;
+import com.footballstore.orders.domainclientlayer.warehouses.WarehousesServiceClient;
+import com.footballstore.orders.utils.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class IdempotentOrderCreationIntegrationTest {
+
+    private static final String CUSTOMER_ID = "c0000000-0000-0000-0000-000000000018";
+    private static final String WAREHOUSE_ID = "w0000000-0000-0000-0000-000000000018";
+    private static final String BASE_URI = "/api/v1/customers/" + CUSTOMER_ID + "/orders";
+
+    @Autowired private WebTestClient webClient;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private MongoTemplate mongoTemplate;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private TaskScheduler taskScheduler;
+
+    @MockitoBean private CustomersServiceClient customersClient;
+    @MockitoBean private WarehousesServiceClient warehousesClient;
+    @MockitoBean private ApparelsServiceClient apparelsClient;
+
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        mongoTemplate.remove(new Query(), IdempotencyRecord.class);
+        key = UUID.randomUUID().toString();
+
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).firstName("Ada").build());
+        when(warehousesClient.getWarehouseByWarehouseId(WAREHOUSE_ID))
+                .thenReturn(WarehouseModel.builder().warehouseId(WAREHOUSE_ID).locationName("Main").build());
+        when(warehousesClient.getStock(eq(WAREHOUSE_ID), anyString())).thenReturn(50);
+        when(apparelsClient.getApparelsByApparelIds(anyList()))
+                .thenReturn(List.of(ApparelModel.builder().apparelId("A1").itemName("Home Jersey").stock(50).build()));
+        when(apparelsClient.reserveStock(anyList()))
+                .thenReturn(ReservationModel.builder().reservationId("res-18").build());
+    }
+
+    @Test
+    void repeatedKey_returnsStoredResponseWithoutDownstreamCalls() {
+        OrderResponseModel first = post(key, request(2))
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist("Idempotent-Replayed")
+                .expectBody(OrderResponseModel.class).returnResult().getResponseBody();
+        OrderResponseModel repeat = post(key, request(2))
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody(OrderResponseModel.class).returnResult().getResponseBody();
+
+        assertEquals(first, repeat);
+        assertEquals(1, orderRepository.count());
+        verify(customersClient, times(1)).getCustomerByCustomerId(CUSTOMER_ID);
+        verify(apparelsClient, times(1)).reserveStock(anyList());
+
+        IdempotencyRecord record = mongoTemplate.findById(CUSTOMER_ID + ":" + key, IdempotencyRecord.class);
+        assertEquals(IdempotencyStatus.COMPLETED, record.getStatus());
+        assertEquals(first.getOrderId(), record.getResponse().getOrderId());
+        assertNotNull(record.getExpiresAt());
+    }
+
+    @Test
+    void repeatedKey_withDifferentRequest_isRejected() {
+        post(key, request(2)).expectStatus().isCreated();
+
+        post(key, request(3))
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.message").isEqualTo("Idempotency-Key was already used with a different request");
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void concurrentDuplicates_waitForTheFirstExecution() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID)).thenAnswer(inv -> {
+            entered.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return CustomerModel.builder().customerId(CUSTOMER_ID).firstName("Ada").build();
+        });
+
+        CompletableFuture<OrderResponseModel> first = CompletableFuture.supplyAsync(() -> created(key));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        CompletableFuture<OrderResponseModel> duplicate = CompletableFuture.supplyAsync(() -> created(key));
+        Thread.sleep(200);
+        assertFalse(duplicate.isDone(), "the duplicate should wait for the first execution");
+
+        release.countDown();
+        assertEquals(first.get(10, TimeUnit.SECONDS).getOrderId(), duplicate.get(10, TimeUnit.SECONDS).getOrderId());
+        assertEquals(1, orderRepository.count());
+        verify(customersClient, times(1)).getCustomerByCustomerId(CUSTOMER_ID);
+    }
+
+    @Test
+    void failedExecution_releasesKeyForRetry() {
+        when(customersClient.getCustomerByCustomerId(CUSTOMER_ID))
+                .thenThrow(new NotFoundException("Customer not found: " + CUSTOMER_ID))
+                .thenReturn(CustomerModel.builder().customerId(CUSTOMER_ID).firstName("Ada").build());
+
+        post(key, request(2)).expectStatus().isNotFound();
+        assertNull(mongoTemplate.findById(CUSTOMER_ID + ":" + key, IdempotencyRecord.class));
+
+        post(key, request(2))
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist("Idempotent-Replayed");
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void asyncAcceptance_repeatedKey_returnsSameStatusLocation() throws InterruptedException {
+        var first = accept(key).expectStatus().isAccepted()
+                .expectBody(OrderResponseModel.class).returnResult();
+        var repeat = accept(key).expectStatus().isAccepted()
+                .expectHeader().valueEquals("Idempotent-Replayed", "true")
+                .expectBody(OrderResponseModel.class).returnResult();
+
+        assertEquals(first.getResponseHeaders().getLocation(), repeat.getResponseHeaders().getLocation());
+        assertEquals(OrderStatus.ACCEPTED, repeat.getResponseBody().getOrderStatus());
+        assertEquals(first.getResponseBody().getOrderId(), repeat.getResponseBody().getOrderId());
+
+        // the same key on the synchronous endpoint is a different request
+        post(key, request(2)).expectStatus().isEqualTo(422);
+
+        // let the accepted order finish so its worker does not write into the next test
+        String orderId = first.getResponseBody().getOrderId();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (orderRepository.findByOrderIdentifier_OrderId(orderId).getOrderStatus() == OrderStatus.ACCEPTED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void executionOutlastingTheLockTimeout_keepsItsClaimFromOtherInstances() throws Exception {
+        // two instances sharing the key store, each claim shorter than the first execution
+        OrderIdempotencyService first = instance();
+        OrderIdempotencyService second = instance();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<OrderResponseModel> action = () -> {
+            runs.incrementAndGet();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return OrderResponseModel.builder().orderId("o-18").build();
+        };
+
+        CompletableFuture<IdempotentResponse> running =
+                CompletableFuture.supplyAsync(() -> first.execute(CUSTOMER_ID, key, request(2), 201, action));
+        while (runs.get() == 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(900);
+        CompletableFuture<IdempotentResponse> duplicate =
+                CompletableFuture.supplyAsync(() -> second.execute(CUSTOMER_ID, key, request(2), 201, action));
+        Thread.sleep(300);
+        assertFalse(duplicate.isDone(), "the duplicate should wait for the renewed claim");
+
+        release.countDown();
+        assertEquals("o-18", running.get(10, TimeUnit.SECONDS).getBody().getOrderId());
+        IdempotentResponse replayed = duplicate.get(10, TimeUnit.SECONDS);
+        assertTrue(replayed.isReplayed());
+        assertEquals("o-18", replayed.getBody().getOrderId());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executionThatLostItsClaim_neitherCompletesNorReleasesIt() {
+        OrderIdempotencyService service = instance();
+        String failingKey = UUID.randomUUID().toString();
+
+        service.execute(CUSTOMER_ID, key, request(2), 201, () -> {
+            takeOver(key);
+            return OrderResponseModel.builder().orderId("o-18").build();
+        });
+        assertThrows(IllegalStateException.class, () -> service.execute(CUSTOMER_ID, failingKey, request(2), 201, () -> {
+            takeOver(failingKey);
+            throw new IllegalStateException("downstream failed");
+        }));
+
+        for (String taken : List.of(key, failingKey)) {
+            IdempotencyRecord record = mongoTemplate.findById(CUSTOMER_ID + ":" + taken, IdempotencyRecord.class);
+            assertEquals(IdempotencyStatus.IN_PROGRESS, record.getStatus());
+            assertEquals("another-execution", record.getLockOwner());
+        }
+    }
+
+    @Test
+    void withoutKey_everyPostCreatesAnOrder() {
+        for (int i = 0; i < 2; i++) {
+            webClient.post().uri(BASE_URI)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request(2))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+        assertEquals(2, orderRepository.count());
+    }
+
+    private OrderIdempotencyService instance() {
+        return new OrderIdempotencyService(mongoTemplate, objectMapper, taskScheduler,
+                Duration.ofHours(1), Duration.ofMillis(300), Duration.ofSeconds(10), 100);
+    }
+
+    // what another instance does once it takes over an expired claim
+    private void takeOver(String idempotencyKey) {
+        mongoTemplate.updateFirst(query(where("_id").is(CUSTOMER_ID + ":" + idempotencyKey)),
+                new Update().set("lockOwner", "another-execution"), IdempotencyRecord.class);
+    }
+
+    private OrderResponseModel created(String idempotencyKey) {
+        return post(idempotencyKey, request(2))
+                .expectStatus().isCreated()
+                .expectBody(OrderResponseModel.class).returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec post(String idempotencyKey, OrderRequestModel request) {
+        return webClient.post().uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .bodyValue(request)
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec accept(String idempotencyKey) {
+        return webClient.post().uri(BASE_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .header("Prefer", "respond-async")
+                .bodyValue(request(2))
+                .exchange();
+    }
+
+    private static OrderRequestModel request(int quantity) {
+        return OrderRequestModel.builder()
+                .warehouseId(WAREHOUSE_ID)
+                .items(List.of(OrderItemRequestModel.builder()
+                        .apparelId("A1")
+                        .quantity(quantity)
+                        .unitPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .currency("USD")
+                        .build()))
+                .build();
+    }
+}
@@ -2,6 +2,7 @@
     
     import static org.junit.jupiter.api.Assertions.*;
     import static org.springframework.test.web.client.ExpectedCount.once;
+    import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
     import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
     import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
     import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
@@ -16,7 +17,11 @@
     import com.footballstore.orders.domainclientlayer.apparels.ApparelModel;
     import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
     import com.footballstore.orders.domainclientlayer.apparels.ApparelsServiceClient;
+    import com.footballstore.orders.domainclientlayer.apparels.ReservationItemModel;
     import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+    import com.footballstore.orders.domainclientlayer.apparels.StockAdjustmentModel;
+    import com.footballstore.orders.domainclientlayer.apparels.StockLevelModel;
+    import com.footballstore.orders.domainclientlayer.apparels.StockOperation;
     import com.footballstore.orders.domainclientlayer.customers.Address;
     import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
     import com.footballstore.orders.domainclientlayer.customers.CustomerModel;
@@ -32,6 +37,7 @@
     import org.junit.jupiter.api.Test;
     import org.springframework.beans.factory.annotation.Autowired;
     import org.springframework.boot.test.context.SpringBootTest;
+    import org.springframework.core.ParameterizedTypeReference;
     import org.springframework.data.mongodb.core.MongoTemplate;
     import org.springframework.data.mongodb.core.query.Criteria;
     import org.springframework.data.mongodb.core.query.Query;
@@ -43,6 +49,7 @@
     import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
     import org.springframework.test.context.ActiveProfiles;
     import org.springframework.test.context.TestPropertySource;
+    import org.springframework.test.web.client.ExpectedCount;
     import org.springframework.test.web.client.MockRestServiceServer;
     import org.springframework.test.web.reactive.server.WebTestClient;
     import org.springframework.web.client.RestTemplate;
@@ -50,6 +57,7 @@
     import java.math.BigDecimal;
     import java.net.URI;
     import java.time.LocalDate;
+    import java.util.ArrayList;
     import java.util.List;
     
     @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -98,7 +106,8 @@
                     mj.setObjectMapper(mapper);
                 }
             }
-            mockServer = MockRestServiceServer.createServer(restTemplate);
+            // order creation fans the lookups out concurrently, so arrival order is not fixed
+            mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
             assertTrue(orderRepository.count() > 0);
             Order sample = orderRepository.findAll().get(0);
             existingCustomerId  = sample.getCustomerModel().getCustomerId();
@@ -143,6 +152,47 @@
                     .value(List::isEmpty);
         }
     
+        @Test
+        void whenGetOrderSummaries_thenReturnsPagedNewestFirst() {
+            long total = orderRepository.findAllByCustomerModel_CustomerId(existingCustomerId).size();
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                String uri = BASE_URI + "/" + existingCustomerId + "/orders/summaries?limit=1"
+                        + (cursor == null ? "" : "&cursor=" + cursor);
+                OrderPageResponseModel<OrderSummaryResponseModel> page = webClient.get().uri(uri)
+                        .exchange().expectStatus().isOk()
+                        .expectBody(new ParameterizedTypeReference<OrderPageResponseModel<OrderSummaryResponseModel>>() {})
+                        .returnResult().getResponseBody();
+                assertNotNull(page);
+                page.getItems().forEach(summary -> {
+                    assertNotNull(summary.getTotalAmount());
+                    seen.add(summary.getOrderId());
+                });
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(total, seen.size());
+            assertEquals(total, seen.stream().distinct().count());
+        }
+
+        @Test
+        void whenGetOrderHistoryPage_thenReturnsFullOrders() {
+            webClient.get().uri(BASE_URI + "/" + existingCustomerId + "/orders?limit=1")
+                    .exchange().expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items.length()").isEqualTo(1)
+                    .jsonPath("$.items[0].customerId").isEqualTo(existingCustomerId);
+        }
+
+        @Test
+        void whenGetOrderHistoryWithBadCursorOrLimit_thenReturnUnprocessableEntity() {
+            webClient.get().uri(BASE_URI + "/" + existingCustomerId + "/orders?limit=1&cursor=nope")
+                    .exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+            webClient.get().uri(BASE_URI + "/" + existingCustomerId + "/orders/summaries?limit=1000")
+                    .exchange().expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+
         @Test
         void whenGetOrderByIdExists_thenReturnOrder() {
             webClient.get().uri(BASE_URI + "/" + existingCustomerId + "/orders/" + existingOrderId)
@@ -152,6 +202,33 @@
                     .value(resp -> assertEquals(existingOrderId, resp.getOrderId()));
         }
     
+        @Test
+        void whenGetOrderByIdWithMatchingETag_thenReturnNotModifiedUntilOrderChanges() {
+            String uri = BASE_URI + "/" + existingCustomerId + "/orders/" + existingOrderId;
+            String etag = webClient.get().uri(uri)
+                    .exchange().expectStatus().isOk()
+                    .expectBody(OrderResponseModel.class).returnResult()
+                    .getResponseHeaders().getETag();
+            assertNotNull(etag);
+
+            webClient.get().uri(uri).ifNoneMatch(etag)
+                    .exchange().expectStatus().isNotModified()
+                    .expectHeader().valueEquals("ETag", etag)
+                    .expectBody().isEmpty();
+
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("orderIdentifier.orderId").is(existingOrderId)),
+                    new Update().set("paymentStatus", PaymentStatus.AUTHORIZED),
+                    Order.class
+            );
+            String changed = webClient.get().uri(uri).ifNoneMatch(etag)
+                    .exchange().expectStatus().isOk()
+                    .expectBody(OrderResponseModel.class)
+                    .value(resp -> assertEquals(PaymentStatus.AUTHORIZED, resp.getPaymentStatus()))
+                    .returnResult().getResponseHeaders().getETag();
+            assertNotEquals(etag, changed);
+        }
+
         @Test
         void whenGetOrderByIdWithInvalidCustomerId_thenReturnUnprocessableEntity() {
             webClient.get().uri(BASE_URI + "/" + INVALID_UUID + "/orders/" + existingOrderId)
@@ -196,6 +273,16 @@
                             requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId)))
                     .andExpect(method(HttpMethod.GET))
                     .andRespond(withSuccess(mapper.writeValueAsString(wm),MediaType.APPLICATION_JSON));
+            mockServer.expect(once(),
+                            requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId
+                                    + "/apparels/" + existingApparelId + "/stock")))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("5", MediaType.APPLICATION_JSON));
+            mockServer.expect(once(),
+                            requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId
+                                    + "/apparels/" + existingApparelId + "/stock/decrease?quantity=1")))
+                    .andExpect(method(HttpMethod.PATCH))
+                    .andRespond(withStatus(HttpStatus.NO_CONTENT));
             ApparelModel am = ApparelModel.builder()
                     .apparelId(existingApparelId)
                     .itemName("N").description("D").brand("B")
@@ -204,17 +291,21 @@
                     .sizeOption(SizeOption.M)
                     .build();
             mockServer.expect(once(),
-                            requestTo(new URI(APP_SERVICE_BASE_URI + "/" + existingApparelId)))
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "?ids=" + existingApparelId)))
                     .andExpect(method(HttpMethod.GET))
-                    .andRespond(withSuccess(mapper.writeValueAsString(am),MediaType.APPLICATION_JSON));
+                    .andRespond(withSuccess(mapper.writeValueAsString(List.of(am)),MediaType.APPLICATION_JSON));
             mockServer.expect(once(),
-                            requestTo(new URI(APP_SERVICE_BASE_URI + "/" + existingApparelId + "/stock")))
-                    .andExpect(method(HttpMethod.GET))
-                    .andRespond(withSuccess("5",MediaType.APPLICATION_JSON));
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "/reservations")))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(jsonPath("$.items[0].apparelId").value(existingApparelId))
+                    .andExpect(jsonPath("$.items[0].quantity").value(1))
+                    .andRespond(withSuccess(
+                            "{\"reservationId\":\"res-1\"}",
+                            MediaType.APPLICATION_JSON));
             mockServer.expect(once(),
-                            requestTo(APP_SERVICE_BASE_URI + "/" + existingApparelId + "/stock/decrease?quantity=1"))
-                    .andExpect(method(HttpMethod.PATCH))
-                    .andRespond(withSuccess());
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "/reservations/res-1/confirm")))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withStatus(HttpStatus.NO_CONTENT));
             OrderRequestModel req = OrderRequestModel.builder()
                     .warehouseId(existingWarehouseId)
                     .items(List.of(
@@ -246,6 +337,10 @@
                             requestTo(new URI(CUST_SERVICE_BASE_URI + "/" + existingCustomerId)))
                     .andExpect(method(HttpMethod.GET))
                     .andRespond(withStatus(HttpStatus.NOT_FOUND));
+            WarehouseModel wm = WarehouseModel.builder().warehouseId(existingWarehouseId).build();
+            mockServer.expect(ExpectedCount.between(0, 1),
+                            requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId)))
+                    .andRespond(withSuccess(mapper.writeValueAsString(wm),MediaType.APPLICATION_JSON));
             OrderRequestModel req = OrderRequestModel.builder()
                     .warehouseId(existingWarehouseId)
                     .items(List.of())
@@ -289,7 +384,12 @@
                             requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId)))
                     .andRespond(withSuccess(mapper.writeValueAsString(wm),MediaType.APPLICATION_JSON));
             mockServer.expect(once(),
-                            requestTo(new URI(APP_SERVICE_BASE_URI + "/" + existingApparelId)))
+                            requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId
+                                    + "/apparels/" + existingApparelId + "/stock")))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("5", MediaType.APPLICATION_JSON));
+            mockServer.expect(once(),
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "?ids=" + existingApparelId)))
                     .andExpect(method(HttpMethod.GET))
                     .andRespond(withStatus(HttpStatus.NOT_FOUND));
             OrderRequestModel req = OrderRequestModel.builder()
@@ -323,12 +423,20 @@
                             requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId)))
                     .andRespond(withSuccess(mapper.writeValueAsString(wm),MediaType.APPLICATION_JSON));
             mockServer.expect(once(),
-                            requestTo(new URI(APP_SERVICE_BASE_URI + "/" + existingApparelId)))
-                    .andRespond(withSuccess(mapper.writeValueAsString(am),MediaType.APPLICATION_JSON));
+                            requestTo(new URI(WH_SERVICE_BASE_URI + "/" + existingWarehouseId
+                                    + "/apparels/" + existingApparelId + "/stock")))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess("5", MediaType.APPLICATION_JSON));
             mockServer.expect(once(),
-                            requestTo(new URI(APP_SERVICE_BASE_URI + "/" + existingApparelId + "/stock")))
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "?ids=" + existingApparelId)))
                     .andExpect(method(HttpMethod.GET))
-                    .andRespond(withSuccess("0",MediaType.APPLICATION_JSON));
+                    .andRespond(withSuccess(mapper.writeValueAsString(List.of(am)),MediaType.APPLICATION_JSON));
+            mockServer.expect(once(),
+                            requestTo(new URI(APP_SERVICE_BASE_URI + "/reservations")))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"message\":\"Not enough stock for " + existingApparelId + "\"}"));
             OrderRequestModel req = OrderRequestModel.builder()
                     .warehouseId(existingWarehouseId)
                     .items(List.of(
@@ -582,6 +690,68 @@
             mockServer.verify();
         }
     
+        @Test
+        void apparelClient_batchLookupAndStockAdjustment() throws Exception {
+            ApparelModel a1 = ApparelModel.builder().apparelId("A1").stock(3).build();
+            ApparelModel a2 = ApparelModel.builder().apparelId("A2").stock(7).build();
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "?ids=A1,A2"))
+                    .andExpect(method(HttpMethod.GET))
+                    .andRespond(withSuccess(
+                            mapper.writeValueAsString(List.of(a1, a2)),
+                            MediaType.APPLICATION_JSON));
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "/stock/batch"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "[{\"apparelId\":\"A1\",\"stock\":1},{\"apparelId\":\"A2\",\"stock\":8}]",
+                            MediaType.APPLICATION_JSON));
+            var found = apparelsClient.getApparelsByApparelIds(List.of("A1", "A2"));
+            assertEquals(2, found.size());
+            var levels = apparelsClient.adjustStock(List.of(
+                    new StockAdjustmentModel("A1", 2, StockOperation.DECREASE),
+                    new StockAdjustmentModel("A2", 1, StockOperation.INCREASE)));
+            assertEquals(List.of(new StockLevelModel("A1", 1), new StockLevelModel("A2", 8)), levels);
+            mockServer.verify();
+        }
+
+        @Test
+        void apparelClient_stockAdjustment_422_throwsInvalidInput() {
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "/stock/batch"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"message\":\"Not enough stock for apparel: A1\"}"));
+            var ex = assertThrows(InvalidInputException.class,
+                    () -> apparelsClient.adjustStock(List.of(
+                            new StockAdjustmentModel("A1", 9, StockOperation.DECREASE))));
+            assertEquals("Not enough stock for apparel: A1", ex.getMessage());
+            mockServer.verify();
+        }
+
+        @Test
+        void apparelClient_reserveConfirmRelease() throws Exception {
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "/reservations"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(jsonPath("$.items[0].apparelId").value("A1"))
+                    .andRespond(withSuccess(
+                            "{\"reservationId\":\"R1\",\"items\":[{\"apparelId\":\"A1\",\"quantity\":2}]," +
+                                    "\"expiresAt\":\"2030-01-01T00:00:00Z\"}",
+                            MediaType.APPLICATION_JSON));
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "/reservations/R1/confirm"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withStatus(HttpStatus.NO_CONTENT));
+            mockServer.expect(once(), requestTo(APP_SERVICE_BASE_URI + "/reservations/R1"))
+                    .andExpect(method(HttpMethod.DELETE))
+                    .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body("{\"message\":\"Reservation not found or expired: R1\"}"));
+            var reservation = apparelsClient.reserveStock(List.of(new ReservationItemModel("A1", 2)));
+            assertEquals("R1", reservation.getReservationId());
+            assertEquals(List.of(new ReservationItemModel("A1", 2)), reservation.getItems());
+            assertDoesNotThrow(() -> apparelsClient.confirmReservation("R1"));
+            assertThrows(NotFoundException.class, () -> apparelsClient.releaseReservation("R1"));
+            mockServer.verify();
+        }
+
         @Test
         void apparelClient_createUpdateDelete_errorBranches() {
             ApparelModel newApp = ApparelModel.builder()
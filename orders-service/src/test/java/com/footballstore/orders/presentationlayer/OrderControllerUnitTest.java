@@ -1,5 +1,6 @@
 package com.footballstore.orders.presentationlayer;
 
+import com.footballstore.orders.businesslayer.OrderIdempotencyService;
 import com.footballstore.orders.businesslayer.OrderService;
 import com.footballstore.orders.dataaccesslayer.OrderStatus;
 import com.footballstore.orders.dataaccesslayer.PaymentStatus;
@@ -17,6 +18,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -42,6 +46,9 @@ class OrderControllerUnitTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderIdempotencyService orderIdempotencyService;
+
     @Autowired
     private OrderController orderController;
 
@@ -91,7 +98,7 @@ class OrderControllerUnitTest {
                 .thenReturn(dummy);
 
         ResponseEntity<OrderResponseModel> resp =
-                orderController.getCustomerOrderById(VALID_CUSTOMER, VALID_ORDER);
+                orderController.getCustomerOrderById(VALID_CUSTOMER, VALID_ORDER, get());
 
         assertEquals(200, resp.getStatusCodeValue());
         assertSame(dummy, resp.getBody());
@@ -102,7 +109,7 @@ class OrderControllerUnitTest {
     void getCustomerOrderById_invalidCustomer_throwsInvalidInput() {
         assertThrows(
                 InvalidInputException.class,
-                () -> orderController.getCustomerOrderById("short", VALID_ORDER)
+                () -> orderController.getCustomerOrderById("short", VALID_ORDER, get())
         );
         verify(orderService, never()).getCustomerOrderById(any(), any());
     }
@@ -111,7 +118,7 @@ class OrderControllerUnitTest {
     void getCustomerOrderById_invalidOrder_throwsInvalidInput() {
         assertThrows(
                 InvalidInputException.class,
-                () -> orderController.getCustomerOrderById(VALID_CUSTOMER, "short")
+                () -> orderController.getCustomerOrderById(VALID_CUSTOMER, "short", get())
         );
         verify(orderService, never()).getCustomerOrderById(any(), any());
     }
@@ -123,11 +130,24 @@ class OrderControllerUnitTest {
 
         NotFoundException ex = assertThrows(
                 NotFoundException.class,
-                () -> orderController.getCustomerOrderById(VALID_CUSTOMER, VALID_ORDER)
+                () -> orderController.getCustomerOrderById(VALID_CUSTOMER, VALID_ORDER, get())
         );
         assertEquals("no such order", ex.getMessage());
     }
 
+    @Test
+    void getCustomerOrderById_matchingETag_answersFromTheVersionAlone() {
+        when(orderService.getCustomerOrderVersion(VALID_CUSTOMER, VALID_ORDER)).thenReturn(3L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(orderController.getCustomerOrderById(VALID_CUSTOMER, VALID_ORDER,
+                new ServletWebRequest(request, response)));
+        assertEquals(304, response.getStatus());
+        verify(orderService, never()).getCustomerOrderById(any(), any());
+    }
+
     @Test
     void processCustomerOrder_validInput_returnsCreated() {
         var req = OrderRequestModel.builder()
@@ -148,7 +168,7 @@ class OrderControllerUnitTest {
                 .thenReturn(created);
 
         ResponseEntity<OrderResponseModel> resp =
-                orderController.processCustomerOrder(VALID_CUSTOMER, req);
+                orderController.processCustomerOrder(VALID_CUSTOMER, null, req);
 
         assertEquals(201, resp.getStatusCodeValue());
         assertSame(created, resp.getBody());
@@ -165,7 +185,7 @@ class OrderControllerUnitTest {
 
         NotFoundException ex = assertThrows(
                 NotFoundException.class,
-                () -> orderController.processCustomerOrder(VALID_CUSTOMER, req)
+                () -> orderController.processCustomerOrder(VALID_CUSTOMER, null, req)
         );
         assertEquals("cust missing", ex.getMessage());
     }
@@ -181,7 +201,7 @@ class OrderControllerUnitTest {
 
         InvalidInputException ex = assertThrows(
                 InvalidInputException.class,
-                () -> orderController.processCustomerOrder(VALID_CUSTOMER, req)
+                () -> orderController.processCustomerOrder(VALID_CUSTOMER, null, req)
         );
         assertEquals("bad data", ex.getMessage());
     }
@@ -284,4 +304,19 @@ class OrderControllerUnitTest {
         );
         assertEquals("cannot cancel", ex.getMessage());
     }
+
+    @Test
+    void respondAsync_findsThePreferenceAmongOthers() {
+        assertTrue(OrderController.respondAsync(List.of("respond-async")));
+        assertTrue(OrderController.respondAsync(List.of("respond-async, wait=10")));
+        assertTrue(OrderController.respondAsync(List.of("return=minimal", "Respond-Async")));
+        assertTrue(OrderController.respondAsync(List.of("wait=10; foo, respond-async; bar")));
+        assertFalse(OrderController.respondAsync(List.of("return=representation")));
+        assertFalse(OrderController.respondAsync(List.of("respond-asyncx")));
+        assertFalse(OrderController.respondAsync(null));
+    }
+
+    private static ServletWebRequest get() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
 }
@@ -0,0 +1,121 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.businesslayer.OrderEventBus;
+import com.footballstore.orders.dataaccesslayer.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.order-events.relay-interval=PT1H")
+@ActiveProfiles("test")
+class OrderEventControllerIntegrationTest {
+
+    private static final String BASE_URI = "/api/v1/orders/events";
+
+    @Autowired private WebTestClient webClient;
+    @Autowired private OrderEventRepository eventRepository;
+    @Autowired private OrderEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        for (long offset = 1; offset <= 3; offset++) {
+            eventRepository.insert(event(offset));
+        }
+    }
+
+    @Test
+    void streamOrderEvents_replaysFromTheStart_thenDeliversLiveEvents() {
+        Flux<ServerSentEvent<OrderEventResponseModel>> stream = subscribe(BASE_URI, null);
+
+        List<ServerSentEvent<OrderEventResponseModel>> events = stream
+                .doOnNext(sse -> {
+                    if ("3".equals(sse.id())) {
+                        eventBus.publish(eventRepository.insert(event(4)));
+                    }
+                })
+                .take(4)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("1", "2", "3", "4"), events.stream().map(ServerSentEvent::id).toList());
+        assertEquals("ORDER_CREATED", events.get(0).event());
+        assertEquals(new BigDecimal("25.00"), events.get(3).data().getTotalAmount());
+    }
+
+    @Test
+    void streamOrderEvents_resumesAfterLastEventId() {
+        List<String> ids = subscribe(BASE_URI, "1")
+                .take(2)
+                .map(ServerSentEvent::id)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("2", "3"), ids);
+    }
+
+    @Test
+    void streamOrderEvents_resumesAfterQueryOffset() {
+        List<Long> offsets = subscribe(BASE_URI + "?after=2", null)
+                .take(1)
+                .map(sse -> sse.data().getOffset())
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of(3L), offsets);
+    }
+
+    @Test
+    void streamOrderEvents_negativeOffset_isRejected() {
+        // the error body is JSON, so only a client that also accepts JSON gets to read it
+        webClient.get().uri(BASE_URI + "?after=-1")
+                .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid event offset: -1");
+    }
+
+    private Flux<ServerSentEvent<OrderEventResponseModel>> subscribe(String uri, String lastEventId) {
+        return webClient.get().uri(uri)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (lastEventId != null) {
+                        headers.set("Last-Event-ID", lastEventId);
+                    }
+                })
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<OrderEventResponseModel>>() {})
+                .getResponseBody();
+    }
+
+    private static OrderEvent event(long offset) {
+        return OrderEvent.builder()
+                .offset(offset)
+                .eventId(UUID.randomUUID().toString())
+                .eventType(offset == 1 ? OrderEventType.ORDER_CREATED : OrderEventType.ORDER_UPDATED)
+                .orderId(UUID.randomUUID().toString())
+                .customerId(UUID.randomUUID().toString())
+                .orderStatus(OrderStatus.CREATED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .totalPrice(new OrderPrice(new BigDecimal("25.00"), "USD"))
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
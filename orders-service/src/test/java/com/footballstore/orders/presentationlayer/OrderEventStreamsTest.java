@@ -0,0 +1,65 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.footballstore.orders.businesslayer.OrderEventService;
+import com.footballstore.orders.dataaccesslayer.OrderEvent;
+import com.footballstore.orders.dataaccesslayer.OrderEventType;
+import com.footballstore.orders.mappinglayer.OrderResponseMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderEventStreamsTest {
+
+    private final CountDownLatch replayStuck = new CountDownLatch(1);
+    private OrderEventService eventService;
+    private OrderResponseMapper mapper;
+    private OrderEventStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        eventService = mock(OrderEventService.class);
+        mapper = mock(OrderResponseMapper.class);
+        when(mapper.mapToOrderEventResponse(any())).thenAnswer(inv -> OrderEventResponseModel.builder()
+                .offset(((OrderEvent) inv.getArgument(0)).getOffset())
+                .eventType(OrderEventType.ORDER_CREATED)
+                .build());
+        streams = new OrderEventStreams(eventService, mapper, Duration.ofMinutes(1), 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replayStuck.countDown();
+        streams.shutdown();
+    }
+
+    @Test
+    void accept_subscriberFallsBehind_isClosedWithoutHoldingUpTheRelay() throws Exception {
+        CountDownLatch replaying = new CountDownLatch(1);
+        // the stuck replay stands in for a client that has stopped reading
+        when(eventService.getOrderEventsAfter(eq(0L), anyInt())).thenAnswer(inv -> {
+            replaying.countDown();
+            replayStuck.await();
+            return List.of();
+        });
+        SseEmitter slow = streams.subscribe(0);
+        assertTrue(replaying.await(5, TimeUnit.SECONDS));
+
+        for (long offset = 1; offset <= 3; offset++) {
+            streams.accept(OrderEvent.builder().offset(offset).build());
+        }
+
+        // completed: nothing more can be sent on it
+        assertThrows(IllegalStateException.class, () -> slow.send("late"));
+        verify(mapper, times(3)).mapToOrderEventResponse(any());
+    }
+}
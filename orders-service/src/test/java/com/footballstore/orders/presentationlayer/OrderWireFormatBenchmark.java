@@ -0,0 +1,161 @@
+package com.footballstore.orders.presentationlayer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.footballstore.orders.dataaccesslayer.OrderStatus;
+import com.footballstore.orders.dataaccesslayer.PaymentStatus;
+import com.footballstore.orders.domainclientlayer.apparels.ApparelType;
+import com.footballstore.orders.domainclientlayer.apparels.SizeOption;
+import com.footballstore.orders.domainclientlayer.customers.Address;
+import com.footballstore.orders.domainclientlayer.customers.ContactMethod;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bytes on the wire and encode/decode time for lists of {@link OrderResponseModel}, as JSON and
+ * as Smile, each plain and gzip-compressed the way {@code server.compression} sends them.
+ * Timings are the median of {@link #RUNS} round trips after a warm-up. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class OrderWireFormatBenchmark {
+
+    private static final int[] LIST_SIZES = {1, 50, 500};
+    private static final int WARMUP = 200;
+    private static final int RUNS = 200;
+    private static final TypeReference<List<OrderResponseModel>> ORDER_LIST = new TypeReference<>() {};
+
+    @Test
+    void orderListsByWireFormat() {
+        ObjectMapper json = mapper(new JsonFactory());
+        ObjectMapper smile = mapper(new SmileFactory());
+
+        System.out.printf("%-12s %6s %10s %12s %12s%n", "format", "orders", "bytes", "encode(us)", "decode(us)");
+        for (int size : LIST_SIZES) {
+            List<OrderResponseModel> orders = orders(size);
+            report("json", orders, json, false);
+            report("json+gzip", orders, json, true);
+            report("smile", orders, smile, false);
+            report("smile+gzip", orders, smile, true);
+        }
+    }
+
+    private static void report(String format, List<OrderResponseModel> orders, ObjectMapper mapper, boolean gzip) {
+        byte[] wire = encode(orders, mapper, gzip);
+        assertEquals(orders, decode(wire, mapper, gzip));
+
+        for (int i = 0; i < WARMUP; i++) {
+            decode(encode(orders, mapper, gzip), mapper, gzip);
+        }
+        long[] encodes = new long[RUNS];
+        long[] decodes = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            byte[] bytes = encode(orders, mapper, gzip);
+            long encoded = System.nanoTime();
+            decode(bytes, mapper, gzip);
+            encodes[i] = encoded - start;
+            decodes[i] = System.nanoTime() - encoded;
+        }
+        System.out.printf("%-12s %6d %10d %12.1f %12.1f%n", format, orders.size(), wire.length,
+                median(encodes) / 1e3, median(decodes) / 1e3);
+    }
+
+    private static byte[] encode(List<OrderResponseModel> orders, ObjectMapper mapper, boolean gzip) {
+        try {
+            if (!gzip) {
+                return mapper.writeValueAsBytes(orders);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream zipped = new GZIPOutputStream(out)) {
+                mapper.writeValue(zipped, orders);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<OrderResponseModel> decode(byte[] wire, ObjectMapper mapper, boolean gzip) {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(wire)) : new ByteArrayInputStream(wire)) {
+            return mapper.readValue(in, ORDER_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long median(long[] samples) {
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    // configured like the Boot mapper the services use for JSON
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<OrderResponseModel> orders(int size) {
+        List<OrderResponseModel> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<OrderItemResponseModel> items = new ArrayList<>();
+            for (int line = 0; line < 3; line++) {
+                items.add(OrderItemResponseModel.builder()
+                        .orderItemId(UUID.randomUUID().toString())
+                        .apparelId(UUID.randomUUID().toString())
+                        .itemName("Home Jersey 24/25 #" + line)
+                        .description("Official home jersey, breathable fabric with embroidered crest")
+                        .brand("Adidas")
+                        .unitPrice(new BigDecimal("89.99"))
+                        .cost(new BigDecimal("41.50"))
+                        .quantity(line + 1)
+                        .discount(new BigDecimal("0.10"))
+                        .lineTotal(new BigDecimal("80.99").multiply(BigDecimal.valueOf(line + 1)))
+                        .apparelType(ApparelType.JERSEY)
+                        .sizeOption(SizeOption.M)
+                        .build());
+            }
+            orders.add(OrderResponseModel.builder()
+                    .orderId(UUID.randomUUID().toString())
+                    .orderDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .customerId(UUID.randomUUID().toString())
+                    .firstName("Jane")
+                    .lastName("Doe")
+                    .email("jane.doe@example.com")
+                    .phone("555-0100")
+                    .registrationDate(LocalDate.of(2020, 1, 1))
+                    .preferredContact(ContactMethod.EMAIL)
+                    .address(new Address("1 Main St", "Montreal", "QC", "Canada", "H1A 1A1"))
+                    .warehouseId(UUID.randomUUID().toString())
+                    .locationName("Main Warehouse")
+                    .warehouseAddress("500 Industrial Rd")
+                    .capacity(10_000)
+                    .items(items)
+                    .totalAmount(new BigDecimal("485.94"))
+                    .currency("USD")
+                    .orderStatus(OrderStatus.COMPLETED)
+                    .paymentStatus(PaymentStatus.CAPTURED)
+                    .build());
+        }
+        return orders;
+    }
+}
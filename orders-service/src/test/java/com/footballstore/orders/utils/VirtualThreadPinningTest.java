@@ -0,0 +1,82 @@
+package com.footballstore.orders.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Object monitor = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+    private VirtualThreadPinning pinning;
+
+    @BeforeEach
+    void start() {
+        pinning = new VirtualThreadPinning(meterRegistry, Duration.ofMillis(10));
+        pinning.start();
+    }
+
+    @AfterEach
+    void stop() {
+        pinning.stop();
+    }
+
+    @Test
+    void record_sleepInsideSynchronized_isCountedAtItsSite() throws Exception {
+        Thread.ofVirtual().start(this::sleepUnderLock).join();
+        Thread.ofVirtual().start(this::sleepInsideSynchronized).join();
+
+        Collection<Counter> pinned = awaitPinned();
+
+        // only the synchronized block pins; the ReentrantLock wait unmounts as it should
+        assertEquals(1, pinned.size());
+        Counter counter = pinned.iterator().next();
+        String site = counter.getId().getTag("site");
+        assertTrue(site.startsWith(VirtualThreadPinningTest.class.getName() + "."), site);
+        assertEquals(1.0, counter.count());
+    }
+
+    private Collection<Counter> awaitPinned() throws InterruptedException {
+        // the flight recorder hands events to the stream about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        Collection<Counter> pinned = meterRegistry.find("jvm.threads.virtual.pinned").counters();
+        while (pinned.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            pinned = meterRegistry.find("jvm.threads.virtual.pinned").counters();
+        }
+        assertFalse(pinned.isEmpty(), "no pinned wait was counted");
+        return pinned;
+    }
+
+    private void sleepInsideSynchronized() {
+        synchronized (monitor) {
+            sleep();
+        }
+    }
+
+    private void sleepUnderLock() {
+        lock.lock();
+        try {
+            sleep();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.footballstore.warehouses.businesslayer;
+
+import com.footballstore.warehouses.dataaccesslayer.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Units held per warehouse, kept in memory so a capacity check reads one counter instead of
+ * summing WAREHOUSE_STOCK. A warehouse's counter is loaded from the table the first time it is
+ * touched. Increases are reserved up front, so concurrent receipts cannot overshoot the capacity
+ * together, and handed back on rollback; decreases only free space once they commit.
+ * Callers must register a change before running the matching stock updates.
+ */
+@Component
+@RequiredArgsConstructor
+class WarehouseOccupancy {
+
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final Map<Integer, AtomicLong> occupiedByWarehouse = new ConcurrentHashMap<>();
+
+    long occupied(Integer warehouseId) {
+        return counter(warehouseId).get();
+    }
+
+    boolean tryReserve(Integer warehouseId, int quantity, Integer capacity) {
+        AtomicLong counter = counter(warehouseId);
+        long limit = capacity == null ? Long.MAX_VALUE : capacity;
+        long current;
+        do {
+            current = counter.get();
+            if (current + quantity > limit) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + quantity));
+        afterCompletion(committed -> {
+            if (!committed) {
+                counter.addAndGet(-quantity);
+            }
+        });
+        return true;
+    }
+
+    void release(Integer warehouseId, int quantity) {
+        AtomicLong counter = counter(warehouseId);
+        afterCompletion(committed -> {
+            if (committed) {
+                counter.addAndGet(-quantity);
+            }
+        });
+    }
+
+    void evict(Integer warehouseId) {
+        afterCompletion(committed -> {
+            if (committed) {
+                occupiedByWarehouse.remove(warehouseId);
+            }
+        });
+    }
+
+    private AtomicLong counter(Integer warehouseId) {
+        return occupiedByWarehouse.computeIfAbsent(warehouseId,
+                id -> new AtomicLong(warehouseStockRepository.sumQuantityByWarehouseId(id)));
+    }
+
+    private static void afterCompletion(Consumer<Boolean> outcome) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outcome.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                outcome.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
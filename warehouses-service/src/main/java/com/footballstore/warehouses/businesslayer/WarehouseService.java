@@ -8,6 +8,7 @@ import java.util.List;
 public interface WarehouseService {
     List<WarehouseResponseModel> getAllWarehouses();
     WarehouseResponseModel getWarehouseById(String warehouseId);
+    long getWarehouseVersion(String warehouseId);
     WarehouseResponseModel createWarehouse(WarehouseRequestModel requestModel);
     WarehouseResponseModel updateWarehouse(String warehouseId, WarehouseRequestModel requestModel);
     void deleteWarehouse(String warehouseId);
@@ -25,6 +25,7 @@ public class WarehouseServiceImpl implements WarehouseService {
     private final WarehouseRepository warehouseRepository;
     private final WarehouseResponseMapper warehouseResponseMapper;
     private final WarehouseRequestMapper warehouseRequestMapper;
+    private final WarehouseOccupancy warehouseOccupancy;
 
     @Override
     public List<WarehouseResponseModel> getAllWarehouses() {
@@ -40,6 +41,13 @@ public class WarehouseServiceImpl implements WarehouseService {
         return warehouseResponseMapper.entityToResponseModel(warehouse);
     }
 
+    @Override
+    public long getWarehouseVersion(String warehouseId) {
+        validateUuid(warehouseId);
+        return warehouseRepository.findVersionByWarehouseId(warehouseId)
+                .orElseThrow(() -> new NotFoundException("Warehouse not found with id: " + warehouseId));
+    }
+
     @Override
     public WarehouseResponseModel createWarehouse(WarehouseRequestModel requestModel) {
         if (requestModel.getCapacity() == null || requestModel.getCapacity() < 100) {
@@ -59,6 +67,11 @@ public class WarehouseServiceImpl implements WarehouseService {
         if (requestModel.getCapacity() != null && requestModel.getCapacity() < 100) {
             throw new InvalidWarehouseCapacityException("Warehouse capacity must be at least 100.");
         }
+        if (requestModel.getCapacity() != null
+                && requestModel.getCapacity() < warehouseOccupancy.occupied(existing.getId())) {
+            throw new InvalidWarehouseCapacityException("Warehouse capacity cannot be below the "
+                    + warehouseOccupancy.occupied(existing.getId()) + " units it holds.");
+        }
         existing.setLocationName(requestModel.getLocationName());
         existing.setAddress(requestModel.getAddress());
         existing.setCapacity(requestModel.getCapacity());
@@ -71,7 +84,9 @@ public class WarehouseServiceImpl implements WarehouseService {
         validateUuid(warehouseId);
         Warehouse existing = warehouseRepository.findByWarehouseIdentifier_WarehouseId(warehouseId)
                 .orElseThrow(() -> new NotFoundException("Warehouse not found with id: " + warehouseId));
+        // its WAREHOUSE_STOCK rows go with it through the foreign key
         warehouseRepository.delete(existing);
+        warehouseOccupancy.evict(existing.getId());
     }
 
     private void validateUuid(String id) {
@@ -0,0 +1,17 @@
+package com.footballstore.warehouses.businesslayer;
+
+import com.footballstore.warehouses.presentationlayer.StockAdjustmentRequestModel;
+import com.footballstore.warehouses.presentationlayer.StockLevelResponseModel;
+import com.footballstore.warehouses.presentationlayer.WarehouseStockChangeResponseModel;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface WarehouseStockService {
+    int getStock(String warehouseId, String apparelId);
+    List<StockLevelResponseModel> getStockLevels(String warehouseId, List<String> apparelIds);
+    List<WarehouseStockChangeResponseModel> getStockChanges(Instant changedSince);
+    void decreaseStock(String warehouseId, String apparelId, int quantity);
+    void increaseStock(String warehouseId, String apparelId, int quantity);
+    List<StockLevelResponseModel> adjustStock(String warehouseId, List<StockAdjustmentRequestModel> adjustments);
+}
@@ -0,0 +1,171 @@
+package com.footballstore.warehouses.businesslayer;
+
+import com.footballstore.warehouses.dataaccesslayer.Warehouse;
+import com.footballstore.warehouses.dataaccesslayer.WarehouseRepository;
+import com.footballstore.warehouses.dataaccesslayer.WarehouseStock;
+import com.footballstore.warehouses.dataaccesslayer.WarehouseStockRepository;
+import com.footballstore.warehouses.presentationlayer.StockAdjustmentRequestModel;
+import com.footballstore.warehouses.presentationlayer.StockLevelResponseModel;
+import com.footballstore.warehouses.presentationlayer.StockOperation;
+import com.footballstore.warehouses.presentationlayer.WarehouseStockChangeResponseModel;
+import com.footballstore.warehouses.utils.exceptions.InvalidInputException;
+import com.footballstore.warehouses.utils.exceptions.InvalidWarehouseCapacityException;
+import com.footballstore.warehouses.utils.exceptions.NotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WarehouseStockServiceImpl implements WarehouseStockService {
+
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final WarehouseOccupancy warehouseOccupancy;
+
+    @Override
+    public int getStock(String warehouseId, String apparelId) {
+        Warehouse warehouse = findWarehouse(warehouseId);
+        validateApparelId(apparelId);
+        return warehouseStockRepository.findQuantity(warehouse.getId(), apparelId).orElse(0);
+    }
+
+    @Override
+    public List<StockLevelResponseModel> getStockLevels(String warehouseId, List<String> apparelIds) {
+        Warehouse warehouse = findWarehouse(warehouseId);
+        if (apparelIds == null || apparelIds.isEmpty()) {
+            return warehouseStockRepository.findAllByWarehouseIdOrderByApparelId(warehouse.getId()).stream()
+                    .map(s -> new StockLevelResponseModel(s.getApparelId(), s.getQty()))
+                    .toList();
+        }
+        apparelIds.forEach(this::validateApparelId);
+        return stockLevels(warehouse, new LinkedHashSet<>(apparelIds));
+    }
+
+    @Override
+    public List<WarehouseStockChangeResponseModel> getStockChanges(Instant changedSince) {
+        return (changedSince == null
+                ? warehouseStockRepository.findAllChanges()
+                : warehouseStockRepository.findChangesSince(changedSince)).stream()
+                .map(c -> new WarehouseStockChangeResponseModel(
+                        c.getWarehouseId(), c.getApparelId(), c.getQuantity(), c.getUpdatedAt()))
+                .toList();
+    }
+
+    @Override
+    public void decreaseStock(String warehouseId, String apparelId, int quantity) {
+        validateApparelId(apparelId);
+        validateQuantity(apparelId, quantity);
+        applyDeltas(findWarehouse(warehouseId), Map.of(apparelId, -quantity));
+    }
+
+    @Override
+    public void increaseStock(String warehouseId, String apparelId, int quantity) {
+        validateApparelId(apparelId);
+        validateQuantity(apparelId, quantity);
+        applyDeltas(findWarehouse(warehouseId), Map.of(apparelId, quantity));
+    }
+
+    @Override
+    public List<StockLevelResponseModel> adjustStock(String warehouseId, List<StockAdjustmentRequestModel> adjustments) {
+        Warehouse warehouse = findWarehouse(warehouseId);
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new InvalidInputException("At least one stock adjustment is required");
+        }
+
+        // net delta per apparel, so repeated ids in one batch are checked together
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (StockAdjustmentRequestModel adjustment : adjustments) {
+            String apparelId = adjustment.getApparelId();
+            validateApparelId(apparelId);
+            if (adjustment.getQuantity() == null || adjustment.getQuantity() <= 0
+                    || adjustment.getOperation() == null) {
+                throw new InvalidInputException("Invalid stock adjustment for apparel: " + apparelId);
+            }
+            int delta = adjustment.getOperation() == StockOperation.DECREASE
+                    ? -adjustment.getQuantity()
+                    : adjustment.getQuantity();
+            deltas.merge(apparelId, delta, Integer::sum);
+        }
+
+        applyDeltas(warehouse, deltas);
+        return stockLevels(warehouse, deltas.keySet());
+    }
+
+    private void applyDeltas(Warehouse warehouse, Map<String, Integer> deltas) {
+        // capacity is checked against the batch's net change, and the occupancy is registered
+        // before any row moves so a counter loaded here never sees this transaction's updates
+        int net = deltas.values().stream().mapToInt(Integer::intValue).sum();
+        if (net > 0 && !warehouseOccupancy.tryReserve(warehouse.getId(), net, warehouse.getCapacity())) {
+            throw new InvalidWarehouseCapacityException("Warehouse " + warehouse.getWarehouseIdentifier().getWarehouseId()
+                    + " cannot take " + net + " more units: " + warehouseOccupancy.occupied(warehouse.getId())
+                    + " of " + warehouse.getCapacity() + " are in use.");
+        }
+        if (net < 0) {
+            warehouseOccupancy.release(warehouse.getId(), -net);
+        }
+
+        // sorted so concurrent batches take row locks in the same order;
+        // any rejected line throws and rolls the whole batch back
+        Instant now = Instant.now();
+        deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> applyDelta(warehouse, e.getKey(), e.getValue(), now));
+    }
+
+    private void applyDelta(Warehouse warehouse, String apparelId, int delta, Instant now) {
+        if (delta < 0) {
+            if (warehouseStockRepository.decreaseIfAvailable(warehouse.getId(), apparelId, -delta, now) == 0) {
+                throw new InvalidInputException("Not enough stock for apparel " + apparelId
+                        + " in warehouse " + warehouse.getWarehouseIdentifier().getWarehouseId());
+            }
+        } else if (warehouseStockRepository.increase(warehouse.getId(), apparelId, delta, now) == 0) {
+            warehouseStockRepository.saveAndFlush(WarehouseStock.builder()
+                    .warehouseId(warehouse.getId())
+                    .apparelId(apparelId)
+                    .qty(delta)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    // every requested apparel is answered, with 0 for those the warehouse has never held
+    private List<StockLevelResponseModel> stockLevels(Warehouse warehouse, Collection<String> apparelIds) {
+        Map<String, Integer> quantities = warehouseStockRepository
+                .findAllByWarehouseIdAndApparelIdIn(warehouse.getId(), apparelIds).stream()
+                .collect(Collectors.toMap(WarehouseStock::getApparelId, WarehouseStock::getQty));
+        return apparelIds.stream()
+                .map(apparelId -> new StockLevelResponseModel(apparelId, quantities.getOrDefault(apparelId, 0)))
+                .toList();
+    }
+
+    private Warehouse findWarehouse(String warehouseId) {
+        try {
+            UUID.fromString(warehouseId);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidInputException("Provided warehouseId is invalid: " + warehouseId);
+        }
+        return warehouseRepository.findByWarehouseIdentifier_WarehouseId(warehouseId)
+                .orElseThrow(() -> new NotFoundException("Warehouse not found with id: " + warehouseId));
+    }
+
+    private void validateApparelId(String apparelId) {
+        try {
+            UUID.fromString(apparelId);
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new InvalidInputException("Provided apparelId is invalid: " + apparelId);
+        }
+    }
+
+    private void validateQuantity(String apparelId, int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidInputException("Invalid stock quantity " + quantity + " for apparel: " + apparelId);
+        }
+    }
+}
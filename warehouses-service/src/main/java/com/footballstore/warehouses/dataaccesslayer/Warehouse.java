@@ -28,4 +28,7 @@ public class Warehouse {
     @Column(name = "CAPACITY")
     private Integer capacity;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
 }
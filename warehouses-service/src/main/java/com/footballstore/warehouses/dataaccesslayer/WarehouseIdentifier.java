@@ -9,7 +9,7 @@ import java.util.UUID;
 @Data
 public class WarehouseIdentifier {
 
-    @Column(name = "WAREHOUSE_ID")
+    @Column(name = "WAREHOUSE_ID", unique = true)
     private String warehouseId;
 
     protected WarehouseIdentifier() {
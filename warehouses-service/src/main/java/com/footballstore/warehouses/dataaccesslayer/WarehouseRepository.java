@@ -1,10 +1,15 @@
 package com.footballstore.warehouses.dataaccesslayer;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface WarehouseRepository extends JpaRepository<Warehouse, Integer> {
     Optional<Warehouse> findByWarehouseIdentifier_WarehouseId(String warehouseId);
+
+    @Query("SELECT w.version FROM Warehouse w WHERE w.warehouseIdentifier.warehouseId = :warehouseId")
+    Optional<Long> findVersionByWarehouseId(@Param("warehouseId") String warehouseId);
 }
@@ -0,0 +1,35 @@
+package com.footballstore.warehouses.dataaccesslayer;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "WAREHOUSE_STOCK",
+        uniqueConstraints = @UniqueConstraint(name = "ux_warehouse_stock_warehouse_apparel",
+                columnNames = {"WAREHOUSE_ID", "APPAREL_ID"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WarehouseStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // the WAREHOUSES row id, not the public warehouseId
+    @Column(name = "WAREHOUSE_ID", nullable = false)
+    private Integer warehouseId;
+
+    @Column(name = "APPAREL_ID", nullable = false)
+    private String apparelId;
+
+    @Column(name = "QTY", nullable = false)
+    private int qty;
+
+    // feeds the stock change feed; set on every write
+    @Column(name = "UPDATED_AT", nullable = false)
+    private Instant updatedAt;
+}
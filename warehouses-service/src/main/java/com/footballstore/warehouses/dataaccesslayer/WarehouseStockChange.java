@@ -0,0 +1,11 @@
+package com.footballstore.warehouses.dataaccesslayer;
+
+import java.time.Instant;
+
+// a stock row as the change feed reports it, keyed by the public warehouseId
+public interface WarehouseStockChange {
+    String getWarehouseId();
+    String getApparelId();
+    Integer getQuantity();
+    Instant getUpdatedAt();
+}
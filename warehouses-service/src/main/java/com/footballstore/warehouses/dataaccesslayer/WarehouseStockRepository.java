@@ -0,0 +1,50 @@
+package com.footballstore.warehouses.dataaccesslayer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WarehouseStockRepository extends JpaRepository<WarehouseStock, Integer> {
+
+    @Query("SELECT s.qty FROM WarehouseStock s WHERE s.warehouseId = :warehouseId AND s.apparelId = :apparelId")
+    Optional<Integer> findQuantity(@Param("warehouseId") Integer warehouseId, @Param("apparelId") String apparelId);
+
+    List<WarehouseStock> findAllByWarehouseIdOrderByApparelId(Integer warehouseId);
+
+    List<WarehouseStock> findAllByWarehouseIdAndApparelIdIn(Integer warehouseId, Collection<String> apparelIds);
+
+    // only read when a warehouse's occupancy is first needed; after that it is tracked in memory
+    @Query("SELECT COALESCE(SUM(s.qty), 0) FROM WarehouseStock s WHERE s.warehouseId = :warehouseId")
+    long sumQuantityByWarehouseId(@Param("warehouseId") Integer warehouseId);
+
+    @Query("SELECT w.warehouseIdentifier.warehouseId AS warehouseId, s.apparelId AS apparelId, " +
+            "s.qty AS quantity, s.updatedAt AS updatedAt " +
+            "FROM WarehouseStock s JOIN Warehouse w ON w.id = s.warehouseId ORDER BY s.updatedAt")
+    List<WarehouseStockChange> findAllChanges();
+
+    @Query("SELECT w.warehouseIdentifier.warehouseId AS warehouseId, s.apparelId AS apparelId, " +
+            "s.qty AS quantity, s.updatedAt AS updatedAt " +
+            "FROM WarehouseStock s JOIN Warehouse w ON w.id = s.warehouseId " +
+            "WHERE s.updatedAt > :since ORDER BY s.updatedAt")
+    List<WarehouseStockChange> findChangesSince(@Param("since") Instant since);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseStock s SET s.qty = s.qty - :quantity, s.updatedAt = :now " +
+            "WHERE s.warehouseId = :warehouseId AND s.apparelId = :apparelId AND s.qty >= :quantity")
+    int decreaseIfAvailable(@Param("warehouseId") Integer warehouseId, @Param("apparelId") String apparelId,
+                            @Param("quantity") int quantity, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseStock s SET s.qty = s.qty + :quantity, s.updatedAt = :now " +
+            "WHERE s.warehouseId = :warehouseId AND s.apparelId = :apparelId")
+    int increase(@Param("warehouseId") Integer warehouseId, @Param("apparelId") String apparelId,
+                 @Param("quantity") int quantity, @Param("now") Instant now);
+}
@@ -11,7 +11,8 @@ public interface WarehouseRequestMapper {
 
     @Mappings({
             @Mapping(target = "id", ignore = true),
-            @Mapping(target = "warehouseIdentifier", ignore = true)
+            @Mapping(target = "warehouseIdentifier", ignore = true),
+            @Mapping(target = "version", ignore = true)
     })
     Warehouse requestModelToEntity(WarehouseRequestModel requestModel);
 }
@@ -0,0 +1,13 @@
+package com.footballstore.warehouses.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelResponseModel {
+    private String apparelId;
+    private Integer quantity;
+}
@@ -0,0 +1,6 @@
+package com.footballstore.warehouses.presentationlayer;
+
+public enum StockOperation {
+    DECREASE,
+    INCREASE
+}
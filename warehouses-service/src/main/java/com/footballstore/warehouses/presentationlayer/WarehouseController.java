@@ -2,8 +2,10 @@ package com.footballstore.warehouses.presentationlayer;
 
 import com.footballstore.warehouses.businesslayer.WarehouseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -20,9 +22,14 @@ public class WarehouseController {
     }
 
     @GetMapping("/{warehouseId}")
-    public ResponseEntity<WarehouseResponseModel> getWarehouseById(@PathVariable String warehouseId) {
+    public ResponseEntity<WarehouseResponseModel> getWarehouseById(@PathVariable String warehouseId, WebRequest request) {
+        // a revalidation only needs the version column; the row is loaded and serialized on a miss
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(etag(warehouseService.getWarehouseVersion(warehouseId)))) {
+            return null;
+        }
         WarehouseResponseModel warehouse = warehouseService.getWarehouseById(warehouseId);
-        return ResponseEntity.ok(warehouse);
+        return ResponseEntity.ok().eTag(etag(warehouse.getVersion())).body(warehouse);
     }
 
     @PostMapping
@@ -43,4 +50,8 @@ public class WarehouseController {
         warehouseService.deleteWarehouse(warehouseId);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 }
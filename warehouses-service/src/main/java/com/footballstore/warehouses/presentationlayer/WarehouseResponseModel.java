@@ -1,5 +1,6 @@
 package com.footballstore.warehouses.presentationlayer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.hateoas.RepresentationModel;
 
@@ -9,4 +10,7 @@ public class WarehouseResponseModel extends RepresentationModel<WarehouseRespons
     private String locationName;
     private String address;
     private Integer capacity;
+
+    @JsonIgnore
+    private long version;
 }
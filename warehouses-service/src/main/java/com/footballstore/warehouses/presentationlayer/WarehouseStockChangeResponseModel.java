@@ -0,0 +1,17 @@
+package com.footballstore.warehouses.presentationlayer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStockChangeResponseModel {
+    private String warehouseId;
+    private String apparelId;
+    private Integer quantity;
+    private Instant updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.footballstore.warehouses.presentationlayer;
+
+import com.footballstore.warehouses.businesslayer.WarehouseStockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/warehouses")
+@RequiredArgsConstructor
+public class WarehouseStockController {
+
+    private final WarehouseStockService warehouseStockService;
+
+    // every warehouse's stock rows, or only those written after changedSince, oldest write first
+    @GetMapping("/stock")
+    public ResponseEntity<List<WarehouseStockChangeResponseModel>> getStockChanges(
+            @RequestParam(value = "changedSince", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant changedSince) {
+        return ResponseEntity.ok(warehouseStockService.getStockChanges(changedSince));
+    }
+
+    @GetMapping("/{warehouseId}/apparels/{apparelId}/stock")
+    public Integer getStock(@PathVariable String warehouseId, @PathVariable String apparelId) {
+        return warehouseStockService.getStock(warehouseId, apparelId);
+    }
+
+    @PatchMapping("/{warehouseId}/apparels/{apparelId}/stock/decrease")
+    public void decreaseStock(@PathVariable String warehouseId, @PathVariable String apparelId,
+                              @RequestParam("quantity") int quantity) {
+        warehouseStockService.decreaseStock(warehouseId, apparelId, quantity);
+    }
+
+    @PatchMapping("/{warehouseId}/apparels/{apparelId}/stock/increase")
+    public void increaseStock(@PathVariable String warehouseId, @PathVariable String apparelId,
+                              @RequestParam("quantity") int quantity) {
+        warehouseStockService.increaseStock(warehouseId, apparelId, quantity);
+    }
+
+    @GetMapping("/{warehouseId}/stock")
+    public ResponseEntity<List<StockLevelResponseModel>> getStockLevels(
+            @PathVariable String warehouseId,
+            @RequestParam(value = "apparelIds", required = false) List<String> apparelIds) {
+        return ResponseEntity.ok(warehouseStockService.getStockLevels(warehouseId, apparelIds));
+    }
+
+    @PostMapping("/{warehouseId}/stock/batch")
+    public ResponseEntity<List<StockLevelResponseModel>> adjustStock(
+            @PathVariable String warehouseId,
+            @RequestBody List<StockAdjustmentRequestModel> adjustments) {
+        return ResponseEntity.ok(warehouseStockService.adjustStock(warehouseId, adjustments));
+    }
+}
@@ -0,0 +1,24 @@
+INSERT INTO WAREHOUSES
+(warehouse_id, LOCATION_NAME, ADDRESS, CAPACITY)
+VALUES
+    (UUID_TO_BIN('11111111-2222-3333-4444-555555555555'), 'Central Warehouse', '123 Warehouse Ave, Springfield', 500),
+    (UUID_TO_BIN('66666666-7777-8888-9999-aaaaaaaaaaaa'), 'North Distribution Center', '456 North St, Metropolis', 300),
+    (UUID_TO_BIN('bbbbbbbb-cccc-dddd-eeee-ffffffffffff'), 'East Storage', '789 East Rd, Gotham', 200),
+    (UUID_TO_BIN('01010101-0202-0303-0404-050505050505'), 'South Depot', '321 South Blvd, Star City', 400),
+    (UUID_TO_BIN('12121212-3434-5656-7878-909090909090'), 'West Logistics Hub', '654 West Lane, Coast City', 350),
+    (UUID_TO_BIN('aaaaaaaa-1111-bbbb-2222-cccccccccccc'), 'Regional Warehouse 1', '111 Region Way, Central City', 250),
+    (UUID_TO_BIN('dddddddd-3333-eeee-4444-ffffffffffff'), 'Regional Warehouse 2', '222 Region Ave, Central City', 275),
+    (UUID_TO_BIN('bbbbbbbb-1111-cccc-2222-dddddddddddd'), 'Overflow Storage', '333 Extra Rd, Smallville', 150),
+    (UUID_TO_BIN('cccccccc-3333-dddd-4444-eeeeeeeeeeee'), 'Main Distribution', '444 Main St, Capital City', 600),
+    (UUID_TO_BIN('ffffffff-5555-aaaa-6666-777777777777'), 'Backup Warehouse', '555 Backup Blvd, Midway City', 100);
+
+INSERT INTO WAREHOUSE_STOCK
+(warehouse_id, apparel_id, qty)
+VALUES
+    (1, UUID_TO_BIN('aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee'), 120),
+    (1, UUID_TO_BIN('aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee'), 80),
+    (1, UUID_TO_BIN('aaa33333-bbbb-cccc-dddd-eeeeeeeeeeee'), 60),
+    (2, UUID_TO_BIN('aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee'), 50),
+    (2, UUID_TO_BIN('aaa44444-bbbb-cccc-dddd-eeeeeeeeeeee'), 70),
+    (3, UUID_TO_BIN('aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee'), 40),
+    (3, UUID_TO_BIN('aaa55555-bbbb-cccc-dddd-eeeeeeeeeeee'), 30);
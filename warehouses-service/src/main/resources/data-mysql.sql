@@ -11,3 +11,14 @@ VALUES
     ('bbbbbbbb-1111-cccc-2222-dddddddddddd', 'Overflow Storage', '333 Extra Rd, Smallville', 150),
     ('cccccccc-3333-dddd-4444-eeeeeeeeeeee', 'Main Distribution', '444 Main St, Capital City', 600),
     ('ffffffff-5555-aaaa-6666-777777777777', 'Backup Warehouse', '555 Backup Blvd, Midway City', 100);
+
+INSERT INTO WAREHOUSE_STOCK
+(warehouse_id, apparel_id, qty)
+VALUES
+    (1, 'aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee', 120),
+    (1, 'aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee', 80),
+    (1, 'aaa33333-bbbb-cccc-dddd-eeeeeeeeeeee', 60),
+    (2, 'aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee', 50),
+    (2, 'aaa44444-bbbb-cccc-dddd-eeeeeeeeeeee', 70),
+    (3, 'aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee', 40),
+    (3, 'aaa55555-bbbb-cccc-dddd-eeeeeeeeeeee', 30);
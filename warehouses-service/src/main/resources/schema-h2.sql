@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS WAREHOUSE_STOCK;
 DROP TABLE IF EXISTS WAREHOUSES;
 
 CREATE TABLE WAREHOUSES (
@@ -5,5 +6,23 @@ CREATE TABLE WAREHOUSES (
                             warehouse_id VARCHAR(36),
                             LOCATION_NAME VARCHAR(100) NOT NULL,
                             ADDRESS VARCHAR(255) NOT NULL,
-                            CAPACITY INT
+                            CAPACITY INT,
+                            version BIGINT NOT NULL DEFAULT 0
 );
+
+CREATE UNIQUE INDEX ux_warehouses_warehouse_id ON WAREHOUSES (warehouse_id);
+
+-- one row per (warehouse, apparel); warehouse_id is the WAREHOUSES row id, apparel_id the apparels-service id
+CREATE TABLE WAREHOUSE_STOCK (
+                            id INT AUTO_INCREMENT PRIMARY KEY,
+                            warehouse_id INT NOT NULL,
+                            apparel_id VARCHAR(36) NOT NULL,
+                            qty INT NOT NULL DEFAULT 0,
+                            updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+                            CONSTRAINT fk_warehouse_stock_warehouse FOREIGN KEY (warehouse_id) REFERENCES WAREHOUSES (id) ON DELETE CASCADE,
+                            CONSTRAINT ck_warehouse_stock_qty CHECK (qty >= 0)
+);
+
+CREATE UNIQUE INDEX ux_warehouse_stock_warehouse_apparel ON WAREHOUSE_STOCK (warehouse_id, apparel_id);
+-- serves the change feed consumers poll with changedSince
+CREATE INDEX ix_warehouse_stock_updated_at ON WAREHOUSE_STOCK (updated_at);
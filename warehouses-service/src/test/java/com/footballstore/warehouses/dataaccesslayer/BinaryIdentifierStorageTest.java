@@ -0,0 +1,52 @@
+package com.footballstore.warehouses.dataaccesslayer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"h2", "binary-ids"})
+class BinaryIdentifierStorageTest {
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void binaryProfile_seedDataIsStoredAsNativeUuidAndFoundById() {
+        String type = jdbcTemplate.queryForObject("""
+                SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_NAME = 'WAREHOUSES' AND COLUMN_NAME = 'WAREHOUSE_ID'
+                """, String.class);
+
+        assertEquals("UUID", type);
+        assertTrue(warehouseRepository.findByWarehouseIdentifier_WarehouseId("11111111-2222-3333-4444-555555555555").isPresent());
+    }
+
+    @Test
+    void binaryProfile_stockApparelIdsAreNativeUuidAndQueryable() {
+        String type = jdbcTemplate.queryForObject("""
+                SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+                WHERE TABLE_NAME = 'WAREHOUSE_STOCK' AND COLUMN_NAME = 'APPAREL_ID'
+                """, String.class);
+        Integer warehouseId = warehouseRepository.findByWarehouseIdentifier_WarehouseId("11111111-2222-3333-4444-555555555555")
+                .orElseThrow().getId();
+
+        assertEquals("UUID", type);
+        assertEquals(120, warehouseStockRepository.findQuantity(warehouseId, "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee").orElseThrow());
+        assertEquals(1, warehouseStockRepository.decreaseIfAvailable(warehouseId, "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee", 20, Instant.now()));
+    }
+}
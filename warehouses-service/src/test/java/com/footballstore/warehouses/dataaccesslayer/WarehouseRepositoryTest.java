@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @DataJpaTest
 public class WarehouseRepositoryTest {
@@ -73,4 +74,21 @@ public class WarehouseRepositoryTest {
         List<Warehouse> allWarehouses = warehouseRepository.findAll();
         assertEquals(0, allWarehouses.size());
     }
+
+    @Test
+    public void testSaveDuplicateWarehouseIdentifier_thenUniqueIndexRejectsIt() {
+        warehouseRepository.saveAndFlush(Warehouse.builder()
+                .warehouseIdentifier(new WarehouseIdentifier("WH004"))
+                .locationName("West Storage")
+                .address("1 West Rd")
+                .capacity(100)
+                .build());
+
+        assertThrows(DataIntegrityViolationException.class, () -> warehouseRepository.saveAndFlush(Warehouse.builder()
+                .warehouseIdentifier(new WarehouseIdentifier("WH004"))
+                .locationName("West Annex")
+                .address("2 West Rd")
+                .capacity(50)
+                .build()));
+    }
 }
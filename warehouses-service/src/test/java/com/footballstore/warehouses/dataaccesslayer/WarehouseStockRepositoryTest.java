@@ -0,0 +1,104 @@
+package com.footballstore.warehouses.dataaccesslayer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class WarehouseStockRepositoryTest {
+
+    private static final String APPAREL_A = "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee";
+    private static final String APPAREL_B = "aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee";
+    private static final Instant SEEDED = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    private Integer warehouseId;
+
+    @BeforeEach
+    void setUp() {
+        warehouseStockRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        warehouseId = warehouseRepository.save(Warehouse.builder()
+                .warehouseIdentifier(new WarehouseIdentifier("WH001"))
+                .locationName("Central Warehouse")
+                .address("123 Warehouse Ave")
+                .capacity(500)
+                .build()).getId();
+        warehouseStockRepository.save(stock(APPAREL_A, 10));
+        warehouseStockRepository.save(stock(APPAREL_B, 5));
+    }
+
+    @Test
+    void decreaseIfAvailable_enoughStock_updatesOneRow() {
+        assertEquals(1, warehouseStockRepository.decreaseIfAvailable(warehouseId, APPAREL_A, 10, Instant.now()));
+        assertEquals(0, warehouseStockRepository.findQuantity(warehouseId, APPAREL_A).orElseThrow());
+    }
+
+    @Test
+    void decreaseIfAvailable_notEnoughStock_leavesRowUntouched() {
+        assertEquals(0, warehouseStockRepository.decreaseIfAvailable(warehouseId, APPAREL_A, 11, Instant.now()));
+        assertEquals(10, warehouseStockRepository.findQuantity(warehouseId, APPAREL_A).orElseThrow());
+    }
+
+    @Test
+    void increase_missingRow_updatesNothing() {
+        String unstocked = "aaa33333-bbbb-cccc-dddd-eeeeeeeeeeee";
+        assertEquals(0, warehouseStockRepository.increase(warehouseId, unstocked, 3, Instant.now()));
+        assertTrue(warehouseStockRepository.findQuantity(warehouseId, unstocked).isEmpty());
+    }
+
+    @Test
+    void sumQuantityByWarehouseId_sumsOnlyThatWarehouse() {
+        warehouseStockRepository.save(WarehouseStock.builder().warehouseId(warehouseId + 1).apparelId(APPAREL_A).qty(99).updatedAt(SEEDED).build());
+
+        assertEquals(15, warehouseStockRepository.sumQuantityByWarehouseId(warehouseId));
+        assertEquals(0, warehouseStockRepository.sumQuantityByWarehouseId(-1));
+    }
+
+    @Test
+    void findAllByWarehouseIdAndApparelIdIn_returnsRequestedRows() {
+        List<WarehouseStock> found = warehouseStockRepository
+                .findAllByWarehouseIdAndApparelIdIn(warehouseId, List.of(APPAREL_B, "aaa99999-bbbb-cccc-dddd-eeeeeeeeeeee"));
+
+        assertEquals(1, found.size());
+        assertEquals(5, found.get(0).getQty());
+    }
+
+    @Test
+    void findChangesSince_returnsOnlyLaterWritesWithPublicWarehouseId() {
+        Instant written = SEEDED.plus(1, ChronoUnit.HOURS);
+        warehouseStockRepository.increase(warehouseId, APPAREL_B, 2, written);
+
+        List<WarehouseStockChange> changes = warehouseStockRepository.findChangesSince(SEEDED);
+
+        assertEquals(1, changes.size());
+        assertEquals("WH001", changes.get(0).getWarehouseId());
+        assertEquals(APPAREL_B, changes.get(0).getApparelId());
+        assertEquals(7, changes.get(0).getQuantity());
+        assertEquals(written, changes.get(0).getUpdatedAt());
+        assertEquals(2, warehouseStockRepository.findAllChanges().size());
+    }
+
+    @Test
+    void save_duplicateWarehouseAndApparel_throwsDataIntegrityViolation() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> warehouseStockRepository.saveAndFlush(stock(APPAREL_A, 1)));
+    }
+
+    private WarehouseStock stock(String apparelId, int qty) {
+        return WarehouseStock.builder().warehouseId(warehouseId).apparelId(apparelId).qty(qty).updatedAt(SEEDED).build();
+    }
+}
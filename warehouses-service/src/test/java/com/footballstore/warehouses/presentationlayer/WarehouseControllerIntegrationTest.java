@@ -1,10 +1,13 @@
 package com.footballstore.warehouses.presentationlayer;
 
 import com.footballstore.warehouses.dataaccesslayer.WarehouseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -12,6 +15,8 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -22,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class WarehouseControllerIntegrationTest {
 
     private static final String BASE_URI = "/api/v1/warehouses";
+    private static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
 
     @Autowired
     private WebTestClient webTestClient;
@@ -104,6 +110,80 @@ class WarehouseControllerIntegrationTest {
                 });
     }
 
+    @Test
+    void getById_matchingETag_returns304UntilTheWarehouseChanges() {
+        var createReq = WarehouseRequestModel.builder()
+                .locationName("Before Update")
+                .address("Old Addr")
+                .capacity(400)
+                .build();
+        String id = webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(createReq)
+                .exchange().expectStatus().isCreated()
+                .expectBody(WarehouseResponseModel.class).returnResult().getResponseBody().getWarehouseId();
+
+        String etag = webTestClient.get().uri(BASE_URI + "/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").doesNotExist()
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(etag).isNotNull().doesNotStartWith("W/");
+
+        webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        var updateReq = WarehouseRequestModel.builder()
+                .locationName("After Update")
+                .address("New Addr")
+                .capacity(600)
+                .build();
+        webTestClient.put().uri(BASE_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateReq)
+                .exchange()
+                .expectStatus().isOk();
+
+        String changed = webTestClient.get().uri(BASE_URI + "/" + id)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(WarehouseResponseModel.class)
+                .value(w -> assertThat(w.getCapacity()).isEqualTo(600))
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getById_smileAccept_returnsSmileAndErrorsStayJson() throws IOException {
+        var req = WarehouseRequestModel.builder()
+                .locationName("Smile Depot")
+                .address("1 Binary Rd")
+                .capacity(300)
+                .build();
+        String id = webTestClient.post().uri(BASE_URI).contentType(MediaType.APPLICATION_JSON).bodyValue(req)
+                .exchange().expectStatus().isCreated()
+                .expectBody(WarehouseResponseModel.class).returnResult().getResponseBody().getWarehouseId();
+
+        byte[] smile = webTestClient.get().uri(BASE_URI + "/" + id)
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-jackson-smile")
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        WarehouseResponseModel warehouse = new ObjectMapper(new SmileFactory()).findAndRegisterModules()
+                .readValue(smile, WarehouseResponseModel.class);
+        assertThat(warehouse.getLocationName()).isEqualTo("Smile Depot");
+
+        webTestClient.get().uri(BASE_URI + "/00000000-0000-0000-0000-000000000000")
+                .header(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.message").exists();
+    }
+
     @Test
     void getById_unknownWarehouse_returns404NotFound() {
         webTestClient.get()
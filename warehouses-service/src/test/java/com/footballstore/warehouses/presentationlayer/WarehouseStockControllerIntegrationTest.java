@@ -0,0 +1,271 @@
+package com.footballstore.warehouses.presentationlayer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Sql({"/schema-h2.sql"})
+@Sql({"/data-h2.sql"})
+class WarehouseStockControllerIntegrationTest {
+
+    private static final String BASE_URI = "/api/v1/warehouses";
+    // Central Warehouse: capacity 500, seeded with 120 + 80 + 60 units
+    private static final String CENTRAL = "11111111-2222-3333-4444-555555555555";
+    private static final String APPAREL_A = "aaa11111-bbbb-cccc-dddd-eeeeeeeeeeee";
+    private static final String APPAREL_B = "aaa22222-bbbb-cccc-dddd-eeeeeeeeeeee";
+    private static final String UNSTOCKED = "aaa99999-bbbb-cccc-dddd-eeeeeeeeeeee";
+    private static final String UNKNOWN_WAREHOUSE = "00000000-0000-0000-0000-000000000000";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void getStock_seededApparel_returnsQuantity() {
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(120);
+    }
+
+    @Test
+    void getStock_apparelNeverStocked_returnsZero() {
+        assertThat(stock(CENTRAL, UNSTOCKED)).isEqualTo(0);
+    }
+
+    @Test
+    void getStock_unknownWarehouse_returns404NotFound() {
+        webTestClient.get().uri(BASE_URI + "/" + UNKNOWN_WAREHOUSE + "/apparels/" + APPAREL_A + "/stock")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getStock_invalidApparelId_returns422UnprocessableEntity() {
+        webTestClient.get().uri(BASE_URI + "/" + CENTRAL + "/apparels/not-a-uuid/stock")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.message").isEqualTo("Provided apparelId is invalid: not-a-uuid");
+    }
+
+    @Test
+    void decreaseStock_enoughStock_returns200AndLowersQuantity() {
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/decrease?quantity=20")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(100);
+    }
+
+    @Test
+    void decreaseStock_notEnoughStock_returns422AndLeavesQuantity() {
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/decrease?quantity=121")
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(120);
+    }
+
+    @Test
+    void increaseStock_newApparel_createsRow() {
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + UNSTOCKED + "/stock/increase?quantity=15")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(stock(CENTRAL, UNSTOCKED)).isEqualTo(15);
+    }
+
+    @Test
+    void increaseStock_beyondCapacity_returns422AndLeavesQuantity() {
+        // 260 of 500 in use
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/increase?quantity=241")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody().jsonPath("$.message").value(m -> assertThat((String) m).contains("260 of 500"));
+
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/increase?quantity=240")
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(360);
+    }
+
+    @Test
+    void increaseStock_freedByCommittedDecrease_fitsAgain() {
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_B + "/stock/decrease?quantity=80")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/increase?quantity=320")
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(440);
+    }
+
+    @Test
+    void getStockLevels_requestedIds_returnsEachWithZeroForUnstocked() {
+        List<StockLevelResponseModel> levels = webTestClient.get()
+                .uri(BASE_URI + "/" + CENTRAL + "/stock?apparelIds=" + APPAREL_B + "," + UNSTOCKED)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StockLevelResponseModel.class)
+                .returnResult().getResponseBody();
+
+        assertThat(levels).containsExactly(
+                new StockLevelResponseModel(APPAREL_B, 80),
+                new StockLevelResponseModel(UNSTOCKED, 0));
+    }
+
+    @Test
+    void getStockLevels_noIds_returnsWholeWarehouse() {
+        webTestClient.get().uri(BASE_URI + "/" + CENTRAL + "/stock")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StockLevelResponseModel.class)
+                .hasSize(3);
+    }
+
+    @Test
+    void adjustStock_validBatch_appliesAllAndReturnsLevels() {
+        List<StockAdjustmentRequestModel> batch = List.of(
+                adjustment(APPAREL_A, 20, StockOperation.DECREASE),
+                adjustment(UNSTOCKED, 30, StockOperation.INCREASE),
+                adjustment(APPAREL_A, 5, StockOperation.INCREASE));
+
+        List<StockLevelResponseModel> levels = webTestClient.post().uri(BASE_URI + "/" + CENTRAL + "/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<StockLevelResponseModel>>() {})
+                .returnResult().getResponseBody();
+
+        assertThat(levels).containsExactly(
+                new StockLevelResponseModel(APPAREL_A, 105),
+                new StockLevelResponseModel(UNSTOCKED, 30));
+    }
+
+    @Test
+    void adjustStock_netZeroAtFullCapacity_isAccepted() {
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/increase?quantity=240")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.post().uri(BASE_URI + "/" + CENTRAL + "/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        adjustment(APPAREL_A, 50, StockOperation.DECREASE),
+                        adjustment(UNSTOCKED, 50, StockOperation.INCREASE)))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void adjustStock_oneLineShort_returns422AndRollsBackTheBatch() {
+        webTestClient.post().uri(BASE_URI + "/" + CENTRAL + "/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        adjustment(APPAREL_A, 20, StockOperation.DECREASE),
+                        adjustment(APPAREL_B, 81, StockOperation.DECREASE)))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        assertThat(stock(CENTRAL, APPAREL_A)).isEqualTo(120);
+        assertThat(stock(CENTRAL, APPAREL_B)).isEqualTo(80);
+    }
+
+    @Test
+    void adjustStock_rolledBackIncrease_handsCapacityBack() {
+        // the increase reserves 240 units before the short decrease rolls the batch back
+        webTestClient.post().uri(BASE_URI + "/" + CENTRAL + "/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        adjustment(UNSTOCKED, 240, StockOperation.INCREASE),
+                        adjustment(APPAREL_B, 81, StockOperation.DECREASE)))
+                .exchange()
+                .expectStatus().isEqualTo(422);
+
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_A + "/stock/increase?quantity=240")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void getStockChanges_noCursor_returnsEveryRowAcrossWarehouses() {
+        webTestClient.get().uri(BASE_URI + "/stock")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(WarehouseStockChangeResponseModel.class)
+                .hasSize(7);
+    }
+
+    @Test
+    void getStockChanges_changedSince_returnsOnlyLaterWrites() {
+        List<WarehouseStockChangeResponseModel> all = webTestClient.get().uri(BASE_URI + "/stock")
+                .exchange()
+                .expectBodyList(WarehouseStockChangeResponseModel.class)
+                .returnResult().getResponseBody();
+        Instant cursor = all.get(all.size() - 1).getUpdatedAt();
+
+        webTestClient.patch().uri(BASE_URI + "/" + CENTRAL + "/apparels/" + APPAREL_B + "/stock/decrease?quantity=5")
+                .exchange()
+                .expectStatus().isOk();
+
+        List<WarehouseStockChangeResponseModel> changes = webTestClient.get()
+                .uri(uri -> uri.path(BASE_URI + "/stock").queryParam("changedSince", cursor.toString()).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(WarehouseStockChangeResponseModel.class)
+                .returnResult().getResponseBody();
+
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getWarehouseId()).isEqualTo(CENTRAL);
+        assertThat(changes.get(0).getApparelId()).isEqualTo(APPAREL_B);
+        assertThat(changes.get(0).getQuantity()).isEqualTo(75);
+    }
+
+    @Test
+    void delete_warehouseWithStock_returns204AndRemovesItsStock() {
+        webTestClient.delete().uri(BASE_URI + "/" + CENTRAL)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri(BASE_URI + "/" + CENTRAL + "/stock")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void update_capacityBelowHeldUnits_returns422() {
+        webTestClient.put().uri(BASE_URI + "/" + CENTRAL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(WarehouseRequestModel.builder()
+                        .locationName("Central Warehouse")
+                        .address("123 Warehouse Ave, Springfield")
+                        .capacity(200)
+                        .build())
+                .exchange()
+                .expectStatus().isEqualTo(422);
+    }
+
+    private Integer stock(String warehouseId, String apparelId) {
+        return webTestClient.get().uri(BASE_URI + "/" + warehouseId + "/apparels/" + apparelId + "/stock")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class)
+                .returnResult().getResponseBody();
+    }
+
+    private static StockAdjustmentRequestModel adjustment(String apparelId, int quantity, StockOperation operation) {
+        return StockAdjustmentRequestModel.builder().apparelId(apparelId).quantity(quantity).operation(operation).build();
+    }
+}